@@ -64,6 +64,21 @@ sourceSets {
 			implementation(group="junit", name="junit", version="4.12")
 		}
 	}
+	create("jmh") {
+		// Benchmarks reuse the test fixtures (GenericCreatureObject, the synchronous intent runner)
+		compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath + sourceSets.test.get().output + sourceSets.test.get().compileClasspath
+		runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath + sourceSets.test.get().output + sourceSets.test.get().runtimeClasspath
+		dependencies {
+			"jmhImplementation"(group="org.openjdk.jmh", name="jmh-core", version="1.23")
+			"jmhAnnotationProcessor"(group="org.openjdk.jmh", name="jmh-generator-annprocess", version="1.23")
+		}
+	}
+}
+
+// Lets the tests run captures through PacketCaptureAnalysis
+sourceSets.test {
+	compileClasspath += sourceSets.getByName("utility").output
+	runtimeClasspath += sourceSets.getByName("utility").output
 }
 
 idea {
@@ -115,3 +130,17 @@ tasks.create<ShadowJar>("CreatePacketCaptureProcessor") {
 	configurations = listOf(project.configurations.getByName("utilityRuntime"))
 	exclude("META-INF/INDEX.LIST", "META-INF/*.SF", "META-INF/*.DSA", "META-INF/*.RSA")
 }
+
+tasks.create<JavaExec>("loadTest") {
+	description = "Runs the headless bot load test, see LoadTest for the arguments (-PloadTestArgs=\"--clients 500 --embedded\")"
+	classpath = sourceSets.getByName("integration").runtimeClasspath + sourceSets.main.get().runtimeClasspath
+	main = "com.projectswg.holocore.integration.load.LoadTest"
+	args = (project.findProperty("loadTestArgs") as String?)?.split(" ") ?: listOf()
+}
+
+tasks.create<JavaExec>("jmh") {
+	description = "Runs the JMH benchmarks, optionally filtered by a regex (-PjmhArgs=\"TerrainMap -prof gc\")"
+	classpath = sourceSets.getByName("jmh").runtimeClasspath
+	main = "org.openjdk.jmh.Main"
+	args = (project.findProperty("jmhArgs") as String?)?.split(" ") ?: listOf()
+}
@@ -2,17 +2,43 @@ package com.projectswg.holocore;
 
 import com.projectswg.common.network.packets.swg.holo.HoloConnectionStopped.ConnectionStoppedReason;
 import com.projectswg.holocore.client.HolocoreSocket;
+import com.projectswg.holocore.resources.support.data.server_info.database.PswgConfigDatabase;
+import com.projectswg.holocore.resources.support.data.server_info.database.PswgUserDatabase;
+import com.projectswg.holocore.resources.support.data.server_info.database.UserMetadata;
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.global.player.AccessLevel;
 import me.joshlarson.jlcommon.concurrency.BasicThread;
 import me.joshlarson.jlcommon.concurrency.Delay;
+import me.joshlarson.jlcommon.log.Log;
 
 import java.net.InetAddress;
+import java.util.function.LongConsumer;
 
 public class ProjectSWGRunner {
 	
 	private final BasicThread runner;
 	
 	public ProjectSWGRunner() {
-		this.runner = new BasicThread("holocore", () -> ProjectSWG.run(new String[0]));
+		this(new String[0]);
+	}
+	
+	public ProjectSWGRunner(String ... args) {
+		this.runner = new BasicThread("holocore", () -> ProjectSWG.run(args));
+	}
+	
+	private ProjectSWGRunner(String password, String ... args) {
+		this.runner = new BasicThread("holocore", () -> ProjectSWG.run(args, arguments -> {
+			Log.w("Running in memory - nothing will be saved, and every account uses the password '%s'", password);
+			PswgDatabase.INSTANCE.initializeInMemory(createLoopbackConfig(), createAnyUserDatabase(password));
+		}));
+	}
+	
+	/**
+	 * Creates a server that keeps everything in memory instead of using MongoDB, and accepts any username with the
+	 * specified password.  The server only binds to the loopback address.
+	 */
+	public static ProjectSWGRunner createInMemory(String password, String ... args) {
+		return new ProjectSWGRunner(password, args);
 	}
 	
 	public void start() {
@@ -40,9 +66,49 @@ public class ProjectSWGRunner {
 		}
 	}
 	
+	/**
+	 * Sets the listener that is given how late each iteration of the server's main loop finished, in nanoseconds
+	 */
+	public void setMainLoopListener(LongConsumer listener) {
+		ProjectSWG.setMainLoopListener(listener);
+	}
+	
 	public void stop() {
 		runner.stop(true);
 		runner.awaitTermination(5000);
 	}
 	
+	private static PswgConfigDatabase createLoopbackConfig() {
+		return new PswgConfigDatabase() {
+			@Override
+			public String getString(Object o, String key, String def) {
+				return key.equals("bindAddress") ? InetAddress.getLoopbackAddress().getHostAddress() : def;
+			}
+			
+			@Override
+			public boolean getBoolean(Object o, String key, boolean def) {
+				return def;
+			}
+			
+			@Override
+			public int getInt(Object o, String key, int def) {
+				return def;
+			}
+			
+			@Override
+			public double getDouble(Object o, String key, double def) {
+				return def;
+			}
+			
+			@Override
+			public long getLong(Object o, String key, long def) {
+				return def;
+			}
+		};
+	}
+	
+	private static PswgUserDatabase createAnyUserDatabase(String password) {
+		return username -> new UserMetadata(username, username, password, AccessLevel.PLAYER, false);
+	}
+	
 }
@@ -0,0 +1,111 @@
+package com.projectswg.holocore.integration.load;
+
+import com.projectswg.common.data.CRC;
+import com.projectswg.common.data.location.Location;
+import com.projectswg.common.network.packets.swg.zone.object_controller.CommandQueueEnqueue;
+import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransform;
+import com.projectswg.holocore.integration.resources.ClientUtilities;
+import com.projectswg.holocore.integration.resources.HolocoreClient;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scripted client that logs in, creates a character and then wanders around, chatting and fighting
+ */
+class BotClient {
+	
+	private static final int SPATIAL_CHAT_CRC = CRC.getCrc("spatialchatinternal");
+	private static final int ATTACK_CRC = CRC.getCrc("meleehit");
+	private static final String [] CHAT_LINES = {"hello there", "anyone selling a speeder?", "lfg", "this cantina is packed", "watch out for the tuskens"};
+	
+	private final HolocoreClient client;
+	private final String username;
+	private final Random random;
+	private final AtomicInteger counter;
+	private Location location;
+	private int updateCount;
+	
+	public BotClient(InetSocketAddress address, String username, long seed) {
+		this.client = new HolocoreClient(address);
+		this.username = username;
+		this.random = new Random(seed);
+		this.counter = new AtomicInteger(0);
+		this.location = null;
+		this.updateCount = 0;
+	}
+	
+	/**
+	 * Logs in, creates a new character and waits until the character is in the world
+	 * @param password the account password
+	 * @return the time taken from connecting until zoned in, in nanoseconds
+	 */
+	public long connect(String password) {
+		long start = System.nanoTime();
+		if (!client.login(username, password))
+			throw new IllegalStateException("login failed for " + username);
+		ClientUtilities.createCharacter(client);
+		client.waitForZoneIn();
+		client.setQueuePackets(false);
+		location = client.getLocation();
+		return System.nanoTime() - start;
+	}
+	
+	public void disconnect() {
+		client.disconnect();
+	}
+	
+	public long getSentPackets() {
+		return client.getSentPackets();
+	}
+	
+	public long getReceivedPackets() {
+		return client.getReceivedPackets();
+	}
+	
+	/**
+	 * Performs one step of the script: always walks a few meters, and sometimes chats or attacks something nearby
+	 */
+	public void step() {
+		walk();
+		double action = random.nextDouble();
+		if (action < 0.1)
+			chat();
+		else if (action < 0.3)
+			attack();
+	}
+	
+	private void walk() {
+		double heading = random.nextDouble() * 2 * Math.PI;
+		double distance = 2 + random.nextDouble() * 2;
+		location = Location.builder(location)
+				.translatePosition(Math.sin(heading) * distance, 0, Math.cos(heading) * distance)
+				.setHeading(Math.toDegrees(heading))
+				.build();
+		client.send(new DataTransform(client.getCharacterId(), 0, ++updateCount, location, (float) distance));
+	}
+	
+	private void chat() {
+		String line = CHAT_LINES[random.nextInt(CHAT_LINES.length)];
+		client.send(new CommandQueueEnqueue(client.getCharacterId(), counter.incrementAndGet(), SPATIAL_CHAT_CRC, 0, "0 0 0 0 0 " + line));
+	}
+	
+	private void attack() {
+		long self = client.getCharacterId();
+		List<SWGObject> targets = new ArrayList<>();
+		for (SWGObject obj : client.getObjectsAware()) {
+			if (obj instanceof CreatureObject && obj.getObjectId() != self)
+				targets.add(obj);
+		}
+		if (targets.isEmpty())
+			return;
+		SWGObject target = targets.get(random.nextInt(targets.size()));
+		client.send(new CommandQueueEnqueue(self, counter.incrementAndGet(), ATTACK_CRC, target.getObjectId(), ""));
+	}
+	
+}
@@ -0,0 +1,53 @@
+package com.projectswg.holocore.integration.load;
+
+import org.bson.Document;
+
+import java.util.Arrays;
+
+/**
+ * Records nanosecond samples and summarizes them as millisecond percentiles
+ */
+class LatencyRecorder {
+	
+	private long [] samples;
+	private int count;
+	
+	public LatencyRecorder() {
+		this.samples = new long[1024];
+		this.count = 0;
+	}
+	
+	public synchronized void record(long nanos) {
+		if (count == samples.length)
+			samples = Arrays.copyOf(samples, count * 2);
+		samples[count++] = nanos;
+	}
+	
+	public synchronized int getCount() {
+		return count;
+	}
+	
+	public synchronized Document summarize() {
+		long [] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		long total = 0;
+		for (long sample : sorted)
+			total += sample;
+		return new Document()
+				.append("count", count)
+				.append("meanMs", count == 0 ? 0 : total / 1E6 / count)
+				.append("p50Ms", percentile(sorted, 0.50))
+				.append("p95Ms", percentile(sorted, 0.95))
+				.append("p99Ms", percentile(sorted, 0.99))
+				.append("maxMs", count == 0 ? 0 : sorted[count - 1] / 1E6)
+				.append("totalMs", total / 1E6);
+	}
+	
+	private static double percentile(long [] sorted, double percentile) {
+		if (sorted.length == 0)
+			return 0;
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1E6;
+	}
+	
+}
@@ -0,0 +1,193 @@
+package com.projectswg.holocore.integration.load;
+
+import com.projectswg.holocore.ProjectSWGRunner;
+import org.bson.Document;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless load generator: logs in a swarm of scripted bots, lets them walk, chat and fight for a while, then writes a
+ * JSON summary so that runs at different client counts, or before and after a change, can be compared.
+ *
+ * <pre>
+ * LoadTest [--clients 500] [--duration 120] [--ramp 50] [--host localhost] [--port 44463]
+ *          [--embedded] [--password pass] [--prefix bot] [--output load-test-500.json]
+ * </pre>
+ *
+ * With --embedded, the server is started in this JVM with every table in memory, so no database is required, and the
+ * delay of the server's main loop and the JVM's garbage collection pauses are recorded.  Otherwise the bots connect to
+ * an already running server, whose accounts must accept the password.
+ */
+public class LoadTest {
+	
+	private final Map<String, String> options;
+	private final int clientCount;
+	private final int durationSeconds;
+	private final int rampPerSecond;
+	private final InetSocketAddress address;
+	private final boolean embedded;
+	private final String password;
+	private final String prefix;
+	private final Path output;
+	
+	private final List<BotClient> bots;
+	private final LatencyRecorder zoneIn;
+	private final AtomicLong failedConnections;
+	private final AtomicLong botErrors;
+	
+	private LoadTest(Map<String, String> options) {
+		this.options = options;
+		this.clientCount = Integer.parseInt(options.getOrDefault("clients", "500"));
+		this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "120"));
+		this.rampPerSecond = Integer.parseInt(options.getOrDefault("ramp", "50"));
+		this.address = new InetSocketAddress(options.getOrDefault("host", "localhost"), Integer.parseInt(options.getOrDefault("port", "44463")));
+		this.embedded = options.containsKey("embedded");
+		this.password = options.getOrDefault("password", "pass");
+		this.prefix = options.getOrDefault("prefix", "bot");
+		this.output = Paths.get(options.getOrDefault("output", "load-test-" + clientCount + ".json"));
+		
+		this.bots = Collections.synchronizedList(new ArrayList<>());
+		this.zoneIn = new LatencyRecorder();
+		this.failedConnections = new AtomicLong(0);
+		this.botErrors = new AtomicLong(0);
+	}
+	
+	public static void main(String [] args) throws Exception {
+		Document summary = new LoadTest(parseArguments(args)).run();
+		System.out.println(summary.toJson(JsonWriterSettings.builder().indent(true).build()));
+		System.exit(0); // Client and server threads would otherwise keep the JVM alive
+	}
+	
+	private Document run() throws IOException, InterruptedException {
+		ProjectSWGRunner server = null;
+		ServerProbe probe = null;
+		if (embedded) {
+			server = ProjectSWGRunner.createInMemory(password);
+			server.start();
+			probe = new ServerProbe(server);
+			probe.start();
+		}
+		
+		long rampStart = System.nanoTime();
+		connectBots();
+		double rampSeconds = (System.nanoTime() - rampStart) / 1E9;
+		
+		ScheduledExecutorService scripts = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+		for (BotClient bot : bots) {
+			scripts.scheduleAtFixedRate(() -> step(bot), ThreadLocalRandom.current().nextInt(1000), 1000, TimeUnit.MILLISECONDS);
+		}
+		long sentStart = getSentPackets();
+		long receivedStart = getReceivedPackets();
+		long steadyStart = System.nanoTime();
+		TimeUnit.SECONDS.sleep(durationSeconds);
+		double steadySeconds = (System.nanoTime() - steadyStart) / 1E9;
+		long sent = getSentPackets() - sentStart;
+		long received = getReceivedPackets() - receivedStart;
+		
+		scripts.shutdownNow();
+		scripts.awaitTermination(5, TimeUnit.SECONDS);
+		if (probe != null)
+			probe.stop();
+		for (BotClient bot : bots)
+			bot.disconnect();
+		if (server != null)
+			server.stop();
+		
+		Document summary = new Document()
+				.append("timestamp", Instant.now().toString())
+				.append("options", new Document(new HashMap<>(options)))
+				.append("clients", clientCount)
+				.append("connected", bots.size())
+				.append("failedConnections", failedConnections.get())
+				.append("botErrors", botErrors.get())
+				.append("rampSeconds", rampSeconds)
+				.append("steadySeconds", steadySeconds)
+				.append("zoneIn", zoneIn.summarize())
+				.append("packets", new Document()
+						.append("sentPerSecond", sent / steadySeconds)
+						.append("receivedPerSecond", received / steadySeconds)
+						.append("receivedPerClientPerSecond", bots.isEmpty() ? 0 : received / steadySeconds / bots.size()))
+				.append("mainLoopDelay", probe == null ? null : probe.getMainLoopDelay().summarize())
+				.append("gcPauses", probe == null ? null : probe.getGcPauses().summarize());
+		Files.writeString(output, summary.toJson(JsonWriterSettings.builder().indent(true).build()), StandardCharsets.UTF_8);
+		return summary;
+	}
+	
+	private void connectBots() throws InterruptedException {
+		ExecutorService connectors = Executors.newFixedThreadPool(Math.min(clientCount, 32));
+		long start = System.nanoTime();
+		for (int i = 0; i < clientCount; i++) {
+			long due = start + (long) (i * 1E9 / rampPerSecond);
+			long wait = due - System.nanoTime();
+			if (wait > 0)
+				TimeUnit.NANOSECONDS.sleep(wait);
+			BotClient bot = new BotClient(address, prefix + i, i);
+			connectors.execute(() -> connect(bot));
+		}
+		connectors.shutdown();
+		connectors.awaitTermination(clientCount * 10L, TimeUnit.SECONDS);
+	}
+	
+	private void connect(BotClient bot) {
+		try {
+			zoneIn.record(bot.connect(password));
+			bots.add(bot);
+		} catch (Throwable t) {
+			failedConnections.incrementAndGet();
+			bot.disconnect();
+		}
+	}
+	
+	private void step(BotClient bot) {
+		try {
+			bot.step();
+		} catch (Throwable t) {
+			botErrors.incrementAndGet();
+		}
+	}
+	
+	private long getSentPackets() {
+		synchronized (bots) {
+			return bots.stream().mapToLong(BotClient::getSentPackets).sum();
+		}
+	}
+	
+	private long getReceivedPackets() {
+		synchronized (bots) {
+			return bots.stream().mapToLong(BotClient::getReceivedPackets).sum();
+		}
+	}
+	
+	private static Map<String, String> parseArguments(String [] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--"))
+				throw new IllegalArgumentException("unexpected argument: " + args[i]);
+			String key = args[i].substring(2);
+			if (i + 1 < args.length && !args[i+1].startsWith("--"))
+				options.put(key, args[++i]);
+			else
+				options.put(key, "true");
+		}
+		return options;
+	}
+	
+}
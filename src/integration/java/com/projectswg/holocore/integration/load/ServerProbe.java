@@ -0,0 +1,75 @@
+package com.projectswg.holocore.integration.load;
+
+import com.projectswg.holocore.ProjectSWGRunner;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the health of an embedded server: how late each iteration of the server's 50ms main loop finishes, and
+ * every garbage collection pause in its JVM.
+ */
+class ServerProbe {
+	
+	private final ProjectSWGRunner server;
+	private final LatencyRecorder mainLoopDelay;
+	private final LatencyRecorder gcPauses;
+	private final List<NotificationEmitter> emitters;
+	private final NotificationListener gcListener;
+	
+	public ServerProbe(ProjectSWGRunner server) {
+		this.server = server;
+		this.mainLoopDelay = new LatencyRecorder();
+		this.gcPauses = new LatencyRecorder();
+		this.emitters = new ArrayList<>();
+		this.gcListener = this::handleGarbageCollection;
+	}
+	
+	public void start() {
+		server.setMainLoopListener(mainLoopDelay::record);
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (gc instanceof NotificationEmitter) {
+				((NotificationEmitter) gc).addNotificationListener(gcListener, null, null);
+				emitters.add((NotificationEmitter) gc);
+			}
+		}
+	}
+	
+	public void stop() {
+		server.setMainLoopListener(delay -> {});
+		for (NotificationEmitter emitter : emitters) {
+			try {
+				emitter.removeNotificationListener(gcListener);
+			} catch (Exception e) {
+				// Already removed
+			}
+		}
+		emitters.clear();
+	}
+	
+	/**
+	 * Returns how late each iteration of the server's main loop finished past its 50ms period
+	 */
+	public LatencyRecorder getMainLoopDelay() {
+		return mainLoopDelay;
+	}
+	
+	public LatencyRecorder getGcPauses() {
+		return gcPauses;
+	}
+	
+	private void handleGarbageCollection(Notification notification, Object handback) {
+		if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+			return;
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+		gcPauses.record(info.getGcInfo().getDuration() * 1_000_000L);
+	}
+	
+}
@@ -25,6 +25,7 @@ import me.joshlarson.jlcommon.concurrency.Delay;
 import org.junit.Assert;
 
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
@@ -47,6 +48,9 @@ public class HolocoreClient {
 	private final BlockingQueue<SWGPacket> packets;
 	private final AtomicLong characterId;
 	private final AtomicBoolean zonedIn;
+	private final AtomicBoolean queuePackets;
+	private final AtomicLong sentPackets;
+	private final AtomicLong receivedPackets;
 	
 	public HolocoreClient() {
 		this(new InetSocketAddress("localhost", 44463));
@@ -63,6 +67,9 @@ public class HolocoreClient {
 		this.packets = new LinkedBlockingQueue<>();
 		this.characterId = new AtomicLong(0);
 		this.zonedIn = new AtomicBoolean(false);
+		this.queuePackets = new AtomicBoolean(true);
+		this.sentPackets = new AtomicLong(0);
+		this.receivedPackets = new AtomicLong(0);
 	}
 	
 	public long getCharacterId() {
@@ -73,6 +80,32 @@ public class HolocoreClient {
 		return characters.get(getCharacterId());
 	}
 	
+	public Location getLocation() {
+		return location.get();
+	}
+	
+	public Collection<SWGObject> getObjectsAware() {
+		return objectsAware.values();
+	}
+	
+	public long getSentPackets() {
+		return sentPackets.get();
+	}
+	
+	public long getReceivedPackets() {
+		return receivedPackets.get();
+	}
+	
+	/**
+	 * Sets whether or not received packets are queued for {@link #receive()}.  Long running clients that never call
+	 * receive should disable this, so the queue doesn't grow forever.
+	 */
+	public void setQueuePackets(boolean queuePackets) {
+		this.queuePackets.set(queuePackets);
+		if (!queuePackets)
+			packets.clear();
+	}
+	
 	public void addCharacter(long id, String name) {
 		this.characters.put(id, name);
 	}
@@ -112,6 +145,7 @@ public class HolocoreClient {
 	
 	public void send(SWGPacket packet) {
 		socket.send(packet.encode().array());
+		sentPackets.incrementAndGet();
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -140,7 +174,9 @@ public class HolocoreClient {
 			Assert.assertNotNull(packet);
 			packet.decode(NetBuffer.wrap(received.getData()));
 			process(packet);
-			this.packets.add(packet);
+			receivedPackets.incrementAndGet();
+			if (queuePackets.get())
+				this.packets.add(packet);
 		}
 	}
 	
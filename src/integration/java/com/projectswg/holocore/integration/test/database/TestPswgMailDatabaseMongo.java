@@ -0,0 +1,100 @@
+package com.projectswg.holocore.integration.test.database;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.projectswg.common.data.encodables.player.Mail;
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgMailDatabaseMongo;
+import org.bson.Document;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs against a live MongoDB, set with -Dholocore.test.mongo (defaults to localhost), and is skipped if there isn't
+ * one available
+ */
+public class TestPswgMailDatabaseMongo {
+	
+	private static final long RECEIVER = 5;
+	private static final long OTHER_RECEIVER = 6;
+	
+	private MongoClient client;
+	private MongoCollection<Document> collection;
+	private PswgMailDatabaseMongo mails;
+	
+	@Before
+	public void setup() {
+		client = MongoClients.create(System.getProperty("holocore.test.mongo", "mongodb://localhost/?serverSelectionTimeoutMS=2000"));
+		MongoDatabase database = client.getDatabase("holocore_test");
+		try {
+			database.runCommand(new Document("ping", 1));
+		} catch (MongoException e) {
+			client.close();
+			Assume.assumeNoException(e);
+		}
+		collection = database.getCollection("mail");
+		collection.drop();
+		mails = new PswgMailDatabaseMongo(collection);
+	}
+	
+	@After
+	public void cleanup() {
+		if (collection != null)
+			collection.drop();
+		client.close();
+	}
+	
+	@Test
+	public void testHeadersExcludeBody() {
+		addMail(1, RECEIVER);
+		addMail(2, RECEIVER);
+		addMail(3, OTHER_RECEIVER);
+		
+		List<Mail> headers = mails.getMailHeaders(RECEIVER);
+		Assert.assertEquals(List.of(1, 2), headers.stream().map(Mail::getId).sorted().collect(Collectors.toList()));
+		for (Mail header : headers) {
+			Assert.assertEquals("subject " + header.getId(), header.getSubject());
+			Assert.assertEquals("", header.getMessage());
+		}
+		Assert.assertEquals(3, mails.getMaxMailId());
+	}
+	
+	@Test
+	public void testBodyAndStatus() {
+		addMail(1, RECEIVER);
+		Assert.assertEquals("body 1", mails.getMail(1).getMessage());
+		Assert.assertNull(mails.getMail(2));
+		
+		mails.setMailStatus(1, Mail.READ);
+		Assert.assertEquals(Mail.READ, mails.getMail(1).getStatus());
+		Assert.assertEquals(Mail.READ, mails.getMailHeaders(RECEIVER).get(0).getStatus());
+	}
+	
+	@Test
+	public void testRemoveRequiresReceiver() {
+		addMail(1, RECEIVER);
+		
+		Assert.assertFalse(mails.removeMail(1, OTHER_RECEIVER));
+		Assert.assertNotNull(mails.getMail(1));
+		Assert.assertTrue(mails.removeMail(1, RECEIVER));
+		Assert.assertNull(mails.getMail(1));
+		Assert.assertFalse(mails.removeMail(1));
+	}
+	
+	private void addMail(int id, long receiverId) {
+		Mail mail = new Mail("sender", "subject " + id, "body " + id, receiverId);
+		mail.setId(id);
+		mail.setTimestamp(Instant.now());
+		mails.addMail(mail);
+	}
+	
+}
@@ -0,0 +1,124 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.intents;
+
+import me.joshlarson.jlcommon.control.Intent;
+import me.joshlarson.jlcommon.control.IntentHandler;
+import me.joshlarson.jlcommon.control.IntentManager;
+import me.joshlarson.jlcommon.control.Service;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts a batch of intents to several listening services through an intent manager configured like the server's,
+ * and waits for every handler to run
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntentDispatchBenchmark {
+	
+	private static final int INTENTS_PER_BATCH = 1000;
+	
+	@Param({"1", "8"})
+	public int listeners;
+	
+	private final AtomicLong handled = new AtomicLong(0);
+	private final List<Service> services = new ArrayList<>();
+	private IntentManager intentManager;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		intentManager = new IntentManager(false, Runtime.getRuntime().availableProcessors(), 8);
+		IntentManager.setInstance(intentManager);
+		for (int i = 0; i < listeners; i++) {
+			Service service = new ListenerService(handled);
+			service.setIntentManager(intentManager);
+			service.initialize();
+			service.start();
+			services.add(service);
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (Service service : services) {
+			service.setIntentManager(null);
+			service.stop();
+			service.terminate();
+		}
+		services.clear();
+		intentManager.close();
+		IntentManager.setInstance(null);
+	}
+	
+	@Benchmark
+	public void broadcast() {
+		long expected = handled.get() + (long) INTENTS_PER_BATCH * listeners;
+		for (int i = 0; i < INTENTS_PER_BATCH; i++)
+			new BenchmarkIntent(i).broadcast();
+		while (handled.get() < expected)
+			Thread.onSpinWait();
+	}
+	
+	public static class BenchmarkIntent extends Intent {
+		
+		private final int value;
+		
+		public BenchmarkIntent(int value) {
+			this.value = value;
+		}
+		
+		public int getValue() {
+			return value;
+		}
+		
+	}
+	
+	public static class ListenerService extends Service {
+		
+		private final AtomicLong handled;
+		
+		public ListenerService(AtomicLong handled) {
+			this.handled = handled;
+		}
+		
+		@IntentHandler
+		private void handleBenchmarkIntent(BenchmarkIntent bi) {
+			handled.incrementAndGet();
+		}
+		
+	}
+	
+}
@@ -0,0 +1,121 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.gameplay.crafting.resource.galactic;
+
+import com.projectswg.common.data.location.Terrain;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a single 9x9 survey of one planet's spawns computed exactly against the same survey read from the
+ * concentration raster, along with the cost of building the raster
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceConcentrationBenchmark {
+	
+	private static final int RESOLUTION = 9;
+	private static final double RANGE = 1024;
+	private static final int LOCATIONS = 2000;
+	
+	@Param({"500"})
+	public int spawnCount;
+	
+	private List<GalacticResourceSpawn> spawns;
+	private ResourceConcentrationRaster raster;
+	private double [][] locations;
+	private int nextLocation;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		GalacticResource resource = new GalacticResource(1, "raster", 1);
+		for (int i = 0; i < spawnCount; i++) {
+			GalacticResourceSpawn spawn = new GalacticResourceSpawn(resource.getId());
+			spawn.setRandomValues(Terrain.TATOOINE);
+			resource.addSpawn(spawn);
+		}
+		spawns = resource.getSpawns(Terrain.TATOOINE);
+		raster = resource.getConcentrationRaster(Terrain.TATOOINE);
+		
+		Random random = new Random(0);
+		locations = new double[LOCATIONS][];
+		for (int i = 0; i < LOCATIONS; i++) {
+			GalacticResourceSpawn spawn = spawns.get(random.nextInt(spawns.size()));
+			locations[i] = new double[]{spawn.getX(), spawn.getZ()};
+		}
+		nextLocation = 0;
+	}
+	
+	@Benchmark
+	public double surveyExact() {
+		double [] location = nextLocation();
+		double sum = 0;
+		for (int xIndex = 0; xIndex < RESOLUTION; xIndex++) {
+			for (int zIndex = 0; zIndex < RESOLUTION; zIndex++) {
+				double x = location[0] - RANGE / 2 + xIndex * RANGE / (RESOLUTION - 1);
+				double z = location[1] - RANGE / 2 + zIndex * RANGE / (RESOLUTION - 1);
+				for (GalacticResourceSpawn spawn : spawns)
+					sum += spawn.getConcentration(Terrain.TATOOINE, x, z);
+			}
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public double surveyRaster() {
+		double [] location = nextLocation();
+		double sum = 0;
+		for (int xIndex = 0; xIndex < RESOLUTION; xIndex++) {
+			for (int zIndex = 0; zIndex < RESOLUTION; zIndex++) {
+				double x = location[0] - RANGE / 2 + xIndex * RANGE / (RESOLUTION - 1);
+				double z = location[1] - RANGE / 2 + zIndex * RANGE / (RESOLUTION - 1);
+				sum += raster.getConcentration(x, z);
+			}
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public ResourceConcentrationRaster buildRaster() {
+		return new ResourceConcentrationRaster(Terrain.TATOOINE, spawns);
+	}
+	
+	private double [] nextLocation() {
+		double [] location = locations[nextLocation];
+		nextLocation = (nextLocation + 1) % LOCATIONS;
+		return location;
+	}
+	
+}
@@ -0,0 +1,104 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.collections;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random lookups in a million-entry object id map, against the boxed ConcurrentHashMap it replaces.  Run with
+ * {@code -prof gc} to compare the allocation of filling each map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LongObjectMapBenchmark {
+	
+	private static final int COUNT = 1_000_000;
+	
+	private Map<Long, Object> boxed;
+	private LongObjectMap<Object> primitive;
+	private long [] ids;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		boxed = new ConcurrentHashMap<>(256*1024, 0.8f, Runtime.getRuntime().availableProcessors());
+		primitive = new LongObjectMap<>(256*1024);
+		for (int i = 0; i < COUNT; i++) {
+			Object object = new Object();
+			boxed.put(i + 1L, object);
+			primitive.put(i + 1L, object);
+		}
+		
+		Random random = new Random(0);
+		ids = new long[COUNT];
+		for (int i = 0; i < COUNT; i++)
+			ids[i] = 1 + random.nextInt(COUNT);
+		next = 0;
+	}
+	
+	@Benchmark
+	public Object getBoxed() {
+		return boxed.get(nextId());
+	}
+	
+	@Benchmark
+	public Object getPrimitive() {
+		return primitive.get(nextId());
+	}
+	
+	@Benchmark
+	public Object fillBoxed() {
+		Map<Long, Object> map = new ConcurrentHashMap<>(1024);
+		for (int i = 0; i < 4096; i++)
+			map.put(ids[i], ids);
+		return map;
+	}
+	
+	@Benchmark
+	public Object fillPrimitive() {
+		LongObjectMap<Object> map = new LongObjectMap<>(1024);
+		for (int i = 0; i < 4096; i++)
+			map.put(ids[i], ids);
+		return map;
+	}
+	
+	private long nextId() {
+		long id = ids[next];
+		next = (next + 1) % COUNT;
+		return id;
+	}
+	
+}
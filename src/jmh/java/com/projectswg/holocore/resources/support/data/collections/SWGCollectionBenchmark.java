@@ -0,0 +1,101 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.collections;
+
+import com.projectswg.common.encoding.StringType;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full encodes and single-element deltas of the synchronized collections, shaped like a creature's command map and
+ * an ascii list
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SWGCollectionBenchmark {
+	
+	@Param({"16", "256"})
+	public int size;
+	
+	private SWGList<String> list;
+	private SWGMap<String, Integer> map;
+	private CreatureObject target;
+	private CreatureObject observer;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		list = SWGList.Companion.createAsciiList(4, 7);
+		map = new SWGMap<>(4, 14, StringType.ASCII);
+		for (int i = 0; i < size; i++) {
+			list.add("combat_melee_element_" + i);
+			map.put("command_" + i, i);
+		}
+		list.clearDeltaQueue();
+		map.clearDeltaQueue();
+		
+		target = new CreatureObject(1);
+		observer = new CreatureObject(2);
+		target.addObserver(observer);
+		next = 0;
+	}
+	
+	@Benchmark
+	public byte [] listEncode() {
+		return list.encode();
+	}
+	
+	@Benchmark
+	public void listDelta() {
+		int index = next;
+		next = (index + 1) % size;
+		list.set(index, "combat_ranged_element_" + index);
+		list.sendDeltaMessage(target);
+		observer.clearDeltas();
+	}
+	
+	@Benchmark
+	public byte [] mapEncode() {
+		return map.encode();
+	}
+	
+	@Benchmark
+	public void mapDelta() {
+		int index = next;
+		next = (index + 1) % size;
+		map.put("command_" + index, index + 1);
+		map.sendDeltaMessage(target);
+		observer.clearDeltas();
+	}
+	
+}
@@ -0,0 +1,90 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info;
+
+import com.projectswg.holocore.resources.support.data.server_info.SdbLoader.SdbResultSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a generated sdb shaped like the NPC spawn tables, reading every column the way the loaders do
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SdbLoaderBenchmark {
+	
+	@Param({"10000"})
+	public int rows;
+	
+	private File file;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		file = File.createTempFile("benchmark", ".sdb");
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("spawn_id\tterrain\tbuilding_id\tnpc_id\tx\ty\tz\theading\tcell_id\tmin_level\tmax_level\n");
+			writer.write("TEXT\tTEXT\tTEXT\tTEXT\tREAL\tREAL\tREAL\tREAL\tINTEGER\tINTEGER\tINTEGER\n");
+			for (int i = 0; i < rows; i++) {
+				writer.write(String.format(Locale.US, "spawn_%d\ttatooine\tmos_eisley_%d\tcrackdown_stormtrooper\t%.2f\t5.0\t%.2f\t%d\t%d\t%d\t%d\n", i, i % 40, 3500 + i * 0.25, -4800 - i * 0.5, i % 360, i % 12, 10 + i % 70, 15 + i % 70));
+			}
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (!file.delete())
+			file.deleteOnExit();
+	}
+	
+	@Benchmark
+	public double load() throws IOException {
+		double checksum = 0;
+		try (SdbResultSet set = SdbLoader.load(file)) {
+			while (set.next()) {
+				checksum += set.getText("spawn_id").length();
+				checksum += set.getText("terrain").length();
+				checksum += set.getText("building_id").length();
+				checksum += set.getText("npc_id").length();
+				checksum += set.getReal("x") + set.getReal("y") + set.getReal("z") + set.getReal("heading");
+				checksum += set.getInt("cell_id") + set.getInt("min_level") + set.getInt("max_level");
+			}
+		}
+		return checksum;
+	}
+	
+}
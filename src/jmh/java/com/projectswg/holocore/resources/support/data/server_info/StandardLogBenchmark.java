@@ -0,0 +1,89 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info;
+
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import me.joshlarson.jlcommon.log.Log;
+import me.joshlarson.jlcommon.log.Log.LogLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call cost of a player log line when its level is filtered out and when it is written to a no-op wrapper
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StandardLogBenchmark {
+	
+	private GenericCreatureObject creature;
+	private LogLevel previousLevel;
+	private int counter;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		Log.clearWrappers();
+		Log.addWrapper((level, str) -> {});
+		creature = new GenericCreatureObject(1, "Test Name");
+		previousLevel = StandardLog.getLevel();
+		StandardLog.setLevel(LogLevel.DATA);
+		counter = 0;
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		StandardLog.setLevel(previousLevel);
+		Log.clearWrappers();
+	}
+	
+	@Benchmark
+	public void disabledNoArgs() {
+		StandardLog.onPlayerTrace(this, creature, "moved");
+	}
+	
+	@Benchmark
+	public void disabledWithArgs() {
+		int i = counter++;
+		StandardLog.onPlayerTrace(this, creature, "moved to %d, %d", i, i);
+	}
+	
+	@Benchmark
+	public void enabledNoArgs() {
+		StandardLog.onPlayerEvent(this, creature, "moved");
+	}
+	
+	@Benchmark
+	public void enabledWithArgs() {
+		int i = counter++;
+		StandardLog.onPlayerEvent(this, creature, "moved to %d, %d", i, i);
+	}
+	
+}
@@ -1,5 +1,5 @@
 /***********************************************************************************
- * Copyright (c) 2018 /// Project SWG /// www.projectswg.com                       *
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
  *                                                                                 *
  * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
  * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
@@ -24,35 +24,30 @@
  * You should have received a copy of the GNU Affero General Public License        *
  * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
  ***********************************************************************************/
-package com.projectswg.holocore.intents.support.global.network;
+package com.projectswg.holocore.resources.support.data.server_info.loader;
 
-import com.projectswg.common.network.packets.SWGPacket;
-import com.projectswg.holocore.resources.support.global.player.Player;
-import me.joshlarson.jlcommon.control.Intent;
-import org.jetbrains.annotations.NotNull;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import org.openjdk.jmh.annotations.*;
 
-public class OutboundPacketIntent extends Intent {
-	
-	private final Player player;
-	private final SWGPacket packet;
-	
-	public OutboundPacketIntent(@NotNull Player player, @NotNull SWGPacket packet) {
-		this.player = player;
-		this.packet = packet;
-	}
-	
-	@NotNull
-	public Player getPlayer() {
-		return player;
-	}
-	
-	@NotNull
-	public SWGPacket getPacket() {
-		return packet;
-	}
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the full static buildout set.  Run with {@code -prof gc} for the bytes allocated per load, which is dominated by
+ * the objects that stay resident.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BuildoutLoaderBenchmark {
 	
-	public static void broadcast(@NotNull Player player, @NotNull SWGPacket packet) {
-		new OutboundPacketIntent(player, packet).broadcast();
+	@Benchmark
+	public Map<Long, SWGObject> load() {
+		return BuildoutLoader.load(List.of()).getObjects();
 	}
 	
 }
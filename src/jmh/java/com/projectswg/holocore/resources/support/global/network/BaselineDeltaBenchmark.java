@@ -0,0 +1,89 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.data.encodables.oob.StringId;
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.NetBuffer;
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the CREO baselines sent when a creature comes into awareness, and the small deltas sent whenever it changes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaselineDeltaBenchmark {
+	
+	private CreatureObject creature;
+	private CreatureObject observer;
+	private int level;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		creature = new CreatureObject(1);
+		creature.setTemplate("object/mobile/shared_bantha.iff");
+		creature.setStringId(new StringId("mob/creature_names", "bantha"));
+		creature.setObjectName("a bantha");
+		creature.setPosition(Terrain.TATOOINE, 3500, 5, -4800);
+		creature.setLevel(25);
+		creature.setHeight(1.2);
+		
+		observer = new CreatureObject(2);
+		creature.addObserver(observer);
+		level = 0;
+	}
+	
+	@Benchmark
+	public NetBuffer baseline3() {
+		BaselineBuilder bb = new BaselineBuilder(creature, BaselineType.CREO, 3);
+		creature.createBaseline3(null, bb);
+		return bb.buildAsBaselinePacket().encode();
+	}
+	
+	@Benchmark
+	public NetBuffer baseline6() {
+		BaselineBuilder bb = new BaselineBuilder(creature, BaselineType.CREO, 6);
+		creature.createBaseline6(null, bb);
+		return bb.buildAsBaselinePacket().encode();
+	}
+	
+	@Benchmark
+	public void delta() {
+		level = (level + 1) & 127;
+		DeltaBuilder.send(creature, BaselineType.CREO, 6, 8, (short) level);
+		observer.clearDeltas();
+	}
+	
+}
@@ -0,0 +1,109 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.data.CRC;
+import com.projectswg.common.data.location.Location;
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.NetworkProtocol;
+import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.common.network.packets.swg.holo.HoloSetProtocolVersion;
+import com.projectswg.common.network.packets.swg.zone.object_controller.CommandQueueEnqueue;
+import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransform;
+import kotlin.Unit;
+import me.joshlarson.jlcommon.control.IntentManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds a fixed batch of movement and command packets through {@link NetworkClient#onRead()}, which decodes every
+ * packet and hands it off as an intent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkClientBenchmark {
+	
+	private static final int PACKETS_PER_READ = 32;
+	
+	private IntentManager intentManager;
+	private NetworkClient client;
+	private byte [] batch;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		intentManager = new IntentManager(1);
+		IntentManager.setInstance(intentManager);
+		client = new NetworkClient(new InetSocketAddress("127.0.0.1", 44463), buffer -> Unit.INSTANCE, () -> Unit.INSTANCE);
+		client.onOpened();
+		read(encode(new HoloSetProtocolVersion(NetworkProtocol.VERSION)));
+		
+		int spatialChat = CRC.getCrc("spatialchatinternal");
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		for (int i = 0; i < PACKETS_PER_READ; i++) {
+			if (i % 4 == 3) {
+				stream.writeBytes(encode(new CommandQueueEnqueue(1, i, spatialChat, 0, "0 0 0 0 0 hello there")));
+			} else {
+				Location location = Location.builder().setTerrain(Terrain.TATOOINE).setX(3500 + i).setY(5).setZ(-4800).setHeading(90).build();
+				stream.writeBytes(encode(new DataTransform(1, 0, i, location, 4)));
+			}
+		}
+		batch = stream.toByteArray();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		intentManager.close();
+		IntentManager.setInstance(null);
+	}
+	
+	@Benchmark
+	public void decode() {
+		read(batch);
+	}
+	
+	private void read(byte [] data) {
+		ByteBuffer buffer = client.getChannelBuffer();
+		buffer.put(data);
+		client.onRead();
+	}
+	
+	private static byte [] encode(SWGPacket packet) {
+		ByteBuffer buffer = NetworkProtocol.encode(packet).getBuffer();
+		byte [] data = new byte[buffer.remaining()];
+		buffer.get(data);
+		return data;
+	}
+	
+}
@@ -0,0 +1,91 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends windows of small datagrams over loopback to a {@link UDPServer} and waits for the batch callback to see them.
+ * Lost datagrams only cost the window's timeout, they never stall the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UDPServerBenchmark {
+	
+	private static final int PACKET_SIZE = 32;
+	private static final int WINDOW = 256;
+	private static final long WINDOW_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	private final AtomicLong received = new AtomicLong(0);
+	private UDPServer server;
+	private DatagramChannel client;
+	private ByteBuffer data;
+	private int sequence;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		server = new UDPServer(InetAddress.getLoopbackAddress(), 0, PACKET_SIZE);
+		server.setBatchCallback(batch -> received.addAndGet(batch.size()));
+		client = DatagramChannel.open();
+		client.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+		data = ByteBuffer.allocateDirect(PACKET_SIZE);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		client.close();
+		server.close();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(WINDOW)
+	public long receiveWindow() throws IOException {
+		long expected = received.get() + WINDOW;
+		for (int i = 0; i < WINDOW; i++) {
+			data.clear();
+			data.putInt(0, sequence++);
+			client.write(data);
+		}
+		long deadline = System.nanoTime() + WINDOW_TIMEOUT;
+		while (received.get() < expected && System.nanoTime() < deadline)
+			Thread.onSpinWait();
+		return received.get();
+	}
+	
+}
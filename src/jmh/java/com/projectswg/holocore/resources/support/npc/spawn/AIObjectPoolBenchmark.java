@@ -0,0 +1,101 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.npc.spawn;
+
+import com.projectswg.common.data.location.Location;
+import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
+import com.projectswg.holocore.resources.support.data.server_info.loader.npc.NpcStaticSpawnLoader.StaticSpawnInfo;
+import com.projectswg.holocore.resources.support.objects.ObjectCreator;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIBehavior;
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares respawning an NPC through {@link NPCCreator} from its spawner's {@link AIObjectPool} with creating it from
+ * scratch, as happens when the pool is empty
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIObjectPoolBenchmark extends TestRunnerSynchronousIntents {
+	
+	private Spawner spawner;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		setupSynchronous();
+		spawner = DataLoader.Companion.npcStaticSpawns().getSpawns().stream()
+				.filter(spawn -> spawn.getBuildingId().isEmpty() || spawn.getBuildingId().endsWith("_world"))
+				.filter(spawn -> spawn.getPatrolId().isEmpty() || spawn.getPatrolId().equals("0"))
+				.map(spawn -> new Spawner(spawn, createEgg(spawn)))
+				.filter(spawner -> spawner.getBehavior() != AIBehavior.PATROL && spawner.getIffs().size() == 1)
+				.findFirst()
+				.orElseThrow();
+		// Warms the pool with the first NPC, just like a spawner that already lost one
+		spawner.getPool().release(kill(NPCCreator.createNPC(spawner)));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cleanupServices();
+	}
+	
+	@Benchmark
+	public AIObject respawnPooled() {
+		AIObject npc = kill(NPCCreator.createNPC(spawner));
+		spawner.getPool().release(npc);
+		waitForIntents();
+		return npc;
+	}
+	
+	@Benchmark
+	public AIObject respawnFresh() {
+		AIObject npc = kill(NPCCreator.createNPC(spawner));
+		waitForIntents();
+		return npc;
+	}
+	
+	private AIObject kill(long objectId) {
+		AIObject npc = spawner.getNpcs().stream().filter(obj -> obj.getObjectId() == objectId).findAny().orElseThrow();
+		spawner.removeNPC(npc);
+		return npc;
+	}
+	
+	private static SWGObject createEgg(StaticSpawnInfo spawn) {
+		SWGObject egg = ObjectCreator.createObjectFromTemplate(SpawnerType.valueOf(spawn.getSpawnerType()).getObjectTemplate());
+		egg.systemMove(null, Location.builder().setTerrain(spawn.getTerrain()).setPosition(spawn.getX(), spawn.getY(), spawn.getZ()).build());
+		return egg;
+	}
+	
+}
@@ -0,0 +1,89 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects the targets of a 10m area attack in a crowd of 300 NPCs, inside a population of 3000 spread over the
+ * surrounding chunks, from the attacker's awareness and from the spatial grid
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AreaTargetBenchmark {
+	
+	private static final double RANGE = 10;
+	
+	private ObjectAwareness awareness;
+	private CreatureObject attacker;
+	private long nextId = 1;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		awareness = new ObjectAwareness();
+		Random random = new Random(0);
+		attacker = new GenericCreatureObject(nextId++, "attacker");
+		attacker.setPosition(Terrain.TATOOINE, 3500, 0, -4500);
+		awareness.createObject(attacker);
+		for (int i = 0; i < 300; i++)
+			createCreature(3500 + random.nextGaussian() * 15, -4500 + random.nextGaussian() * 15);
+		for (int i = 0; i < 3000; i++)
+			createCreature(3500 + random.nextDouble() * 3000 - 1500, -4500 + random.nextDouble() * 3000 - 1500);
+		awareness.updateChunks();
+	}
+	
+	@Benchmark
+	public long awareSet() {
+		return attacker.getObjectsAware().stream()
+				.filter(CreatureObject.class::isInstance)
+				.filter(obj -> obj != attacker)
+				.filter(obj -> attacker.getLocation().distanceTo(obj.getLocation()) <= RANGE)
+				.count();
+	}
+	
+	@Benchmark
+	public int spatialGrid() {
+		return awareness.getCreaturesInRange(Terrain.TATOOINE, attacker.getX(), attacker.getZ(), RANGE).size() - 1;
+	}
+	
+	private void createCreature(double x, double z) {
+		CreatureObject creature = new GenericCreatureObject(nextId++, "npc", false);
+		creature.setPosition(Terrain.TATOOINE, x, 0, z);
+		awareness.createObject(creature);
+	}
+	
+}
@@ -0,0 +1,82 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.data.terrain.TerrainHeightGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single height lookup in a baked, full-planet {@link TerrainHeightGrid}, as used when snapping navigation
+ * points to the ground
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TerrainHeightBenchmark {
+	
+	private Path file;
+	private TerrainHeightGrid grid;
+	private double [] coordinates;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		file = Files.createTempFile("benchmark", ".hgt");
+		TerrainHeightGrid.bake(file, Terrain.TATOOINE, (terrain, x, z) -> 50 * Math.sin(x / 300) + 20 * Math.cos(z / 150), 16384, 8);
+		grid = TerrainHeightGrid.map(file);
+		
+		Random random = new Random(0);
+		coordinates = new double[4096];
+		for (int i = 0; i < coordinates.length; i++)
+			coordinates[i] = random.nextDouble() * 16384 - 8192;
+		next = 0;
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		grid = null;
+		if (!file.toFile().delete())
+			file.toFile().deleteOnExit();
+	}
+	
+	@Benchmark
+	public double getHeight() {
+		int i = next++;
+		return grid.getHeight(coordinates[i & 4095], coordinates[(i * 7 + 1) & 4095]);
+	}
+	
+}
@@ -0,0 +1,99 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves a synthetic crowd of NPCs around a single {@link TerrainMap}, and measures the periodic chunk update that
+ * recomputes awareness for everything in it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TerrainMapBenchmark {
+	
+	@Param({"1000", "5000"})
+	public int creatureCount;
+	
+	private TerrainMap map;
+	private CreatureObject [] creatures;
+	private double [] homeX;
+	private double [] homeZ;
+	private int next;
+	private int step;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(1234);
+		map = new TerrainMap();
+		creatures = new CreatureObject[creatureCount];
+		homeX = new double[creatureCount];
+		homeZ = new double[creatureCount];
+		for (int i = 0; i < creatureCount; i++) {
+			// Clustered around a few towns, like spawns are in the real world
+			int town = random.nextInt(8);
+			homeX[i] = -6000 + town * 1500 + random.nextGaussian() * 300;
+			homeZ[i] = -3000 + (town % 3) * 2500 + random.nextGaussian() * 300;
+			CreatureObject creature = new CreatureObject(i + 1);
+			creature.setPosition(Terrain.TATOOINE, homeX[i], 0, homeZ[i]);
+			creatures[i] = creature;
+			map.add(creature);
+		}
+		map.updateChunks();
+		next = 0;
+		step = 0;
+	}
+	
+	/**
+	 * A single creature walking a few meters, occasionally crossing a chunk boundary
+	 */
+	@Benchmark
+	public void move() {
+		int index = next;
+		next = (index + 1) % creatureCount;
+		if (next == 0)
+			step = (step + 1) & 31;
+		CreatureObject creature = creatures[index];
+		creature.setPosition(Terrain.TATOOINE, homeX[index] + step * 4, 0, homeZ[index]);
+		map.move(creature);
+	}
+	
+	@Benchmark
+	public void updateChunks() {
+		map.updateChunks();
+	}
+	
+}
@@ -0,0 +1,113 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.combat;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.intents.gameplay.combat.CreatureKilledIntent;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureDifficulty;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.resources.support.objects.swg.group.GroupObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A group farming kills: every flush window handles a batch of kills by group members, and then merges the experience
+ * into one intent per member
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombatExperienceBenchmark extends TestRunnerSynchronousIntents {
+	
+	private static final int KILLS_PER_WINDOW = 12;
+	
+	@Param({"1", "8"})
+	public int groupSize;
+	
+	private CombatExperienceService service;
+	private CreatureObject [] members;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		setupSynchronous();
+		// The scheduled flush is pushed out of the way; the benchmark drives it by hand
+		service = new CombatExperienceService(TimeUnit.HOURS.toMillis(1));
+		registerService(service);
+		
+		members = new CreatureObject[groupSize];
+		for (int i = 0; i < groupSize; i++)
+			members[i] = createPlayer();
+		if (groupSize > 1) {
+			GroupObject group = new GroupObject(getUniqueId());
+			group.formGroup(members[0], members[1]);
+			for (int i = 2; i < groupSize; i++)
+				group.addMember(members[i]);
+			group.setLevel((short) 1);
+			for (CreatureObject member : members)
+				member.setGroupId(group.getObjectId());
+			registerObject(group);
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cleanupServices();
+	}
+	
+	@Benchmark
+	public void flushWindow() {
+		for (int kill = 0; kill < KILLS_PER_WINDOW; kill++)
+			new CreatureKilledIntent(members[kill % groupSize], createCorpse(members)).broadcast();
+		waitForIntents();
+		service.flushExperience();
+		waitForIntents();
+	}
+	
+	private static CreatureObject createPlayer() {
+		GenericCreatureObject player = new GenericCreatureObject(getUniqueId(), "player");
+		player.setPosition(Terrain.TATOOINE, 0, 0, 0);
+		player.setLevel(1);
+		return player;
+	}
+	
+	private static CreatureObject createCorpse(CreatureObject [] attackers) {
+		GenericCreatureObject corpse = new GenericCreatureObject(getUniqueId(), "corpse", false);
+		corpse.setPosition(Terrain.TATOOINE, 10, 0, 10);
+		corpse.setLevel(1);
+		corpse.setDifficulty(CreatureDifficulty.NORMAL);
+		for (CreatureObject attacker : attackers)
+			corpse.handleDamage(attacker, 100);
+		return corpse;
+	}
+	
+}
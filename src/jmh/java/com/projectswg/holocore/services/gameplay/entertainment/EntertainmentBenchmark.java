@@ -0,0 +1,87 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.entertainment;
+
+import com.projectswg.holocore.intents.gameplay.entertainment.dance.DanceIntent;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One experience tick of the entertainment service over a crowd of dancers that flourished since the previous tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntertainmentBenchmark extends TestRunnerSynchronousIntents {
+	
+	@Param({"100", "1000"})
+	public int performers;
+	
+	private final AtomicLong clock = new AtomicLong(0);
+	private EntertainmentService service;
+	private GenericCreatureObject [] dancers;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		setupSynchronous();
+		// The scheduled tick is pushed out of the way; the benchmark drives it by hand
+		service = new EntertainmentService(clock::get, TimeUnit.HOURS.toMillis(1));
+		registerService(service);
+		
+		dancers = new GenericCreatureObject[performers];
+		for (int i = 0; i < performers; i++) {
+			GenericCreatureObject dancer = new GenericCreatureObject(getUniqueId(), "entertainer");
+			dancer.addSkill("class_entertainer_phase1_novice");
+			dancer.addCommand("startDance+basic");
+			dancers[i] = dancer;
+			new DanceIntent("basic", dancer, false).broadcast();
+		}
+		waitForIntents();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cleanupServices();
+	}
+	
+	@Benchmark
+	public void tick() {
+		for (GenericCreatureObject dancer : dancers)
+			dancer.setPerformanceCounter(3);
+		clock.addAndGet(TimeUnit.SECONDS.toMillis(10));
+		service.tick();
+		waitForIntents();
+	}
+	
+}
@@ -0,0 +1,88 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.player.experience.skills.skillmod;
+
+import com.projectswg.holocore.intents.support.objects.swg.ContainerTransferIntent;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equips and unequips a batch of looted items carrying many unrelated attributes, so that every transfer after the
+ * first is answered from the parsed skill mod cache
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillModBenchmark extends TestRunnerSynchronousIntents {
+	
+	private static final int ITEMS = 100;
+	
+	private GenericCreatureObject creature;
+	private SWGObject inventory;
+	private SWGObject [] items;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		setupSynchronous();
+		registerService(new SkillModService());
+		creature = new GenericCreatureObject(getUniqueId(), "creature");
+		inventory = creature.getSlottedObject("inventory");
+		items = new SWGObject[ITEMS];
+		for (int i = 0; i < ITEMS; i++) {
+			SWGObject item = new GenericTangibleObject(getUniqueId());
+			item.addAttribute("cat_stat_mod_bonus.@stat_n:constitution_modified", "1");
+			item.addAttribute("cat_skill_mod_bonus.@stat_n:camouflage", "3");
+			for (int attr = 0; attr < 20; attr++)
+				item.addAttribute("attribute_" + attr, String.valueOf(attr));
+			item.systemMove(inventory);
+			items[i] = item;
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cleanupServices();
+	}
+	
+	@Benchmark
+	public void equipAndUnequip() {
+		for (SWGObject item : items)
+			new ContainerTransferIntent(item, inventory, -1, creature, 4).broadcast();
+		for (SWGObject item : items)
+			new ContainerTransferIntent(item, creature, 4, inventory, -1).broadcast();
+		waitForIntents();
+	}
+	
+}
@@ -0,0 +1,97 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.chat;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.intents.support.global.chat.SpatialChatIntent;
+import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSimulatedWorld;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spatial chat from players spread among thousands of NPCs, delivered through the service with every recipient check
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatSpatialBenchmark extends TestRunnerSimulatedWorld {
+	
+	private static final int PLAYERS = 100;
+	private static final int NPCS = 5000;
+	private static final double SPREAD = 1500;
+	
+	private GenericCreatureObject [] players;
+	private int speaker;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		setupSynchronous();
+		setupSimulatedServices();
+		registerService(new ChatSpatialService());
+		
+		Random random = new Random(0);
+		players = new GenericCreatureObject[PLAYERS];
+		for (int i = 0; i < PLAYERS; i++) {
+			players[i] = new GenericCreatureObject(getUniqueId(), "player" + i);
+			players[i].setPosition(Terrain.TATOOINE, random.nextDouble() * SPREAD - SPREAD / 2, 0, random.nextDouble() * SPREAD - SPREAD / 2);
+			registerObject(players[i]);
+		}
+		for (int i = 0; i < NPCS; i++) {
+			GenericCreatureObject npc = new GenericCreatureObject(getUniqueId(), "npc", false);
+			npc.setPosition(Terrain.TATOOINE, random.nextDouble() * SPREAD - SPREAD / 2, 0, random.nextDouble() * SPREAD - SPREAD / 2);
+			new ObjectCreatedIntent(npc).broadcast();
+		}
+		waitForIntents();
+		updateAwareness();
+	}
+	
+	@Setup(Level.Iteration)
+	public void clearPackets() {
+		for (GenericCreatureObject player : players)
+			player.getOwner().clearPackets();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cleanupServices();
+	}
+	
+	@Benchmark
+	public void spatialChat() {
+		GenericCreatureObject sender = players[speaker++ % PLAYERS];
+		new SpatialChatIntent(sender.getOwner(), 0, "hello", 0).broadcast();
+		waitForIntents();
+	}
+	
+}
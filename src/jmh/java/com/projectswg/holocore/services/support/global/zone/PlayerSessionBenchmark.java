@@ -0,0 +1,114 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.zone;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.NetworkProtocol;
+import com.projectswg.common.network.packets.swg.zone.ServerTimeMessage;
+import com.projectswg.holocore.intents.support.global.network.ConnectionOpenedIntent;
+import com.projectswg.holocore.intents.support.global.zone.NotifyPlayersPacketIntent;
+import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacket;
+import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-wide and per-planet broadcasts to a full galaxy, and the cost of encoding a broadcast once rather than for every
+ * recipient
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerSessionBenchmark extends TestRunnerSynchronousIntents {
+	
+	private static final int PLAYERS = 3000;
+	private static final Terrain [] TERRAINS = {
+			Terrain.TATOOINE, Terrain.NABOO, Terrain.CORELLIA, Terrain.TALUS, Terrain.RORI, Terrain.DANTOOINE, Terrain.LOK,
+			Terrain.YAVIN4, Terrain.ENDOR, Terrain.DATHOMIR
+	};
+	
+	private final ServerTimeMessage packet = new ServerTimeMessage(1234);
+	private GenericCreatureObject [] players;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		setupSynchronous();
+		registerService(new PlayerSessionService());
+		
+		players = new GenericCreatureObject[PLAYERS];
+		for (int i = 0; i < PLAYERS; i++) {
+			players[i] = new GenericCreatureObject(getUniqueId(), "player" + i);
+			players[i].setPosition(TERRAINS[i % TERRAINS.length], 0, 0, 0);
+			broadcastAndWait(new ConnectionOpenedIntent(players[i].getOwner()));
+			broadcastAndWait(new PlayerEventIntent(players[i].getOwner(), PlayerEvent.PE_ZONE_IN_CLIENT));
+		}
+	}
+	
+	@Setup(Level.Iteration)
+	public void clearPackets() {
+		for (GenericCreatureObject player : players)
+			player.getOwner().clearPackets();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		cleanupServices();
+	}
+	
+	@Benchmark
+	public void encodePerRecipient(Blackhole blackhole) {
+		for (int i = 0; i < PLAYERS; i++)
+			blackhole.consume(NetworkProtocol.encode(packet));
+	}
+	
+	@Benchmark
+	public void encodeOnce(Blackhole blackhole) {
+		EncodedPacket encoded = new EncodedPacket(packet);
+		for (int i = 0; i < PLAYERS; i++)
+			blackhole.consume(encoded.getEncoded());
+	}
+	
+	@Benchmark
+	public void broadcastGalaxy() {
+		broadcastAndWait(new NotifyPlayersPacketIntent(packet));
+	}
+	
+	@Benchmark
+	public void broadcastEveryPlanet() {
+		for (Terrain terrain : TERRAINS)
+			broadcastAndWait(new NotifyPlayersPacketIntent(packet, terrain));
+	}
+	
+}
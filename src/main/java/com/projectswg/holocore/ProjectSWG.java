@@ -32,9 +32,12 @@ import com.projectswg.common.data.encodables.galaxy.Galaxy.GalaxyStatus;
 import com.projectswg.holocore.intents.support.data.control.ServerStatusIntent;
 import com.projectswg.holocore.resources.support.data.client_info.ServerFactory;
 import com.projectswg.holocore.resources.support.data.control.ServerStatus;
+import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
+import com.projectswg.holocore.resources.support.data.server_info.loader.StaticDataWarmup;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
 import com.projectswg.holocore.services.gameplay.GameplayManager;
 import com.projectswg.holocore.services.support.SupportManager;
+import com.projectswg.holocore.utilities.AsyncLogWrapper;
 import com.projectswg.holocore.utilities.ScheduledUtilities;
 import me.joshlarson.jlcommon.concurrency.Delay;
 import me.joshlarson.jlcommon.control.IntentManager;
@@ -43,6 +46,8 @@ import me.joshlarson.jlcommon.control.Manager;
 import me.joshlarson.jlcommon.control.SafeMain;
 import me.joshlarson.jlcommon.control.ServiceBase;
 import me.joshlarson.jlcommon.log.Log;
+import me.joshlarson.jlcommon.log.Log.LogLevel;
+import me.joshlarson.jlcommon.log.LogWrapper;
 import me.joshlarson.jlcommon.log.log_wrapper.AnsiColorLogWrapper;
 import me.joshlarson.jlcommon.log.log_wrapper.ConsoleLogWrapper;
 import me.joshlarson.jlcommon.log.log_wrapper.FileLogWrapper;
@@ -55,12 +60,19 @@ import java.time.OffsetTime;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 public class ProjectSWG {
 	
 	public static final String VERSION = "FEB19";
 	
 	private static final Galaxy GALAXY = new Galaxy();
+	private static final int LOG_BUFFER_SIZE = 8192;
+	private static final long MAIN_LOOP_PERIOD = 50;
+	
+	private static volatile LongConsumer mainLoopListener = delay -> {};
 	
 	public static void main(String [] args) {
 		SafeMain.main("holocore", ProjectSWG::run, args);
@@ -79,7 +91,21 @@ public class ProjectSWG {
 		return GALAXY;
 	}
 	
+	/**
+	 * Sets the listener that is given how late each iteration of the server's main loop finished, in nanoseconds
+	 */
+	static void setMainLoopListener(LongConsumer listener) {
+		mainLoopListener = listener;
+	}
+	
 	static int run(String [] args) {
+		return run(args, ProjectSWG::setupDatabase);
+	}
+	
+	/**
+	 * Runs the server, using the specified function to set up the database instead of connecting to MongoDB
+	 */
+	static int run(String [] args, Consumer<CommandLine> databaseSetup) {
 		CommandLine arguments;
 		try {
 			arguments = new DefaultParser().parse(createArgumentOptions(), args, true);
@@ -97,21 +123,28 @@ public class ProjectSWG {
 		File logDirectory = new File("log");
 		if (!logDirectory.isDirectory() && !logDirectory.mkdir())
 			Log.w("Failed to make log directory!");
-		if (arguments.hasOption("print-colors"))
-			Log.addWrapper(new AnsiColorLogWrapper());
-		else
-			Log.addWrapper(new ConsoleLogWrapper());
-		Log.addWrapper(new FileLogWrapper(new File(logDirectory, "log.txt")));
-		
+		LogWrapper consoleLog = arguments.hasOption("print-colors") ? new AnsiColorLogWrapper() : new ConsoleLogWrapper();
+		LogWrapper fileLog = new FileLogWrapper(new File(logDirectory, "log.txt"));
+		try (AsyncLogWrapper asyncLog = new AsyncLogWrapper(LOG_BUFFER_SIZE, consoleLog, fileLog)) {
+			Log.addWrapper(asyncLog);
+			return runServer(arguments, databaseSetup);
+		} finally {
+			Log.clearWrappers();
+		}
+	}
+	
+	private static int runServer(CommandLine arguments, Consumer<CommandLine> databaseSetup) {
 		Log.i("Holocore version: %s", VERSION);
 		
 		if (ProjectSWG.class.getResourceAsStream("/marker.txt") == null) {
 			Log.a("Failed to read Holocore resources - aborting");
 			return -1;
 		}
-		setupDatabase(arguments);
+		databaseSetup.accept(arguments);
+		StandardLog.setLevel(getConfiguredLogLevel());
 		Thread.currentThread().setPriority(10);
 		initializeServerFactory();
+		StaticDataWarmup warmup = warmupStaticData();
 		setupGalaxy(arguments);
 		try (IntentManager intentManager = new IntentManager(false, Runtime.getRuntime().availableProcessors(), 8)) {
 			IntentManager.setInstance(intentManager);
@@ -119,9 +152,11 @@ public class ProjectSWG {
 			managers.forEach(m -> m.setIntentManager(intentManager));
 
 			setStatus(ServerStatus.INITIALIZING);
-			if (Manager.start(managers)) {
+			boolean started = Manager.start(managers);
+			warmup.release();
+			if (started) {
 				setStatus(ServerStatus.OPEN);
-				Manager.run(managers, 50);
+				runMainLoop(managers);
 			}
 			Delay.clearInterrupted();
 			setStatus(ServerStatus.TERMINATING);
@@ -133,7 +168,33 @@ public class ProjectSWG {
 		return 0;
 	}
 	
+	/**
+	 * Checks that every manager is still operational every {@link #MAIN_LOOP_PERIOD} milliseconds, reporting how late
+	 * each iteration finished to the main loop listener
+	 */
+	private static void runMainLoop(List<ServiceBase> managers) {
+		long periodNanos = TimeUnit.MILLISECONDS.toNanos(MAIN_LOOP_PERIOD);
+		long start = System.nanoTime();
+		while (managers.stream().allMatch(ServiceBase::isOperational)) {
+			if (!Delay.sleepMilli(MAIN_LOOP_PERIOD))
+				break;
+			long now = System.nanoTime();
+			mainLoopListener.accept(Math.max(0, now - start - periodNanos));
+			start = now;
+		}
+	}
+	
 	// TODO: Replace all iffs with sdbs
+	private static LogLevel getConfiguredLogLevel() {
+		String logLevel = PswgDatabase.INSTANCE.getConfig().getString(ProjectSWG.class, "logLevel", LogLevel.TRACE.name());
+		try {
+			return LogLevel.valueOf(logLevel);
+		} catch (IllegalArgumentException e) {
+			Log.w("Invalid logLevel '%s' - defaulting to %s", logLevel, LogLevel.TRACE);
+			return LogLevel.TRACE;
+		}
+	}
+	
 	private static void initializeServerFactory() {
 		try {
 			ServerFactory.getInstance().updateServerIffs();
@@ -142,6 +203,13 @@ public class ProjectSWG {
 		}
 	}
 	
+	private static StaticDataWarmup warmupStaticData() {
+		StaticDataWarmup warmup = new StaticDataWarmup();
+		if (PswgDatabase.INSTANCE.getConfig().getBoolean(ProjectSWG.class, "staticDataWarmup", true))
+			warmup.run(Runtime.getRuntime().availableProcessors());
+		return warmup;
+	}
+	
 	private static void shutdownStaticClasses() {
 		ScheduledUtilities.shutdown();
 	}
@@ -33,7 +33,7 @@ public final class ExperienceIntent extends Intent {
 	
 	private final CreatureObject creatureObject;
 	private final String xpType;
-	private final int experienceGained;
+	private final int [] experienceAwards;
 	private final boolean multiply;
 	
 	public ExperienceIntent(CreatureObject creatureObject, String xpType, int experienceGained) {
@@ -41,9 +41,17 @@ public final class ExperienceIntent extends Intent {
 	}
 	
 	public ExperienceIntent(CreatureObject creatureObject, String xpType, int experienceGained, boolean multiply) {
+		this(creatureObject, xpType, new int[]{experienceGained}, multiply);
+	}
+	
+	/**
+	 * Awards several grants of experience as a single update. Each grant is multiplied on its own, so the result is
+	 * identical to broadcasting one intent per grant.
+	 */
+	public ExperienceIntent(CreatureObject creatureObject, String xpType, int [] experienceAwards, boolean multiply) {
 		this.creatureObject = creatureObject;
 		this.xpType = xpType;
-		this.experienceGained = experienceGained;
+		this.experienceAwards = experienceAwards;
 		this.multiply = multiply;
 	}
 	
@@ -56,9 +64,16 @@ public final class ExperienceIntent extends Intent {
 	}
 	
 	public int getExperienceGained() {
+		int experienceGained = 0;
+		for (int award : experienceAwards)
+			experienceGained += award;
 		return experienceGained;
 	}
 	
+	public int [] getExperienceAwards() {
+		return experienceAwards.clone();
+	}
+	
 	public boolean isMultiply() {
 		return multiply;
 	}
@@ -27,6 +27,7 @@
 package com.projectswg.holocore.intents.support.objects.swg;
 
 import com.projectswg.common.data.location.Location;
+import com.projectswg.holocore.resources.support.objects.awareness.TeleportGroup;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import me.joshlarson.jlcommon.control.Intent;
 import org.jetbrains.annotations.NotNull;
@@ -39,17 +40,23 @@ public class ObjectTeleportIntent extends Intent {
 	private final SWGObject newParent;
 	private final Location oldLocation;
 	private final Location newLocation;
+	private final TeleportGroup group;
 	
 	public ObjectTeleportIntent(@NotNull SWGObject object, @Nullable SWGObject oldParent, @NotNull Location oldLocation, @NotNull Location newLocation) {
 		this(object, oldParent, null, oldLocation, newLocation);
 	}
 	
 	public ObjectTeleportIntent(@NotNull SWGObject object, @Nullable SWGObject oldParent, @Nullable SWGObject newParent, @NotNull Location oldLocation, @NotNull Location newLocation) {
+		this(object, oldParent, newParent, oldLocation, newLocation, null);
+	}
+	
+	public ObjectTeleportIntent(@NotNull SWGObject object, @Nullable SWGObject oldParent, @Nullable SWGObject newParent, @NotNull Location oldLocation, @NotNull Location newLocation, @Nullable TeleportGroup group) {
 		this.object = object;
 		this.oldParent = oldParent;
 		this.newParent = newParent;
 		this.oldLocation = oldLocation;
 		this.newLocation = newLocation;
+		this.group = group;
 	}
 	
 	@NotNull
@@ -77,6 +84,14 @@ public class ObjectTeleportIntent extends Intent {
 		return newLocation;
 	}
 	
+	/**
+	 * Returns the group of objects teleported to the same destination at the same time, if any
+	 */
+	@Nullable
+	public TeleportGroup getGroup() {
+		return group;
+	}
+	
 	public static void broadcast(@NotNull SWGObject object, @Nullable SWGObject oldParent, @NotNull Location oldLocation, @NotNull Location newLocation) {
 		new ObjectTeleportIntent(object, oldParent, oldLocation, newLocation).broadcast();
 	}
@@ -49,6 +49,7 @@ public class GalacticResource implements Persistable, MongoPersistable {
 	private final GalacticResourceStats stats;
 	private final List<GalacticResourceSpawn> spawns;
 	private final Map<Terrain, List<GalacticResourceSpawn>> terrainSpawns;
+	private final Map<Terrain, ResourceConcentrationRaster> concentrationRasters;
 	
 	private long id;
 	private String name;
@@ -63,6 +64,7 @@ public class GalacticResource implements Persistable, MongoPersistable {
 		this.stats = new GalacticResourceStats();
 		this.spawns = new CopyOnWriteArrayList<>();
 		this.terrainSpawns = new ConcurrentHashMap<>();
+		this.concentrationRasters = new ConcurrentHashMap<>();
 		
 		this.id = id;
 		this.name = name;
@@ -103,6 +105,16 @@ public class GalacticResource implements Persistable, MongoPersistable {
 		return spawns == null ? List.of() : Collections.unmodifiableList(spawns);
 	}
 	
+	/**
+	 * Returns the concentration raster for the spawns on the specified terrain. The raster is built on first use, and
+	 * discarded whenever a spawn on that terrain is added or removed.
+	 * @param terrain the terrain to look up
+	 * @return the concentration raster
+	 */
+	public ResourceConcentrationRaster getConcentrationRaster(Terrain terrain) {
+		return concentrationRasters.computeIfAbsent(terrain, t -> new ResourceConcentrationRaster(t, getSpawns(t)));
+	}
+	
 	public void setRawResource(RawResource rawResource) {
 		this.rawResource = rawResource;
 	}
@@ -110,6 +122,7 @@ public class GalacticResource implements Persistable, MongoPersistable {
 	public void addSpawn(@NotNull GalacticResourceSpawn spawn) {
 		spawns.add(spawn);
 		terrainSpawns.computeIfAbsent(spawn.getTerrain(), s -> new CopyOnWriteArrayList<>()).add(spawn);
+		concentrationRasters.remove(spawn.getTerrain());
 	}
 	
 	public void removeSpawn(@NotNull GalacticResourceSpawn spawn) {
@@ -120,6 +133,7 @@ public class GalacticResource implements Persistable, MongoPersistable {
 			spawns.remove(spawn);
 			return spawns.isEmpty() ? null : spawns;
 		});
+		concentrationRasters.remove(spawn.getTerrain());
 	}
 	
 	@Override
@@ -144,6 +158,7 @@ public class GalacticResource implements Persistable, MongoPersistable {
 	public void readMongo(MongoData data) {
 		spawns.clear();
 		terrainSpawns.clear();
+		concentrationRasters.clear();
 		
 		id = data.getLong("id", id);
 		name = data.getString("name", name);
@@ -0,0 +1,123 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.gameplay.crafting.resource.galactic;
+
+import com.projectswg.common.data.location.Terrain;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed sum of all spawn concentrations of a single resource on a single terrain. The exact concentration is
+ * sampled on a fixed grid of nodes {@link #CELL_SIZE} meters apart, and looked up with bilinear interpolation. Only
+ * the tiles that are covered by a spawn are allocated.
+ */
+public class ResourceConcentrationRaster {
+	
+	public static final int CELL_SIZE = 8;
+	
+	private static final int TILE_SHIFT = 6;
+	private static final int TILE_NODES = 1 << TILE_SHIFT;
+	private static final int TILE_MASK = TILE_NODES - 1;
+	
+	private final Terrain terrain;
+	private final Map<Long, short[]> tiles;
+	
+	public ResourceConcentrationRaster(Terrain terrain, List<GalacticResourceSpawn> spawns) {
+		this.terrain = terrain;
+		this.tiles = new HashMap<>();
+		for (GalacticResourceSpawn spawn : spawns) {
+			if (spawn.getTerrain() == terrain)
+				rasterize(spawn);
+		}
+	}
+	
+	public Terrain getTerrain() {
+		return terrain;
+	}
+	
+	public int getTileCount() {
+		return tiles.size();
+	}
+	
+	/**
+	 * Returns the interpolated sum of every spawn's concentration at the specified location
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @return the summed concentration, on the same scale as {@link GalacticResourceSpawn#getConcentration(Terrain, double, double)}
+	 */
+	public double getConcentration(double x, double z) {
+		double gridX = x / CELL_SIZE;
+		double gridZ = z / CELL_SIZE;
+		int nodeX = (int) Math.floor(gridX);
+		int nodeZ = (int) Math.floor(gridZ);
+		double fracX = gridX - nodeX;
+		double fracZ = gridZ - nodeZ;
+		
+		double top = getNode(nodeX, nodeZ) * (1 - fracX) + getNode(nodeX+1, nodeZ) * fracX;
+		double bottom = getNode(nodeX, nodeZ+1) * (1 - fracX) + getNode(nodeX+1, nodeZ+1) * fracX;
+		return top * (1 - fracZ) + bottom * fracZ;
+	}
+	
+	private void rasterize(GalacticResourceSpawn spawn) {
+		int radius = spawn.getRadius();
+		int minX = (int) Math.floor((spawn.getX() - radius) / CELL_SIZE);
+		int maxX = (int) Math.ceil((spawn.getX() + radius) / CELL_SIZE);
+		int minZ = (int) Math.floor((spawn.getZ() - radius) / CELL_SIZE);
+		int maxZ = (int) Math.ceil((spawn.getZ() + radius) / CELL_SIZE);
+		for (int nodeZ = minZ; nodeZ <= maxZ; nodeZ++) {
+			for (int nodeX = minX; nodeX <= maxX; nodeX++) {
+				int concentration = spawn.getConcentration(terrain, nodeX * CELL_SIZE, nodeZ * CELL_SIZE);
+				if (concentration > 0)
+					addNode(nodeX, nodeZ, concentration);
+			}
+		}
+	}
+	
+	private int getNode(int nodeX, int nodeZ) {
+		short[] tile = tiles.get(getTileKey(nodeX, nodeZ));
+		if (tile == null)
+			return 0;
+		return tile[getTileIndex(nodeX, nodeZ)];
+	}
+	
+	private void addNode(int nodeX, int nodeZ, int concentration) {
+		short[] tile = tiles.computeIfAbsent(getTileKey(nodeX, nodeZ), k -> new short[TILE_NODES * TILE_NODES]);
+		int index = getTileIndex(nodeX, nodeZ);
+		tile[index] = (short) Math.min(Short.MAX_VALUE, tile[index] + concentration);
+	}
+	
+	private static long getTileKey(int nodeX, int nodeZ) {
+		return ((long) (nodeX >> TILE_SHIFT) << 32) | ((nodeZ >> TILE_SHIFT) & 0xFFFFFFFFL);
+	}
+	
+	private static int getTileIndex(int nodeX, int nodeZ) {
+		return ((nodeZ & TILE_MASK) << TILE_SHIFT) | (nodeX & TILE_MASK);
+	}
+	
+}
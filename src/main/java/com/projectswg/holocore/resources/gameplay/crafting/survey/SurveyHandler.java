@@ -32,7 +32,6 @@ import com.projectswg.common.data.encodables.oob.StringId;
 import com.projectswg.common.data.encodables.oob.waypoint.WaypointColor;
 import com.projectswg.common.data.encodables.tangible.Posture;
 import com.projectswg.common.data.location.Location;
-import com.projectswg.common.data.location.Terrain;
 import com.projectswg.common.network.packets.swg.zone.PlayClientEffectObjectMessage;
 import com.projectswg.common.network.packets.swg.zone.PlayMusicMessage;
 import com.projectswg.common.network.packets.swg.zone.chat.ChatSystemMessage;
@@ -41,8 +40,8 @@ import com.projectswg.common.network.packets.swg.zone.crafting.surveying.SurveyM
 import com.projectswg.common.network.packets.swg.zone.crafting.surveying.SurveyMessage.ResourceConcentration;
 import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
 import com.projectswg.holocore.resources.gameplay.crafting.resource.galactic.GalacticResource;
-import com.projectswg.holocore.resources.gameplay.crafting.resource.galactic.GalacticResourceSpawn;
 import com.projectswg.holocore.resources.gameplay.crafting.resource.galactic.RawResourceType;
+import com.projectswg.holocore.resources.gameplay.crafting.resource.galactic.ResourceConcentrationRaster;
 import com.projectswg.holocore.resources.gameplay.crafting.resource.raw.RawResource;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.swg.ServerAttribute;
@@ -116,14 +115,14 @@ class SurveyHandler {
 		final double rangeInc = resolution.getRange()/(resolution.getResolution()-1.0);
 		
 		SurveyMessage surveyMessage = new SurveyMessage();
-		List<GalacticResourceSpawn> spawns = resource.getSpawns(location.getTerrain());
+		ResourceConcentrationRaster raster = resource.getConcentrationRaster(location.getTerrain());
 		double highestX = baseLocationX;
 		double highestZ = baseLocationX;
 		double highestConcentration = 0;
 		
 		for (double x = baseLocationX - rangeHalf, xIndex = 0; xIndex < resolution.getResolution(); x += rangeInc, xIndex++) {
 			for (double z = baseLocationZ - rangeHalf, zIndex = 0; zIndex < resolution.getResolution(); z += rangeInc, zIndex++) {
-				double concentration = getConcentration(spawns, location.getTerrain(), x, z);
+				double concentration = getConcentration(raster, x, z);
 				surveyMessage.addConcentration(new ResourceConcentration(x, z, concentration));
 				if (concentration > highestConcentration) {
 					highestX = x;
@@ -162,11 +161,8 @@ class SurveyHandler {
 		return resolutions.isEmpty() ? null : resolutions.get(resolutions.size()-1);
 	}
 	
-	private double getConcentration(List<GalacticResourceSpawn> spawns, Terrain terrain, double x, double z) {
-		int concentration = 0;
-		for (GalacticResourceSpawn spawn : spawns) {
-			concentration += spawn.getConcentration(terrain, x, z);
-		}
+	private static double getConcentration(ResourceConcentrationRaster raster, double x, double z) {
+		double concentration = raster.getConcentration(x, z);
 		if (concentration < 10) // Minimum density
 			return 0;
 		return concentration / 100.0;
@@ -0,0 +1,190 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.gameplay.world.travel;
+
+import com.projectswg.common.data.encodables.tangible.Posture;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * Admits travelers at their destination a few at a time, so that a full shuttle doesn't zone everyone in at the same
+ * instant. Travelers admitted during the same tick that share a destination are handed off together.
+ */
+final class TravelArrivalQueue {
+	
+	private static final long TICK_RATE = 100;
+	
+	private final Queue<Arrival> pending;
+	private final Set<Long> queuedTravelers;
+	private final ScheduledThreadPool executor;
+	private final int arrivalsPerTick;
+	private final BiConsumer<TravelPoint, List<Arrival>> arrivalHandler;
+	
+	/**
+	 * @param arrivalsPerTick the maximum number of travelers admitted every {@link #TICK_RATE} milliseconds
+	 * @param arrivalHandler called with every destination and the travelers admitted there during a tick
+	 */
+	TravelArrivalQueue(int arrivalsPerTick, BiConsumer<TravelPoint, List<Arrival>> arrivalHandler) {
+		this.pending = new ConcurrentLinkedQueue<>();
+		this.queuedTravelers = ConcurrentHashMap.newKeySet();
+		this.executor = new ScheduledThreadPool(1, "travel-arrivals");
+		this.arrivalsPerTick = Math.max(1, arrivalsPerTick);
+		this.arrivalHandler = arrivalHandler;
+	}
+	
+	void start() {
+		executor.start();
+		executor.executeWithFixedRate(TICK_RATE, TICK_RATE, this::tick);
+	}
+	
+	void stop() {
+		executor.stop();
+		executor.awaitTermination(1000);
+		// Whoever is still waiting has already boarded, so they're admitted rather than left standing at the shuttle
+		while (!pending.isEmpty())
+			tick();
+	}
+	
+	/**
+	 * Queues the traveler for arrival at the destination. The ticket is left alone until the traveler is admitted
+	 * @return false if the traveler is already waiting to arrive somewhere
+	 */
+	boolean enqueue(CreatureObject traveler, SWGObject ticket, TravelPoint departure, TravelPoint destination) {
+		if (!queuedTravelers.add(traveler.getObjectId()))
+			return false;
+		pending.add(new Arrival(traveler, ticket, departure, destination));
+		return true;
+	}
+	
+	int size() {
+		return pending.size();
+	}
+	
+	/**
+	 * Called every {@link #TICK_RATE} milliseconds, and admits up to the configured number of waiting travelers
+	 */
+	void tick() {
+		Map<TravelPoint, List<Arrival>> admitted = new LinkedHashMap<>();
+		for (int i = 0; i < arrivalsPerTick; i++) {
+			Arrival arrival = pending.poll();
+			if (arrival == null)
+				break;
+			queuedTravelers.remove(arrival.getTraveler().getObjectId());
+			admitted.computeIfAbsent(arrival.getDestination(), d -> new ArrayList<>()).add(arrival);
+		}
+		admitted.forEach(arrivalHandler);
+	}
+	
+	static final class Arrival {
+		
+		private final CreatureObject traveler;
+		private final SWGObject ticket;
+		private final TravelPoint departure;
+		private final TravelPoint destination;
+		
+		Arrival(CreatureObject traveler, SWGObject ticket, TravelPoint departure, TravelPoint destination) {
+			this.traveler = traveler;
+			this.ticket = ticket;
+			this.departure = departure;
+			this.destination = destination;
+		}
+		
+		public CreatureObject getTraveler() {
+			return traveler;
+		}
+		
+		public SWGObject getTicket() {
+			return ticket;
+		}
+		
+		public TravelPoint getDeparture() {
+			return departure;
+		}
+		
+		public TravelPoint getDestination() {
+			return destination;
+		}
+		
+		/**
+		 * Checked again when the traveler is admitted, as they may have logged out, died, walked away from the shuttle or
+		 * given their ticket away while waiting
+		 */
+		public BoardingCheck checkBoarding() {
+			Player owner = traveler.getOwnerShallow();
+			if (owner == null || owner.getPlayerState() != PlayerState.ZONED_IN)
+				return BoardingCheck.NOT_ZONED_IN;
+			Posture posture = traveler.getPosture();
+			if (posture == Posture.DEAD || posture == Posture.INCAPACITATED)
+				return BoardingCheck.INCAPACITATED;
+			if (!departure.isWithinRange(traveler))
+				return BoardingCheck.TOO_FAR;
+			SWGObject inventory = traveler.getSlottedObject("inventory");
+			if (inventory == null || ticket.getParent() != inventory)
+				return BoardingCheck.NO_TICKET;
+			return BoardingCheck.BOARDING;
+		}
+		
+	}
+	
+	enum BoardingCheck {
+		BOARDING		(null),
+		NOT_ZONED_IN	(null),
+		INCAPACITATED	("You cannot board the shuttle while incapacitated."),
+		TOO_FAR			("@travel:boarding_too_far"),
+		NO_TICKET		("@travel:no_ticket");
+		
+		private final String message;
+		
+		BoardingCheck(String message) {
+			this.message = message;
+		}
+		
+		/**
+		 * Returns the system message explaining why the traveler couldn't board, or null if there's no one to tell
+		 */
+		@Nullable
+		public String getMessage() {
+			return message;
+		}
+		
+	}
+	
+}
@@ -33,6 +33,8 @@ import com.projectswg.common.data.location.Terrain;
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent;
 import com.projectswg.holocore.intents.support.objects.swg.DestroyObjectIntent;
 import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.gameplay.world.travel.TravelArrivalQueue.Arrival;
+import com.projectswg.holocore.resources.gameplay.world.travel.TravelArrivalQueue.BoardingCheck;
 import com.projectswg.holocore.resources.gameplay.world.travel.TravelGroup.ShuttleStatus;
 import com.projectswg.holocore.resources.support.data.server_info.SdbLoader;
 import com.projectswg.holocore.resources.support.data.server_info.SdbLoader.SdbResultSet;
@@ -40,6 +42,7 @@ import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoa
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.SpecificObject;
+import com.projectswg.holocore.resources.support.objects.awareness.TeleportGroup;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import me.joshlarson.jlcommon.concurrency.ThreadPool;
@@ -58,11 +61,13 @@ public class TravelHelper {
 	private final Map<String, TravelGroup> travel;
 	private final ThreadPool travelExecutor;
 	private final TravelPointManager pointManager;
+	private final TravelArrivalQueue arrivals;
 	
 	public TravelHelper() {
 		this.travel = new ConcurrentHashMap<>();
 		this.travelExecutor = new ThreadPool(3, "travel-shuttles-%d");
 		this.pointManager = new TravelPointManager();
+		this.arrivals = new TravelArrivalQueue(PswgDatabase.INSTANCE.getConfig().getInt(this, "travelArrivalsPerTick", 5), this::arrive);
 		
 		createGalaxyTravels();
 		loadTravelPoints();
@@ -72,10 +77,12 @@ public class TravelHelper {
 		travelExecutor.start();
 		for (TravelGroup gt : travel.values())
 			travelExecutor.execute(gt);
+		arrivals.start();
 	}
 	
 	public void stop() {
 		travelExecutor.stop(true);
+		arrivals.stop();
 	}
 	
 	public void addTravelPoint(TravelPoint point) {
@@ -174,15 +181,33 @@ public class TravelHelper {
 		} else if (nearestPoint.isWithinRange(player.getCreatureObject())) {
 			// They can use their ticket if they're within range.
 			Log.i("%s/%s is traveling from %s to %s", player.getUsername(), traveler.getObjectName(), nearestPoint.getName(), destinationPoint);
-			teleportAndDestroyTicket(destinationPoint, ticket, traveler);
+			queueArrival(player, ticket, nearestPoint, destinationPoint);
 		} else {
 			new SystemMessageIntent(player, "@travel:boarding_too_far").broadcast();
 		}
 	}
 	
-	private void teleportAndDestroyTicket(TravelPoint destination, SWGObject ticket, CreatureObject traveler) {
-		DestroyObjectIntent.broadcast(ticket);
-		traveler.moveToContainer(destination.getCollector().getParent(), destination.getLocation());
+	private void queueArrival(Player player, SWGObject ticket, TravelPoint departure, TravelPoint destination) {
+		if (!arrivals.enqueue(player.getCreatureObject(), ticket, departure, destination))
+			new SystemMessageIntent(player, "You are already boarding a shuttle.").broadcast();
+	}
+	
+	private void arrive(TravelPoint destination, List<Arrival> travelers) {
+		SWGObject parent = destination.getCollector().getParent();
+		Location location = destination.getLocation();
+		TeleportGroup group = new TeleportGroup();
+		for (Arrival arrival : travelers) {
+			BoardingCheck check = arrival.checkBoarding();
+			if (check != BoardingCheck.BOARDING) {
+				// The ticket hasn't been used, so it can still be used later
+				Player owner = arrival.getTraveler().getOwnerShallow();
+				if (owner != null && check.getMessage() != null)
+					new SystemMessageIntent(owner, check.getMessage()).broadcast();
+				continue;
+			}
+			DestroyObjectIntent.broadcast(arrival.getTicket());
+			arrival.getTraveler().moveToContainer(parent, location, group);
+		}
 	}
 	
 	private void createGalaxyTravels() {
@@ -0,0 +1,334 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.collections;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map from primitive longs to objects, without boxing keys or allocating a node per entry.
+ * <p>
+ * Entries are split across lock-striped segments, each an open-addressing table with linear probing. Writes take the
+ * segment's write lock, and reads are optimistic: they probe without locking and only retry under the read lock if a
+ * write happened at the same time.  Null values are not supported, as null marks an empty slot.
+ * @param <V> the type of value
+ */
+public class LongObjectMap<V> {
+	
+	private static final float LOAD_FACTOR = 0.6f;
+	private static final int MIN_SEGMENT_CAPACITY = 16;
+	
+	private final Segment [] segments;
+	private final int segmentShift;
+	
+	public LongObjectMap() {
+		this(1024);
+	}
+	
+	public LongObjectMap(int expectedSize) {
+		this(expectedSize, Runtime.getRuntime().availableProcessors() * 4);
+	}
+	
+	public LongObjectMap(int expectedSize, int concurrency) {
+		int segmentCount = Integer.highestOneBit(Math.max(2, concurrency) * 2 - 1);
+		int segmentCapacity = Math.max(MIN_SEGMENT_CAPACITY, Integer.highestOneBit((int) Math.ceil(expectedSize / (double) segmentCount / LOAD_FACTOR) * 2 - 1));
+		this.segments = new Segment[segmentCount];
+		this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+		for (int i = 0; i < segmentCount; i++)
+			segments[i] = new Segment(segmentCapacity);
+	}
+	
+	@Nullable
+	public V get(long key) {
+		int hash = hash(key);
+		return cast(segmentFor(hash).get(key, hash));
+	}
+	
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+	
+	/**
+	 * Associates the value with the key
+	 * @param key the key
+	 * @param value the non-null value
+	 * @return the previous value, or null if there was none
+	 */
+	@Nullable
+	public V put(long key, @NotNull V value) {
+		int hash = hash(key);
+		return cast(segmentFor(hash).put(key, hash, value));
+	}
+	
+	public void putAll(@NotNull Map<Long, ? extends V> map) {
+		map.forEach(this::put);
+	}
+	
+	@Nullable
+	public V remove(long key) {
+		int hash = hash(key);
+		return cast(segmentFor(hash).remove(key, hash));
+	}
+	
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments)
+			size += segment.size;
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	public void clear() {
+		for (Segment segment : segments)
+			segment.clear();
+	}
+	
+	/**
+	 * Calls the consumer for every value, one segment at a time.  Each segment is copied before its values are visited,
+	 * so the consumer may modify the map; values added or removed during the iteration may or may not be seen.
+	 * @param consumer the consumer
+	 */
+	public void forEach(@NotNull Consumer<? super V> consumer) {
+		for (Segment segment : segments)
+			segment.forEach(value -> consumer.accept(cast(value)));
+	}
+	
+	private Segment segmentFor(int hash) {
+		return segments[hash >>> segmentShift];
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <V> V cast(Object value) {
+		return (V) value;
+	}
+	
+	private static int hash(long key) {
+		// Object ids are mostly sequential, so spread them over both the segment bits and the slot bits
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+	
+	private static final class Table {
+		
+		private final long [] keys;
+		private final Object [] values;
+		private final int mask;
+		
+		private Table(int capacity) {
+			this.keys = new long[capacity];
+			this.values = new Object[capacity];
+			this.mask = capacity - 1;
+		}
+		
+	}
+	
+	private static final class Segment {
+		
+		private final StampedLock lock;
+		private volatile Table table;
+		private volatile int size;
+		
+		private Segment(int capacity) {
+			this.lock = new StampedLock();
+			this.table = new Table(capacity);
+			this.size = 0;
+		}
+		
+		private Object get(long key, int hash) {
+			long stamp = lock.tryOptimisticRead();
+			if (stamp != 0) {
+				Object value = probe(table, key, hash);
+				if (lock.validate(stamp))
+					return value;
+			}
+			stamp = lock.readLock();
+			try {
+				return probe(table, key, hash);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		
+		private Object put(long key, int hash, Object value) {
+			if (value == null)
+				throw new NullPointerException("value");
+			long stamp = lock.writeLock();
+			try {
+				Table table = this.table;
+				int index = hash & table.mask;
+				Object current;
+				while ((current = table.values[index]) != null) {
+					if (table.keys[index] == key) {
+						table.values[index] = value;
+						return current;
+					}
+					index = (index + 1) & table.mask;
+				}
+				if (size + 1 > table.keys.length * LOAD_FACTOR) {
+					table = resize(table);
+					index = hash & table.mask;
+					while (table.values[index] != null)
+						index = (index + 1) & table.mask;
+				}
+				table.keys[index] = key;
+				table.values[index] = value;
+				size++;
+				return null;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+		
+		private Object remove(long key, int hash) {
+			long stamp = lock.writeLock();
+			try {
+				Table table = this.table;
+				int index = hash & table.mask;
+				Object current;
+				while ((current = table.values[index]) != null) {
+					if (table.keys[index] == key) {
+						shiftBackward(table, index);
+						size--;
+						return current;
+					}
+					index = (index + 1) & table.mask;
+				}
+				return null;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+		
+		private void clear() {
+			long stamp = lock.writeLock();
+			try {
+				Table table = this.table;
+				Arrays.fill(table.values, null);
+				size = 0;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+		
+		private void forEach(Consumer<Object> consumer) {
+			for (Object value : snapshot())
+				consumer.accept(value);
+		}
+		
+		/**
+		 * Copies the values out under the read lock, so that the consumer runs without it and may write to the map
+		 */
+		private Object [] snapshot() {
+			long stamp = lock.readLock();
+			try {
+				Object [] snapshot = new Object[size];
+				int count = 0;
+				for (Object value : table.values) {
+					if (value != null)
+						snapshot[count++] = value;
+				}
+				return snapshot;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		
+		private Table resize(Table table) {
+			Table resized = new Table(table.keys.length * 2);
+			for (int i = 0; i < table.keys.length; i++) {
+				Object value = table.values[i];
+				if (value == null)
+					continue;
+				long key = table.keys[i];
+				int index = hash(key) & resized.mask;
+				while (resized.values[index] != null)
+					index = (index + 1) & resized.mask;
+				resized.keys[index] = key;
+				resized.values[index] = value;
+			}
+			this.table = resized;
+			return resized;
+		}
+		
+		/**
+		 * Probes without holding a lock.  The result is only trusted if the segment's stamp is still valid afterwards,
+		 * so a concurrent write can at worst cause a wrong answer that is discarded - the probe is bounded so it always
+		 * terminates.
+		 */
+		private static Object probe(Table table, long key, int hash) {
+			long [] keys = table.keys;
+			Object [] values = table.values;
+			int mask = table.mask;
+			int index = hash & mask;
+			for (int probes = 0; probes <= mask; probes++) {
+				Object value = values[index];
+				if (value == null)
+					return null;
+				if (keys[index] == key)
+					return value;
+				index = (index + 1) & mask;
+			}
+			return null;
+		}
+		
+		/**
+		 * Removes the entry at the index, moving later entries in the same probe run back so that no tombstones are needed
+		 */
+		private static void shiftBackward(Table table, int index) {
+			long [] keys = table.keys;
+			Object [] values = table.values;
+			int mask = table.mask;
+			int gap = index;
+			int next = index;
+			while (true) {
+				next = (next + 1) & mask;
+				if (values[next] == null)
+					break;
+				int home = hash(keys[next]) & mask;
+				// Move the entry into the gap unless its home slot lies cyclically within (gap, next]
+				boolean inRange = (gap <= next) ? (gap < home && home <= next) : (gap < home || home <= next);
+				if (!inRange) {
+					keys[gap] = keys[next];
+					values[gap] = values[next];
+					gap = next;
+				}
+			}
+			values[gap] = null;
+			keys[gap] = 0;
+		}
+		
+	}
+	
+}
@@ -29,41 +29,82 @@ package com.projectswg.holocore.resources.support.data.server_info;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import me.joshlarson.jlcommon.log.Log;
+import me.joshlarson.jlcommon.log.Log.LogLevel;
 import org.jetbrains.annotations.NotNull;
 
 public class StandardLog {
 	
+	private static final String PLAYER_PREFIX = "[%s] %s ";
+	private static volatile LogLevel level = LogLevel.TRACE;
+	
+	/**
+	 * Sets the lowest level that will be logged by the server.  StandardLog lines below this level are dropped before
+	 * anything is formatted, and the server's log wrappers drop any other {@code Log} line below it.
+	 * @param level the minimum log level
+	 */
+	public static void setLevel(@NotNull LogLevel level) {
+		StandardLog.level = level;
+	}
+	
+	@NotNull
+	public static LogLevel getLevel() {
+		return level;
+	}
+	
+	public static boolean isEnabled(@NotNull LogLevel level) {
+		return level.compareTo(StandardLog.level) >= 0;
+	}
+	
 	public static long onStartLoad(String what) {
-		Log.i("Loading %s...", what);
+		if (isEnabled(LogLevel.INFO))
+			Log.i("Loading %s...", what);
 		return System.nanoTime();
 	}
 	
 	public static void onEndLoad(int quantity, String what, long startTime) {
-		Log.i("Finished loading %d %s. Took %.3fms", quantity, what, (System.nanoTime() - startTime) / 1E6);
+		if (isEnabled(LogLevel.INFO))
+			Log.i("Finished loading %d %s. Took %.3fms", quantity, what, (System.nanoTime() - startTime) / 1E6);
 	}
 	
 	public static void onPlayerTrace(@NotNull Object service, @NotNull CreatureObject player, @NotNull String event, Object ... args) {
-		Log.t("[%s] %s %s", service.getClass().getSimpleName(), getInfo(player), String.format(event, args));
+		if (isEnabled(LogLevel.TRACE))
+			Log.t(PLAYER_PREFIX + event, prependPlayerInfo(service, getInfo(player), args));
 	}
 	
 	public static void onPlayerTrace(@NotNull Object service, @NotNull Player player, @NotNull String event, Object ... args) {
-		Log.t("[%s] %s %s", service.getClass().getSimpleName(), getInfo(player), String.format(event, args));
+		if (isEnabled(LogLevel.TRACE))
+			Log.t(PLAYER_PREFIX + event, prependPlayerInfo(service, getInfo(player), args));
 	}
 	
 	public static void onPlayerEvent(@NotNull Object service, @NotNull CreatureObject player, @NotNull String event, Object ... args) {
-		Log.d("[%s] %s %s", service.getClass().getSimpleName(), getInfo(player), String.format(event, args));
+		if (isEnabled(LogLevel.DATA))
+			Log.d(PLAYER_PREFIX + event, prependPlayerInfo(service, getInfo(player), args));
 	}
 	
 	public static void onPlayerEvent(@NotNull Object service, @NotNull Player player, @NotNull String event, Object ... args) {
-		Log.d("[%s] %s %s", service.getClass().getSimpleName(), getInfo(player), String.format(event, args));
+		if (isEnabled(LogLevel.DATA))
+			Log.d(PLAYER_PREFIX + event, prependPlayerInfo(service, getInfo(player), args));
 	}
 	
 	public static void onPlayerError(@NotNull Object service, @NotNull CreatureObject player, @NotNull String event, Object ... args) {
-		Log.e("[%s] %s %s", service.getClass().getSimpleName(), getInfo(player), String.format(event, args));
+		if (isEnabled(LogLevel.ERROR))
+			Log.e(PLAYER_PREFIX + event, prependPlayerInfo(service, getInfo(player), args));
 	}
 	
 	public static void onPlayerError(@NotNull Object service, @NotNull Player player, @NotNull String event, Object ... args) {
-		Log.e("[%s] %s %s", service.getClass().getSimpleName(), getInfo(player), String.format(event, args));
+		if (isEnabled(LogLevel.ERROR))
+			Log.e(PLAYER_PREFIX + event, prependPlayerInfo(service, getInfo(player), args));
+	}
+	
+	/**
+	 * Builds the arguments for a single format pass over {@link #PLAYER_PREFIX} followed by the event template
+	 */
+	private static Object [] prependPlayerInfo(Object service, String info, Object [] args) {
+		Object [] combined = new Object[args.length + 2];
+		combined[0] = service.getClass().getSimpleName();
+		combined[1] = info;
+		System.arraycopy(args, 0, combined, 2, args.length);
+		return combined;
 	}
 	
 	private static String getInfo(CreatureObject creature) {
@@ -46,6 +46,7 @@ class Database(mongo: MongoDatabase) {
 	val objects = DatabaseTable(mongo.getCollection("objects"), configuration, connection, configuration?.tables?.get("objects"))
 	val resources = DatabaseTable(mongo.getCollection("resources"), configuration, connection, configuration?.tables?.get("resources"))
 	val gcwRegions = DatabaseTable(mongo.getCollection("gcwregions"), configuration, connection, configuration?.tables?.get("gcwRegions"))
+	val mail = DatabaseTable(mongo.getCollection("mail"), configuration, connection, configuration?.tables?.get("mail"))
 	
 	init {
 		setupMongoLogging()
@@ -0,0 +1,116 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.database
+
+import com.projectswg.common.data.encodables.player.Mail
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Stores mail separately from the characters receiving it.  Mail is indexed by recipient, and the header listing does
+ * not contain the message body or attachments - those are only loaded through [getMail] once a message is opened.
+ */
+interface PswgMailDatabase {
+	
+	val maxMailId: Int
+	
+	/**
+	 * Returns the headers of every mail sent to the specified character.  Headers have an empty message body and no
+	 * attachments.
+	 */
+	fun getMailHeaders(receiverId: Long): List<Mail>
+	fun getMail(mailId: Int): Mail?
+	fun addMail(mail: Mail)
+	fun setMailStatus(mailId: Int, status: Byte)
+	fun removeMail(mailId: Int): Boolean
+	
+	/**
+	 * Removes the specified mail only if it was sent to the specified character
+	 */
+	fun removeMail(mailId: Int, receiverId: Long): Boolean
+	
+	/**
+	 * Removes every mail sent to the specified character, returning the number of mails removed
+	 */
+	fun removeMails(receiverId: Long): Int
+	
+	companion object {
+		
+		fun createDefault(): PswgMailDatabase {
+			return object : PswgMailDatabase {
+				private val mails = ConcurrentHashMap<Int, Mail>()
+				private val recipients = ConcurrentHashMap<Long, MutableSet<Int>>()
+				
+				override val maxMailId: Int
+					get() = mails.keys.max() ?: 0
+				
+				override fun getMailHeaders(receiverId: Long): List<Mail> = recipients[receiverId]?.mapNotNull { mails[it] }?.map { createHeader(it) } ?: listOf()
+				override fun getMail(mailId: Int): Mail? = mails[mailId]
+				override fun addMail(mail: Mail) {
+					mails[mail.id] = mail
+					recipients.computeIfAbsent(mail.receiverId) { ConcurrentHashMap.newKeySet() }.add(mail.id)
+				}
+				override fun setMailStatus(mailId: Int, status: Byte) {
+					mails[mailId]?.status = status
+				}
+				override fun removeMail(mailId: Int): Boolean {
+					val mail = mails.remove(mailId) ?: return false
+					recipients[mail.receiverId]?.remove(mailId)
+					return true
+				}
+				override fun removeMail(mailId: Int, receiverId: Long): Boolean {
+					if (recipients[receiverId]?.remove(mailId) != true)
+						return false
+					mails.remove(mailId)
+					return true
+				}
+				override fun removeMails(receiverId: Long): Int {
+					val removed = recipients.remove(receiverId) ?: return 0
+					removed.forEach { mails.remove(it) }
+					return removed.size
+				}
+			}
+		}
+		
+		/**
+		 * Creates a copy of the specified mail without its message body and attachments
+		 */
+		fun createHeader(mail: Mail): Mail {
+			return createHeader(mail.id, mail.sender, mail.subject, mail.receiverId, mail.status, mail.timestamp)
+		}
+		
+		fun createHeader(id: Int, sender: String, subject: String, receiverId: Long, status: Byte, timestamp: Instant): Mail {
+			val header = Mail(sender, subject, "", receiverId)
+			header.id = id
+			header.status = status
+			header.timestamp = timestamp
+			return header
+		}
+		
+	}
+	
+}
@@ -31,6 +31,7 @@ abstract class DataLoader {
 		fun staticItems(): StaticItemLoader = ServerData.staticItems
 		fun ItemBonusSets(): ItemBonusSetLoader = ServerData.itemBonusSet
 		fun playerLevels(): PlayerLevelLoader = ServerData.playerLevels
+		fun skillModLevels(): SkillModLevelLoader = ServerData.skillModLevels
 		fun playerRoles(): PlayerRoleLoader = ServerData.playerRoles
 		fun playerStartClothing(): StartClothingLoader = ServerData.playerStartClothing
 		fun roadmapRewards(): RoadmapRewardLoader = ServerData.roadmapRewards
@@ -48,6 +49,7 @@ abstract class DataLoader {
 		fun objectData(): ObjectDataLoader = ServerData.objectData
 		fun performances(): PerformanceLoader = ServerData.performances
 		fun planetMapCategories(): PlanetMapCategoryLoader = ServerData.planetMapCategories
+		fun mappingTemplates(): MappingTemplateLoader = ServerData.mappingTemplates
 		fun commands(): CommandLoader = ServerData.commands
 		fun slotDefinitions(): SlotDefinitionLoader = ServerData.slotDefinitions
 		fun slotDescriptors(): SlotDescriptorLoader = ServerData.slotDescriptors
@@ -0,0 +1,70 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader;
+
+import com.projectswg.common.data.swgfile.ClientFactory;
+import com.projectswg.common.data.swgfile.visitors.DatatableData;
+import com.projectswg.holocore.resources.gameplay.world.map.MappingTemplate;
+import com.projectswg.holocore.resources.support.data.client_info.ServerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class MappingTemplateLoader extends DataLoader {
+	
+	private final Map<String, MappingTemplate> templates;
+	
+	MappingTemplateLoader() {
+		this.templates = new HashMap<>();
+	}
+	
+	@Nullable
+	public MappingTemplate getTemplate(String template) {
+		return templates.get(template);
+	}
+	
+	@Override
+	public final void load() throws IOException {
+		DatatableData table = ServerFactory.getDatatable("map/map_locations.iff");
+		if (table == null)
+			throw new IOException("unable to load map/map_locations.iff");
+		for (int row = 0; row < table.getRowCount(); row++) {
+			MappingTemplate template = new MappingTemplate();
+			template.setTemplate(ClientFactory.formatToSharedFile(table.getCell(row, 0).toString()));
+			template.setName(table.getCell(row, 1).toString());
+			template.setCategory(table.getCell(row, 2).toString());
+			template.setSubcategory(table.getCell(row, 3).toString());
+			template.setType((Integer) table.getCell(row, 4));
+			template.setFlag((Integer) table.getCell(row, 5));
+			
+			templates.put(template.getTemplate(), template);
+		}
+	}
+	
+}
@@ -38,6 +38,15 @@ import kotlin.reflect.KProperty
 
 object ServerData {
 	
+	private val loaders = LinkedHashMap<String, DataLoaderDelegate<*>>()
+	
+	/**
+	 * Every dataset in declaration order, by property name, each loading (or returning the already loaded) dataset when
+	 * invoked
+	 */
+	val datasets: Map<String, () -> DataLoader>
+		get() = loaders.mapValues { (_, delegate) -> delegate::get }
+	
 	/*
 	 * Combat
 	 */
@@ -65,6 +74,7 @@ object ServerData {
 	val roadmapRewards		by SoftDataLoaderDelegate(::RoadmapRewardLoader)
 	val performances		by SoftDataLoaderDelegate(::PerformanceLoader)
 	val itemBonusSet		by SoftDataLoaderDelegate(::ItemBonusSetLoader)
+	val skillModLevels		by SoftDataLoaderDelegate(::SkillModLevelLoader)
 
 	/*
 	 * NPC Info
@@ -87,6 +97,7 @@ object ServerData {
 	val slotDescriptors		by SoftDataLoaderDelegate(::SlotDescriptorLoader)
 	val slotArrangements	by SoftDataLoaderDelegate(::SlotArrangementLoader)
 	val planetMapCategories	by SoftDataLoaderDelegate(::PlanetMapCategoryLoader)
+	val mappingTemplates	by SoftDataLoaderDelegate(::MappingTemplateLoader)
 	val zoneInsertions		by SoftDataLoaderDelegate(::TerrainZoneInsertionLoader)
 	
 	val commands			by SoftDataLoaderDelegate(::CommandLoader)
@@ -105,7 +116,15 @@ object ServerData {
 		
 		private var ref: Reference<T> = SoftReference(null)
 		
-		operator fun getValue(thisRef: Any?, property: KProperty<*>): T {
+		operator fun provideDelegate(thisRef: Any?, property: KProperty<*>): DataLoaderDelegate<T> {
+			loaders[property.name] = this
+			return this
+		}
+		
+		operator fun getValue(thisRef: Any?, property: KProperty<*>): T = get()
+		
+		@Synchronized
+		fun get(): T {
 			var loader: T? = ref.get()
 			if (loader == null) {
 				loader = loaderCreator()
@@ -0,0 +1,97 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader;
+
+import com.projectswg.holocore.resources.support.data.server_info.SdbLoader;
+import com.projectswg.holocore.resources.support.data.server_info.SdbLoader.SdbResultSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The skill mods and pools granted at each combat level, per profession (player_levels.sdb) and per species
+ * (racial_stats.sdb)
+ */
+public final class SkillModLevelLoader extends DataLoader {
+	
+	private final Map<Integer, Map<String, Integer>> professionMods;
+	private final Map<Integer, Map<String, Integer>> racialMods;
+	
+	SkillModLevelLoader() {
+		this.professionMods = new HashMap<>();
+		this.racialMods = new HashMap<>();
+	}
+	
+	/**
+	 * Returns the value granted to a profession at the specified level
+	 * @param level the combat level
+	 * @param column the profession column, such as smuggler_luck or officer_health
+	 * @return the value, or 0 if the level or column doesn't exist
+	 */
+	public int getProfessionValue(int level, String column) {
+		return getValue(professionMods, level, column);
+	}
+	
+	/**
+	 * Returns the value granted to a species at the specified level
+	 * @param level the combat level
+	 * @param column the species column, such as hum_lck or wok_str
+	 * @return the value, or 0 if the level or column doesn't exist
+	 */
+	public int getRacialValue(int level, String column) {
+		return getValue(racialMods, level, column);
+	}
+	
+	@Override
+	public final void load() throws IOException {
+		load(new File("serverdata/nge/player/player_levels.sdb"), "combat_level", professionMods);
+		load(new File("serverdata/nge/player/racial_stats.sdb"), "level", racialMods);
+	}
+	
+	private static void load(File file, String levelColumn, Map<Integer, Map<String, Integer>> levels) throws IOException {
+		try (SdbResultSet set = SdbLoader.load(file)) {
+			while (set.next()) {
+				Map<String, Integer> values = new HashMap<>();
+				for (String column : set.getColumns()) {
+					if (!column.equals(levelColumn))
+						values.put(column, (int) set.getInt(column));
+				}
+				levels.put((int) set.getInt(levelColumn), values);
+			}
+		}
+	}
+	
+	private static int getValue(Map<Integer, Map<String, Integer>> levels, int level, String column) {
+		Map<String, Integer> values = levels.get(level);
+		if (values == null)
+			return 0;
+		return values.getOrDefault(column, 0);
+	}
+	
+}
@@ -0,0 +1,144 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader
+
+import com.projectswg.common.utilities.ThreadUtilities
+import me.joshlarson.jlcommon.log.Log
+import java.lang.management.ManagementFactory
+import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Loads every static dataset in [ServerData] concurrently before the services are started, instead of one at a time
+ * the first time each of them is touched.  Datasets that read another dataset while loading declare it as a
+ * dependency, and are only started once that dependency has finished.
+ *
+ * Loaded datasets are strongly referenced until [release] is called.  Without that, the weakly cached NPC datasets
+ * could be collected again before the services that need them are initialized.
+ */
+class StaticDataWarmup {
+	
+	private val datasets = LinkedHashMap<String, Dataset>()
+	private val retained = ConcurrentLinkedQueue<Any>()
+	private val results = ConcurrentLinkedQueue<DatasetResult>()
+	
+	init {
+		for ((name, loader) in ServerData.datasets)
+			datasets[name] = Dataset(name, DEPENDENCIES[name] ?: listOf(), loader)
+		assert(DEPENDENCIES.values.flatten().all { it in datasets }) { "unknown dataset dependency" }
+	}
+	
+	/**
+	 * Loads all datasets, using up to the specified number of threads.  Failures are logged and otherwise ignored - the
+	 * failed dataset will simply be loaded again the first time it is used.
+	 * @param threads the maximum number of datasets to load at the same time
+	 * @return TRUE if every dataset was loaded, FALSE otherwise
+	 */
+	fun run(threads: Int): Boolean {
+		val executor = Executors.newFixedThreadPool(threads, ThreadUtilities.newThreadFactory("static-data-warmup-%d"))
+		val startTime = System.nanoTime()
+		val heapBefore = getUsedHeap()
+		try {
+			val futures = HashMap<String, CompletableFuture<Boolean>>()
+			for (dataset in datasets.values)
+				schedule(dataset, futures, executor)
+			
+			val success = futures.values.map { it.join() }.all { it }
+			reportResults((System.nanoTime() - startTime) / 1E6, getUsedHeap() - heapBefore)
+			return success
+		} finally {
+			executor.shutdownNow()
+		}
+	}
+	
+	/**
+	 * Drops the strong references to the loaded datasets, leaving them to the caching policy in [ServerData]
+	 */
+	fun release() {
+		retained.clear()
+	}
+	
+	private fun schedule(dataset: Dataset, futures: MutableMap<String, CompletableFuture<Boolean>>, executor: ExecutorService): CompletableFuture<Boolean> {
+		return futures.getOrPut(dataset.name) {
+			val dependencies = dataset.dependencies.map { schedule(datasets.getValue(it), futures, executor) }
+			CompletableFuture.allOf(*dependencies.toTypedArray()).thenApplyAsync({ load(dataset) }, executor)
+		}
+	}
+	
+	private fun load(dataset: Dataset): Boolean {
+		val threadId = Thread.currentThread().id
+		val allocatedBefore = getAllocatedBytes(threadId)
+		val startTime = System.nanoTime()
+		return try {
+			retained.add(dataset.loader())
+			val allocated = if (allocatedBefore < 0) -1 else getAllocatedBytes(threadId) - allocatedBefore
+			results.add(DatasetResult(dataset.name, (System.nanoTime() - startTime) / 1E6, allocated))
+			true
+		} catch (t: Throwable) {
+			Log.e("Failed to warm up static dataset '%s'. %s: %s", dataset.name, t.javaClass.name, t.message)
+			false
+		}
+	}
+	
+	private fun reportResults(totalTime: Double, heapDelta: Long) {
+		val sorted = results.sortedByDescending { it.time }
+		Log.i("    Static Data Warmup: [%d/%d datasets in %.2fms, heap +%.2fMB]", sorted.size, datasets.size, totalTime, heapDelta / 1048576.0)
+		Log.i("        %-30s%-16s%-16s", "Dataset", "Time", "Allocated")
+		for (result in sorted) {
+			val allocated = if (result.allocated < 0) "?" else String.format("%.2fMB", result.allocated / 1048576.0)
+			Log.i("        %-30s%-16s%-16s", result.name, String.format("%.2fms", result.time), allocated)
+		}
+	}
+	
+	private class Dataset(val name: String, val dependencies: List<String>, val loader: () -> Any)
+	private class DatasetResult(val name: String, val time: Double, val allocated: Long)
+	
+	companion object {
+		
+		/**
+		 * Datasets that read other datasets while loading, by [ServerData] property name
+		 */
+		private val DEPENDENCIES = mapOf(
+				"expertise" to listOf("expertiseTrees"),
+				"npcs" to listOf("factions")
+		)
+		
+		private fun getUsedHeap(): Long = ManagementFactory.getMemoryMXBean().heapMemoryUsage.used
+		
+		private fun getAllocatedBytes(threadId: Long): Long {
+			val threads = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean ?: return -1
+			if (!threads.isThreadAllocatedMemorySupported || !threads.isThreadAllocatedMemoryEnabled)
+				return -1
+			return threads.getThreadAllocatedBytes(threadId)
+		}
+		
+	}
+	
+}
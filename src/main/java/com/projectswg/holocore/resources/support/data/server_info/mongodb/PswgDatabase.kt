@@ -13,6 +13,7 @@ object PswgDatabase {
 	private var objectsImpl = PswgObjectDatabase.createDefault()
 	private var resourcesImpl = PswgResourceDatabase.createDefault()
 	private var gcwRegionImpl = PswgGcwRegionDatabase.createDefault()
+	private var mailImpl = PswgMailDatabase.createDefault()
 	
 	val config: PswgConfigDatabase
 		get() = configImpl
@@ -24,6 +25,8 @@ object PswgDatabase {
 		get() = resourcesImpl
 	val gcwRegions: PswgGcwRegionDatabase
 		get() = gcwRegionImpl
+	val mail: PswgMailDatabase
+		get() = mailImpl
 	
 	fun initialize(connectionString: String, databaseName: String) {
 		val client = MongoClients.create(connectionString)
@@ -35,12 +38,27 @@ object PswgDatabase {
 		val objects = initTable(databaseConfig.objects, defaultCreator = {PswgObjectDatabase.createDefault()}, mongoInitializer = ::PswgObjectDatabaseMongo)
 		val resources = initTable(databaseConfig.resources, defaultCreator = {PswgResourceDatabase.createDefault()}, mongoInitializer = ::PswgResourceDatabaseMongo)
 		val gcwRegions = initTable(databaseConfig.gcwRegions, defaultCreator = {PswgGcwRegionDatabase.createDefault()}, mongoInitializer = ::PswgGcwRegionDatabaseMongo)
+		val mail = initTable(databaseConfig.mail, defaultCreator = {PswgMailDatabase.createDefault()}, mongoInitializer = ::PswgMailDatabaseMongo)
 		
 		this.configImpl = config
 		this.usersImpl = users
 		this.objectsImpl = objects
 		this.resourcesImpl = resources
 		this.gcwRegionImpl = gcwRegions
+		this.mailImpl = mail
+	}
+	
+	/**
+	 * Keeps every table in memory instead of connecting to MongoDB, so nothing is persisted between runs.  Only used by
+	 * servers embedded in the integration tests.
+	 */
+	fun initializeInMemory(config: PswgConfigDatabase, users: PswgUserDatabase) {
+		this.configImpl = config
+		this.usersImpl = users
+		this.objectsImpl = PswgObjectDatabase.createDefault()
+		this.resourcesImpl = PswgResourceDatabase.createDefault()
+		this.gcwRegionImpl = PswgGcwRegionDatabase.createDefault()
+		this.mailImpl = PswgMailDatabase.createDefault()
 	}
 	
 	private fun <T> initTable(table: DatabaseTable, defaultCreator: () -> T, mariaInitializer: (DatabaseTable) -> T = {defaultCreator()}, mongoInitializer: (MongoCollection<Document>) -> T = {defaultCreator()}): T {
@@ -0,0 +1,99 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.mongodb
+
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.*
+import com.projectswg.common.data.encodables.mongo.MongoData
+import com.projectswg.common.data.encodables.player.Mail
+import com.projectswg.holocore.resources.support.data.server_info.database.PswgMailDatabase
+import org.bson.Document
+import java.time.Instant
+
+class PswgMailDatabaseMongo(private val collection: MongoCollection<Document>) : PswgMailDatabase {
+	
+	override val maxMailId: Int
+		get() = collection.find().sort(Sorts.descending("id")).limit(1).projection(Projections.include("id")).map { it.getInteger("id") }.first() ?: 0
+	
+	init {
+		collection.createIndex(Indexes.ascending("id"), IndexOptions().unique(true))
+		collection.createIndex(Indexes.ascending("receiverId"))
+	}
+	
+	override fun getMailHeaders(receiverId: Long): List<Mail> {
+		return collection.find(Filters.eq("receiverId", receiverId))
+				.projection(Projections.exclude("mail"))
+				.map { PswgMailDatabase.createHeader(
+						id=it.getInteger("id"),
+						sender=it.getString("sender"),
+						subject=it.getString("subject"),
+						receiverId=it.getLong("receiverId"),
+						status=it.getInteger("status").toByte(),
+						timestamp=Instant.ofEpochMilli(it.getLong("timestamp"))
+				)}
+				.into(ArrayList())
+	}
+	
+	override fun getMail(mailId: Int): Mail? {
+		return collection.find(Filters.eq("id", mailId))
+				.map {
+					val mail = MongoData.create(it.get("mail", Document::class.java)) { Mail() }
+					mail.status = it.getInteger("status").toByte() // The top-level status is the one kept up to date
+					mail
+				}
+				.first()
+	}
+	
+	override fun addMail(mail: Mail) {
+		val doc = Document()
+		doc["id"] = mail.id
+		doc["receiverId"] = mail.receiverId
+		doc["sender"] = mail.sender
+		doc["subject"] = mail.subject
+		doc["status"] = mail.status.toInt()
+		doc["timestamp"] = mail.timestamp.toEpochMilli()
+		doc["mail"] = MongoData.store(mail).toDocument()
+		collection.replaceOne(Filters.eq("id", mail.id), doc, ReplaceOptions().upsert(true))
+	}
+	
+	override fun setMailStatus(mailId: Int, status: Byte) {
+		collection.updateOne(Filters.eq("id", mailId), Updates.set("status", status.toInt()))
+	}
+	
+	override fun removeMail(mailId: Int): Boolean {
+		return collection.deleteOne(Filters.eq("id", mailId)).deletedCount > 0
+	}
+	
+	override fun removeMail(mailId: Int, receiverId: Long): Boolean {
+		return collection.deleteOne(Filters.and(Filters.eq("id", mailId), Filters.eq("receiverId", receiverId))).deletedCount > 0
+	}
+	
+	override fun removeMails(receiverId: Long): Int {
+		return collection.deleteMany(Filters.eq("receiverId", receiverId)).deletedCount.toInt()
+	}
+	
+}
@@ -0,0 +1,179 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.terrain;
+
+import com.projectswg.common.data.location.Terrain;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Square grid of ground heights, quantized to 16 bits per node and read through a memory-mapped file. Heights between
+ * nodes are bilinearly interpolated, and locations outside of the grid are clamped to its edge.
+ */
+public class TerrainHeightGrid {
+	
+	private static final int MAGIC = 0x54484752; // THGR
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+	
+	private final ShortBuffer heights;
+	private final int nodes;
+	private final double originX;
+	private final double originZ;
+	private final double cellSize;
+	private final double minHeight;
+	private final double scale;
+	
+	private TerrainHeightGrid(ByteBuffer data) throws IOException {
+		data.order(ByteOrder.BIG_ENDIAN);
+		if (data.remaining() < HEADER_SIZE || data.getInt(0) != MAGIC)
+			throw new IOException("not a terrain height grid");
+		if (data.getInt(4) != VERSION)
+			throw new IOException("unsupported terrain height grid version: " + data.getInt(4));
+		this.nodes = data.getInt(8);
+		this.originX = data.getFloat(12);
+		this.originZ = data.getFloat(16);
+		this.cellSize = data.getFloat(20);
+		this.minHeight = data.getFloat(24);
+		this.scale = data.getFloat(28);
+		if (nodes < 2 || cellSize <= 0 || data.capacity() - HEADER_SIZE < (long) nodes * nodes * 2)
+			throw new IOException("corrupt terrain height grid: nodes=" + nodes + " cellSize=" + cellSize);
+		this.heights = data.position(HEADER_SIZE).slice().order(ByteOrder.BIG_ENDIAN).asShortBuffer();
+	}
+	
+	public int getNodes() {
+		return nodes;
+	}
+	
+	public double getCellSize() {
+		return cellSize;
+	}
+	
+	/**
+	 * Returns the largest error introduced by quantizing the heights to 16 bits
+	 * @return the quantization error, in meters
+	 */
+	public double getQuantizationError() {
+		return scale / 2;
+	}
+	
+	public double getHeight(double x, double z) {
+		double gridX = clamp((x - originX) / cellSize);
+		double gridZ = clamp((z - originZ) / cellSize);
+		int nodeX = Math.min((int) gridX, nodes - 2);
+		int nodeZ = Math.min((int) gridZ, nodes - 2);
+		double fracX = gridX - nodeX;
+		double fracZ = gridZ - nodeZ;
+		
+		int index = nodeZ * nodes + nodeX;
+		double top = getNode(index) * (1 - fracX) + getNode(index + 1) * fracX;
+		double bottom = getNode(index + nodes) * (1 - fracX) + getNode(index + nodes + 1) * fracX;
+		return minHeight + (top * (1 - fracZ) + bottom * fracZ) * scale;
+	}
+	
+	private int getNode(int index) {
+		return heights.get(index) & 0xFFFF;
+	}
+	
+	private double clamp(double gridPosition) {
+		return Math.max(0, Math.min(nodes - 1, gridPosition));
+	}
+	
+	/**
+	 * Maps a previously baked grid into memory
+	 * @param file the grid file
+	 * @return the mapped grid
+	 * @throws IOException if the file could not be read or is not a valid grid
+	 */
+	public static TerrainHeightGrid map(@NotNull Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new TerrainHeightGrid(data);
+		}
+	}
+	
+	/**
+	 * Samples the source at every node of a square grid centered on the origin, and writes the quantized grid to the
+	 * specified file
+	 * @param file the file to write
+	 * @param terrain the terrain to sample
+	 * @param source the exact heights
+	 * @param size the width of the grid, in meters
+	 * @param cellSize the distance between nodes, in meters
+	 * @throws IOException if the file could not be written
+	 */
+	public static void bake(@NotNull Path file, @NotNull Terrain terrain, @NotNull TerrainHeightSource source, double size, double cellSize) throws IOException {
+		int nodes = (int) Math.ceil(size / cellSize) + 1;
+		double origin = -size / 2;
+		float[] samples = new float[nodes * nodes];
+		float min = Float.MAX_VALUE;
+		float max = -Float.MAX_VALUE;
+		for (int nodeZ = 0; nodeZ < nodes; nodeZ++) {
+			for (int nodeX = 0; nodeX < nodes; nodeX++) {
+				float height = (float) source.getHeight(terrain, origin + nodeX * cellSize, origin + nodeZ * cellSize);
+				samples[nodeZ * nodes + nodeX] = height;
+				min = Math.min(min, height);
+				max = Math.max(max, height);
+			}
+		}
+		float scale = (max - min) / 0xFFFF;
+		
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(nodes);
+			output.writeFloat((float) origin);
+			output.writeFloat((float) origin);
+			output.writeFloat((float) cellSize);
+			output.writeFloat(min);
+			output.writeFloat(scale);
+			for (float sample : samples) {
+				output.writeShort(scale == 0 ? 0 : (int) Math.min(0xFFFF, Math.round((sample - min) / scale)));
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+}
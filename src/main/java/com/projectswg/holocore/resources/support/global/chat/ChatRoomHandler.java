@@ -38,15 +38,18 @@ import com.projectswg.holocore.ProjectSWG;
 import com.projectswg.holocore.resources.support.data.client_info.ServerFactory;
 import com.projectswg.holocore.resources.support.data.server_info.CachedObjectDatabase;
 import com.projectswg.holocore.resources.support.data.server_info.ObjectDatabase;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacket;
 import com.projectswg.holocore.resources.support.global.player.AccessLevel;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
 import com.projectswg.holocore.services.support.global.chat.ChatRoomService;
-import com.projectswg.holocore.services.support.global.zone.CharacterLookupService.PlayerLookup;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -54,12 +57,14 @@ public class ChatRoomHandler {
 	
 	private final ObjectDatabase<ChatRoom> database;
 	private final ChatRoomContainer rooms;
+	private final Map<Integer, Set<Player>> onlineMembers;
 	private final AtomicInteger maxChatRoomId;
 	private final Object roomCreationMutex;
 	
 	public ChatRoomHandler() {
 		this.database = new CachedObjectDatabase<>("odb/chat_rooms.db", ChatRoom::create, ChatRoom::save);
 		this.rooms = new ChatRoomContainer();
+		this.onlineMembers = new ConcurrentHashMap<>();
 		this.maxChatRoomId = new AtomicInteger(0);
 		this.roomCreationMutex = new Object();
 	}
@@ -93,6 +98,18 @@ public class ChatRoomHandler {
 		}
 	}
 	
+	/**
+	 * Stops delivering room traffic to a player that logged out. The player remains a member of its rooms, and is
+	 * resolved again by {@link #enterChatChannels(Player)} on the next login.
+	 * 
+	 * @param player Player that logged out
+	 */
+	public void leaveChatChannels(Player player) {
+		for (Set<Player> members : onlineMembers.values()) {
+			members.remove(player);
+		}
+	}
+	
 	/**
 	 * Attempts to join the specified chat channel
 	 * 
@@ -127,6 +144,7 @@ public class ChatRoomHandler {
 		sendPacketToMembers(room, new ChatOnEnteredRoom(avatar, result, room.getId(), 0));
 		
 		room.addMember(avatar);
+		getOnlineMembers(room).add(player);
 	}
 	
 	public void enterChatChannel(Player player, int id, int sequence) {
@@ -153,6 +171,7 @@ public class ChatRoomHandler {
 	public void leaveChatChannel(Player player, ChatRoom room, int sequence) {
 		ChatAvatar avatar = new ChatAvatar(player.getCharacterChatName());
 		
+		getOnlineMembers(room).remove(player);
 		if (!room.removeMember(avatar) && !player.getPlayerObject().removeJoinedChannel(room.getPath()))
 			return;
 		
@@ -167,6 +186,18 @@ public class ChatRoomHandler {
 		leaveChatChannel(player, room, 0);
 	}
 	
+	/**
+	 * Removes the member from the room without notifying anyone
+	 * 
+	 * @param room Chat room to remove the member from
+	 * @param member Member to remove
+	 * @return TRUE if the avatar was a member of the room, FALSE otherwise
+	 */
+	public boolean removeMember(ChatRoom room, ChatAvatar member) {
+		getOnlineMembers(room).removeIf(player -> player.getCharacterChatName().equals(member.getName()));
+		return room.removeMember(member);
+	}
+	
 	/**
 	 * Creates a new chat room with the specified address path. If the path's parent channel doesn't exist, then a new chat room is created with the same passed arguments.
 	 * 
@@ -242,6 +273,8 @@ public class ChatRoomHandler {
 	public void sendMessageToRoomFromSystem(String path, String message, OutOfBandPackage oobPackage) {
 		ChatAvatar systemAvatar = ChatAvatar.getSystemAvatar();
 		ChatRoom room = rooms.getRoomByPath(path);
+		if (room == null)
+			return;
 
 		sendMessage(room, systemAvatar, message, oobPackage);
 	}
@@ -257,11 +290,14 @@ public class ChatRoomHandler {
 		}
 		
 		// Send the ChatOnDestroyRoom SWGPacket to every else in the room besides the person destroying the SWGPacket
-		ChatOnDestroyRoom SWGPacket = new ChatOnDestroyRoom(destroyer, ChatResult.SUCCESS.getCode(), room.getId(), 0);
-		room.getMembers().forEach(member -> {
-			if (!destroyer.equals(member))
-				getPlayer(member).sendPacket(SWGPacket);
-		});
+		EncodedPacket SWGPacket = new EncodedPacket(new ChatOnDestroyRoom(destroyer, ChatResult.SUCCESS.getCode(), room.getId(), 0));
+		Set<Player> members = onlineMembers.remove(room.getId());
+		if (members != null) {
+			members.forEach(member -> {
+				if (!destroyer.getName().equals(member.getCharacterChatName()))
+					member.sendPacket(SWGPacket);
+			});
+		}
 		
 		return true;
 	}
@@ -324,12 +360,22 @@ public class ChatRoomHandler {
 				.collect(Collectors.toList());
 	}
 	
-	private static void sendMessage(ChatRoom room, ChatAvatar sender, String message, OutOfBandPackage oob) {
-		ChatRoomMessage chatRoomMessage = new ChatRoomMessage(sender, room.getId(), message, oob);
-		for (ChatAvatar member : room.getMembers()) {
-			Player player = getPlayer(member);
-			if (player == null)
-				continue;
+	/**
+	 * Sends the packet to every online member of the room. The packet is encoded once and shared by all members.
+	 * 
+	 * @param room Chat room whose members receive the packet
+	 * @param packet Packet to send
+	 */
+	public void sendPacketToMembers(ChatRoom room, SWGPacket packet) {
+		EncodedPacket encoded = new EncodedPacket(packet);
+		for (Player player : getOnlineMembers(room)) {
+			player.sendPacket(encoded);
+		}
+	}
+	
+	private void sendMessage(ChatRoom room, ChatAvatar sender, String message, OutOfBandPackage oob) {
+		EncodedPacket chatRoomMessage = new EncodedPacket(new ChatRoomMessage(sender, room.getId(), message, oob));
+		for (Player player : getOnlineMembers(room)) {
 			PlayerObject playerObject = player.getPlayerObject();
 			if (playerObject != null && playerObject.isIgnored(sender.getName()))
 				continue;
@@ -338,14 +384,8 @@ public class ChatRoomHandler {
 		}
 	}
 	
-	private static void sendPacketToMembers(ChatRoom room, SWGPacket packet) {
-		for (ChatAvatar member : room.getMembers()) {
-			getPlayer(member).sendPacket(packet);
-		}
-	}
-	
-	private static Player getPlayer(ChatAvatar avatar) {
-		return PlayerLookup.getPlayerByFirstName(avatar.getName());
+	private Set<Player> getOnlineMembers(ChatRoom room) {
+		return onlineMembers.computeIfAbsent(room.getId(), id -> ConcurrentHashMap.newKeySet());
 	}
 	
 }
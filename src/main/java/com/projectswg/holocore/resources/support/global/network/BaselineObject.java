@@ -37,21 +37,16 @@ import me.joshlarson.jlcommon.log.Log;
 import java.lang.ref.SoftReference;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
-import java.util.ArrayList;
-import java.util.List;
 
 public class BaselineObject {
 	
-	private transient final List<SoftReference<Baseline>> baselineData;
-	
 	private final BaselineType type;
 	
+	private transient SoftReference<?>[] baselineData; // guarded by this, only allocated once a baseline is built
+	
 	public BaselineObject(BaselineType type) {
 		this.type = type;
-		baselineData = new ArrayList<>(9);
-		for (int i = 0; i < 9; i++) {
-			baselineData.add(null);
-		}
+		this.baselineData = null;
 	}
 	
 	public BaselineType getBaselineType() {
@@ -192,23 +187,19 @@ public class BaselineObject {
 	
 	public final void sendDelta(int type, int update, Object value) {
 		verifySwgObject();
-		synchronized (baselineData) {
-			baselineData.set(type-1, null);
-		}
+		clearBaseline(type);
 		DeltaBuilder.send((SWGObject) this, this.type, type, update, value);
 	}
 	
 	public final void sendDelta(int type, int update, Object value, StringType strType) {
 		verifySwgObject();
-		synchronized (baselineData) {
-			baselineData.set(type-1, null);
-		}
+		clearBaseline(type);
 		DeltaBuilder.send((SWGObject) this, this.type, type, update, value, strType);
 	}
 	
 	private Baseline createBaseline(Player target, int num, BaselineCreator bc) {
 		verifySwgObject();
-		synchronized (baselineData) {
+		synchronized (this) {
 			Baseline data = getBaseline(num);
 			if (data == null) {
 				BaselineBuilder bb = new BaselineBuilder((SWGObject) this, type, num);
@@ -225,13 +216,22 @@ public class BaselineObject {
 			throw new IllegalStateException("This object is not an SWGObject!");
 	}
 	
+	private synchronized void clearBaseline(int num) {
+		if (baselineData != null)
+			baselineData[num-1] = null;
+	}
+	
 	private Baseline getBaseline(int num) {
-		SoftReference<Baseline> ref = baselineData.get(num-1);
-		return ref == null ? null : ref.get();
+		if (baselineData == null)
+			return null;
+		SoftReference<?> ref = baselineData[num-1];
+		return ref == null ? null : (Baseline) ref.get();
 	}
 	
 	private void setBaseline(int num, Baseline baseline) {
-		baselineData.set(num-1, new SoftReference<>(baseline));
+		if (baselineData == null)
+			baselineData = new SoftReference<?>[9];
+		baselineData[num-1] = new SoftReference<>(baseline);
 	}
 	
 	private interface BaselineCreator {
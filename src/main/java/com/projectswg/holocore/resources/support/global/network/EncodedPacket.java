@@ -0,0 +1,98 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.NetBuffer;
+import com.projectswg.common.network.NetworkProtocol;
+import com.projectswg.common.network.packets.PacketType;
+import com.projectswg.common.network.packets.SWGPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wraps a packet together with its protocol encoding, so that the same immutable bytes can be written to any number of
+ * connections without encoding the packet again
+ */
+public final class EncodedPacket extends SWGPacket {
+	
+	private final SWGPacket packet;
+	private volatile ByteBuffer encoded;
+	
+	public EncodedPacket(@NotNull SWGPacket packet) {
+		this.packet = packet;
+		this.encoded = encodeProtocol(packet);
+	}
+	
+	@NotNull
+	public SWGPacket getPacket() {
+		return packet;
+	}
+	
+	/**
+	 * Returns a read-only view of the protocol encoded packet, positioned at the start of the data
+	 * @return the encoded packet
+	 */
+	@NotNull
+	public ByteBuffer getEncoded() {
+		return encoded.duplicate();
+	}
+	
+	@Override
+	public PacketType getPacketType() {
+		return packet.getPacketType();
+	}
+	
+	/**
+	 * Decodes the wrapped packet from the specified buffer and replaces the cached encoding with the newly decoded
+	 * contents. Views previously returned by {@link #getEncoded()} keep the old bytes
+	 * @param data the buffer to decode the wrapped packet from
+	 */
+	@Override
+	public void decode(NetBuffer data) {
+		packet.decode(data);
+		encoded = encodeProtocol(packet);
+	}
+	
+	@Override
+	public NetBuffer encode() {
+		return packet.encode();
+	}
+	
+	private static ByteBuffer encodeProtocol(SWGPacket packet) {
+		ByteBuffer protocol = NetworkProtocol.encode(packet).getBuffer();
+		ByteBuffer encoded = ByteBuffer.allocate(protocol.remaining());
+		encoded.put(protocol).flip();
+		return encoded.asReadOnlyBuffer();
+	}
+	
+	@Override
+	public String toString() {
+		return "EncodedPacket[" + packet + ']';
+	}
+	
+}
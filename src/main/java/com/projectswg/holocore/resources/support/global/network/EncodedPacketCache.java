@@ -0,0 +1,77 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.packets.SWGPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache of encoded responses for request/response style packets.  The key must capture everything the response depends
+ * on (planet, versions, etc.), and the owner is responsible for invalidating entries when the underlying data changes.
+ * @param <K> the type of key describing a response
+ */
+public class EncodedPacketCache<K> {
+	
+	private final Map<K, EncodedPacket> cache;
+	
+	public EncodedPacketCache() {
+		this.cache = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Returns the cached response for the specified key, creating and encoding it if it does not exist yet
+	 * @param key the key describing the response
+	 * @param creator creates the response packet on a cache miss
+	 * @return the shared encoded packet
+	 */
+	@NotNull
+	public EncodedPacket get(@NotNull K key, @NotNull Function<K, SWGPacket> creator) {
+		return cache.computeIfAbsent(key, k -> new EncodedPacket(creator.apply(k)));
+	}
+	
+	public void invalidate(@NotNull K key) {
+		cache.remove(key);
+	}
+	
+	public void invalidateIf(@NotNull Predicate<K> predicate) {
+		cache.keySet().removeIf(predicate);
+	}
+	
+	public void clear() {
+		cache.clear();
+	}
+	
+	public int size() {
+		return cache.size();
+	}
+	
+}
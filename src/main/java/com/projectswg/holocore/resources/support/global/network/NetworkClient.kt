@@ -95,6 +95,7 @@ class NetworkClient(private val remoteAddress: SocketAddress, private val write:
 			if (!allowInbound(p))
 				continue
 			p.socketAddress = remoteAddress
+			capture?.record(false, player.networkId, p)
 			processPacket(p)
 			intentChain.broadcastAfter(InboundPacketIntent(player, p))
 		}
@@ -118,7 +119,11 @@ class NetworkClient(private val remoteAddress: SocketAddress, private val write:
 	
 	private fun addToOutbound(p: SWGPacket) {
 		if (allowOutbound(p) && connected.get()) {
-			write(NetworkProtocol.encode(p).buffer)
+			capture?.record(true, player.networkId, p)
+			if (p is EncodedPacket)
+				write(p.encoded)
+			else
+				write(NetworkProtocol.encode(p).buffer)
 		}
 	}
 	
@@ -133,6 +138,8 @@ class NetworkClient(private val remoteAddress: SocketAddress, private val write:
 	}
 	
 	private fun allowOutbound(packet: SWGPacket): Boolean {
+		if (packet is EncodedPacket)
+			return allowOutbound(packet.packet)
 		return packet !is AdminPacket || player.accessLevel > AccessLevel.WARDEN
 	}
 	
@@ -168,6 +175,11 @@ class NetworkClient(private val remoteAddress: SocketAddress, private val write:
 	companion object {
 		private val SESSION_ID = AtomicLong(1)
 		private const val INBOUND_BUFFER_SIZE = 4096
+		
+		/** Records inbound and outbound packets for every connection while set, costing a single read while not */
+		@Volatile
+		@JvmStatic
+		var capture: PacketCapture? = null
 	}
 	
 }
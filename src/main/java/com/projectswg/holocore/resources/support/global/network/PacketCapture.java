@@ -0,0 +1,191 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.packets.SWGPacket;
+import me.joshlarson.jlcommon.log.Log;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every packet a connection sends or receives as length-prefixed binary frames. Files are rotated once they
+ * grow past the configured size, and can be read back with {@link #read(File)}.
+ * <p>
+ * Each file starts with {@link #MAGIC} and {@link #VERSION}, followed by frames of:
+ * <pre>
+ *     int    length of the rest of the frame
+ *     byte   1 if sent by the server, 0 if received
+ *     long   epoch milliseconds
+ *     long   network id of the connection
+ *     byte[] the encoded packet
+ * </pre>
+ */
+public class PacketCapture implements Closeable {
+	
+	public static final String EXTENSION = ".capture";
+	public static final int MAGIC = 0x50435750; // PWCP
+	public static final byte VERSION = 1;
+	
+	private static final int FRAME_HEADER_SIZE = 1 + 8 + 8;
+	private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+	
+	private final File directory;
+	private final long maxFileSize;
+	private DataOutputStream output;
+	private long fileSize;
+	private int fileIndex;
+	private boolean disabled;
+	
+	public PacketCapture(@NotNull File directory, long maxFileSize) {
+		this.directory = directory;
+		this.maxFileSize = maxFileSize;
+		this.output = null;
+		this.fileSize = 0;
+		this.fileIndex = 0;
+		this.disabled = false;
+	}
+	
+	/**
+	 * Writes the packet to the current capture file. After the first failure to open or write a file, the capture is
+	 * disabled and every further packet is ignored.
+	 */
+	public synchronized void record(boolean server, long networkId, @NotNull SWGPacket packet) {
+		if (disabled)
+			return;
+		byte [] data = packet.encode().array();
+		try {
+			if (output == null || fileSize >= maxFileSize)
+				rotate();
+			output.writeInt(FRAME_HEADER_SIZE + data.length);
+			output.writeBoolean(server);
+			output.writeLong(System.currentTimeMillis());
+			output.writeLong(networkId);
+			output.write(data);
+			fileSize += 4 + FRAME_HEADER_SIZE + data.length;
+		} catch (IOException e) {
+			Log.e("Failed to write packet capture, disabling it. %s: %s", e.getClass().getName(), e.getMessage());
+			disabled = true;
+			try {
+				close();
+			} catch (IOException ignored) {
+				// The capture is already broken
+			}
+		}
+	}
+	
+	public synchronized boolean isDisabled() {
+		return disabled;
+	}
+	
+	@Override
+	public synchronized void close() throws IOException {
+		if (output != null) {
+			output.close();
+			output = null;
+		}
+	}
+	
+	private void rotate() throws IOException {
+		close();
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("unable to create capture directory " + directory);
+		File file = new File(directory, "packets-" + FILE_NAME_FORMAT.format(Instant.now()) + '-' + fileIndex++ + EXTENSION);
+		output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+		output.writeInt(MAGIC);
+		output.writeByte(VERSION);
+		fileSize = 5;
+		Log.i("Capturing packets to %s", file);
+	}
+	
+	@NotNull
+	public static List<Frame> read(@NotNull File file) throws IOException {
+		List<Frame> frames = new ArrayList<>();
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC)
+				throw new IOException("not a packet capture: " + file);
+			byte version = input.readByte();
+			if (version != VERSION)
+				throw new IOException("unsupported packet capture version " + version + ": " + file);
+			
+			while (true) {
+				try {
+					int length = input.readInt();
+					if (length < FRAME_HEADER_SIZE)
+						throw new IOException("corrupt frame of length " + length + " in " + file);
+					boolean server = input.readBoolean();
+					long time = input.readLong();
+					long networkId = input.readLong();
+					byte [] data = new byte[length - FRAME_HEADER_SIZE];
+					input.readFully(data);
+					frames.add(new Frame(server, Instant.ofEpochMilli(time), networkId, data));
+				} catch (EOFException e) {
+					break; // The end of the file, or a frame cut short by the server stopping
+				}
+			}
+		}
+		return frames;
+	}
+	
+	public static class Frame {
+		
+		private final boolean server;
+		private final Instant time;
+		private final long networkId;
+		private final byte [] data;
+		
+		public Frame(boolean server, Instant time, long networkId, byte [] data) {
+			this.server = server;
+			this.time = time;
+			this.networkId = networkId;
+			this.data = data;
+		}
+		
+		public boolean isServer() {
+			return server;
+		}
+		
+		public Instant getTime() {
+			return time;
+		}
+		
+		public long getNetworkId() {
+			return networkId;
+		}
+		
+		public byte [] getData() {
+			return data;
+		}
+		
+	}
+	
+}
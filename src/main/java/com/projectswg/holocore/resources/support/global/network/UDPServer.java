@@ -30,54 +30,78 @@ import me.joshlarson.jlcommon.log.Log;
 
 import java.io.IOException;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 
 /**
  * This class represents a UDP server that listens for SWGPackets and
- * will call the callback when it receives one
+ * will call the callback when it receives one. Datagrams are read from a
+ * non-blocking channel into pooled direct buffers, and every wakeup drains
+ * up to {@link #MAX_BATCH} datagrams before handing them over as one batch.
  */
 public class UDPServer {
 	
-	private Object waitingForPacket = new Object();
+	public static final int MAX_BATCH = 64;
+	private static final int RECEIVE_BUFFER_SIZE = 1024 * 1024;
 	
-	private final DatagramSocket socket;
+	private final Object waitingForPacket = new Object();
+	
+	private final DatagramChannel channel;
+	private final Selector selector;
 	private final UDPUpdater updater;
 	private final Queue <UDPPacket> inbound;
 	private final int SWGPacketSize;
-	private UDPCallback callback;
-	private int port;
+	private final int port;
+	private volatile UDPBatchCallback callback;
 	
-	public UDPServer(int port) throws SocketException {
+	public UDPServer(int port) throws IOException {
 		this(port, 1024);
 	}
 	
-	public UDPServer(int port, int SWGPacketSize) throws SocketException {
+	public UDPServer(int port, int SWGPacketSize) throws IOException {
 		this(null, port, SWGPacketSize);
 	}
 	
-	public UDPServer(InetAddress bindAddr, int port, int SWGPacketSize) throws SocketException {
+	public UDPServer(InetAddress bindAddr, int port, int SWGPacketSize) throws IOException {
 		this.callback = null;
 		this.SWGPacketSize = SWGPacketSize;
 		inbound = new LinkedBlockingQueue<>();
-		if (port > 0) {
-			if (bindAddr == null)
-				socket = new DatagramSocket(port);
-			else
-				socket = new DatagramSocket(port, bindAddr);
-		} else
-			socket = new DatagramSocket();
-		this.port = socket.getLocalPort();
+		channel = DatagramChannel.open();
+		Selector selector = null;
+		try {
+			channel.setOption(StandardSocketOptions.SO_RCVBUF, RECEIVE_BUFFER_SIZE);
+			channel.bind(new InetSocketAddress(bindAddr, Math.max(0, port)));
+			channel.configureBlocking(false);
+			selector = Selector.open();
+			channel.register(selector, SelectionKey.OP_READ);
+		} catch (IOException e) {
+			if (selector != null)
+				selector.close();
+			channel.close();
+			throw e;
+		}
+		this.selector = selector;
+		this.port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
 		updater = new UDPUpdater();
 		updater.start();
 	}
 	
 	public void close() {
-		if (updater != null)
-			updater.stop();
-		if (socket != null)
-			socket.close();
+		updater.stop();
+		try {
+			channel.close();
+			selector.close();
+		} catch (IOException e) {
+			Log.w("Failed to close UDP server on port %d", port);
+		}
+		updater.awaitTermination();
 	}
 	
 	public UDPPacket receive() {
@@ -93,7 +117,7 @@ public class UDPServer {
 	}
 	
 	public boolean isRunning() {
-		return updater != null && updater.isRunning();
+		return updater.isRunning();
 	}
 	
 	public void waitForPacket() {
@@ -127,17 +151,7 @@ public class UDPServer {
 	}
 	
 	public boolean send(int port, InetAddress addr, byte [] data) {
-		try {
-			socket.send(new DatagramPacket(data, data.length, addr, port));
-			return true;
-		} catch (IOException e) {
-			String msg = e.getMessage();
-			if (msg != null && msg.startsWith("Socket") && msg.endsWith("closed"))
-				return false;
-			else
-				Log.e(e);
-			return false;
-		}
+		return send(new InetSocketAddress(addr, port), data);
 	}
 	
 	public boolean send(int port, String addr, byte [] data) {
@@ -150,10 +164,32 @@ public class UDPServer {
 	}
 	
 	public boolean send(InetSocketAddress addr, byte [] data) {
-		return send(addr.getPort(), addr.getAddress(), data);
+		try {
+			return channel.send(ByteBuffer.wrap(data), addr) > 0;
+		} catch (ClosedChannelException e) {
+			return false;
+		} catch (IOException e) {
+			Log.e(e);
+			return false;
+		}
 	}
 	
+	/**
+	 * Sets a callback that is given a copy of every datagram. Prefer {@link #setBatchCallback(UDPBatchCallback)} to
+	 * avoid the copy.
+	 */
 	public void setCallback(UDPCallback callback) {
+		this.callback = batch -> {
+			for (int i = 0; i < batch.size(); i++) {
+				callback.onReceivedPacket(batch.copy(i));
+			}
+		};
+	}
+	
+	/**
+	 * Sets a callback that is given each batch of datagrams, directly from the receive buffers
+	 */
+	public void setBatchCallback(UDPBatchCallback callback) {
 		this.callback = callback;
 	}
 	
@@ -165,6 +201,13 @@ public class UDPServer {
 		void onReceivedPacket(UDPPacket SWGPacket);
 	}
 	
+	public interface UDPBatchCallback {
+		/**
+		 * Called on the receive thread. The batch and its buffers are reused once this returns.
+		 */
+		void onReceivedBatch(UDPBatch batch);
+	}
+	
 	public static class UDPPacket {
 		private final byte [] data;
 		private final InetAddress addr;
@@ -193,16 +236,72 @@ public class UDPServer {
 		}
 	}
 	
+	public static class UDPBatch {
+		private final ByteBuffer [] buffers;
+		private final InetSocketAddress [] sources;
+		private int size;
+		
+		private UDPBatch(int packetSize) {
+			this.buffers = new ByteBuffer[MAX_BATCH];
+			this.sources = new InetSocketAddress[MAX_BATCH];
+			this.size = 0;
+			for (int i = 0; i < MAX_BATCH; i++)
+				buffers[i] = ByteBuffer.allocateDirect(packetSize);
+		}
+		
+		public int size() {
+			return size;
+		}
+		
+		/**
+		 * Returns the contents of the datagram, between the buffer's position and limit
+		 */
+		public ByteBuffer getData(int index) {
+			return buffers[index];
+		}
+		
+		public InetSocketAddress getSource(int index) {
+			return sources[index];
+		}
+		
+		public UDPPacket copy(int index) {
+			ByteBuffer buffer = buffers[index];
+			byte [] data = new byte[buffer.remaining()];
+			buffer.mark();
+			buffer.get(data);
+			buffer.reset();
+			return new UDPPacket(sources[index].getAddress(), sources[index].getPort(), data);
+		}
+		
+		private boolean receive(DatagramChannel channel) throws IOException {
+			ByteBuffer buffer = buffers[size];
+			buffer.clear();
+			SocketAddress source = channel.receive(buffer);
+			if (source == null)
+				return false;
+			buffer.flip();
+			if (buffer.hasRemaining())
+				sources[size++] = (InetSocketAddress) source;
+			return true;
+		}
+		
+		private void clear() {
+			for (int i = 0; i < size; i++)
+				sources[i] = null;
+			size = 0;
+		}
+	}
+	
 	private class UDPUpdater implements Runnable {
 		
 		private final Thread thread;
-		private final byte [] dataBuffer;
-		private boolean running;
+		private final UDPBatch batch;
+		private volatile boolean running;
 		
 		public UDPUpdater() {
 			thread = new Thread(this);
 			thread.setName("UDPServer Port#" + port);
-			dataBuffer = new byte[SWGPacketSize];
+			batch = new UDPBatch(SWGPacketSize);
 		}
 		
 		public boolean isRunning() {
@@ -216,56 +315,68 @@ public class UDPServer {
 		
 		public void stop() {
 			running = false;
-			thread.interrupt();
+			selector.wakeup();
+		}
+		
+		public void awaitTermination() {
+			try {
+				thread.join(1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
 		}
 		
 		public void run() {
 			try {
 				while (running) {
-					loop();
+					selector.select();
+					selector.selectedKeys().clear();
+					while (running && drain()) {
+						// A full batch means more datagrams may be waiting
+					}
 				}
+			} catch (ClosedChannelException | ClosedSelectorException e) {
+				// Closed while waiting
 			} catch (Exception e) {
-				Log.e(e);
+				if (running)
+					Log.e(e);
 			}
 			running = false;
 		}
 		
-		private void loop() {
-			DatagramPacket SWGPacket = receivePacket();
-			if (SWGPacket.getLength() <= 0)
-				return;
-			UDPPacket udpPacket = generatePacket(SWGPacket);
-			if (callback != null)
-				callback.onReceivedPacket(udpPacket);
-			else
-				inbound.add(udpPacket);
-			notifyPacketReceived();
-		}
-		
-		private void notifyPacketReceived() {
-			synchronized (waitingForPacket) {
-				waitingForPacket.notifyAll();
+		/**
+		 * Reads up to {@link #MAX_BATCH} datagrams and dispatches them
+		 * @return true if the batch was filled, false if the channel had no more datagrams
+		 */
+		private boolean drain() throws IOException {
+			boolean full = true;
+			while (batch.size() < MAX_BATCH) {
+				if (!batch.receive(channel)) {
+					full = false;
+					break;
+				}
 			}
+			if (batch.size() > 0)
+				dispatch();
+			return full;
 		}
 		
-		private DatagramPacket receivePacket() {
-			DatagramPacket SWGPacket = new DatagramPacket(dataBuffer, dataBuffer.length);
-			try {
-				socket.receive(SWGPacket);
-			} catch (IOException e) {
-				if (e.getMessage() != null && (e.getMessage().contains("socket closed") || e.getMessage().contains("Socket closed")))
-					running = false;
-				else
-					Log.e(e);
-				SWGPacket.setLength(0);
+		private void dispatch() {
+			UDPBatchCallback callback = UDPServer.this.callback;
+			if (callback != null) {
+				callback.onReceivedBatch(batch);
+			} else {
+				for (int i = 0; i < batch.size(); i++)
+					inbound.add(batch.copy(i));
+				notifyPacketReceived();
 			}
-			return SWGPacket;
+			batch.clear();
 		}
 		
-		private UDPPacket generatePacket(DatagramPacket SWGPacket) {
-			byte [] data = new byte[SWGPacket.getLength()];
-			System.arraycopy(SWGPacket.getData(), 0, data, 0, SWGPacket.getLength());
-			return new UDPPacket(SWGPacket.getAddress(), SWGPacket.getPort(), data);
+		private void notifyPacketReceived() {
+			synchronized (waitingForPacket) {
+				waitingForPacket.notifyAll();
+			}
 		}
 		
 	}
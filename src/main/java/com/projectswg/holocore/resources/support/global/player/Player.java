@@ -28,7 +28,6 @@ package com.projectswg.holocore.resources.support.global.player;
 
 import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.holocore.ProjectSWG;
-import com.projectswg.holocore.intents.support.global.network.OutboundPacketIntent;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
@@ -175,27 +174,17 @@ public class Player implements Comparable<Player> {
 	
 	public void sendPacket(SWGPacket packet) {
 		packetSender.accept(packet);
-		IntentChain.broadcastChain(new OutboundPacketIntent(this, packet));
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2) {
 		packetSender.accept(packet1);
 		packetSender.accept(packet2);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2)
-		);
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3) {
 		packetSender.accept(packet1);
 		packetSender.accept(packet2);
 		packetSender.accept(packet3);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2),
-				new OutboundPacketIntent(this, packet3)
-		);
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3, SWGPacket packet4) {
@@ -203,12 +192,6 @@ public class Player implements Comparable<Player> {
 		packetSender.accept(packet2);
 		packetSender.accept(packet3);
 		packetSender.accept(packet4);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2),
-				new OutboundPacketIntent(this, packet3),
-				new OutboundPacketIntent(this, packet4)
-		);
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3, SWGPacket packet4, SWGPacket packet5) {
@@ -217,13 +200,6 @@ public class Player implements Comparable<Player> {
 		packetSender.accept(packet3);
 		packetSender.accept(packet4);
 		packetSender.accept(packet5);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2),
-				new OutboundPacketIntent(this, packet3),
-				new OutboundPacketIntent(this, packet4),
-				new OutboundPacketIntent(this, packet5)
-		);
 	}
 	
 	public void broadcast(Intent intent) {
@@ -2,10 +2,12 @@ package com.projectswg.holocore.resources.support.npc.ai;
 
 import com.projectswg.common.data.location.Location;
 import com.projectswg.holocore.intents.support.objects.swg.MoveObjectIntent;
+import com.projectswg.holocore.resources.support.data.terrain.TerrainHeightSource;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
 import com.projectswg.holocore.resources.support.objects.swg.cell.CellObject;
 import com.projectswg.holocore.resources.support.objects.swg.cell.Portal;
+import com.projectswg.holocore.services.support.data.TerrainHeightService.TerrainHeightLookup;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -13,6 +15,9 @@ import java.util.*;
 
 public class NavigationPoint {
 	
+	private static final TerrainHeightSource GROUND = (terrain, x, z) -> TerrainHeightLookup.getHeight(terrain, x, z, Double.NaN);
+	private static final double GROUND_TOLERANCE = 1;
+	
 	private final SWGObject parent;
 	private final Location location;
 	private final double speed;
@@ -119,30 +124,60 @@ public class NavigationPoint {
 	 * @return a queue of locations to travel
 	 */
 	public static List<NavigationPoint> from(@Nullable SWGObject parent, @NotNull Location source, @NotNull Location destination, double speed) {
+		return from(parent, source, destination, speed, GROUND);
+	}
+	
+	/**
+	 * Outdoor paths follow the ground, unless either end is off of it (on a structure, or at a raised doorway)
+	 *
+	 * @param ground the ground height, or NaN where it isn't known
+	 */
+	static List<NavigationPoint> from(@Nullable SWGObject parent, @NotNull Location source, @NotNull Location destination, double speed, @NotNull TerrainHeightSource ground) {
+		TerrainHeightSource snap = (parent == null && isOnGround(source, ground) && isOnGround(destination, ground)) ? ground : null;
 		speed = Math.floor(speed);
 		double totalDistance = source.distanceTo(destination);
 		List<NavigationPoint> path = new ArrayList<>();
 		
 		double currentDistance = speed;
 		while (currentDistance < totalDistance) {
-			path.add(interpolate(parent, source, destination, speed, currentDistance / totalDistance));
+			path.add(interpolate(parent, source, destination, speed, currentDistance / totalDistance, snap));
 			currentDistance += speed;
 		}
-		path.add(interpolate(parent, source, destination, speed, 1));
+		path.add(interpolate(parent, source, destination, speed, 1, snap));
 		return path;
 	}
 	
-	private static NavigationPoint interpolate(SWGObject parent, Location l1, Location l2, double speed, double percentage) {
+	private static boolean isOnGround(Location location, TerrainHeightSource ground) {
+		double height = ground.getHeight(location.getTerrain(), location.getX(), location.getZ());
+		return Math.abs(location.getY() - height) <= GROUND_TOLERANCE; // False for NaN
+	}
+	
+	private static double getHeight(@Nullable TerrainHeightSource snap, Location location) {
+		return getHeight(snap, location, location.getX(), location.getY(), location.getZ());
+	}
+	
+	private static double getHeight(@Nullable TerrainHeightSource snap, Location reference, double x, double y, double z) {
+		if (snap == null)
+			return y;
+		double height = snap.getHeight(reference.getTerrain(), x, z);
+		return Double.isNaN(height) ? y : height;
+	}
+	
+	private static NavigationPoint interpolate(SWGObject parent, Location l1, Location l2, double speed, double percentage, @Nullable TerrainHeightSource snap) {
 		double heading = Math.toDegrees(Math.atan2(l2.getX()-l1.getX(), l2.getZ()-l1.getZ()));
 		if (percentage <= 0)
-			return new NavigationPoint(parent, Location.builder(l1).setHeading(heading).build(), speed);
+			return new NavigationPoint(parent, Location.builder(l1).setY(getHeight(snap, l1)).setHeading(heading).build(), speed);
 		if (percentage >= 1)
-			return new NavigationPoint(parent, Location.builder(l2).setHeading(heading).build(), speed);
+			return new NavigationPoint(parent, Location.builder(l2).setY(getHeight(snap, l2)).setHeading(heading).build(), speed);
+		double x = l1.getX() + (l2.getX()-l1.getX())*percentage;
+		double y = l1.getY() + (l2.getY()-l1.getY())*percentage;
+		double z = l1.getZ() + (l2.getZ()-l1.getZ())*percentage;
+		y = getHeight(snap, l1, x, y, z);
 		return new NavigationPoint(parent, Location.builder()
 				.setTerrain(l1.getTerrain())
-				.setX(l1.getX() + (l2.getX()-l1.getX())*percentage)
-				.setY(l1.getY() + (l2.getY()-l1.getY())*percentage)
-				.setZ(l1.getZ() + (l2.getZ()-l1.getZ())*percentage)
+				.setX(x)
+				.setY(y)
+				.setZ(z)
 				.setHeading(heading)
 				.build(), speed);
 	}
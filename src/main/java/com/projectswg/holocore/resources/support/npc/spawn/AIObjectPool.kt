@@ -0,0 +1,87 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.npc.spawn
+
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject
+import java.util.*
+
+/**
+ * Holds on to the NPCs of a [Spawner] after they have been destroyed, so that a respawn can reuse the same object, its
+ * weapons and its object id instead of creating everything again.  NPCs are grouped by template, as a spawner can pick
+ * a different template for every respawn.  At most [capacity] NPCs are kept - anything beyond that is left to the
+ * garbage collector.
+ */
+class AIObjectPool(private val capacity: Int) {
+	
+	private val pool = HashMap<String, ArrayDeque<AIObject>>()
+	
+	/**
+	 * The number of NPCs currently waiting to be reused
+	 */
+	var size: Int = 0
+		@Synchronized get
+		private set
+	
+	/**
+	 * Returns a destroyed NPC to the pool
+	 * @param obj the destroyed NPC
+	 * @return TRUE if the NPC was pooled, FALSE if the pool is full or already contains it
+	 */
+	@Synchronized
+	fun release(obj: AIObject): Boolean {
+		if (size >= capacity)
+			return false
+		val objects = pool.computeIfAbsent(obj.template) { ArrayDeque() }
+		if (objects.contains(obj))
+			return false
+		objects.addLast(obj)
+		size++
+		return true
+	}
+	
+	/**
+	 * Takes a previously destroyed NPC with the specified template out of the pool
+	 * @param template the template the NPC should have
+	 * @return the pooled NPC, or null if there is none for this template
+	 */
+	@Synchronized
+	fun acquire(template: String): AIObject? {
+		val obj = pool[template]?.pollFirst() ?: return null
+		size--
+		return obj
+	}
+	
+	/**
+	 * Drops every pooled NPC
+	 */
+	@Synchronized
+	fun clear() {
+		pool.clear()
+		size = 0
+	}
+	
+}
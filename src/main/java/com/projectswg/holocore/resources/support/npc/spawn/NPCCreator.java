@@ -31,6 +31,7 @@ import com.projectswg.common.data.encodables.tangible.PvpStatus;
 import com.projectswg.common.data.location.Location;
 import com.projectswg.common.data.location.Location.LocationBuilder;
 import com.projectswg.common.data.objects.GameObjectType;
+import com.projectswg.common.data.swgfile.ClientFactory;
 import com.projectswg.holocore.intents.gameplay.gcw.faction.FactionIntent;
 import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
@@ -61,7 +62,13 @@ public class NPCCreator {
 	public static long createNPC(Spawner spawner) {
 		Arguments.validate(spawner.getMinLevel() <= spawner.getMaxLevel(), "min level must be less than max level");
 		int combatLevel = ThreadLocalRandom.current().nextInt(spawner.getMinLevel(), spawner.getMaxLevel()+1);
-		AIObject object = ObjectCreator.createObjectFromTemplate(spawner.getRandomIffTemplate(), AIObject.class);
+		String template = ClientFactory.formatToSharedFile(spawner.getRandomIffTemplate());
+		AIObject object = spawner.getPool().acquire(template);
+		boolean recycled = object != null;
+		if (recycled)
+			object.resetForRespawn();
+		else
+			object = ObjectCreator.createObjectFromTemplate(template, AIObject.class);
 		
 		NpcStatInfo npcStats = DataLoader.Companion.npcStats().getNpcStats(combatLevel);
 		DetailNpcStatInfo detailNpcStat = getDetailedNpcStats(npcStats, spawner.getDifficulty());
@@ -87,8 +94,14 @@ public class NPCCreator {
 		
 		// Assign weapons
 		try {
-			spawner.getPrimaryWeapons().stream().map(w -> createWeapon(detailNpcStat, w)).filter(Objects::nonNull).forEach(object::addPrimaryWeapon);
-			spawner.getSecondaryWeapons().stream().map(w -> createWeapon(detailNpcStat, w)).filter(Objects::nonNull).forEach(object::addSecondaryWeapon);
+			if (recycled) {
+				// The weapons survive a respawn, only their damage depends on the new combat level
+				object.getPrimaryWeapons().forEach(w -> setWeaponDamage(detailNpcStat, w));
+				object.getSecondaryWeapons().forEach(w -> setWeaponDamage(detailNpcStat, w));
+			} else {
+				spawner.getPrimaryWeapons().stream().map(w -> createWeapon(detailNpcStat, w)).filter(Objects::nonNull).forEach(object::addPrimaryWeapon);
+				spawner.getSecondaryWeapons().stream().map(w -> createWeapon(detailNpcStat, w)).filter(Objects::nonNull).forEach(object::addSecondaryWeapon);
+			}
 			List<WeaponObject> primaryWeapons = object.getPrimaryWeapons();
 			if (!primaryWeapons.isEmpty())
 				object.setEquippedWeapon(primaryWeapons.get(ThreadLocalRandom.current().nextInt(primaryWeapons.size())));
@@ -210,8 +223,7 @@ public class NPCCreator {
 			WeaponObject weapon = (WeaponObject) ObjectCreator.createObjectFromTemplate(template);
 			WeaponType weaponType = getWeaponType(weapon.getGameObjectType());
 			
-			weapon.setMinDamage((int) (detailNpcStat.getDamagePerSecond() * 2 * 0.90));
-			weapon.setMaxDamage(detailNpcStat.getDamagePerSecond() * 2);
+			setWeaponDamage(detailNpcStat, weapon);
 			int range = DataLoader.Companion.npcWeaponRanges().getWeaponRange(template);
 			if (range == -1)
 				Log.w("Failed to load weapon range for: %s", template);
@@ -226,6 +238,11 @@ public class NPCCreator {
 		}
 	}
 	
+	private static void setWeaponDamage(DetailNpcStatInfo detailNpcStat, WeaponObject weapon) {
+		weapon.setMinDamage((int) (detailNpcStat.getDamagePerSecond() * 2 * 0.90));
+		weapon.setMaxDamage(detailNpcStat.getDamagePerSecond() * 2);
+	}
+	
 	/**
 	 * Somewhat accurate way of determining a WeaponType based on a GameObjectType.
 	 * Problem is that GOT_WEAPON_RANGED_RIFLE can be both a rifle and a heavy weapon, but we assume it's a rifle since NPCs don't use heavy weapons.
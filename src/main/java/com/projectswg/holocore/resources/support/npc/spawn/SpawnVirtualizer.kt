@@ -0,0 +1,124 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.npc.spawn
+
+import com.projectswg.common.data.location.Location
+import com.projectswg.common.data.location.Terrain
+import java.util.*
+import kotlin.math.floor
+import kotlin.math.max
+
+/**
+ * Keeps track of which spawns are close enough to a player to need real NPCs.  A spawn is materialized as soon as a
+ * player comes within [radius], and is dematerialized once no player has been within [radius] for [gracePeriod]
+ * milliseconds.  Spawns without a nearby player only cost this lightweight descriptor.
+ *
+ * Spawns are bucketed into a grid of [radius]-wide cells per terrain, so each update only looks at the cells around
+ * each player and at the spawns that are currently materialized.
+ *
+ * This class is not thread-safe, and is expected to be updated from a single thread.
+ */
+class SpawnVirtualizer<T : Any>(private val radius: Double, private val gracePeriod: Long) {
+	
+	private val spawns = EnumMap<Terrain, MutableMap<Long, MutableList<VirtualSpawn<T>>>>(Terrain::class.java)
+	private val materialized = LinkedHashSet<VirtualSpawn<T>>()
+	private val cellWidth = max(radius, 1.0)
+	private var generation = 0L
+	
+	var materializedCount: Int = 0
+		private set
+	var virtualCount: Int = 0
+		private set
+	
+	/**
+	 * Adds a new virtual spawn at the specified world location
+	 */
+	fun add(spawn: T, worldLocation: Location) {
+		val cells = spawns.computeIfAbsent(worldLocation.terrain) { HashMap() }
+		cells.computeIfAbsent(getCellKey(getCell(worldLocation.x), getCell(worldLocation.z))) { ArrayList() }.add(VirtualSpawn(spawn, worldLocation.x, worldLocation.z))
+		virtualCount++
+	}
+	
+	/**
+	 * Materializes every virtual spawn that has a player within range, and dematerializes every materialized spawn that
+	 * has not had a player within range for the grace period
+	 * @param players the world locations of every player
+	 * @param time the current time in milliseconds
+	 * @param materialize called for each spawn that should now be materialized
+	 * @param dematerialize called for each spawn that should now be dematerialized
+	 */
+	fun update(players: Collection<Location>, time: Long, materialize: (T) -> Unit, dematerialize: (T) -> Unit) {
+		val currentGeneration = ++generation
+		val radiusSquared = radius * radius
+		for (player in players) {
+			val cells = spawns[player.terrain] ?: continue
+			val playerCellX = getCell(player.x)
+			val playerCellZ = getCell(player.z)
+			for (cellZ in playerCellZ - 1..playerCellZ + 1) {
+				for (cellX in playerCellX - 1..playerCellX + 1) {
+					val cell = cells[getCellKey(cellX, cellZ)] ?: continue
+					for (spawn in cell) {
+						if (spawn.generation == currentGeneration)
+							continue
+						val dx = player.x - spawn.x
+						val dz = player.z - spawn.z
+						if (dx * dx + dz * dz > radiusSquared)
+							continue
+						spawn.generation = currentGeneration
+						spawn.lastPlayerNearby = time
+						if (materialized.add(spawn)) {
+							materializedCount++
+							virtualCount--
+							materialize(spawn.spawn)
+						}
+					}
+				}
+			}
+		}
+		
+		val it = materialized.iterator()
+		while (it.hasNext()) {
+			val spawn = it.next()
+			if (spawn.generation != currentGeneration && time - spawn.lastPlayerNearby >= gracePeriod) {
+				it.remove()
+				materializedCount--
+				virtualCount++
+				dematerialize(spawn.spawn)
+			}
+		}
+	}
+	
+	private fun getCell(position: Double): Int = floor(position / cellWidth).toInt()
+	
+	private fun getCellKey(cellX: Int, cellZ: Int): Long = (cellX.toLong() shl 32) or (cellZ.toLong() and 0xFFFFFFFFL)
+	
+	private class VirtualSpawn<T>(val spawn: T, val x: Double, val z: Double) {
+		var lastPlayerNearby = 0L
+		var generation = 0L
+	}
+	
+}
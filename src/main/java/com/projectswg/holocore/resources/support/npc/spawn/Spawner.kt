@@ -55,6 +55,18 @@ class Spawner(spawn: StaticSpawnInfo, egg: SWGObject) {
 	val egg: SWGObject = Objects.requireNonNull(egg, "egg")
 	val npcs: List<AIObject> = Collections.unmodifiableList(npcsInternal)
 	
+	/**
+	 * Destroyed NPCs that can be reused by the next respawn
+	 */
+	val pool = AIObjectPool(spawn.amount)
+	
+	/**
+	 * Whether or not this spawner should currently have NPCs.  Virtual spawners are not respawned until they are
+	 * materialized again by a nearby player.
+	 */
+	@Volatile
+	var isMaterialized: Boolean = true
+	
 	/**
 	 * Calculates a random number between `minRespawnDelay` and
 	 * `maxRespawnDelay`
@@ -31,26 +31,30 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ObjectAware {
 	
 	private static final Collection<SWGObject> EMPTY_SET = Collections.emptyList();
+	private static final AtomicReferenceFieldUpdater<ObjectAware, TerrainMapChunk> CHUNK = AtomicReferenceFieldUpdater.newUpdater(ObjectAware.class, TerrainMapChunk.class, "chunk");
+	private static final AtomicReferenceFieldUpdater<ObjectAware, SpatialGrid.Cell> SPATIAL_CELL = AtomicReferenceFieldUpdater.newUpdater(ObjectAware.class, SpatialGrid.Cell.class, "spatialCell");
 	
-	private final EnumMap<AwarenessType, Collection<SWGObject>> awareness;
-	private final AtomicReference<TerrainMapChunk> chunk;
-	
-	public ObjectAware() {
-		this.awareness = new EnumMap<>(AwarenessType.class);
-		this.chunk = new AtomicReference<>(null);
-		for (AwarenessType type : AwarenessType.getValues()) {
-			awareness.put(type, List.of());
-		}
-	}
+	private volatile EnumMap<AwarenessType, Collection<SWGObject>> awareness = null; // created on the first non-empty update
+	private volatile TerrainMapChunk chunk = null;
+	private volatile SpatialGrid.Cell spatialCell = null;
 	
 	public synchronized void setAware(@NotNull AwarenessType type, @NotNull Collection<SWGObject> objects) {
+		EnumMap<AwarenessType, Collection<SWGObject>> awareness = this.awareness;
+		if (awareness == null) {
+			if (objects.isEmpty())
+				return;
+			awareness = new EnumMap<>(AwarenessType.class);
+			awareness.put(type, objects);
+			this.awareness = awareness;
+			return;
+		}
 		awareness.put(type, objects);
 	}
 	
@@ -61,6 +65,9 @@ public class ObjectAware {
 	
 	@NotNull
 	public Set<SWGObject> getAware(@NotNull AwarenessType type) {
+		EnumMap<AwarenessType, Collection<SWGObject>> awareness = this.awareness;
+		if (awareness == null)
+			return new HashSet<>();
 		return new HashSet<>(awareness.getOrDefault(type, EMPTY_SET));
 	}
 	
@@ -69,19 +76,29 @@ public class ObjectAware {
 	}
 	
 	protected TerrainMapChunk setTerrainMapChunk(TerrainMapChunk newChunk) {
-		return this.chunk.getAndSet(newChunk);
+		return CHUNK.getAndSet(this, newChunk);
 	}
 	
 	@Nullable
 	protected TerrainMapChunk getTerrainMapChunk() {
-		return chunk.get();
+		return chunk;
+	}
+	
+	protected SpatialGrid.Cell setSpatialCell(SpatialGrid.Cell newCell) {
+		return SPATIAL_CELL.getAndSet(this, newCell);
 	}
 	
 	private Stream<SWGObject> getAwareStream() {
+		EnumMap<AwarenessType, Collection<SWGObject>> awareness = this.awareness;
+		if (awareness == null)
+			return Stream.empty();
 		return awareness.values().stream().flatMap(Collection::stream);
 	}
 	
 	private boolean notAware(SWGObject test) {
+		EnumMap<AwarenessType, Collection<SWGObject>> awareness = this.awareness;
+		if (awareness == null)
+			return true;
 		for (Collection<SWGObject> aware : awareness.values()) {
 			if (aware.contains(test))
 				return false;
@@ -29,10 +29,12 @@ package com.projectswg.holocore.resources.support.objects.awareness;
 
 import com.projectswg.common.data.location.Terrain;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.List;
 
 public class ObjectAwareness {
 	
@@ -85,6 +87,53 @@ public class ObjectAwareness {
 		terrains[obj.getTerrain().ordinal()].move(obj);
 	}
 	
+	/**
+	 * Called when an object was teleported to the same destination as the rest of its group.  A logged in player is
+	 * made aware of its destination immediately, and the objects around the destination are only looked up once for
+	 * the whole group.
+	 *
+	 * @param obj the object to update
+	 * @param group the group the object was teleported with
+	 */
+	public void updateObject(@NotNull SWGObject obj, @NotNull TeleportGroup group) {
+		TerrainMap terrain = terrains[obj.getTerrain().ordinal()];
+		terrain.move(obj);
+		if (obj instanceof CreatureObject && ((CreatureObject) obj).isLoggedInPlayer()) {
+			CreatureObject creature = (CreatureObject) obj;
+			creature.setAware(AwarenessType.OBJECT, terrain.getAware(creature, group));
+			creature.flushAwareness();
+		}
+	}
+	
+	/**
+	 * Returns every creature in the world within the specified distance of the point, ignoring height
+	 *
+	 * @param terrain the terrain to search
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @param radius the distance from the point
+	 * @return the creatures, sorted by distance from the point
+	 */
+	@NotNull
+	public List<CreatureObject> getCreaturesInRange(@NotNull Terrain terrain, double x, double z, double radius) {
+		return terrains[terrain.ordinal()].getSpatialGrid().getCreaturesInRange(x, z, radius);
+	}
+	
+	/**
+	 * Returns every player within the specified distance of the point, ignoring height, including players that are
+	 * inside buildings or mounted
+	 *
+	 * @param terrain the terrain to search
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @param radius the distance from the point
+	 * @return the players, sorted by distance from the point
+	 */
+	@NotNull
+	public List<CreatureObject> getPlayersInRange(@NotNull Terrain terrain, double x, double z, double radius) {
+		return terrains[terrain.ordinal()].getSpatialGrid().getPlayersInRange(x, z, radius);
+	}
+	
 	/**
 	 * Updates all affected chunks
 	 */
@@ -0,0 +1,247 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.common.data.location.Location;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fine grained grid of the creatures on a single terrain, used to answer radius queries by only visiting the
+ * cells that overlap the query.  Creature queries only return creatures that are directly in the world, while player
+ * queries also return players that are inside buildings or mounted, at their world position.
+ */
+public class SpatialGrid {
+	
+	private static final int MAP_WIDTH = 16384;
+	private static final int CELL_SHIFT = 6;
+	private static final int CELLS_ACROSS = MAP_WIDTH >> CELL_SHIFT;
+	private static final Comparator<Candidate> BY_DISTANCE = Comparator.comparingDouble(c -> c.distanceSquared);
+	
+	private volatile AtomicReferenceArray<Cell> cells; // created on the first creature
+	
+	public SpatialGrid() {
+		this.cells = null;
+	}
+	
+	/**
+	 * Updates the position of a creature that is directly in the world
+	 */
+	public void move(@NotNull CreatureObject creature) {
+		Cell cell = getCell(creature.getX(), creature.getZ());
+		Cell previous = creature.getAwareness().setSpatialCell(cell);
+		if (previous != cell && previous != null)
+			previous.remove(creature);
+		cell.creatures.add(creature);
+		if (creature.isPlayer())
+			cell.players.add(creature);
+	}
+	
+	/**
+	 * Updates the position of a creature that is within another object, such as a building or a mount.  Only players
+	 * are tracked while they are within another object.
+	 */
+	public void moveInParent(@NotNull CreatureObject creature) {
+		if (!creature.isPlayer()) {
+			remove(creature);
+			return;
+		}
+		Location world = creature.getWorldLocation();
+		Cell cell = getCell(world.getX(), world.getZ());
+		Cell previous = creature.getAwareness().setSpatialCell(cell);
+		if (previous != cell && previous != null)
+			previous.remove(creature);
+		cell.creatures.remove(creature);
+		cell.players.add(creature);
+	}
+	
+	public void remove(@NotNull CreatureObject creature) {
+		Cell previous = creature.getAwareness().setSpatialCell(null);
+		if (previous != null)
+			previous.remove(creature);
+	}
+	
+	/**
+	 * Returns every player within the specified distance of the point, ignoring height.  Players within other objects
+	 * are measured at their world position.
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @param radius the distance from the point, in meters
+	 * @return the players, sorted by distance from the point
+	 */
+	@NotNull
+	public List<CreatureObject> getPlayersInRange(double x, double z, double radius) {
+		AtomicReferenceArray<Cell> cells = this.cells;
+		if (cells == null || radius < 0)
+			return new ArrayList<>();
+		
+		double radiusSquared = radius * radius;
+		List<Candidate> candidates = new ArrayList<>();
+		int minX = getCellCoordinate(x - radius);
+		int maxX = getCellCoordinate(x + radius);
+		int minZ = getCellCoordinate(z - radius);
+		int maxZ = getCellCoordinate(z + radius);
+		for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+			for (int cellX = minX; cellX <= maxX; cellX++) {
+				Cell cell = cells.get(getCellIndex(cellX, cellZ));
+				if (cell == null)
+					continue;
+				for (CreatureObject player : cell.players) {
+					double deltaX;
+					double deltaZ;
+					if (player.getParent() == null) {
+						deltaX = player.getX() - x;
+						deltaZ = player.getZ() - z;
+					} else {
+						Location world = player.getWorldLocation();
+						deltaX = world.getX() - x;
+						deltaZ = world.getZ() - z;
+					}
+					double distanceSquared = deltaX * deltaX + deltaZ * deltaZ;
+					if (distanceSquared <= radiusSquared)
+						candidates.add(new Candidate(player, distanceSquared));
+				}
+			}
+		}
+		return sortByDistance(candidates);
+	}
+	
+	/**
+	 * Returns every creature within the specified distance of the point, ignoring height
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @param radius the distance from the point, in meters
+	 * @return the creatures, sorted by distance from the point
+	 */
+	@NotNull
+	public List<CreatureObject> getCreaturesInRange(double x, double z, double radius) {
+		AtomicReferenceArray<Cell> cells = this.cells;
+		if (cells == null || radius < 0)
+			return new ArrayList<>();
+		
+		double radiusSquared = radius * radius;
+		List<Candidate> candidates = new ArrayList<>();
+		int minX = getCellCoordinate(x - radius);
+		int maxX = getCellCoordinate(x + radius);
+		int minZ = getCellCoordinate(z - radius);
+		int maxZ = getCellCoordinate(z + radius);
+		for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+			for (int cellX = minX; cellX <= maxX; cellX++) {
+				Cell cell = cells.get(getCellIndex(cellX, cellZ));
+				if (cell == null)
+					continue;
+				for (CreatureObject creature : cell.creatures) {
+					double deltaX = creature.getX() - x;
+					double deltaZ = creature.getZ() - z;
+					double distanceSquared = deltaX * deltaX + deltaZ * deltaZ;
+					if (distanceSquared <= radiusSquared)
+						candidates.add(new Candidate(creature, distanceSquared));
+				}
+			}
+		}
+		return sortByDistance(candidates);
+	}
+	
+	private Cell getCell(double x, double z) {
+		AtomicReferenceArray<Cell> cells = getCells();
+		int index = getCellIndex(getCellCoordinate(x), getCellCoordinate(z));
+		Cell cell = cells.get(index);
+		if (cell == null) {
+			cells.compareAndSet(index, null, new Cell());
+			cell = cells.get(index);
+		}
+		return cell;
+	}
+	
+	private AtomicReferenceArray<Cell> getCells() {
+		AtomicReferenceArray<Cell> cells = this.cells;
+		if (cells == null) {
+			synchronized (this) {
+				cells = this.cells;
+				if (cells == null) {
+					cells = new AtomicReferenceArray<>(CELLS_ACROSS * CELLS_ACROSS);
+					this.cells = cells;
+				}
+			}
+		}
+		return cells;
+	}
+	
+	private static List<CreatureObject> sortByDistance(List<Candidate> candidates) {
+		candidates.sort(BY_DISTANCE);
+		List<CreatureObject> creatures = new ArrayList<>(candidates.size());
+		for (Candidate candidate : candidates)
+			creatures.add(candidate.creature);
+		return creatures;
+	}
+	
+	private static int getCellCoordinate(double position) {
+		int cell = ((int) Math.floor(position) + MAP_WIDTH / 2) >> CELL_SHIFT;
+		return cell < 0 ? 0 : (cell >= CELLS_ACROSS ? CELLS_ACROSS - 1 : cell);
+	}
+	
+	private static int getCellIndex(int cellX, int cellZ) {
+		return cellZ * CELLS_ACROSS + cellX;
+	}
+	
+	static class Cell {
+		
+		private final Set<CreatureObject> creatures;
+		private final Set<CreatureObject> players;
+		
+		public Cell() {
+			this.creatures = ConcurrentHashMap.newKeySet();
+			this.players = ConcurrentHashMap.newKeySet();
+		}
+		
+		private void remove(CreatureObject creature) {
+			creatures.remove(creature);
+			players.remove(creature);
+		}
+		
+	}
+	
+	private static class Candidate {
+		
+		private final CreatureObject creature;
+		private final double distanceSquared;
+		
+		public Candidate(CreatureObject creature, double distanceSquared) {
+			this.creature = creature;
+			this.distanceSquared = distanceSquared;
+		}
+		
+	}
+	
+}
@@ -27,6 +27,8 @@
 package com.projectswg.holocore.resources.support.objects.awareness;
 
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -35,13 +37,20 @@ public class TerrainMap {
 	
 	private static final int CHUNK_COUNT_ACROSS = 16;
 	private static final int MAP_WIDTH = 16384;
+	/**
+	 * The width of a single awareness chunk.  Anything within this distance of a player along both axes is in the
+	 * player's chunk or a neighboring one, and is therefore always in the player's awareness.
+	 */
+	public static final int CHUNK_WIDTH = MAP_WIDTH / CHUNK_COUNT_ACROSS;
 	private static final int INDEX_FACTOR = (int) (Math.log(MAP_WIDTH / (double) CHUNK_COUNT_ACROSS) / Math.log(2) + 1e-12);
 	
 	private final TerrainMapChunk [] chunks;
+	private final SpatialGrid spatialGrid;
 	private final ReentrantLock updateLock;
 	
 	public TerrainMap() {
 		this.chunks = new TerrainMapChunk[CHUNK_COUNT_ACROSS*CHUNK_COUNT_ACROSS];
+		this.spatialGrid = new SpatialGrid();
 		this.updateLock = new ReentrantLock(false);
 		for (int z = 0; z < CHUNK_COUNT_ACROSS; z++) {
 			for (int x = 0; x < CHUNK_COUNT_ACROSS; x++) {
@@ -63,11 +72,18 @@ public class TerrainMap {
 		}
 	}
 	
+	@NotNull
+	public SpatialGrid getSpatialGrid() {
+		return spatialGrid;
+	}
+	
 	public void add(SWGObject obj) {
 		move(obj);
 	}
 	
 	public void remove(SWGObject obj) {
+		if (obj instanceof CreatureObject)
+			spatialGrid.remove((CreatureObject) obj);
 		TerrainMapChunk current = obj.getAwareness().setTerrainMapChunk(null);
 		if (current != null) {
 			current.removeObject(obj);
@@ -88,7 +104,21 @@ public class TerrainMap {
 			moveInWorld(obj);
 	}
 	
+	/**
+	 * Returns everything the creature is aware of at its current location, sharing the lookup of nearby objects with
+	 * the rest of its teleport group
+	 */
+	@NotNull
+	public List<SWGObject> getAware(@NotNull CreatureObject creature, @NotNull TeleportGroup group) {
+		TerrainMapChunk chunk = creature.getAwareness().getTerrainMapChunk();
+		if (chunk == null)
+			return List.of();
+		return chunk.getAware(creature, group);
+	}
+	
 	private void moveInParent(SWGObject obj, SWGObject superParent) {
+		if (obj instanceof CreatureObject)
+			spatialGrid.moveInParent((CreatureObject) obj);
 		TerrainMapChunk chunk = superParent.getAwareness().getTerrainMapChunk();
 		TerrainMapChunk current = obj.getAwareness().setTerrainMapChunk(chunk);
 		if (chunk == null)
@@ -115,6 +145,8 @@ public class TerrainMap {
 		indZ = (indZ < 0) ? 0 : (indZ >= chunkCount ? chunkCount-1 : indZ);
 		TerrainMapChunk chunk = chunks[indZ*CHUNK_COUNT_ACROSS+indX];
 		TerrainMapChunk current = obj.getAwareness().setTerrainMapChunk(chunk);
+		if (obj instanceof CreatureObject)
+			spatialGrid.move((CreatureObject) obj);
 		
 		if (current != chunk) {
 			if (current != null) {
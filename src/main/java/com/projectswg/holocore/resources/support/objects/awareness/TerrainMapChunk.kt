@@ -75,6 +75,20 @@ internal class TerrainMapChunk {
 		}
 	}
 	
+	/**
+	 * Returns everything the creature is aware of at its new location, sharing the lookup of nearby objects with the
+	 * rest of its teleport group
+	 */
+	fun getAware(creature: CreatureObject, group: TeleportGroup): List<SWGObject> {
+		val nearby = group.getNearby { objects.filter { creature.isWithinAwarenessRange(it) } }
+		val aware = ArrayList<SWGObject>(nearby.size)
+		for (test in nearby) {
+			if (creature.isWithinAwarenessRange(test))
+				aware.add(test)
+		}
+		return aware
+	}
+	
 	fun update() {
 		if (creatures.isEmpty())
 			return
@@ -19,10 +19,8 @@ import com.projectswg.holocore.services.gameplay.combat.loot.RareLootService;
 import com.projectswg.holocore.services.gameplay.combat.buffs.PowerupService;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
-import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum RadialHandler {
 	INSTANCE;
@@ -30,6 +28,7 @@ public enum RadialHandler {
 	private final Map<String, RadialHandlerInterface> handlers = new HashMap<>();
 	private final Map<GameObjectType, RadialHandlerInterface> gotHandlers = new EnumMap<>(GameObjectType.class);
 	private final Map<Class<? extends SWGObject>, RadialHandlerInterface> classHandlers = new HashMap<>();
+	private final Map<RadialHandlerInterface, Map<Object, List<RadialOption>>> cachedOptions = new ConcurrentHashMap<>();
 	private final SWGObjectRadial genericRadialHandler = new SWGObjectRadial();
 	
 	RadialHandler() {
@@ -48,23 +47,40 @@ public enum RadialHandler {
 	}
 	
 	public void registerHandler(String iff, RadialHandlerInterface handler) {
-		handlers.put(iff, handler);
+		invalidateCache(handlers.put(iff, handler));
 	}
 	
 	public void registerHandler(GameObjectType got, RadialHandlerInterface handler) {
-		gotHandlers.put(got, handler);
+		invalidateCache(gotHandlers.put(got, handler));
 	}
 	
 	public void getOptions(Collection<RadialOption> options, Player player, SWGObject target) {
-		getHandler(target).getOptions(options, player, target);
+		RadialHandlerInterface handler = getHandler(target);
+		Object cacheKey = handler.getOptionsCacheKey(player, target);
+		if (cacheKey == null) {
+			handler.getOptions(options, player, target);
+			return;
+		}
+		
+		List<RadialOption> cached = cachedOptions.computeIfAbsent(handler, h -> new ConcurrentHashMap<>()).computeIfAbsent(cacheKey, k -> {
+			List<RadialOption> computed = new ArrayList<>();
+			handler.getOptions(computed, player, target);
+			return Collections.unmodifiableList(computed);
+		});
+		options.addAll(cached);
 	}
 	
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		getHandler(target).handleSelection(player, target, selection);
 	}
 	
+	private void invalidateCache(RadialHandlerInterface replaced) {
+		if (replaced != null)
+			cachedOptions.remove(replaced);
+	}
+	
 	@NotNull
-	private RadialHandlerInterface getHandler(SWGObject target) {
+	RadialHandlerInterface getHandler(SWGObject target) {
 		String type = target.getTemplate();
 		RadialHandlerInterface handler = handlers.get(type);
 		if (handler != null)
@@ -4,10 +4,26 @@ import com.projectswg.common.data.radial.RadialItem;
 import com.projectswg.common.data.radial.RadialOption;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 
 public interface RadialHandlerInterface {
+	
+	/** Cache key for handlers that always return the same options, regardless of player or target */
+	Object STATIC_OPTIONS = "static";
+	
 	void getOptions(Collection<RadialOption> options, Player player, SWGObject target);
 	void handleSelection(Player player, SWGObject target, RadialItem selection);
+	
+	/**
+	 * Returns a key describing all of the state that {@link #getOptions} depends on. Options are computed once per
+	 * handler and key, and then reused for every request that produces an equal key.
+	 * @return the cache key, or null if the options have to be computed for every request
+	 */
+	@Nullable
+	default Object getOptionsCacheKey(Player player, SWGObject target) {
+		return null;
+	}
+	
 }
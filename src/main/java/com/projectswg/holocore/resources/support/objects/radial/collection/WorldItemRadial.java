@@ -22,6 +22,11 @@ public class WorldItemRadial implements RadialHandlerInterface {
 		options.add(RadialOption.create(RadialItem.ITEM_USE, "@collection:consume_item"));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		new GrantClickyCollectionIntent(player.getCreatureObject(), target, details).broadcast();
 	}
@@ -30,6 +30,11 @@ public class AIObjectRadial implements RadialHandlerInterface {
 		options.add(RadialOption.create(RadialItem.LOOT, RadialOption.create(RadialItem.LOOT_ALL)));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return ((AIObject) target).getPosture() == Posture.DEAD;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		AIObject ai = (AIObject) target;
@@ -53,6 +53,11 @@ public class ContainerObjectRadial extends SWGObjectRadial {
 		}
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return null; // depends on the requester's container permissions
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		ContainerPermissions containerPermissions = target.getContainerPermissions();
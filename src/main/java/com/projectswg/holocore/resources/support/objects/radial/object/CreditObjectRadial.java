@@ -23,6 +23,11 @@ public class CreditObjectRadial implements RadialHandlerInterface {
 		options.add(RadialOption.create(RadialItem.ITEM_USE, "@space/space_loot:use_credit_chip"));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		if (target == null)
@@ -17,6 +17,11 @@ public class PowerupRadial extends SWGObjectRadial {
 		options.add(RadialOption.createSilent(RadialItem.EXAMINE));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		switch (selection) {
@@ -22,27 +22,18 @@ public class SWGObjectRadial implements RadialHandlerInterface {
 	
 	@Override
 	public void getOptions(Collection<RadialOption> options, Player player, SWGObject target) {
-		// Verify that target is a tangible
-		if (target == null || target.getClass() != TangibleObject.class)
-			return;
-		
-		// Check if the target is not in a container then show no radial options
-		SWGObject container = target.getParent();
-		
-		if (container == null) {
+		if (!isStackable(target))
 			return;
-		}
-		
-		TangibleObject tangibleTarget = (TangibleObject) target;
-		
-		if (tangibleTarget.getCounter() < 1) {
-			return;
-		}
 		
 		options.add(RadialOption.create(RadialItem.SERVER_MENU49, "@autostack:unstack"));
 		options.add(RadialOption.create(RadialItem.SERVER_MENU50, "@autostack:stack"));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return isStackable(target);
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		switch (selection) {
@@ -111,6 +102,18 @@ public class SWGObjectRadial implements RadialHandlerInterface {
 		window.display(player);
 	}
 	
+	private static boolean isStackable(SWGObject target) {
+		// Verify that target is a tangible
+		if (target == null || target.getClass() != TangibleObject.class)
+			return false;
+		
+		// Check if the target is not in a container then show no radial options
+		if (target.getParent() == null)
+			return false;
+		
+		return ((TangibleObject) target).getCounter() >= 1;
+	}
+	
 	private void stack(SWGObject target) {
 		target.moveToContainer(target.getParent());    // Triggers stacking, if applicable
 	}
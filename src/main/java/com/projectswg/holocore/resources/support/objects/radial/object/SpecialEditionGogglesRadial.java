@@ -54,6 +54,11 @@ public class SpecialEditionGogglesRadial extends SWGObjectRadial {
 		}
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		switch (selection) {
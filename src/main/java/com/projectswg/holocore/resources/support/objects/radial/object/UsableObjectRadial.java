@@ -18,4 +18,9 @@ public class UsableObjectRadial extends SWGObjectRadial {
 //		options.add(new RadialOption(RadialItem.EXAMINE));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 }
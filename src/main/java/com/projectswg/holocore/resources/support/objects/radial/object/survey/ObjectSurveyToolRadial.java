@@ -43,6 +43,11 @@ public class ObjectSurveyToolRadial extends UsableObjectRadial {
 			options.add(RadialOption.create(RadialItem.SERVER_SURVEY_TOOL_RANGE, "Tool Options", toolOptions));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return null; // depends on the requester's skills
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		if (!(target instanceof TangibleObject))
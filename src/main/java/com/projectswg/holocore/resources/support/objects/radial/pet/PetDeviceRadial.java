@@ -65,6 +65,13 @@ public class PetDeviceRadial implements RadialHandlerInterface {
 		options.add(RadialOption.create(RadialItem.EXAMINE));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		if (!(target instanceof IntangibleObject))
+			return null;
+		return ((IntangibleObject) target).getCount();
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		CreatureObject creature = player.getCreatureObject();
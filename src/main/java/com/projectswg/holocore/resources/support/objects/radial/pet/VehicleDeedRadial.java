@@ -50,6 +50,11 @@ public class VehicleDeedRadial implements RadialHandlerInterface {
 		options.add(RadialOption.create(RadialItem.EXAMINE));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		CreatureObject creature = player.getCreatureObject();
@@ -20,6 +20,11 @@ public class TerminalBazaarRadial implements RadialHandlerInterface {
 		options.add(RadialOption.createSilent(RadialItem.EXAMINE));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		
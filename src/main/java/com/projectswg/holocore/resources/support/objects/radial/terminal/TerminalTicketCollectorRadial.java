@@ -21,6 +21,11 @@ public class TerminalTicketCollectorRadial implements RadialHandlerInterface {
 		options.add(RadialOption.createSilent(RadialItem.EXAMINE));
 	}
 	
+	@Override
+	public Object getOptionsCacheKey(Player player, SWGObject target) {
+		return STATIC_OPTIONS;
+	}
+	
 	@Override
 	public void handleSelection(Player player, SWGObject target, RadialItem selection) {
 		switch (selection) {
@@ -55,6 +55,7 @@ import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.awareness.AwarenessType;
 import com.projectswg.holocore.resources.support.objects.awareness.ObjectAware;
+import com.projectswg.holocore.resources.support.objects.awareness.TeleportGroup;
 import com.projectswg.holocore.resources.support.objects.permissions.AdminPermissions;
 import com.projectswg.holocore.resources.support.objects.permissions.ContainerPermissions;
 import com.projectswg.holocore.resources.support.objects.permissions.ContainerResult;
@@ -73,6 +74,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -80,21 +82,24 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	private final long 								objectId;
 	private final InstanceLocation 					location		= new InstanceLocation();
-	private final Set<SWGObject>					containedObjects= new CopyOnWriteArraySet<>();
-	private final Map <String, SWGObject>			slots			= new ConcurrentHashMap<>();
-	private final Map <String, String>				attributes		= Collections.synchronizedMap(new LinkedHashMap<>());
-	private final Map<String, SlotDefinition>		slotsAvailable	= new ConcurrentHashMap<>();
 	private final ObjectAware						awareness		= new ObjectAware();
-	private final Set<CreatureObject>				observers		= ConcurrentHashMap.newKeySet();
 	private final Map<ObjectDataAttribute, Object>	dataAttributes	= new EnumMap<>(ObjectDataAttribute.class);
-	private final Map<ServerAttribute, Object>		serverAttributes= new EnumMap<>(ServerAttribute.class);
 	private final AtomicInteger						updateCounter	= new AtomicInteger(1);
-	private final Set<SWGObject>					containedObjectsView	= Collections.unmodifiableSet(containedObjects);
-	private final Collection<SWGObject>				slottedObjectsView		= Collections.unmodifiableCollection(slots.values());
+	
+	// Most objects (static buildouts, cells, NPC weapons) never use these, so they are only allocated on the first write
+	private volatile Set<SWGObject>					containedObjects		= Collections.emptySet();
+	private volatile Set<SWGObject>					containedObjectsView		= Collections.emptySet();
+	private volatile Map<String, SWGObject>			slots					= Collections.emptyMap();
+	private volatile Collection<SWGObject>			slottedObjectsView		= Collections.emptySet();
+	private volatile Map<String, SlotDefinition>	slotsAvailable			= Collections.emptyMap();
+	private volatile Map<String, String>			attributes				= Collections.emptyMap();
+	private volatile Set<CreatureObject>			observers				= Collections.emptySet();
+	private volatile Map<ServerAttribute, Object>	serverAttributes		= Collections.emptyMap();
+	private volatile int							attributesVersion		= 0;
 	
 	private GameObjectType 				gameObjectType	= GameObjectType.GOT_NONE;
 	private ContainerPermissions		permissions		= DefaultPermissions.getPermissions();
-	private List <List <String>>		arrangement		= new ArrayList<>();
+	private List <List <String>>		arrangement		= List.of();
 	
 	private SWGObject	parent			= null;
 	private StringId 	stringId		= new StringId("", "");
@@ -150,7 +155,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 	
 	private void addContainedObject(SWGObject object) {
-		containedObjects.add(object);
+		getOrCreateContainedObjects().add(object);
 		
 		// We need to adjust the volume of our container accordingly!
 		setVolume(getVolume() + object.getVolume() + 1);
@@ -165,8 +170,9 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	private void addSlottedObject(SWGObject object, List<String> slots, int arrangementId) {
 		boolean observeWithParent = false;
 		handleSlotReplacement(object.parent, object, slots);
+		Map<String, SWGObject> slotMap = getOrCreateSlots();
 		for (String requiredSlot : slots) {
-			this.slots.put(requiredSlot, object);
+			slotMap.put(requiredSlot, object);
 			SlotDefinition def = slotsAvailable.get(requiredSlot);
 			observeWithParent |= def.isObserveWithParent();
 		}
@@ -200,6 +206,9 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 	
 	private void removeSlottedObject(SWGObject object) {
+		Map<String, SWGObject> slots = this.slots;
+		if (slots.isEmpty())
+			return;
 		List<List<String>> arrangements = object.getArrangement();
 		
 		for (List<String> possibleSlots : arrangements) {
@@ -277,11 +286,22 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	 * @param newLocation the location to move this object to
 	 */
 	public void moveToContainer(@Nullable SWGObject newParent, @NotNull Location newLocation) {
+		moveToContainer(newParent, newLocation, null);
+	}
+	
+	/**
+	 * Attempts to move this object to the defined container and location without checking for permissions, along with
+	 * the rest of a group headed to the same destination
+	 * @param newParent the container to move this object to
+	 * @param newLocation the location to move this object to
+	 * @param group the group moving to the same destination, or null if this object is moving alone
+	 */
+	public void moveToContainer(@Nullable SWGObject newParent, @NotNull Location newLocation, @Nullable TeleportGroup group) {
 		assert newParent != this;
 		Location oldLocation = getLocation();
 		SWGObject oldParent = parent;
 		if (systemMove(newParent, newLocation))
-			broadcast(new ObjectTeleportIntent(this, oldParent, newParent, oldLocation, newLocation));
+			broadcast(new ObjectTeleportIntent(this, oldParent, newParent, oldLocation, newLocation, group));
 	}
 	
 	/**
@@ -431,11 +451,23 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 			return;
 		}
 
-		attributes.put(attribute, value);
+		Map<String, String> attributes = getOrCreateAttributes();
+		synchronized (attributes) {
+			attributes.put(attribute, value);
+			attributesVersion++;
+		}
 	}
 	
 	public String removeAttribute(String attribute) {
-		return attributes.remove(attribute);
+		Map<String, String> attributes = this.attributes;
+		if (attributes == Collections.<String, String>emptyMap())
+			return null;
+		synchronized (attributes) {
+			String removed = attributes.remove(attribute);
+			if (removed != null)
+				attributesVersion++;
+			return removed;
+		}
 	}
 
 	/**
@@ -457,7 +489,8 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	/**
 	 * Gets a list of all the objects in the current container. This should only be used for viewing the objects
-	 * in the current container.
+	 * in the current container.  Until the first object is added, this returns a shared empty set that does not
+	 * see later additions, so callers should call this again rather than keep the result.
 	 * @return An unmodifiable {@link Collection} of {@link SWGObject}'s in the container
 	 */
 	public Collection<SWGObject> getContainedObjects() {
@@ -478,9 +511,14 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 	
 	public void setSlots(@NotNull Collection<String> slots) {
-		this.slotsAvailable.clear();
+		if (slots.isEmpty()) {
+			this.slotsAvailable = Collections.emptyMap();
+			return;
+		}
+		Map<String, SlotDefinition> slotsAvailable = new ConcurrentHashMap<>(slots.size());
 		for (String slot : slots)
-			this.slotsAvailable.put(slot, DataLoader.Companion.slotDefinitions().getSlotDefinition(slot));
+			slotsAvailable.put(slot, DataLoader.Companion.slotDefinitions().getSlotDefinition(slot));
+		this.slotsAvailable = slotsAvailable;
 	}
 	
 	@NotNull
@@ -872,7 +910,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 
 	public void setServerAttribute(ServerAttribute key, Object value) {
-		serverAttributes.put(key, value);
+		getOrCreateServerAttributes().put(key, value);
 	}
 	
 	public Object getDataAttribute(ObjectDataAttribute key) {
@@ -919,9 +957,23 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		return attributes.containsKey(attribute);
 	}
 	
+	/**
+	 * Returns an unmodifiable view of this object's attributes.  Until the first attribute is added, this is a shared
+	 * empty map that does not see later additions, so callers should call this again rather than keep the result.
+	 * @return the attributes of this object
+	 */
 	public Map<String, String> getAttributes() {
 		return Collections.unmodifiableMap(attributes);
 	}
+	
+	/**
+	 * Returns a counter that changes every time an attribute is added, replaced or removed. Allows callers to cache
+	 * values derived from {@link #getAttributes()} without re-reading the attribute strings
+	 * @return the current attribute version
+	 */
+	public int getAttributesVersion() {
+		return attributesVersion;
+	}
 
 	public int getContainerType() {
 		return containerType;
@@ -1020,6 +1072,92 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		return arrangementId != -1 ? arrangementId : filledId;
 	}
 	
+	private Set<SWGObject> getOrCreateContainedObjects() {
+		Set<SWGObject> containedObjects = this.containedObjects;
+		if (containedObjects == Collections.<SWGObject>emptySet()) {
+			synchronized (this) {
+				containedObjects = this.containedObjects;
+				if (containedObjects == Collections.<SWGObject>emptySet()) {
+					containedObjects = new CopyOnWriteArraySet<>();
+					this.containedObjectsView = Collections.unmodifiableSet(containedObjects);
+					this.containedObjects = containedObjects;
+				}
+			}
+		}
+		return containedObjects;
+	}
+	
+	private Map<String, SWGObject> getOrCreateSlots() {
+		Map<String, SWGObject> slots = this.slots;
+		if (slots == Collections.<String, SWGObject>emptyMap()) {
+			synchronized (this) {
+				slots = this.slots;
+				if (slots == Collections.<String, SWGObject>emptyMap()) {
+					slots = new ConcurrentHashMap<>(Math.max(4, slotsAvailable.size()));
+					this.slottedObjectsView = Collections.unmodifiableCollection(slots.values());
+					this.slots = slots;
+				}
+			}
+		}
+		return slots;
+	}
+	
+	private Map<String, String> getOrCreateAttributes() {
+		Map<String, String> attributes = this.attributes;
+		if (attributes == Collections.<String, String>emptyMap()) {
+			synchronized (this) {
+				attributes = this.attributes;
+				if (attributes == Collections.<String, String>emptyMap()) {
+					attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+					this.attributes = attributes;
+				}
+			}
+		}
+		return attributes;
+	}
+	
+	/**
+	 * Iterating a synchronized map has to hold its lock, but the shared empty map must never be locked
+	 */
+	private void readAttributes(Consumer<Map<String, String>> reader) {
+		Map<String, String> attributes = this.attributes;
+		if (attributes == Collections.<String, String>emptyMap()) {
+			reader.accept(attributes);
+			return;
+		}
+		synchronized (attributes) {
+			reader.accept(attributes);
+		}
+	}
+	
+	private Set<CreatureObject> getOrCreateObservers() {
+		Set<CreatureObject> observers = this.observers;
+		if (observers == Collections.<CreatureObject>emptySet()) {
+			synchronized (this) {
+				observers = this.observers;
+				if (observers == Collections.<CreatureObject>emptySet()) {
+					observers = ConcurrentHashMap.newKeySet();
+					this.observers = observers;
+				}
+			}
+		}
+		return observers;
+	}
+	
+	private Map<ServerAttribute, Object> getOrCreateServerAttributes() {
+		Map<ServerAttribute, Object> serverAttributes = this.serverAttributes;
+		if (serverAttributes == Collections.<ServerAttribute, Object>emptyMap()) {
+			synchronized (this) {
+				serverAttributes = this.serverAttributes;
+				if (serverAttributes == Collections.<ServerAttribute, Object>emptyMap()) {
+					serverAttributes = new EnumMap<>(ServerAttribute.class);
+					this.serverAttributes = serverAttributes;
+				}
+			}
+		}
+		return serverAttributes;
+	}
+	
 	public void setAware(AwarenessType type, Collection<SWGObject> aware) {
 		awareness.setAware(type, aware);
 	}
@@ -1077,7 +1215,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 	
 	public void addObserver(CreatureObject player) {
-		observers.add(player);
+		getOrCreateObservers().add(player);
 	}
 	
 	public void removeObserver(CreatureObject player) {
@@ -1285,7 +1423,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		data.putString("template", template);
 		data.putDocument("location", location);
 		data.putDocument("permissions", ContainerPermissions.save(new MongoData(), permissions));
-		data.putMap("attributes", attributes);
+		readAttributes(attributes -> data.putMap("attributes", attributes));
 		data.putMap("serverAttributes", serverAttributes, ServerAttribute::getKey, Function.identity());
 		data.putBoolean("persisted", persisted);
 	}
@@ -1311,8 +1449,15 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		}
 		location.readMongo(data.getDocument("location"));
 		permissions = ContainerPermissions.create(data.getDocument("permissions"));
-		attributes.putAll(data.getMap("attributes", String.class, String.class));
-		data.getMap("serverAttributes", String.class, Object.class).forEach((key, val) -> serverAttributes.put(ServerAttribute.getFromKey(key), val));
+		Map<String, String> savedAttributes = data.getMap("attributes", String.class, String.class);
+		if (!savedAttributes.isEmpty()) {
+			Map<String, String> attributes = getOrCreateAttributes();
+			synchronized (attributes) {
+				attributes.putAll(savedAttributes);
+				attributesVersion++;
+			}
+		}
+		data.getMap("serverAttributes", String.class, Object.class).forEach((key, val) -> setServerAttribute(ServerAttribute.getFromKey(key), val));
 		persisted = data.getBoolean("persisted", false);
 	}
 	
@@ -1338,12 +1483,10 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		stringId.save(stream);
 		detailStringId.save(stream);
 		stream.addFloat(complexity);
-		synchronized (attributes) {
-			stream.addMap(attributes, (e) -> {
-				stream.addAscii(e.getKey());
-				stream.addAscii(e.getValue());
-			});
-		}
+		readAttributes(attributes -> stream.addMap(attributes, (e) -> {
+			stream.addAscii(e.getKey());
+			stream.addAscii(e.getValue());
+		}));
 		stream.addMap(serverAttributes, e -> {
 			stream.addAscii(e.getKey().getKey());
 			stream.addAscii(e.getKey().store(e.getValue()));
@@ -1411,10 +1554,10 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		stringId.read(stream);
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> {
 			ServerAttribute attr = ServerAttribute.getFromKey(stream.getAscii());
-			serverAttributes.put(attr, attr.retrieve(stream.getAscii()));
+			setServerAttribute(attr, attr.retrieve(stream.getAscii()));
 		});
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
@@ -1436,7 +1579,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		stringId.read(stream);
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1457,7 +1600,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		stringId.read(stream);
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1478,7 +1621,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		stringId.read(stream);
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1500,7 +1643,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1525,7 +1668,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1550,7 +1693,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1568,7 +1711,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1585,7 +1728,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		detailStringId.read(stream);
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1600,7 +1743,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		objectName = stream.getUnicode();
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -1617,7 +1760,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		stream.getInt();
 		complexity = stream.getFloat();
 		stream.getFloat(); // loadRange
-		stream.getList((i) -> attributes.put(stream.getAscii(), stream.getAscii()));
+		stream.getList((i) -> addAttribute(stream.getAscii(), stream.getAscii()));
 		stream.getList((i) -> addObject(SWGObjectFactory.create(stream)));
 	}
 	
@@ -955,6 +955,12 @@ CreatureObject extends TangibleObject {
 		}
 	}
 	
+	public void clearDamageMap() {
+		synchronized (damageMap) {
+			damageMap.clear();
+		}
+	}
+	
 	public void handleDamage(CreatureObject attacker, int damage){
 		synchronized (damageMap){
 			if(damageMap.containsKey(attacker))
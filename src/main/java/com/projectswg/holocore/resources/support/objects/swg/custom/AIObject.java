@@ -26,6 +26,8 @@
  ***********************************************************************************/
 package com.projectswg.holocore.resources.support.objects.swg.custom;
 
+import com.projectswg.common.data.CRC;
+import com.projectswg.common.data.encodables.tangible.Posture;
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
 import com.projectswg.holocore.intents.support.npc.ai.ScheduleNpcModeIntent;
 import com.projectswg.holocore.intents.support.npc.ai.StartNpcCombatIntent;
@@ -222,6 +224,36 @@ public class AIObject extends CreatureObject {
 		this.executor = null;
 	}
 	
+	/**
+	 * Clears everything left behind by this NPC's previous life, so that it can be respawned by its spawner without
+	 * creating a new object, and without crediting its previous attackers for the next kill.  The object id, template,
+	 * weapons and hidden inventory are kept.  The BuffService reverts buff effects once the NPC is destroyed, so any
+	 * buff still listed here is simply dropped.
+	 */
+	public void resetForRespawn() {
+		stop();
+		playersNearby.clear();
+		defaultMode = null;
+		activeMode = null;
+		
+		SWGObject lootInventory = getSlottedObject("inventory");
+		if (lootInventory != null)
+			removeObject(lootInventory);
+		
+		setPosture(Posture.UPRIGHT);
+		setTurnScale(1);
+		setMovementPercent(1);
+		clearAllStatesBitmask();
+		clearDefenders();
+		clearDamageMap();
+		setInCombat(false);
+		setIntendedTargetId(0);
+		setLookAtTargetId(0);
+		getBuffEntries(buff -> true).forEach(buff -> removeBuff(new CRC(buff.getCrc())));
+		setOptionFlags();
+		clearPvpFlags(Set.copyOf(getPvpFlags()));
+	}
+	
 	public void setDefaultMode(@NotNull NpcMode mode) {
 		this.defaultMode = mode;
 	}
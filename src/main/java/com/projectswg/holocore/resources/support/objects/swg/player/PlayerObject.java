@@ -57,12 +57,12 @@ public class PlayerObject extends IntangibleObject {
 	private final PlayerObjectOwner		play8			= new PlayerObjectOwner(this);
 	private final PlayerObjectOwnerNP	play9			= new PlayerObjectOwnerNP(this);
 	private final Set<String>			joinedChannels	= ConcurrentHashMap.newKeySet();
-	private final Map<Integer, Mail>	mails			= new ConcurrentHashMap<>();
 	
 	private long	startPlayTime		= 0;
 	private long	lastUpdatePlayTime	= 0;
 	private String	biography			= "";
 	private String	account				= "";
+	private List<Mail>	legacyMail			= List.of();
 	
 	public PlayerObject(long objectId) {
 		super(objectId, BaselineType.PLAY);
@@ -101,28 +101,15 @@ public class PlayerObject extends IntangibleObject {
 		return startPlayTime;
 	}
 	
-	public Map<Integer, Mail> getMailMap() {
-		return Collections.unmodifiableMap(mails);
-	}
-	
-	public Collection<Mail> getMail() {
-		return Collections.unmodifiableCollection(mails.values());
-	}
-	
-	public Mail getMail(int id) {
-		return mails.get(id);
-	}
-	
-	public void addMail(Mail m) {
-		this.mails.put(m.getId(), m);
-	}
-	
-	public void removeMail(int id) {
-		this.mails.remove(id);
-	}
-	
-	public void removeMail(Mail m) {
-		removeMail(m.getId());
+	/**
+	 * Returns the mail that was stored on this player before mail was moved into its own database, and forgets about it
+	 * so that it isn't migrated twice
+	 * @return the mail that still has to be moved into the mail database
+	 */
+	public List<Mail> takeLegacyMail() {
+		List<Mail> legacyMail = this.legacyMail;
+		this.legacyMail = List.of();
+		return legacyMail;
 	}
 	
 	/*
@@ -875,13 +862,11 @@ public class PlayerObject extends IntangibleObject {
 		play9.saveMongo(data.getDocument("base9"));
 		data.putString("biography", biography);
 		data.putString("account", account);
-		data.putMap("mail", mails);
 	}
 	
 	@Override
 	public void readMongo(MongoData data) {
 		super.readMongo(data);
-		mails.clear();
 		
 		play3.readMongo(data.getDocument("base3"));
 		play6.readMongo(data.getDocument("base6"));
@@ -889,7 +874,7 @@ public class PlayerObject extends IntangibleObject {
 		play9.readMongo(data.getDocument("base9"));
 		biography = data.getString("biography", biography);
 		account = data.getString("account", "");
-		mails.putAll(data.getMap("mail", Integer.class, Mail.class));
+		legacyMail = List.copyOf(data.getMap("mail", Integer.class, Mail.class).values());
 	}
 	
 	@Override
@@ -204,6 +204,8 @@ class PlayerObjectOwnerNP implements Persistable, MongoPersistable {
 	}
 	
 	public boolean isIgnored(String ignoreName) {
+		if (ignoreList.isEmpty())
+			return false; // Most players don't ignore anyone, so skip normalizing the name
 		return ignoreList.contains(ignoreName.toLowerCase(Locale.US));
 	}
 	
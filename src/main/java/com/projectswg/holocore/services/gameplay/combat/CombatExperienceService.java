@@ -38,12 +38,14 @@ import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureDifficulty;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.group.GroupObject;
+import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 import me.joshlarson.jlcommon.log.Log;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -52,12 +54,27 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class CombatExperienceService extends Service {
 	
+	private static final long XP_FLUSH_RATE = 250;
+	
 	private final Map<Short, XpData> xpData;
 	private final Map<Long, GroupObject> groupObjects;
+	private final Map<CreatureObject, PendingExperience> pendingExperience;
+	private final ScheduledThreadPool executor;
+	private final long flushRate;
 
 	public CombatExperienceService() {
+		this(XP_FLUSH_RATE);
+	}
+	
+	/**
+	 * @param flushRate the window in milliseconds during which combat XP for a single player is merged
+	 */
+	CombatExperienceService(long flushRate) {
 		xpData = new HashMap<>();
 		groupObjects = new ConcurrentHashMap<>();
+		pendingExperience = new HashMap<>();
+		executor = new ScheduledThreadPool(1, "combat-experience-service");
+		this.flushRate = flushRate;
 	}
 	
 	@Override
@@ -66,6 +83,21 @@ public class CombatExperienceService extends Service {
 		return true;
 	}
 	
+	@Override
+	public boolean start() {
+		executor.start();
+		executor.executeWithFixedRate(flushRate, flushRate, this::flushExperience);
+		return true;
+	}
+	
+	@Override
+	public boolean stop() {
+		executor.stop();
+		boolean terminated = executor.awaitTermination(1000);
+		flushExperience();
+		return terminated;
+	}
+	
 	private void loadXpData() {
 		long startTime = StandardLog.onStartLoad("combat XP rates");
 		try (RelationalDatabase npcStats = RelationalServerFactory.getServerData("nge/npc/npc_stats.db", "npc_stats")) {
@@ -124,14 +156,34 @@ public class CombatExperienceService extends Service {
 		}
 		
 		if (group == null) {
-			new ExperienceIntent(killer, "combat", experienceGained, true).broadcast();
+			grantExperience(killer, experienceGained, true);
 		} else {
 			group.getGroupMemberObjects().stream()
 					.filter(groupMember -> !isEntertainer(groupMember))	// Entertainers don't receive combat XP
 					.filter(groupMember -> !isTrader(groupMember))	// Traders don't receive combat XP
 					.filter(groupMember -> isMemberNearby(corpse, groupMember))	// Must be within range
 					.filter(groupMember -> corpse.getDamageMap().containsKey(groupMember))	// Only members who have done damage receive XP
-					.forEach(eligibleMember -> new ExperienceIntent(eligibleMember, "combat", experienceGained, xpMultiply).broadcast());
+					.forEach(eligibleMember -> grantExperience(eligibleMember, experienceGained, xpMultiply));
+		}
+	}
+	
+	/**
+	 * Sends out all combat XP gathered since the last flush, as one {@link ExperienceIntent} per player
+	 */
+	void flushExperience() {
+		List<PendingExperience> flushed;
+		synchronized (pendingExperience) {
+			if (pendingExperience.isEmpty())
+				return;
+			flushed = new ArrayList<>(pendingExperience.values());
+			pendingExperience.clear();
+		}
+		flushed.forEach(PendingExperience::broadcast);
+	}
+	
+	private void grantExperience(CreatureObject creature, int experienceGained, boolean xpMultiply) {
+		synchronized (pendingExperience) {
+			pendingExperience.computeIfAbsent(creature, PendingExperience::new).add(experienceGained, xpMultiply);
 		}
 	}
 	
@@ -196,6 +248,43 @@ public class CombatExperienceService extends Service {
 		return corpse.distanceTo(groupMember) <= 128;
 	}
 	
+	/**
+	 * The combat XP a single player earned within the current window. Grants are kept apart rather than summed, so
+	 * the XP multiplier is applied to each of them just like it would have been to separate intents.
+	 */
+	private static class PendingExperience {
+		
+		private final CreatureObject creature;
+		private int [] multiplied;
+		private int multipliedCount;
+		private int unmultiplied;
+		
+		public PendingExperience(CreatureObject creature) {
+			this.creature = creature;
+			this.multiplied = new int[4];
+			this.multipliedCount = 0;
+			this.unmultiplied = 0;
+		}
+		
+		public void add(int experienceGained, boolean xpMultiply) {
+			if (!xpMultiply) {
+				unmultiplied += experienceGained;
+				return;
+			}
+			if (multipliedCount == multiplied.length)
+				multiplied = Arrays.copyOf(multiplied, multipliedCount * 2);
+			multiplied[multipliedCount++] = experienceGained;
+		}
+		
+		public void broadcast() {
+			if (multipliedCount > 0)
+				new ExperienceIntent(creature, "combat", Arrays.copyOf(multiplied, multipliedCount), true).broadcast();
+			if (unmultiplied > 0)
+				new ExperienceIntent(creature, "combat", unmultiplied, false).broadcast();
+		}
+		
+	}
+	
 	private static class XpData {
 		private final int xp;
 		private final int eliteXp;
@@ -33,12 +33,15 @@ import com.projectswg.holocore.intents.gameplay.combat.CreatureKilledIntent;
 import com.projectswg.holocore.intents.gameplay.combat.buffs.BuffIntent;
 import com.projectswg.holocore.intents.gameplay.player.experience.skills.SkillModIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.intents.support.objects.swg.DestroyObjectIntent;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.data.server_info.loader.BuffLoader.BuffInfo;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.Buff;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject;
 import me.joshlarson.jlcommon.concurrency.BasicScheduledThread;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
@@ -146,6 +149,17 @@ public class BuffService extends Service {
 		}
 	}
 	
+	@IntentHandler
+	private void handleDestroyObjectIntent(DestroyObjectIntent doi) {
+		SWGObject object = doi.getObject();
+		
+		if (object instanceof AIObject) {
+			// The NPC may be respawned from its spawner's pool, so it must not keep the effects of its previous life
+			AIObject npc = (AIObject) object;
+			removeAllBuffs(npc, npc.getBuffEntries(buff -> true));
+		}
+	}
+	
 	private void addToMonitored(CreatureObject creature) {
 		synchronized (monitored) {
 			monitored.add(creature);
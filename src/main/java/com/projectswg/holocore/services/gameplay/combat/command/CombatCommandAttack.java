@@ -41,9 +41,11 @@ import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.weapon.WeaponObject;
 import com.projectswg.holocore.resources.support.objects.swg.weapon.WeaponType;
+import com.projectswg.holocore.services.support.objects.awareness.AwarenessService.AwarenessLookup;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
@@ -119,7 +121,12 @@ enum CombatCommandAttack implements CombatCommandHitType {
 	private static void doCombatArea(CreatureObject source, SWGObject origin, AttackInfo info, WeaponObject weapon, CombatCommand command, boolean includeOrigin) {
 		double aoeRange = command.getConeLength();
 		SWGObject originParent = origin.getParent();
-		Collection<SWGObject> objectsToCheck = originParent == null ? origin.getObjectsAware() : originParent.getContainedObjects();
+		Collection<? extends SWGObject> objectsToCheck;
+		// The grid only holds creatures directly in the world, so an attacker inside a building keeps using awareness
+		if (originParent == null && source.getParent() == null && AwarenessLookup.isDefined())
+			objectsToCheck = AwarenessLookup.getCreaturesInRange(origin.getTerrain(), origin.getX(), origin.getZ(), aoeRange);
+		else
+			objectsToCheck = originParent == null ? origin.getObjectsAware() : originParent.getContainedObjects();
 		
 		// TODO block
 		// TODO evasion if no block
@@ -132,7 +139,7 @@ enum CombatCommandAttack implements CombatCommandHitType {
 				.filter(source::isAttackable)
 				.filter(target -> canPerform(source, target, command) == CombatStatus.SUCCESS)
 				.filter(creature -> origin.getLocation().distanceTo(creature.getLocation()) <= aoeRange)
-				.collect(Collectors.toSet());
+				.collect(Collectors.toCollection(LinkedHashSet::new));
 		
 		// This way, mines or grenades won't try to harm themselves
 		if (includeOrigin && origin instanceof CreatureObject)
@@ -44,18 +44,16 @@ import com.projectswg.holocore.resources.support.data.server_info.loader.Perform
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 import me.joshlarson.jlcommon.log.Log;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * @author Mads
@@ -65,19 +63,39 @@ public class EntertainmentService extends Service {
 	// TODO: when performing, make NPCs in a radius of x look towards the player (?) and clap. When they stop, turn back (?) and stop clapping
 	private static final byte XP_CYCLE_RATE = 10;
 	private static final byte WATCH_RADIUS = 20;
+	private static final long TICK_RATE = 1000;
 	
 	private final Map<Long, Performance> performerMap;
-	private final ScheduledExecutorService executorService;
+	private final ScheduledThreadPool executor;
+	private final LongSupplier clock;
+	private final long tickRate;
 	
 	public EntertainmentService() {
-		performerMap = new HashMap<>();    // TODO synchronize access?
-		executorService = Executors.newSingleThreadScheduledExecutor();
+		this(System::currentTimeMillis, TICK_RATE);
+	}
+	
+	/**
+	 * @param clock the time source in milliseconds that decides when experience is due
+	 * @param tickRate the interval in milliseconds between two passes over all performers
+	 */
+	EntertainmentService(LongSupplier clock, long tickRate) {
+		this.performerMap = new ConcurrentHashMap<>();
+		this.executor = new ScheduledThreadPool(1, "entertainment-service");
+		this.clock = clock;
+		this.tickRate = tickRate;
 	}
 	
 	@Override
-	public boolean terminate() {
-		executorService.shutdownNow();
-		return super.terminate();
+	public boolean start() {
+		executor.start();
+		executor.executeWithFixedRate(tickRate, tickRate, this::tick);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		executor.stop();
+		return executor.awaitTermination(1000) && super.stop();
 	}
 	
 	@IntentHandler
@@ -133,25 +151,28 @@ public class EntertainmentService extends Service {
 			case PE_ZONE_IN_SERVER:
 				// We need to check if they're dancing in order to start giving them XP
 				if (isEntertainer(creature) && creature.getPosture().equals(Posture.SKILL_ANIMATING)) {
-					scheduleExperienceTask(creature, DataLoader.Companion.performances().getPerformanceByDanceId(Integer.parseInt(creature.getAnimation().replace("dance_", ""))).getPerformanceName());
+					PerformanceInfo performance = DataLoader.Companion.performances().getPerformanceByDanceId(Integer.parseInt(creature.getAnimation().replace("dance_", "")));
+					if (performance != null)
+						scheduleExperienceTask(creature, performance.getPerformanceName());
 				}
 				
 				break;
-			case PE_DISAPPEAR:
+			case PE_DISAPPEAR: {
 				// If a spectator disappears, they need to stop watching and be removed from the audience
-				long performerId = creature.getPerformanceListenTarget();
+				Performance watched = performerMap.get(creature.getPerformanceListenTarget());
 				
-				if (performerId != 0 && performerMap.get(performerId).removeSpectator(creature)) {
+				if (watched != null && watched.removeSpectator(creature)) {
 					stopWatching(creature, false);
 				}
 				
 				// If a performer disappears, the audience needs to be cleared
 				// They're also removed from the map of active performers.
-				if (isEntertainer(creature) && creature.isPerforming()) {
-					performerMap.get(creature.getObjectId()).clearSpectators();
-					performerMap.remove(creature.getObjectId());
+				Performance performance = performerMap.remove(creature.getObjectId());
+				if (performance != null) {
+					performance.clearSpectators();
 				}
 				break;
+			}
 			default:
 				break;
 		}
@@ -187,9 +208,8 @@ public class EntertainmentService extends Service {
 			}
 			
 			if (creature.isPlayer()) {
-				if (creature.isPerforming()) {
-					Performance performance = performerMap.get(creature.getObjectId());
-					
+				Performance performance = performerMap.get(creature.getObjectId());
+				if (creature.isPerforming() && performance != null) {
 					if (wi.isStartWatch()) {
 						if (performance.addSpectator(actor)) {
 							startWatching(actor, creature);
@@ -252,37 +272,54 @@ public class EntertainmentService extends Service {
 		return performer.hasSkill("class_entertainer_phase1_novice");    // First entertainer skillbox
 	}
 	
+	/**
+	 * Called every {@link #TICK_RATE} milliseconds, and awards experience to every performer whose cycle has elapsed
+	 */
+	void tick() {
+		long now = clock.getAsLong();
+		for (Performance performance : performerMap.values())
+			performance.grantExperienceIfDue(now);
+	}
+	
 	private void scheduleExperienceTask(CreatureObject performer, String performanceName) {
 		Log.d("Scheduled %s to receive XP every %d seconds", performer, XP_CYCLE_RATE);
-		synchronized (performerMap) {
-			long performerId = performer.getObjectId();
-			Future<?> future = executorService.scheduleAtFixedRate(new EntertainerExperience(performer), XP_CYCLE_RATE, XP_CYCLE_RATE, TimeUnit.SECONDS);
-			
-			// If they went LD but came back before disappearing
-			if (performerMap.containsKey(performerId)) {
-				Performance performance = performerMap.get(performerId);
-				performance.setFuture(future);
-			} else {
-				performerMap.put(performer.getObjectId(), new Performance(performer, future, performanceName));
-			}
-		}
+		long nextExperience = clock.getAsLong() + TimeUnit.SECONDS.toMillis(XP_CYCLE_RATE);
+		Performance performance = performerMap.putIfAbsent(performer.getObjectId(), new Performance(performer, performanceName, nextExperience));
+		
+		// If they went LD but came back before disappearing
+		if (performance != null)
+			performance.resume(nextExperience);
 	}
 	
 	private void cancelExperienceTask(CreatureObject performer) {
 		Log.d("%s no longer receives XP every %d seconds", performer, XP_CYCLE_RATE);
-		synchronized (performerMap) {
-			Performance performance = performerMap.get(performer.getObjectId());
-			
-			if (performance == null) {
-				Log.e("Couldn't cancel experience task for %s because they weren't found in performerMap", performer);
-				return;
-			}
-			
-			Future<?> future = performance.getFuture();
-			
-			// TODO null check?
-			// TODO use return result?
-			future.cancel(false);    // Running tasks are allowed to finish.
+		Performance performance = performerMap.get(performer.getObjectId());
+		
+		if (performance == null) {
+			Log.e("Couldn't cancel experience task for %s because they weren't found in performerMap", performer);
+			return;
+		}
+		
+		performance.pause();
+	}
+	
+	private void grantExperience(Performance performance) {
+		CreatureObject performer = performance.getPerformer();
+		String performanceName = performance.getPerformanceName();
+		PerformanceInfo performanceData = DataLoader.Companion.performances().getPerformanceByName(performanceName);
+		if (performanceData == null) {
+			StandardLog.onPlayerError(this, performer, "was performing unknown performance: '%s'", performanceName);
+			return;
+		}
+		
+		int flourishXpMod = performanceData.getFlourishXpMod();
+		int performanceCounter = performer.getPerformanceCounter();
+		int xpGained = performanceCounter * flourishXpMod;
+		
+		if (xpGained > 0) {
+			if (isEntertainer(performer))
+				new ExperienceIntent(performer, "entertainer", xpGained, true).broadcast();
+			performer.setPerformanceCounter(performanceCounter - 1);
 		}
 	}
 	
@@ -305,9 +342,10 @@ public class EntertainmentService extends Service {
 			dancer.setAnimation("");
 			
 			// Non-entertainers don't receive XP and have no audience - ignore them
-			if (isEntertainer(dancer)) {
-				cancelExperienceTask(dancer);
-				performerMap.remove(dancer.getObjectId()).clearSpectators();
+			Performance performance = performerMap.remove(dancer.getObjectId());
+			if (performance != null) {
+				performance.pause();
+				performance.clearSpectators();
 			}
 			
 			new SystemMessageIntent(dancer.getOwner(), "@performance:dance_stop_self").broadcast();
@@ -317,8 +355,10 @@ public class EntertainmentService extends Service {
 	}
 	
 	private void changeDance(CreatureObject dancer, String newPerformanceName) {
-		performerMap.get(dancer.getObjectId()).setPerformanceName(newPerformanceName);
-		dancer.setAnimation("dance_" + DataLoader.Companion.performances().getPerformanceByName(newPerformanceName).getPerformanceName());
+		Performance performance = performerMap.get(dancer.getObjectId());
+		if (performance != null)
+			performance.setPerformanceName(newPerformanceName);
+		dancer.setAnimation("dance_" + DataLoader.Companion.performances().getPerformanceByName(newPerformanceName).getDanceVisualId());
 	}
 	
 	private void startWatching(CreatureObject actor, CreatureObject creature) {
@@ -338,30 +378,57 @@ public class EntertainmentService extends Service {
 		
 		private final CreatureObject performer;
 		private final Set<CreatureObject> audience;
-		private Future<?> future;
-		private String performanceName;
+		private volatile String performanceName;
+		private long nextExperience;
+		private boolean paused;
 		
-		public Performance(CreatureObject performer, Future<?> future, String performanceName) {
+		public Performance(CreatureObject performer, String performanceName, long nextExperience) {
 			this.performer = performer;
-			this.future = future;
 			this.performanceName = performanceName;
-			audience = new HashSet<>();
+			this.nextExperience = nextExperience;
+			this.paused = false;
+			audience = ConcurrentHashMap.newKeySet();
 		}
 		
 		public CreatureObject getPerformer() {
 			return performer;
 		}
 		
-		public Future<?> getFuture() {
-			return future;
+		public String getPerformanceName() {
+			return performanceName;
 		}
 		
-		public void setFuture(Future<?> future) {
-			this.future = future;
+		/**
+		 * Awards experience if a cycle has elapsed.  The check and the grant happen under the same lock as
+		 * {@link #pause()}, so a performance can't be awarded experience after it was paused.
+		 * @param now the current time in milliseconds
+		 */
+		public synchronized void grantExperienceIfDue(long now) {
+			if (isExperienceDue(now))
+				grantExperience(this);
 		}
 		
-		public String getPerformanceName() {
-			return performanceName;
+		/**
+		 * Checks whether an experience cycle has elapsed, and if so, starts the next one
+		 * @param now the current time in milliseconds
+		 * @return true if experience should be awarded now
+		 */
+		private boolean isExperienceDue(long now) {
+			if (paused || now < nextExperience)
+				return false;
+			nextExperience += TimeUnit.SECONDS.toMillis(XP_CYCLE_RATE);
+			if (nextExperience <= now) // Don't hand out a burst of cycles after a stall
+				nextExperience = now + TimeUnit.SECONDS.toMillis(XP_CYCLE_RATE);
+			return true;
+		}
+		
+		public synchronized void pause() {
+			this.paused = true;
+		}
+		
+		public synchronized void resume(long nextExperience) {
+			this.paused = false;
+			this.nextExperience = nextExperience;
 		}
 		
 		public boolean addSpectator(CreatureObject spectator) {
@@ -406,41 +473,4 @@ public class EntertainmentService extends Service {
 		
 	}
 	
-	private class EntertainerExperience implements Runnable {
-		
-		private final CreatureObject performer;
-		
-		private EntertainerExperience(CreatureObject performer) {
-			this.performer = performer;
-		}
-		
-		@Override
-		public void run() {
-			Performance performance = performerMap.get(performer.getObjectId());
-			
-			if (performance == null) {
-				StandardLog.onPlayerError(this, performer, "is not in performerMap");
-				return;
-			}
-			
-			String performanceName = performance.getPerformanceName();
-			PerformanceInfo performanceData = DataLoader.Companion.performances().getPerformanceByName(performanceName);
-			if (performanceData == null) {
-				StandardLog.onPlayerError(this, performer, "was performing unknown performance: '%s'", performanceName);
-				return;
-			}
-			
-			int flourishXpMod = performanceData.getFlourishXpMod();
-			int performanceCounter = performer.getPerformanceCounter();
-			int xpGained = performanceCounter * flourishXpMod;
-			
-			if (xpGained > 0) {
-				if (isEntertainer(performer))
-					new ExperienceIntent(performer, "entertainer", xpGained, true).broadcast();
-				performer.setPerformanceCounter(performanceCounter - 1);
-			}
-		}
-		
-	}
-	
 }
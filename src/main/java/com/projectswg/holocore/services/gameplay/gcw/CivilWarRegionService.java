@@ -48,12 +48,14 @@ import com.projectswg.holocore.resources.support.data.server_info.database.ZoneM
 import com.projectswg.holocore.resources.support.data.server_info.loader.GcwRegionLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacketCache;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.guild.GuildObject;
 import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
+import com.projectswg.holocore.services.support.data.TerrainHeightService.TerrainHeightLookup;
 import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
@@ -80,6 +82,7 @@ public class CivilWarRegionService extends Service {
 	private final PswgGcwRegionDatabase regionDatabase;	// Stores dynamic information about how many points each faction has per zone
 	private final ScheduledThreadPool executor;
 	private final Map<SWGObject, GcwRegionLoader.GcwRegionInfo> eggMap;
+	private final EncodedPacketCache<Class<? extends SWGPacket>> responseCache;	// Region layouts are static, so the responses only need to be encoded once
 	
 	private GuildObject guildObject;
 	
@@ -88,6 +91,7 @@ public class CivilWarRegionService extends Service {
 		regionDatabase = PswgDatabase.INSTANCE.getGcwRegions();
 		executor = new ScheduledThreadPool(1, "civil-war-region-service");
 		eggMap = Collections.synchronizedMap(new HashMap<>());
+		responseCache = new EncodedPacketCache<>();
 	}
 	
 	@Override
@@ -121,7 +125,7 @@ public class CivilWarRegionService extends Service {
 				Location location = Location.builder()
 						.setTerrain(terrain)
 						.setX(terrainRegion.getCenterX())
-						.setY(0)	// TODO read height of terrain and use that as y-coordinate to avoid having the egg spawning inside a hill or something
+						.setY(TerrainHeightLookup.getHeight(terrain, terrainRegion.getCenterX(), terrainRegion.getCenterZ(), 0))
 						.setZ(terrainRegion.getCenterZ())
 						.build();
 				
@@ -167,33 +171,40 @@ public class CivilWarRegionService extends Service {
 			return;
 		}
 		
-		Map<Terrain, Collection<GcwRegionLoader.GcwRegionInfo>> regionsByTerrain = regionLoader.getRegionsByTerrain();
+		player.sendPacket(
+				responseCache.get(GcwRegionsRsp.class, type -> createRegionsResponse()),	// Show GCW regions below the category "Galactic Civil War Contested Zone" in the Locations portion of the planetary map
+				responseCache.get(GcwGroupsRsp.class, type -> createGroupsResponse())	// Show GCW regions as Locations on the map portion of the planetary map
+		);
+	}
+	
+	private GcwRegionsRsp createRegionsResponse() {
 		Collection<GcwRegion> clientRegions = new ArrayList<>();
-		Collection<GcwGroup> clientGroups = new ArrayList<>();
 		
-		for (Map.Entry<Terrain, Collection<GcwRegionLoader.GcwRegionInfo>> regionInfoEntry : regionsByTerrain.entrySet()) {
+		for (Map.Entry<Terrain, Collection<GcwRegionLoader.GcwRegionInfo>> regionInfoEntry : regionLoader.getRegionsByTerrain().entrySet()) {
 			Terrain terrain = regionInfoEntry.getKey();
-			Collection<GcwRegionLoader.GcwRegionInfo> serverRegions = regionInfoEntry.getValue();
-			
-			Collection<GcwRegionZone> clientRegionZones = serverRegions.stream()
+			Collection<GcwRegionZone> clientRegionZones = regionInfoEntry.getValue().stream()
 					.map(info -> new GcwRegionZone(info.getRegionName(), info.getCenterX(), info.getCenterZ(), info.getRadius()))
 					.collect(Collectors.toList());
 			
-			Collection<GcwGroupZone> clientGroupZones = serverRegions.stream()
+			clientRegions.add(new GcwRegion(terrain.getName(), clientRegionZones));
+		}
+		
+		return new GcwRegionsRsp(clientRegions);
+	}
+	
+	private GcwGroupsRsp createGroupsResponse() {
+		Collection<GcwGroup> clientGroups = new ArrayList<>();
+		
+		for (Map.Entry<Terrain, Collection<GcwRegionLoader.GcwRegionInfo>> regionInfoEntry : regionLoader.getRegionsByTerrain().entrySet()) {
+			Terrain terrain = regionInfoEntry.getKey();
+			Collection<GcwGroupZone> clientGroupZones = regionInfoEntry.getValue().stream()
 					.map(info -> new GcwGroupZone(info.getRegionName(), 0))
 					.collect(Collectors.toList());
 			
-			GcwRegion clientRegion = new GcwRegion(terrain.getName(), clientRegionZones);
-			clientRegions.add(clientRegion);
-			
-			GcwGroup clientGroup = new GcwGroup(terrain.getName(), clientGroupZones);
-			clientGroups.add(clientGroup);
+			clientGroups.add(new GcwGroup(terrain.getName(), clientGroupZones));
 		}
 		
-		player.sendPacket(
-				new GcwRegionsRsp(clientRegions),	// Show GCW regions below the category "Galactic Civil War Contested Zone" in the Locations portion of the planetary map
-				new GcwGroupsRsp(clientGroups)	// Show GCW regions as Locations on the map portion of the planetary map
-		);
+		return new GcwGroupsRsp(clientGroups);
 	}
 	
 	/**
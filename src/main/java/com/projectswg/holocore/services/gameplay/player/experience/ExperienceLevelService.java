@@ -38,7 +38,7 @@ public class ExperienceLevelService extends Service {
 		PlayerObject playerObject = creatureObject.getPlayerObject();
 		
 		if (playerObject != null) {
-			int newXpTotal = awardExperience(creatureObject, playerObject, ei.getXpType(), ei.getExperienceGained(), ei.isMultiply());
+			int newXpTotal = awardExperience(creatureObject, playerObject, ei.getXpType(), ei.getExperienceAwards(), ei.isMultiply());
 			
 			// At this point, we check if their level should be adjusted.
 			short oldLevel = creatureObject.getLevel();
@@ -53,9 +53,14 @@ public class ExperienceLevelService extends Service {
 		}
 	}
 	
-	private int awardExperience(CreatureObject creatureObject, PlayerObject playerObject, String xpType, int xpGained, boolean xpMultiplied) {
+	private int awardExperience(CreatureObject creatureObject, PlayerObject playerObject, String xpType, int [] xpAwards, boolean xpMultiplied) {
 		int currentXp = playerObject.getExperiencePoints(xpType);
-		int newXpTotal = xpMultiplied ? (currentXp + (int) (xpGained * xpMultiplier)) : (currentXp + xpGained);
+		int xpGained = 0;
+		int newXpTotal = currentXp;
+		for (int xpAward : xpAwards) {
+			xpGained += xpAward;
+			newXpTotal += xpMultiplied ? (int) (xpAward * xpMultiplier) : xpAward;
+		}
 		playerObject.setExperiencePoints(xpType, newXpTotal);
 		StandardLog.onPlayerTrace(this, creatureObject, "gained %d %s XP", xpGained, xpType);
 		
@@ -0,0 +1,104 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.player.experience.skills.skillmod;
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import me.joshlarson.jlcommon.log.Log;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The stat and skill mod bonuses of a single item, parsed out of its attribute strings. Each instance remembers the
+ * attribute version it was parsed from, so it can be reused until the item's attributes change.
+ */
+final class EquipmentSkillMods {
+	
+	private static final String STAT_MOD_PREFIX = "cat_stat_mod_bonus";
+	private static final String SKILL_MOD_PREFIX = "cat_skill_mod_bonus";
+	private static final String [] NO_NAMES = new String[0];
+	private static final int [] NO_VALUES = new int[0];
+	
+	private final int attributesVersion;
+	private final String [] names;
+	private final int [] values;
+	
+	private EquipmentSkillMods(int attributesVersion, String [] names, int [] values) {
+		this.attributesVersion = attributesVersion;
+		this.names = names;
+		this.values = values;
+	}
+	
+	public boolean isCurrent(SWGObject obj) {
+		return attributesVersion == obj.getAttributesVersion();
+	}
+	
+	public int size() {
+		return values.length;
+	}
+	
+	public String getName(int index) {
+		return names[index];
+	}
+	
+	public int getValue(int index) {
+		return values[index];
+	}
+	
+	public static EquipmentSkillMods parse(SWGObject obj) {
+		int version = obj.getAttributesVersion(); // read first so a concurrent change leaves this result stale, never wrong
+		String [] names = NO_NAMES;
+		int [] values = NO_VALUES;
+		int count = 0;
+		for (Map.Entry<String, String> attribute : obj.getAttributes().entrySet()) {
+			String key = attribute.getKey();
+			if (!key.startsWith(STAT_MOD_PREFIX) && !key.startsWith(SKILL_MOD_PREFIX))
+				continue;
+			int separator = key.indexOf(':');
+			if (separator < 0)
+				continue;
+			int value;
+			try {
+				value = Integer.parseInt(attribute.getValue());
+			} catch (NumberFormatException e) {
+				Log.w("Invalid skill mod bonus on %s: %s=%s", obj, key, attribute.getValue());
+				continue;
+			}
+			if (count == values.length) {
+				names = Arrays.copyOf(names, count + 4);
+				values = Arrays.copyOf(values, count + 4);
+			}
+			names[count] = key.substring(separator + 1);
+			values[count] = value;
+			count++;
+		}
+		if (count == 0)
+			return new EquipmentSkillMods(version, NO_NAMES, NO_VALUES);
+		return new EquipmentSkillMods(version, Arrays.copyOf(names, count), Arrays.copyOf(values, count));
+	}
+	
+}
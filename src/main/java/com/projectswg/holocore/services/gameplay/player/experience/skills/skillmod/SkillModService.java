@@ -27,14 +27,15 @@
 package com.projectswg.holocore.services.gameplay.player.experience.skills.skillmod;
 
 import com.projectswg.common.data.encodables.tangible.Race;
-import com.projectswg.common.data.info.RelationalServerData;
-import com.projectswg.common.data.info.RelationalServerFactory;
-import com.projectswg.holocore.ProjectSWG;
 import com.projectswg.holocore.intents.gameplay.player.experience.LevelChangedIntent;
 import com.projectswg.holocore.intents.gameplay.player.experience.skills.SkillModIntent;
 import com.projectswg.holocore.intents.support.global.zone.creation.CreatedCharacterIntent;
 import com.projectswg.holocore.intents.support.objects.swg.ContainerTransferIntent;
+import com.projectswg.holocore.intents.support.objects.swg.DestroyObjectIntent;
+import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
+import com.projectswg.holocore.resources.support.data.server_info.loader.SkillModLevelLoader;
 import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
 import com.projectswg.holocore.resources.support.objects.swg.player.Profession;
@@ -42,12 +43,9 @@ import com.projectswg.holocore.services.gameplay.player.experience.skills.skillm
 import com.projectswg.holocore.utilities.IntentFactory;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
-import me.joshlarson.jlcommon.log.Log;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 public class SkillModService extends Service {
@@ -56,30 +54,11 @@ public class SkillModService extends Service {
 	private static final int HEALTH_POINTS_PER_CONSTITUTION 	= 8;
 	private static final int ACTION_POINTS_PER_STAMINA 			= 8;
 	private static final int ACTION_POINTS_PER_CONSTITUTION 	= 2;	
-	private static final String GET_PLAYER_LEVELS_SQL = "SELECT * FROM player_levels WHERE combat_level = ?";
-	private static final String GET_RACIAL_STATS_SQL = "SELECT * FROM racial_stats WHERE level = ?";
-	
-	private final RelationalServerData playerLevelDatabase;
-	private final RelationalServerData racialStatsDatabase;
-	private final PreparedStatement getPlayerLevelStatement;
-	private final PreparedStatement getRacialStatsStatement;
 	
 	private final Map<String, Function<SkillModAdjust, Collection<SkillModAdjust>>> skillModAdjusters;
+	private final Map<Long, EquipmentSkillMods> equipmentSkillMods;
 	
 	public SkillModService() {
-		
-		playerLevelDatabase = RelationalServerFactory.getServerData("nge/player/player_levels.db", "player_levels");
-		if (playerLevelDatabase == null)
-			throw new ProjectSWG.CoreException("Unable to load player_levels.sdb file for SkillTemplateService");
-		
-		getPlayerLevelStatement = playerLevelDatabase.prepareStatement(GET_PLAYER_LEVELS_SQL);	
-		
-		racialStatsDatabase = RelationalServerFactory.getServerData("nge/player/racial_stats.db", "racial_stats");
-		if (racialStatsDatabase == null)
-			throw new ProjectSWG.CoreException("Unable to load racial_stats.sdb file for SkillTemplateService");
-		
-		getRacialStatsStatement = racialStatsDatabase.prepareStatement(GET_RACIAL_STATS_SQL);
-		
 		skillModAdjusters = new HashMap<>();
 		skillModAdjusters.put("agility", new AgilityAdjustFunction());
 		skillModAdjusters.put("agility_modified", new AgilityAdjustFunction());
@@ -94,42 +73,43 @@ public class SkillModService extends Service {
 		skillModAdjusters.put("expertise_innate_protection_kinetic", new SingleModAdjustFunction("kinetic"));
 		skillModAdjusters.put("expertise_innate_protection_energy", new SingleModAdjustFunction("energy"));
 		skillModAdjusters.put("expertise_saber_block", new SingleModAdjustFunction("display_only_parry", 100));
-	}
-	
-	@Override
-	public boolean terminate() {
-		playerLevelDatabase.close();
-		racialStatsDatabase.close();
-		return super.terminate();
+		
+		equipmentSkillMods = new ConcurrentHashMap<>();
 	}
 	
 	@IntentHandler
 	private void handleContainerTransferIntent(ContainerTransferIntent cti){
-
-		if (cti.getObject().getOwner() == null)
-		    return;
+		SWGObject obj = cti.getObject();
+		Player owner = obj.getOwner();
+		if (owner == null)
+			return;
 		
-		CreatureObject creature = cti.getObject().getOwner().getCreatureObject();
-	
-		for (Map.Entry<String, String> attributes : cti.getObject().getAttributes().entrySet()){
-			if(attributes.getKey().startsWith("cat_stat_mod_bonus") || attributes.getKey().startsWith("cat_skill_mod_bonus")){
-				String[] splitModName = attributes.getKey().split(":",2);
-				String modName = splitModName[1];
-				int modValue = Integer.parseInt(attributes.getValue());
-
-				if(cti.getContainer().getObjectId() == creature.getObjectId()){
-					adjustSkillmod(creature, modName, 0, modValue);
-					updateSkillModHamValues(creature, modName,modValue);
-				}else if(cti.getOldContainer() != null){
-					if(cti.getOldContainer().getObjectId() == creature.getObjectId()){
-						adjustSkillmod(creature, modName, 0, -modValue);
-						updateSkillModHamValues(creature, modName, -modValue);
-					}
-				}				
-			}
+		CreatureObject creature = owner.getCreatureObject();
+		if (creature == null)
+			return;
+		
+		int direction;
+		if (cti.getContainer() != null && cti.getContainer().getObjectId() == creature.getObjectId())
+			direction = 1;
+		else if (cti.getOldContainer() != null && cti.getOldContainer().getObjectId() == creature.getObjectId())
+			direction = -1;
+		else
+			return; // Neither equipped nor unequipped, e.g. inventory to bank
+		
+		EquipmentSkillMods mods = getEquipmentSkillMods(obj);
+		for (int i = 0; i < mods.size(); i++) {
+			String modName = mods.getName(i);
+			int modValue = direction * mods.getValue(i);
+			adjustSkillmod(creature, modName, 0, modValue);
+			updateSkillModHamValues(creature, modName, modValue);
 		}
 	}
 	
+	@IntentHandler
+	private void handleDestroyObjectIntent(DestroyObjectIntent doi) {
+		equipmentSkillMods.remove(doi.getObject().getObjectId());
+	}
+	
 	@IntentHandler
 	private void handleCreatedCharacterIntent(CreatedCharacterIntent cci){
 		CreatureObject creature = cci.getCreatureObject();
@@ -168,6 +148,15 @@ public class SkillModService extends Service {
 		}
 	}
 	
+	private EquipmentSkillMods getEquipmentSkillMods(SWGObject obj) {
+		EquipmentSkillMods mods = equipmentSkillMods.get(obj.getObjectId());
+		if (mods == null || !mods.isCurrent(obj)) {
+			mods = EquipmentSkillMods.parse(obj);
+			equipmentSkillMods.put(obj.getObjectId(), mods);
+		}
+		return mods;
+	}
+	
 	private void adjustSkillmod(CreatureObject creature, String skillModName, int adjustBase, int adjustModifier) {
 		creature.adjustSkillmod(skillModName, adjustBase, adjustModifier);
 		
@@ -274,40 +263,17 @@ public class SkillModService extends Service {
 	}
 	
 	private int getLevelSkillModValue(int level, String professionModName, String raceModName){
+		SkillModLevelLoader levels = DataLoader.Companion.skillModLevels();
 		int skillModValue = 0;
 		
-		if(!professionModName.isEmpty()){
-			synchronized (getPlayerLevelStatement) {
-				try {
-					getPlayerLevelStatement.setString(1, String.valueOf(level));
-				
-					try (ResultSet set = getPlayerLevelStatement.executeQuery()) {
-						if (set.next())
-							skillModValue += set.getInt(professionModName);
-					}
-				} catch (SQLException e) {
-					Log.e(e);
-				}
-			}
-		}
+		if (!professionModName.isEmpty())
+			skillModValue += levels.getProfessionValue(level, professionModName);
 		
-		if(!raceModName.isEmpty()){
-			synchronized (getRacialStatsStatement) {
-				try {
-					getRacialStatsStatement.setString(1, String.valueOf(level));
-				
-					try (ResultSet set = getRacialStatsStatement.executeQuery()) {
-						if (set.next())
-							skillModValue += set.getInt(raceModName);
-					}
-				} catch (SQLException e) {
-					Log.e(e);
-				}
-			}
-		}
+		if (!raceModName.isEmpty())
+			skillModValue += levels.getRacialValue(level, raceModName);
 		
 		return skillModValue;
-	}	
+	}
 	
 	private String getRaceColumnAbbr(Race race){
 
@@ -1,7 +1,7 @@
 package com.projectswg.holocore.services.gameplay.world.map;
 
 import com.projectswg.common.data.encodables.map.MapLocation;
-import com.projectswg.common.data.swgfile.ClientFactory;
+import com.projectswg.common.data.location.Terrain;
 import com.projectswg.common.data.swgfile.visitors.DatatableData;
 import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.spatial.GetMapLocationsMessage;
@@ -12,23 +12,23 @@ import com.projectswg.holocore.resources.gameplay.world.map.MappingTemplate;
 import com.projectswg.holocore.resources.support.data.client_info.ServerFactory;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.PlanetMapCategoryLoader.PlanetMapCategoryInfo;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacketCache;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
+import me.joshlarson.jlcommon.log.Log;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MapService extends Service {
 	
-	private final Map<String, MappingTemplate> mappingTemplates;
-
 	private final Map<String, List<MapLocation>> staticMapLocations; // ex: NPC cities and buildings
 	private final Map<String, List<MapLocation>> dynamicMapLocations; // ex: camps, faction presences (grids)
 	private final Map<String, List<MapLocation>> persistentMapLocations; // ex: Player structures, vendors
@@ -39,15 +39,16 @@ public class MapService extends Service {
 	private final AtomicInteger dynamicMapVersion = new AtomicInteger(1);
 	private final AtomicInteger persistMapVersion = new AtomicInteger(1);
 	
+	// Encoded responses are shared between players until a location is added. Keyed by Terrain so a client can only
+	// ever populate one entry per planet and version flag combination
+	private final EncodedPacketCache<MapResponseKey> responseCache;
+	
 	public MapService() {
-		mappingTemplates = new HashMap<>();
+		responseCache = new EncodedPacketCache<>();
 
 		staticMapLocations = new ConcurrentHashMap<>();
 		dynamicMapLocations = new ConcurrentHashMap<>();
 		persistentMapLocations = new ConcurrentHashMap<>();
-		// Needs to be done here as ObjectManager is initialized before MapService otherwise there won't be any map locations
-		// for objects loaded from the databases, snapshots, buildouts.
-		loadMappingTemplates();
 	}
 
 	@Override
@@ -69,38 +70,30 @@ public class MapService extends Service {
 	}
 	
 	private void handleMapLocationsRequest(Player player, GetMapLocationsMessage p) {
-		String planet = p.getPlanet();
+		Terrain terrain = Terrain.getTerrainFromName(p.getPlanet());
+		if (terrain == null) {
+			Log.w("Ignoring map request from %s for unknown planet '%s'", player, p.getPlanet());
+			return;
+		}
 
 		int staticVer = staticMapVersion.get();
 		int dynamicVer = dynamicMapVersion.get();
 		int persistVer = persistMapVersion.get();
 
 		// Only send list if the current map version isn't the same as the clients.
-		List<MapLocation> staticLocs = (p.getVersionStatic() != staticVer ? staticMapLocations.get(planet) : null);
-		List<MapLocation> dynamicLocs = (p.getVersionDynamic() != dynamicVer ? dynamicMapLocations.get(planet) : null);
-		List<MapLocation> persistLocs = (p.getVersionPersist() != persistVer ? persistentMapLocations.get(planet) : null);
-
-		GetMapLocationsResponseMessage responseMessage = new GetMapLocationsResponseMessage(planet,
-				staticLocs, dynamicLocs, persistLocs, staticVer, dynamicVer, persistVer);
-
-		player.sendPacket(responseMessage);
+		MapResponseKey key = new MapResponseKey(terrain, staticVer, dynamicVer, persistVer, p.getVersionStatic() != staticVer, p.getVersionDynamic() != dynamicVer, p.getVersionPersist() != persistVer);
+		player.sendPacket(responseCache.get(key, this::createMapLocationsResponse));
 	}
 	
-	private void loadMappingTemplates() {
-		DatatableData table = ServerFactory.getDatatable("map/map_locations.iff");
-		for (int row = 0; row < table.getRowCount(); row++) {
-			MappingTemplate template = new MappingTemplate();
-			template.setTemplate(ClientFactory.formatToSharedFile(table.getCell(row, 0).toString()));
-			template.setName(table.getCell(row, 1).toString());
-			template.setCategory(table.getCell(row, 2).toString());
-			template.setSubcategory(table.getCell(row, 3).toString());
-			template.setType((Integer) table.getCell(row, 4));
-			template.setFlag((Integer) table.getCell(row, 5));
-
-			mappingTemplates.put(template.getTemplate(), template);
-		}
+	private GetMapLocationsResponseMessage createMapLocationsResponse(MapResponseKey key) {
+		String planet = key.getTerrain().getName();
+		List<MapLocation> staticLocs = (key.isSendStatic() ? staticMapLocations.get(planet) : null);
+		List<MapLocation> dynamicLocs = (key.isSendDynamic() ? dynamicMapLocations.get(planet) : null);
+		List<MapLocation> persistLocs = (key.isSendPersist() ? persistentMapLocations.get(planet) : null);
+		
+		return new GetMapLocationsResponseMessage(planet, staticLocs, dynamicLocs, persistLocs, key.getStaticVersion(), key.getDynamicVersion(), key.getPersistVersion());
 	}
-
+	
 	private void loadStaticCityPoints() {
 		DatatableData table = ServerFactory.getDatatable("map/static_city_points.iff");
 		
@@ -122,10 +115,9 @@ public class MapService extends Service {
 	}
 
 	private void addMapLocation(SWGObject object, MapType type) {
-		if (!mappingTemplates.containsKey(object.getTemplate()))
+		MappingTemplate mappingTemplate = DataLoader.Companion.mappingTemplates().getTemplate(object.getTemplate());
+		if (mappingTemplate == null)
 			return;
-
-		MappingTemplate mappingTemplate = mappingTemplates.get(object.getTemplate());
 		PlanetMapCategoryInfo category = DataLoader.Companion.planetMapCategories().getCategoryByName(mappingTemplate.getCategory());
 		PlanetMapCategoryInfo subcategory = DataLoader.Companion.planetMapCategories().getCategoryByName(mappingTemplate.getSubcategory());
 
@@ -159,6 +151,8 @@ public class MapService extends Service {
 			staticMapLocations.put(planet, new CopyOnWriteArrayList<>());
 		}
 		staticMapLocations.get(planet).add(location);
+		staticMapVersion.incrementAndGet();
+		responseCache.clear();
 	}
 
 	public void addDynamicMapLocation(String planet, MapLocation location) {
@@ -169,6 +163,8 @@ public class MapService extends Service {
 			dynamicMapLocations.put(planet, new CopyOnWriteArrayList<>());
 		}
 		dynamicMapLocations.get(planet).add(location);
+		dynamicMapVersion.incrementAndGet();
+		responseCache.clear();
 	}
 
 	public void addPersistentMapLocation(String planet, MapLocation location) {
@@ -179,6 +175,8 @@ public class MapService extends Service {
 			persistentMapLocations.put(planet, new CopyOnWriteArrayList<>());
 		}
 		persistentMapLocations.get(planet).add(location);
+		persistMapVersion.incrementAndGet();
+		responseCache.clear();
 	}
 
 	public enum MapType {
@@ -187,4 +185,69 @@ public class MapService extends Service {
 		PERSISTENT
 	}
 	
+	private static class MapResponseKey {
+		
+		private final Terrain terrain;
+		private final int staticVersion;
+		private final int dynamicVersion;
+		private final int persistVersion;
+		private final boolean sendStatic;
+		private final boolean sendDynamic;
+		private final boolean sendPersist;
+		
+		public MapResponseKey(Terrain terrain, int staticVersion, int dynamicVersion, int persistVersion, boolean sendStatic, boolean sendDynamic, boolean sendPersist) {
+			this.terrain = terrain;
+			this.staticVersion = staticVersion;
+			this.dynamicVersion = dynamicVersion;
+			this.persistVersion = persistVersion;
+			this.sendStatic = sendStatic;
+			this.sendDynamic = sendDynamic;
+			this.sendPersist = sendPersist;
+		}
+		
+		public Terrain getTerrain() {
+			return terrain;
+		}
+		
+		public int getStaticVersion() {
+			return staticVersion;
+		}
+		
+		public int getDynamicVersion() {
+			return dynamicVersion;
+		}
+		
+		public int getPersistVersion() {
+			return persistVersion;
+		}
+		
+		public boolean isSendStatic() {
+			return sendStatic;
+		}
+		
+		public boolean isSendDynamic() {
+			return sendDynamic;
+		}
+		
+		public boolean isSendPersist() {
+			return sendPersist;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof MapResponseKey))
+				return false;
+			MapResponseKey key = (MapResponseKey) o;
+			return staticVersion == key.staticVersion && dynamicVersion == key.dynamicVersion && persistVersion == key.persistVersion && sendStatic == key.sendStatic && sendDynamic == key.sendDynamic && sendPersist == key.sendPersist && terrain == key.terrain;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(terrain, staticVersion, dynamicVersion, persistVersion, sendStatic, sendDynamic, sendPersist);
+		}
+		
+	}
+	
 }
@@ -1,42 +1,44 @@
 package com.projectswg.holocore.services.support.data;
 
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
-import com.projectswg.holocore.intents.support.global.network.OutboundPacketIntent;
-import com.projectswg.holocore.resources.support.data.server_info.BasicLogStream;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
-import me.joshlarson.jlcommon.control.IntentHandler;
+import com.projectswg.holocore.resources.support.global.network.NetworkClient;
+import com.projectswg.holocore.resources.support.global.network.PacketCapture;
 import me.joshlarson.jlcommon.control.Service;
+import me.joshlarson.jlcommon.log.Log;
 
 import java.io.File;
+import java.io.IOException;
 
 public class PacketRecordingService extends Service {
 	
-	private final BasicLogStream packetLogger;
+	private PacketCapture capture;
 	
 	public PacketRecordingService() {
-		this.packetLogger = new BasicLogStream(new File("log/packets.txt"));
+		this.capture = null;
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent ipi) {
-		if (!isPacketDebug())
-			return;
-		printPacketStream(true, ipi.getPlayer().getNetworkId(), ipi.getPacket().toString());
+	@Override
+	public boolean start() {
+		if (PswgDatabase.INSTANCE.getConfig().getBoolean(this, "packetLogging", false)) {
+			long maxFileSize = PswgDatabase.INSTANCE.getConfig().getInt(this, "packetCaptureFileSizeMb", 64) * 1024L * 1024L;
+			capture = new PacketCapture(new File("log/packets"), maxFileSize);
+			NetworkClient.setCapture(capture);
+		}
+		return true;
 	}
 	
-	@IntentHandler
-	private void handleOutboundPacketIntent(OutboundPacketIntent opi) {
-		if (!isPacketDebug())
-			return;
-		printPacketStream(false, opi.getPlayer().getNetworkId(), opi.getPacket().toString());
-	}
-	
-	private void printPacketStream(boolean in, long networkId, String str) {
-		packetLogger.log("%s %d:\t%s", in?"IN ":"OUT", networkId, str);
-	}
-	
-	private boolean isPacketDebug() {
-		return PswgDatabase.INSTANCE.getConfig().getBoolean(this, "packetLogging", false);
+	@Override
+	public boolean stop() {
+		if (capture != null) {
+			NetworkClient.setCapture(null);
+			try {
+				capture.close();
+			} catch (IOException e) {
+				Log.e(e);
+			}
+			capture = null;
+		}
+		return true;
 	}
 	
 }
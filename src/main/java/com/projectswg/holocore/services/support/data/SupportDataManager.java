@@ -11,7 +11,8 @@ import me.joshlarson.jlcommon.control.ManagerStructure;
 		
 		PacketRecordingService.class,
 		ServerDataService.class,
-		ServerStatusService.class
+		ServerStatusService.class,
+		TerrainHeightService.class
 })
 public class SupportDataManager extends Manager {
 	
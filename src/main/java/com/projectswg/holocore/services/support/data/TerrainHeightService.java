@@ -0,0 +1,134 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.data;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.data.terrain.TerrainHeightGrid;
+import com.projectswg.holocore.resources.support.data.terrain.TerrainHeightSource;
+import me.joshlarson.jlcommon.control.Service;
+import me.joshlarson.jlcommon.log.Log;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Serves ground heights from grids baked to {@code <terrainHeightDirectory>/<planet>.hgt}. Holocore has no terrain
+ * reader of its own, so the server is started without a {@link TerrainHeightSource} and these grids have to be baked
+ * elsewhere; planets without a grid fall back to the caller's height.
+ */
+public class TerrainHeightService extends Service {
+	
+	private static final double MAP_SIZE = 16384;
+	private static final double CELL_SIZE = 8;
+	private static final Terrain[] PLANETS = {
+			Terrain.CORELLIA, Terrain.DANTOOINE, Terrain.DATHOMIR, Terrain.ENDOR, Terrain.KASHYYYK_MAIN, Terrain.LOK,
+			Terrain.MUSTAFAR, Terrain.NABOO, Terrain.RORI, Terrain.TALUS, Terrain.TATOOINE, Terrain.YAVIN4
+	};
+	
+	private final Map<Terrain, TerrainHeightGrid> grids;
+	private final TerrainHeightSource source;
+	
+	public TerrainHeightService() {
+		this(null);
+	}
+	
+	/**
+	 * @param source the exact heights used to bake any grid that doesn't exist yet, or null to only use grids that were
+	 *               baked previously
+	 */
+	public TerrainHeightService(@Nullable TerrainHeightSource source) {
+		this.grids = new EnumMap<>(Terrain.class);
+		this.source = source;
+	}
+	
+	@Override
+	public boolean initialize() {
+		Path directory = Paths.get(PswgDatabase.INSTANCE.getConfig().getString(this, "terrainHeightDirectory", "terrain"));
+		for (Terrain terrain : PLANETS) {
+			Path file = directory.resolve(terrain.name().toLowerCase(Locale.US) + ".hgt");
+			try {
+				if (!Files.isRegularFile(file)) {
+					if (source == null)
+						continue;
+					long start = System.nanoTime();
+					TerrainHeightGrid.bake(file, terrain, source, MAP_SIZE, CELL_SIZE);
+					Log.i("Baked terrain heights for %s in %.0fms", terrain, (System.nanoTime() - start) / 1E6);
+				}
+				grids.put(terrain, TerrainHeightGrid.map(file));
+			} catch (IOException e) {
+				Log.e("Failed to load terrain heights for %s from %s", terrain, file);
+				Log.e(e);
+			}
+		}
+		if (grids.isEmpty())
+			Log.w("No terrain heights available in %s - ground heights will not be adjusted", directory.toAbsolutePath());
+		else
+			Log.i("Loaded terrain heights for %d planets", grids.size());
+		TerrainHeightLookup.setHeightAuthority(grids::get);
+		return super.initialize();
+	}
+	
+	@Override
+	public boolean terminate() {
+		TerrainHeightLookup.setHeightAuthority(null);
+		return super.terminate();
+	}
+	
+	public static class TerrainHeightLookup {
+		
+		private static final AtomicReference<Function<Terrain, TerrainHeightGrid>> AUTHORITY = new AtomicReference<>(null);
+		
+		static void setHeightAuthority(Function<Terrain, TerrainHeightGrid> authority) {
+			AUTHORITY.set(authority);
+		}
+		
+		/**
+		 * Returns the ground height at the specified location, or the default if the heights of that terrain aren't known
+		 * @param terrain the terrain
+		 * @param x the world x coordinate
+		 * @param z the world z coordinate
+		 * @param defaultHeight the height to return if no grid is loaded for the terrain
+		 * @return the ground height
+		 */
+		public static double getHeight(Terrain terrain, double x, double z, double defaultHeight) {
+			Function<Terrain, TerrainHeightGrid> authority = AUTHORITY.get();
+			TerrainHeightGrid grid = authority == null ? null : authority.apply(terrain);
+			return grid == null ? defaultHeight : grid.getHeight(x, z);
+		}
+		
+	}
+	
+}
@@ -34,7 +34,10 @@ import com.projectswg.holocore.ProjectSWG;
 import com.projectswg.holocore.intents.support.global.chat.PersistentMessageIntent;
 import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.intents.support.global.zone.creation.DeleteCharacterIntent;
 import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.support.data.server_info.database.PswgMailDatabase;
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
@@ -50,21 +53,30 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class ChatMailService extends Service {
 	
-	private AtomicInteger maxMailId;
+	private final AtomicInteger maxMailId;
 	
 	public ChatMailService() {
 		this.maxMailId = new AtomicInteger(0);
 	}
 	
+	@Override
+	public boolean initialize() {
+		maxMailId.set(getMailDatabase().getMaxMailId());
+		return true;
+	}
+	
 	@IntentHandler
 	private void handleObjectCreatedIntent(ObjectCreatedIntent oci) {
 		SWGObject obj = oci.getObject();
 		if (!(obj instanceof PlayerObject))
 			return;
 		
-		PlayerObject player = (PlayerObject) obj;
-		int highestMailId = player.getMail().stream().mapToInt(Mail::getId).max().orElse(0);
-		maxMailId.updateAndGet(prevMax -> prevMax >= highestMailId ? prevMax : highestMailId);
+		// Mail used to be stored on the PlayerObject - move it into the mail database
+		PswgMailDatabase mails = getMailDatabase();
+		for (Mail mail : ((PlayerObject) obj).takeLegacyMail()) {
+			mails.addMail(mail);
+			maxMailId.accumulateAndGet(mail.getId(), Math::max);
+		}
 	}
 	
 	@IntentHandler
@@ -74,6 +86,12 @@ public class ChatMailService extends Service {
 		}
 	}
 	
+	@IntentHandler
+	private void handleDeleteCharacterIntent(DeleteCharacterIntent dci) {
+		// Object ids can be handed out again, so a deleted character's mail must not outlive it
+		getMailDatabase().removeMails(dci.getCreature().getObjectId());
+	}
+	
 	@IntentHandler
 	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
 		SWGPacket p = gpi.getPacket();
@@ -123,7 +141,7 @@ public class ChatMailService extends Service {
 		mail.setId(maxMailId.incrementAndGet());
 		mail.setTimestamp(Instant.now());
 		mail.setOutOfBandPackage(request.getOutOfBandPackage());
-		recipientCreature.getPlayerObject().addMail(mail);
+		getMailDatabase().addMail(mail);
 		
 		if (recipient != null) {
 			sendPersistentMessage(recipient, mail, MailFlagType.HEADER_ONLY);
@@ -135,20 +153,14 @@ public class ChatMailService extends Service {
 		if (pmi.getReceiver() == null)
 			return;
 		
-		Player recipient = pmi.getReceiver().getOwner();
-		
-		if (recipient == null)
-			return;
-		PlayerObject player = recipient.getPlayerObject();
-		if (player == null)
-			return;
-		
 		Mail mail = pmi.getMail();
 		mail.setId(maxMailId.incrementAndGet());
 		mail.setTimestamp(Instant.now());
-		player.addMail(mail);
+		getMailDatabase().addMail(mail);
 		
-		sendPersistentMessage(recipient, mail, MailFlagType.HEADER_ONLY);
+		Player recipient = pmi.getReceiver().getOwner();
+		if (recipient != null)
+			sendPersistentMessage(recipient, mail, MailFlagType.HEADER_ONLY);
 	}
 	
 	private void handlePersistentMessageRequest(Player player, ChatRequestPersistentMessage request) {
@@ -158,11 +170,14 @@ public class ChatMailService extends Service {
 		if (ghost == null)
 			return;
 		
-		Mail mail = ghost.getMail(request.getMailId());
-		if (mail == null)
+		Mail mail = getMailDatabase().getMail(request.getMailId());
+		if (mail == null || mail.getReceiverId() != player.getCreatureObject().getObjectId())
 			return;
 		
-		mail.setStatus(Mail.READ);
+		if (mail.getStatus() != Mail.READ) {
+			mail.setStatus(Mail.READ);
+			getMailDatabase().setMailStatus(mail.getId(), Mail.READ);
+		}
 		sendPersistentMessage(player, mail, MailFlagType.FULL_MESSAGE);
 	}
 	
@@ -170,7 +185,7 @@ public class ChatMailService extends Service {
 		if (player == null || player.getCreatureObject() == null)
 			return;
 		
-		for (Mail mail : player.getPlayerObject().getMail())
+		for (Mail mail : getMailDatabase().getMailHeaders(player.getCreatureObject().getObjectId()))
 			sendPersistentMessage(player, mail, MailFlagType.HEADER_ONLY);
 	}
 	
@@ -182,7 +197,7 @@ public class ChatMailService extends Service {
 			return;
 		
 		if (ghost.isIgnored(mail.getSender())) {
-			ghost.removeMail(mail);
+			getMailDatabase().removeMail(mail.getId());
 			return;
 		}
 		
@@ -203,11 +218,15 @@ public class ChatMailService extends Service {
 	private void deletePersistentMessage(Player player, int mailId) {
 		if (player == null)
 			return;
-		PlayerObject ghost = player.getPlayerObject();
-		if (ghost == null)
+		CreatureObject creature = player.getCreatureObject();
+		if (creature == null)
 			return;
 		
-		ghost.removeMail(mailId);
+		getMailDatabase().removeMail(mailId, creature.getObjectId());
+	}
+	
+	private static PswgMailDatabase getMailDatabase() {
+		return PswgDatabase.INSTANCE.getMail();
 	}
 	
 	private enum MailFlagType {
@@ -135,6 +135,9 @@ public class ChatRoomService extends Service {
 			case PE_FIRST_ZONE:
 				chatRoomHandler.enterChatChannels(pei.getPlayer());
 				break;
+			case PE_LOGGED_OUT:
+				chatRoomHandler.leaveChatChannels(pei.getPlayer());
+				break;
 			default:
 				break;
 		}
@@ -280,7 +283,7 @@ public class ChatRoomService extends Service {
 		
 		if (result == ChatResult.NONE) {
 			assert room != null;
-			if (room.removeMember(target))
+			if (chatRoomHandler.removeMember(room, target))
 				result = ChatResult.SUCCESS;
 			else
 				result = ChatResult.TARGET_AVATAR_DOESNT_EXIST;
@@ -381,11 +384,8 @@ public class ChatRoomService extends Service {
 		player.sendPacket(new ChatRoomList(chatRoomHandler.getRoomList(player)));
 	}
 	
-	private static void sendPacketToMembers(@NotNull ChatRoom room, SWGPacket packet) {
-		for (ChatAvatar member : room.getMembers()) {
-			Player player = PlayerLookup.getPlayerByFirstName(member.getName());
-			player.sendPacket(packet);
-		}
+	private void sendPacketToMembers(@NotNull ChatRoom room, SWGPacket packet) {
+		chatRoomHandler.sendPacketToMembers(room, packet);
 	}
 	
 }
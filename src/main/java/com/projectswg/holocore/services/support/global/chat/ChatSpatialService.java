@@ -1,14 +1,19 @@
 package com.projectswg.holocore.services.support.global.chat;
 
+import com.projectswg.common.data.location.Location;
 import com.projectswg.common.network.packets.swg.zone.object_controller.SpatialChat;
 import com.projectswg.holocore.intents.support.global.chat.SpatialChatIntent;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
 import com.projectswg.holocore.resources.support.global.player.Player;
-import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.services.support.objects.awareness.AwarenessService.AwarenessLookup;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 public class ChatSpatialService extends Service {
 	
 	private final int chatRange;
@@ -20,21 +25,34 @@ public class ChatSpatialService extends Service {
 	@IntentHandler
 	private void handleSpatialChatIntent(SpatialChatIntent spi) {
 		Player sender = spi.getPlayer();
-		SWGObject actor = sender.getCreatureObject();
+		CreatureObject actor = sender.getCreatureObject();
 		String senderName = sender.getCharacterFirstName();
+		Location actorLocation = actor.getWorldLocation();
 		
-		// Send to self
+		// Send to self - every recipient's packet shares this message body
 		SpatialChat message = new SpatialChat(actor.getObjectId(), actor.getObjectId(), 0, spi.getMessage(), (short) spi.getChatType(), (short) 0);
 		
-		// Notify observers of the chat message
-		for (Player owner : actor.getObservers()) {
+		// Notify nearby players of the chat message
+		for (CreatureObject creature : getListeners(actor, actorLocation)) {
+			Player owner = creature.getOwnerShallow();
+			if (owner == null || owner.getPlayerState() != PlayerState.ZONED_IN)
+				continue;
+			if (creature != actor && !creature.isAwareOf(actor))
+				continue; // The client can't show chat from an object it hasn't been sent yet
 			if (owner.getPlayerObject().isIgnored(senderName))
 				continue;
-			CreatureObject creature = owner.getCreatureObject();
-			if (creature.getWorldLocation().distanceTo(actor.getWorldLocation()) > chatRange)
+			if (creature.getWorldLocation().distanceTo(actorLocation) > chatRange)
 				continue;
 			owner.sendPacket(new SpatialChat(creature.getObjectId(), message));
 		}
 	}
 	
+	private Collection<CreatureObject> getListeners(CreatureObject actor, Location actorLocation) {
+		if (!AwarenessLookup.isDefined())
+			return actor.getObservers().stream().map(Player::getCreatureObject).collect(Collectors.toList());
+		Collection<CreatureObject> listeners = AwarenessLookup.getPlayersInRange(actorLocation.getTerrain(), actorLocation.getX(), actorLocation.getZ(), chatRange);
+		listeners.removeIf(listener -> !actor.isVisible(listener)); // Same visibility rule as awareness
+		return listeners;
+	}
+	
 }
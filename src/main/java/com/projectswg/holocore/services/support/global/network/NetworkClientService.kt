@@ -36,7 +36,6 @@ import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDa
 import com.projectswg.holocore.resources.support.global.network.NetworkClient
 import com.projectswg.holocore.resources.support.global.network.TCPServer
 import com.projectswg.holocore.resources.support.global.network.UDPServer
-import com.projectswg.holocore.resources.support.global.network.UDPServer.UDPPacket
 import me.joshlarson.jlcommon.control.IntentHandler
 import me.joshlarson.jlcommon.control.Service
 import me.joshlarson.jlcommon.log.Log
@@ -57,6 +56,8 @@ class NetworkClientService : Service() {
 	
 	private val bindPort: Int
 		get() = PswgDatabase.config.getInt(this, "bindPort", 44463)
+	private val bindAddress: InetAddress?
+		get() = PswgDatabase.config.getString(this, "bindAddress", "").let { if (it.isEmpty()) null else InetAddress.getByName(it) }
 	
 	init {
 		this.clients = ConcurrentHashMap()
@@ -65,16 +66,19 @@ class NetworkClientService : Service() {
 		
 		val bindPort = bindPort
 		try {
-			udpServer = UDPServer(bindPort, 32)
+			udpServer = UDPServer(bindAddress, bindPort, 32)
 		} catch (e: IOException) {
 			throw CoreException("Failed to start networking", e)
 		}
 		
-		udpServer.setCallback { this.onUdpPacket(it) }
+		udpServer.setBatchCallback { batch ->
+			for (i in 0 until batch.size())
+				onUdpPacket(batch.getData(i), batch.getSource(i))
+		}
 	}
 	
 	override fun start(): Boolean {
-		tcpServer.bind(InetSocketAddress(bindPort), workerThreadCount = Runtime.getRuntime().availableProcessors(), backlog = 50) { remoteAddress, writer, closer ->
+		tcpServer.bind(InetSocketAddress(bindAddress, bindPort), workerThreadCount = Runtime.getRuntime().availableProcessors(), backlog = 50) { remoteAddress, writer, closer ->
 			val client = NetworkClient(remoteAddress, writer, closer)
 			clients[client.id] = client
 			client
@@ -112,11 +116,11 @@ class NetworkClientService : Service() {
 		client.close(ConnectionStoppedReason.APPLICATION)
 	}
 	
-	private fun onUdpPacket(packet: UDPPacket) {
-		if (packet.length <= 0)
+	private fun onUdpPacket(data: ByteBuffer, source: InetSocketAddress) {
+		if (!data.hasRemaining())
 			return
-		if (packet.data[0].toInt() == 1) {
-			sendState(packet.address, packet.port)
+		if (data.get(data.position()).toInt() == 1) {
+			sendState(source.address, source.port)
 		}
 	}
 	
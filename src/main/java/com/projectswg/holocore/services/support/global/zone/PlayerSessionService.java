@@ -6,24 +6,35 @@ import com.projectswg.holocore.intents.support.global.network.ConnectionClosedIn
 import com.projectswg.holocore.intents.support.global.network.ConnectionOpenedIntent;
 import com.projectswg.holocore.intents.support.global.zone.NotifyPlayersPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.intents.support.objects.swg.ObjectTeleportIntent;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacket;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.Player.PlayerServer;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiConsumer;
 
 public class PlayerSessionService extends Service {
 	
 	private final Map<Long, Player> players;
+	private final Map<Terrain, Set<Player>> playersByTerrain;
+	private final Map<Player, Terrain> playerTerrains;
 	
 	public PlayerSessionService() {
 		this.players = new ConcurrentHashMap<>();
+		this.playersByTerrain = new EnumMap<>(Terrain.class);
+		this.playerTerrains = new ConcurrentHashMap<>();
+		for (Terrain terrain : Terrain.values())
+			playersByTerrain.put(terrain, ConcurrentHashMap.newKeySet());
 	}
 	
 	@IntentHandler
@@ -38,31 +49,89 @@ public class PlayerSessionService extends Service {
 	private void handleConnectionClosedIntent(ConnectionClosedIntent cci) {
 		Player p = cci.getPlayer();
 		players.remove(p.getNetworkId());
+		removeFromTerrain(p);
 		p.setPlayerState(PlayerState.DISCONNECTED);
 		p.setPlayerServer(PlayerServer.NONE);
 		new PlayerEventIntent(p, PlayerEvent.PE_LOGGED_OUT).broadcast();
 	}
 	
+	@IntentHandler
+	private void handlePlayerEventIntent(PlayerEventIntent pei) {
+		Player p = pei.getPlayer();
+		switch (pei.getEvent()) {
+			case PE_ZONE_IN_CLIENT: {
+				// Sent on every zone-in, including travel to another planet
+				CreatureObject creature = p.getCreatureObject();
+				if (creature != null && players.containsKey(p.getNetworkId()))
+					moveToTerrain(p, creature.getTerrain());
+				break;
+			}
+			case PE_DISAPPEAR:
+			case PE_DESTROYED:
+				removeFromTerrain(p);
+				break;
+			default:
+				break;
+		}
+	}
+	
+	@IntentHandler
+	private void handleObjectTeleportIntent(ObjectTeleportIntent oti) {
+		// Travel and admin teleports change planets before the client zones in again
+		if (!(oti.getObject() instanceof CreatureObject))
+			return;
+		CreatureObject creature = (CreatureObject) oti.getObject();
+		Player p = creature.getOwnerShallow();
+		if (p != null && p.getCreatureObject() == creature && players.containsKey(p.getNetworkId()))
+			moveToTerrain(p, creature.getTerrain());
+	}
+	
 	@IntentHandler
 	private void handleNotifyPlayersPacketIntent(NotifyPlayersPacketIntent nppi) {
+		SWGPacket packet = nppi.getPacket();
+		if (!(packet instanceof EncodedPacket))
+			packet = new EncodedPacket(packet); // Encoded once, and the same bytes are written to every recipient
+		
 		if (nppi.getNetworkIds() != null) {
 			if (nppi.getTerrain() != null)
-				notifyPlayersAtPlanet(nppi.getNetworkIds(), nppi.getCondition(), nppi.getTerrain(), nppi.getPacket());
+				notifyPlayersAtPlanet(nppi.getNetworkIds(), nppi.getCondition(), nppi.getTerrain(), packet);
 			else
-				notifyPlayers(nppi.getNetworkIds(), nppi.getCondition(), nppi.getPacket());
+				notifyPlayers(nppi.getNetworkIds(), nppi.getCondition(), packet);
 		} else {
 			if (nppi.getTerrain() != null)
-				notifyPlayersAtPlanet(nppi.getCondition(), nppi.getTerrain(), nppi.getPacket());
+				notifyPlayersAtPlanet(nppi.getCondition(), nppi.getTerrain(), packet);
 			else
-				notifyPlayers(nppi.getCondition(), nppi.getPacket());
+				notifyPlayers(nppi.getCondition(), packet);
 		}
 	}
 	
+	/**
+	 * Moves the player between the per-terrain sets inside the player's map entry, so that concurrent moves and
+	 * removals of the same player are applied one at a time
+	 */
+	private void moveToTerrain(Player player, Terrain terrain) {
+		playerTerrains.compute(player, (p, previous) -> {
+			if (previous != terrain) {
+				if (previous != null)
+					playersByTerrain.get(previous).remove(p);
+				playersByTerrain.get(terrain).add(p);
+			}
+			return terrain;
+		});
+	}
+	
+	private void removeFromTerrain(Player player) {
+		playerTerrains.computeIfPresent(player, (p, previous) -> {
+			playersByTerrain.get(previous).remove(p);
+			return null;
+		});
+	}
+	
 	private void notifyPlayers(SWGPacket packet) {
-		iteratePlayers((key, p) -> {
+		for (Player p : players.values()) {
 			if (p.getCreatureObject() != null)
 				p.sendPacket(packet);
-		});
+		}
 	}
 	
 	private void notifyPlayers(NotifyPlayersPacketIntent.ConditionalNotify conditional, SWGPacket packet) {
@@ -71,10 +140,10 @@ public class PlayerSessionService extends Service {
 			return;
 		}
 		
-		iteratePlayers((key, p) -> {
+		for (Player p : players.values()) {
 			if (conditional.meetsCondition(p))
 				p.sendPacket(packet);
-		});
+		}
 	}
 	
 	private void notifyPlayers(List<Long> networkIds, NotifyPlayersPacketIntent.ConditionalNotify conditionalNotify, SWGPacket packet) {
@@ -85,7 +154,7 @@ public class PlayerSessionService extends Service {
 		
 		networkIds.forEach(id -> {
 			Player p = getPlayerFromNetworkId(id);
-			if (p.getCreatureObject() != null && conditionalNotify.meetsCondition(p))
+			if (p != null && p.getCreatureObject() != null && conditionalNotify.meetsCondition(p))
 				p.sendPacket(packet);
 		});
 	}
@@ -93,7 +162,7 @@ public class PlayerSessionService extends Service {
 	private void notifyPlayers(List<Long> networkIds, SWGPacket packet) {
 		networkIds.forEach(id -> {
 			Player p = getPlayerFromNetworkId(id);
-			if (p.getCreatureObject() != null)
+			if (p != null && p.getCreatureObject() != null)
 				p.sendPacket(packet);
 		});
 	}
@@ -104,17 +173,17 @@ public class PlayerSessionService extends Service {
 			return;
 		}
 		
-		iteratePlayers((key, p) -> {
-			if (p.getCreatureObject() != null && p.getCreatureObject().getTerrain() == terrain && conditional.meetsCondition(p))
+		for (Player p : getPlayersAtPlanet(terrain)) {
+			if (isAtPlanet(p, terrain) && conditional.meetsCondition(p))
 				p.sendPacket(packet);
-		});
+		}
 	}
 	
 	private void notifyPlayersAtPlanet(Terrain terrain, SWGPacket packet) {
-		iteratePlayers((key, p) -> {
-			if (p.getCreatureObject() != null && p.getCreatureObject().getTerrain() == terrain)
+		for (Player p : getPlayersAtPlanet(terrain)) {
+			if (isAtPlanet(p, terrain))
 				p.sendPacket(packet);
-		});
+		}
 	}
 	
 	private void notifyPlayersAtPlanet(List<Long> networkIds, NotifyPlayersPacketIntent.ConditionalNotify conditional, Terrain terrain, SWGPacket packet) {
@@ -125,8 +194,7 @@ public class PlayerSessionService extends Service {
 		
 		networkIds.forEach(id -> {
 			Player p = getPlayerFromNetworkId(id);
-			assert p != null;
-			if (p.getCreatureObject() != null && p.getCreatureObject().getTerrain() == terrain && conditional.meetsCondition(p))
+			if (p != null && isAtPlanet(p, terrain) && conditional.meetsCondition(p))
 				p.sendPacket(packet);
 		});
 	}
@@ -134,18 +202,25 @@ public class PlayerSessionService extends Service {
 	private void notifyPlayersAtPlanet(List<Long> networkIds, Terrain terrain, SWGPacket packet) {
 		networkIds.forEach(id -> {
 			Player p = getPlayerFromNetworkId(id);
-			assert p != null;
-			if (p.getCreatureObject() != null && p.getCreatureObject().getTerrain() == terrain)
+			if (p != null && isAtPlanet(p, terrain))
 				p.sendPacket(packet);
 		});
 	}
 	
+	private Collection<Player> getPlayersAtPlanet(Terrain terrain) {
+		return playersByTerrain.get(terrain);
+	}
+	
 	private Player getPlayerFromNetworkId(long networkId) {
 		return players.get(networkId);
 	}
 	
-	private void iteratePlayers(BiConsumer<Long, Player> consumer) {
-		players.forEach(consumer);
+	/**
+	 * Guards against the short window between a creature changing planets and its teleport updating the index
+	 */
+	private static boolean isAtPlanet(Player player, Terrain terrain) {
+		CreatureObject creature = player.getCreatureObject();
+		return creature != null && creature.getTerrain() == terrain;
 	}
 	
 }
@@ -35,24 +35,60 @@ import com.projectswg.common.network.packets.swg.zone.server_ui.SuiCreatePageMes
 import com.projectswg.common.network.packets.swg.zone.server_ui.SuiEventNotification;
 import com.projectswg.common.network.packets.swg.zone.server_ui.SuiForceClosePage;
 import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
+import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.global.zone.sui.SuiWindowIntent;
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
 import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
+import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
 import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 import me.joshlarson.jlcommon.log.Log;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 public class SuiService extends Service {
-
-	private final Map<Long, List<SuiBaseWindow>> windows;
-
+	
+	private static final long EXPIRY_CHECK_RATE = TimeUnit.MINUTES.toMillis(1);
+	private static final AtomicInteger WINDOW_ID = new AtomicInteger((int) (System.currentTimeMillis() % Integer.MAX_VALUE));
+	
+	private final SuiWindowRegistry windows;
+	private final ScheduledThreadPool executor;
+	private final LongSupplier clock;
+	
 	public SuiService() {
-		this.windows = new ConcurrentHashMap<>();
+		this(System::currentTimeMillis,
+				TimeUnit.MINUTES.toMillis(PswgDatabase.INSTANCE.getConfig().getInt(SuiService.class, "suiWindowTimeout", 30)),
+				PswgDatabase.INSTANCE.getConfig().getInt(SuiService.class, "suiMaxWindows", 20));
+	}
+	
+	/**
+	 * @param clock the time source in milliseconds used to expire windows
+	 * @param windowTimeout the time in milliseconds a window may stay open before it is closed automatically
+	 * @param maxWindows the maximum number of windows a single player may have open at once
+	 */
+	SuiService(LongSupplier clock, long windowTimeout, int maxWindows) {
+		this.windows = new SuiWindowRegistry(windowTimeout, maxWindows);
+		this.executor = new ScheduledThreadPool(1, "sui-service");
+		this.clock = clock;
+	}
+	
+	@Override
+	public boolean start() {
+		executor.start();
+		executor.executeWithFixedRate(EXPIRY_CHECK_RATE, EXPIRY_CHECK_RATE, this::expireWindows);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		executor.stop();
+		return executor.awaitTermination(1000) && super.stop();
 	}
 	
 	@IntentHandler
@@ -81,14 +117,14 @@ public class SuiService extends Service {
 		}
 	}
 	
+	@IntentHandler
+	private void handlePlayerEventIntent(PlayerEventIntent pei) {
+		if (pei.getEvent() == PlayerEvent.PE_LOGGED_OUT)
+			windows.removePlayer(pei.getPlayer());
+	}
+	
 	private void handleSuiEventNotification(Player player, SuiEventNotification p) {
-		List<SuiBaseWindow> activeWindows = windows.get(player.getNetworkId());
-		if (activeWindows == null || activeWindows.size() <= 0) {
-			Log.w("There are no active windows for %s!", player);
-			return;
-		}
-
-		SuiBaseWindow window = getWindowById(activeWindows, p.getWindowId());
+		SuiBaseWindow window = windows.get(player, p.getWindowId());
 		
 		if (window == null) {
 			Log.w("Received window ID %d that is not assigned to the player %s", p.getWindowId(), player);
@@ -128,59 +164,48 @@ public class SuiService extends Service {
 
 		// Both of these events "closes" the sui window for the client, so we have no need for the server to continue tracking the window.
 		if (event == SuiEvent.OK_PRESSED || event == SuiEvent.CANCEL_PRESSED)
-			activeWindows.remove(window);
+			windows.remove(player, window.getId());
 	}
 	
 	private void displayWindow(Player player, SuiBaseWindow window) {
 		int id = createWindowId();
 		window.setId(id);
-
+		
 		SuiCreatePageMessage SWGPacket = new SuiCreatePageMessage(window);
 		player.sendPacket(SWGPacket);
-
-		long networkId = player.getNetworkId();
-		List<SuiBaseWindow> activeWindows = windows.computeIfAbsent(networkId, k -> new ArrayList<>());
-		activeWindows.add(window);
+		
+		SuiBaseWindow evicted = windows.add(player, window, clock.getAsLong());
+		if (evicted != null) {
+			Log.w("Player %s has too many open windows, closing window id %d", player, evicted.getId());
+			player.sendPacket(new SuiForceClosePage(evicted.getId()));
+		}
 	}
-
+	
 	private void closeWindow(Player player, SuiBaseWindow window) {
-		int id = window.getId();
-
-		List<SuiBaseWindow> activeWindows = windows.get(player.getNetworkId());
-
-		if (activeWindows == null) {
-			Log.w("Tried to close window id %d for player %s but it doesn't exist in the active windows.", id, player);
-			return;
-		}
-
-		if (!activeWindows.remove(window)) {
-			Log.w("Tried to close window id %d for player %s but it doesn't exist in the active windows.", id, player);
-			return;
-		}
-
-		player.sendPacket(new SuiForceClosePage(id));
+		closeWindow(player, window.getId());
 	}
-
+	
 	private void closeWindow(Player player, int windowId) {
-		List<SuiBaseWindow> activeWindows = windows.get(player.getNetworkId());
-		SuiBaseWindow window = activeWindows.get(windowId);
-		if (window == null) {
-			Log.w("Cannot close window with id %d as it doesn't exist in player %s active windows", windowId, player);
+		if (windows.remove(player, windowId) == null) {
+			Log.w("Tried to close window id %d for player %s but it doesn't exist in the active windows.", windowId, player);
 			return;
 		}
-
-		closeWindow(player, window);
+		
+		player.sendPacket(new SuiForceClosePage(windowId));
 	}
-
-	private SuiBaseWindow getWindowById(List<SuiBaseWindow> windows, int id) {
-		for (SuiBaseWindow window : windows) {
-			if (window.getId() == id)
-				return window;
-		}
-		return null;
+	
+	/**
+	 * Called every {@link #EXPIRY_CHECK_RATE} milliseconds, and closes every window that has been open for too long
+	 */
+	void expireWindows() {
+		windows.removeExpired(clock.getAsLong(), (player, window) -> player.sendPacket(new SuiForceClosePage(window.getId())));
 	}
-
+	
+	int getWindowCount(Player player) {
+		return windows.size(player);
+	}
+	
 	public static int createWindowId() {
-		return (int) (System.currentTimeMillis() % Integer.MAX_VALUE);
+		return WINDOW_ID.updateAndGet(id -> id == Integer.MAX_VALUE ? 1 : id + 1);
 	}
 }
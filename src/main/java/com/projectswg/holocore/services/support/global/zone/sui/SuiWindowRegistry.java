@@ -0,0 +1,216 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.zone.sui;
+
+import com.projectswg.common.data.sui.SuiBaseWindow;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Tracks the SUI windows each player currently has open, indexed by window id. Windows are closed automatically once
+ * they have been open longer than the timeout, or once a player opens more windows than allowed.
+ */
+final class SuiWindowRegistry {
+	
+	private final Map<Long, PlayerWindows> windows;
+	private final long windowTimeout;
+	private final int maxWindows;
+	
+	/**
+	 * @param windowTimeout the time in milliseconds a window may stay open before it expires
+	 * @param maxWindows the maximum number of windows a single player may have open at once
+	 */
+	SuiWindowRegistry(long windowTimeout, int maxWindows) {
+		this.windows = new ConcurrentHashMap<>();
+		this.windowTimeout = windowTimeout;
+		this.maxWindows = maxWindows;
+	}
+	
+	/**
+	 * Adds the window to the player's open windows, unless the player has already logged out
+	 * @param now the current time in milliseconds
+	 * @return the oldest window, if it had to be removed to make room for the new one
+	 */
+	@Nullable
+	SuiBaseWindow add(Player player, SuiBaseWindow window, long now) {
+		SuiBaseWindow [] evicted = new SuiBaseWindow[1];
+		windows.compute(player.getNetworkId(), (networkId, playerWindows) -> {
+			if (playerWindows == null) {
+				if (player.getPlayerState() == PlayerState.DISCONNECTED)
+					return null; // removePlayer has already run, or is about to
+				playerWindows = new PlayerWindows(player);
+			}
+			evicted[0] = playerWindows.add(window, now, maxWindows);
+			return playerWindows;
+		});
+		return evicted[0];
+	}
+	
+	@Nullable
+	SuiBaseWindow get(Player player, int windowId) {
+		PlayerWindows playerWindows = windows.get(player.getNetworkId());
+		return playerWindows == null ? null : playerWindows.get(windowId);
+	}
+	
+	@Nullable
+	SuiBaseWindow remove(Player player, int windowId) {
+		PlayerWindows playerWindows = windows.get(player.getNetworkId());
+		if (playerWindows == null)
+			return null;
+		SuiBaseWindow removed = playerWindows.remove(windowId);
+		removeIfEmpty(player.getNetworkId());
+		return removed;
+	}
+	
+	int size(Player player) {
+		PlayerWindows playerWindows = windows.get(player.getNetworkId());
+		return playerWindows == null ? 0 : playerWindows.size();
+	}
+	
+	/**
+	 * @return the number of players that currently have at least one open window
+	 */
+	int getPlayerCount() {
+		return windows.size();
+	}
+	
+	/**
+	 * Forgets every window of the player, without notifying the client
+	 * @return the number of windows that were removed
+	 */
+	int removePlayer(Player player) {
+		PlayerWindows playerWindows = windows.remove(player.getNetworkId());
+		return playerWindows == null ? 0 : playerWindows.size();
+	}
+	
+	/**
+	 * Removes every window that has been open longer than the timeout
+	 * @param now the current time in milliseconds
+	 * @param expiredHandler called for each window that was removed, along with its owner
+	 */
+	void removeExpired(long now, BiConsumer<Player, SuiBaseWindow> expiredHandler) {
+		long openedBefore = now - windowTimeout;
+		for (Entry<Long, PlayerWindows> entry : windows.entrySet()) {
+			PlayerWindows playerWindows = entry.getValue();
+			for (SuiBaseWindow window : playerWindows.removeOpenedBefore(openedBefore))
+				expiredHandler.accept(playerWindows.getPlayer(), window);
+			removeIfEmpty(entry.getKey());
+		}
+	}
+	
+	private void removeIfEmpty(long networkId) {
+		// Atomic with add, which only fills a player's windows from within compute
+		windows.computeIfPresent(networkId, (k, playerWindows) -> playerWindows.size() == 0 ? null : playerWindows);
+	}
+	
+	private static class PlayerWindows {
+		
+		private final Player player;
+		private final Map<Integer, OpenWindow> windows;	// in the order they were opened
+		
+		public PlayerWindows(Player player) {
+			this.player = player;
+			this.windows = new LinkedHashMap<>();
+		}
+		
+		public Player getPlayer() {
+			return player;
+		}
+		
+		public synchronized SuiBaseWindow add(SuiBaseWindow window, long now, int maxWindows) {
+			windows.put(window.getId(), new OpenWindow(window, now));
+			if (windows.size() <= maxWindows)
+				return null;
+			
+			Iterator<OpenWindow> it = windows.values().iterator();
+			SuiBaseWindow oldest = it.next().getWindow();
+			it.remove();
+			return oldest;
+		}
+		
+		public synchronized SuiBaseWindow get(int windowId) {
+			OpenWindow window = windows.get(windowId);
+			return window == null ? null : window.getWindow();
+		}
+		
+		public synchronized SuiBaseWindow remove(int windowId) {
+			OpenWindow window = windows.remove(windowId);
+			return window == null ? null : window.getWindow();
+		}
+		
+		public synchronized int size() {
+			return windows.size();
+		}
+		
+		public synchronized SuiBaseWindow [] removeOpenedBefore(long openedBefore) {
+			int expired = 0;
+			for (OpenWindow window : windows.values()) {
+				if (window.getOpenTime() >= openedBefore)
+					break;
+				expired++;
+			}
+			
+			SuiBaseWindow [] removed = new SuiBaseWindow[expired];
+			Iterator<OpenWindow> it = windows.values().iterator();
+			for (int i = 0; i < expired; i++) {
+				removed[i] = it.next().getWindow();
+				it.remove();
+			}
+			return removed;
+		}
+		
+	}
+	
+	private static class OpenWindow {
+		
+		private final SuiBaseWindow window;
+		private final long openTime;
+		
+		public OpenWindow(SuiBaseWindow window, long openTime) {
+			this.window = window;
+			this.openTime = openTime;
+		}
+		
+		public SuiBaseWindow getWindow() {
+			return window;
+		}
+		
+		public long getOpenTime() {
+			return openTime;
+		}
+		
+	}
+	
+}
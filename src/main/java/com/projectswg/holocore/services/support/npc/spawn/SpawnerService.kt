@@ -41,15 +41,18 @@ import com.projectswg.holocore.resources.support.data.server_info.loader.npc.Npc
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent
 import com.projectswg.holocore.resources.support.npc.spawn.NPCCreator
+import com.projectswg.holocore.resources.support.npc.spawn.SpawnVirtualizer
 import com.projectswg.holocore.resources.support.npc.spawn.Spawner
 import com.projectswg.holocore.resources.support.npc.spawn.SpawnerType
 import com.projectswg.holocore.resources.support.objects.ObjectCreator
+import com.projectswg.holocore.resources.support.objects.awareness.TerrainMap
 import com.projectswg.holocore.resources.support.objects.permissions.AdminPermissions
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
 import com.projectswg.holocore.resources.support.objects.swg.ServerAttribute
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject
 import com.projectswg.holocore.resources.support.objects.swg.custom.AIBehavior
 import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject
+import com.projectswg.holocore.services.support.global.zone.CharacterLookupService.PlayerLookup
 import com.projectswg.holocore.services.support.objects.ObjectStorageService.BuildingLookup
 import com.projectswg.holocore.services.support.objects.ObjectStorageService.ObjectLookup
 import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool
@@ -57,12 +60,18 @@ import me.joshlarson.jlcommon.control.IntentHandler
 import me.joshlarson.jlcommon.control.Service
 import me.joshlarson.jlcommon.log.Log
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 import java.util.stream.Collectors
 
 class SpawnerService : Service() {
 	
 	private val executor: ScheduledThreadPool = ScheduledThreadPool(1, "spawner-service")
 	private val adminsWithRoutes: MutableSet<CreatureObject> = ConcurrentHashMap.newKeySet()
+	private val virtualizationEnabled = PswgDatabase.config.getBoolean(this, "spawnVirtualization", true)
+	private val virtualizer = SpawnVirtualizer<Spawner>(
+			PswgDatabase.config.getDouble(this, "spawnMaterializeRadius", TerrainMap.CHUNK_WIDTH.toDouble()),
+			TimeUnit.SECONDS.toMillis(PswgDatabase.config.getLong(this, "spawnDematerializeDelay", 120)))
+	private var reportedMaterialized = -1
 	
 	override fun initialize(): Boolean {
 		executor.start()
@@ -72,6 +81,14 @@ class SpawnerService : Service() {
 		return true
 	}
 	
+	override fun start(): Boolean {
+		if (virtualizationEnabled) {
+			executor.executeWithFixedRate(VIRTUALIZATION_RATE, VIRTUALIZATION_RATE) { updateVirtualSpawners() }
+			executor.executeWithFixedRate(METRICS_RATE, METRICS_RATE) { reportVirtualSpawners() }
+		}
+		return super.start()
+	}
+	
 	override fun terminate(): Boolean {
 		executor.stop()
 		executor.awaitTermination(1000)
@@ -122,6 +139,11 @@ class SpawnerService : Service() {
 		}
 		
 		spawner.removeNPC(destroyedObject)
+		if (!spawner.isMaterialized) {
+			spawner.pool.clear()
+			return // Dematerialized - NPCs are recreated once a player approaches again
+		}
+		spawner.pool.release(destroyedObject)
 		if (spawner.behavior != AIBehavior.PATROL || spawner.npcs.isEmpty())
 			executor.execute((spawner.respawnDelay * 1000).toLong()) { respawn(spawner) }
 	}
@@ -141,6 +163,8 @@ class SpawnerService : Service() {
 		}
 		
 		StandardLog.onEndLoad(count, "spawners", startTime)
+		if (virtualizationEnabled)
+			Log.i("Virtualized %d spawners until a player is nearby", virtualizer.virtualCount)
 	}
 	
 	private fun spawn(spawn: StaticSpawnInfo) {
@@ -148,8 +172,14 @@ class SpawnerService : Service() {
 		val spawner = Spawner(spawn, egg)
 		egg.setServerAttribute(ServerAttribute.EGG_SPAWNER, spawner)
 		
-		for (i in 0 until spawner.amount) {
-			NPCCreator.createNPC(spawner)
+		// Patrols wander too far from their egg to be tracked by distance, so they are always materialized
+		if (virtualizationEnabled && spawner.behavior != AIBehavior.PATROL) {
+			spawner.isMaterialized = false
+			virtualizer.add(spawner, egg.worldLocation)
+		} else {
+			for (i in 0 until spawner.amount) {
+				NPCCreator.createNPC(spawner)
+			}
 		}
 		
 		val patrolRoute = spawner.patrolRoute
@@ -167,11 +197,38 @@ class SpawnerService : Service() {
 	}
 	
 	private fun respawn(spawner: Spawner) {
+		if (!spawner.isMaterialized)
+			return
 		for (i in spawner.npcs.size until spawner.amount) {
 			NPCCreator.createNPC(spawner)
 		}
 	}
 	
+	private fun updateVirtualSpawners() {
+		val players = PlayerLookup.getLoggedInCharacters().map { it.worldLocation }
+		virtualizer.update(players, System.currentTimeMillis(), this::materialize, this::dematerialize)
+	}
+	
+	private fun materialize(spawner: Spawner) {
+		spawner.isMaterialized = true
+		respawn(spawner)
+	}
+	
+	private fun dematerialize(spawner: Spawner) {
+		spawner.isMaterialized = false
+		for (npc in spawner.npcs) {
+			DestroyObjectIntent.broadcast(npc)
+		}
+	}
+	
+	private fun reportVirtualSpawners() {
+		val materialized = virtualizer.materializedCount
+		if (materialized != reportedMaterialized) {
+			reportedMaterialized = materialized
+			Log.d("Spawners: %d materialized, %d virtual", materialized, virtualizer.virtualCount)
+		}
+	}
+	
 	private fun createEgg(spawn: StaticSpawnInfo): SWGObject {
 		val spawnerType = SpawnerType.valueOf(spawn.spawnerType)
 		val egg = ObjectCreator.createObjectFromTemplate(spawnerType.objectTemplate)
@@ -201,4 +258,11 @@ class SpawnerService : Service() {
 		return cellObject
 	}
 	
+	companion object {
+		
+		private const val VIRTUALIZATION_RATE = 1000L
+		private const val METRICS_RATE = 60_000L
+		
+	}
+	
 }
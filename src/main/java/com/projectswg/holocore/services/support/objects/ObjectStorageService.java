@@ -6,6 +6,7 @@ import com.projectswg.common.network.packets.swg.zone.object_controller.Intended
 import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.objects.swg.DestroyObjectIntent;
 import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.support.data.collections.LongObjectMap;
 import com.projectswg.holocore.resources.support.data.persistable.SWGObjectFactory;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.data.server_info.loader.BuildoutLoader;
@@ -24,25 +25,25 @@ import me.joshlarson.jlcommon.log.Log;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 
 public class ObjectStorageService extends Service {
 	
 	private final ScheduledThreadPool persistenceThread;
 	private final Set<SWGObject> persistedObjects;
-	private final Map<Long, SWGObject> objectMap;
+	private final LongObjectMap<SWGObject> objectMap;
 	private final Map<Long, SWGObject> buildouts;
 	private final Map<String, BuildingObject> buildingLookup;
 	
 	public ObjectStorageService() {
 		this.persistenceThread = new ScheduledThreadPool(1, 3, "object-storage-service");
 		this.persistedObjects = new CopyOnWriteArraySet<>();
-		this.objectMap = new ConcurrentHashMap<>(256*1024, 0.8f, Runtime.getRuntime().availableProcessors());
+		this.objectMap = new LongObjectMap<>(256*1024);
 		this.buildouts = new HashMap<>(128*1024, 1f);
 		this.buildingLookup = new HashMap<>();
 	}
@@ -215,9 +216,9 @@ public class ObjectStorageService extends Service {
 	
 	public static class ObjectLookup {
 		
-		private static final AtomicReference<Function<Long, SWGObject>> AUTHORITY = new AtomicReference<>(null);
+		private static final AtomicReference<LongFunction<SWGObject>> AUTHORITY = new AtomicReference<>(null);
 		
-		static void setObjectAuthority(Function<Long, SWGObject> authority) {
+		static void setObjectAuthority(LongFunction<SWGObject> authority) {
 			AUTHORITY.set(authority);
 		}
 		
@@ -47,6 +47,7 @@ import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
 import com.projectswg.holocore.resources.support.objects.awareness.ObjectAwareness;
+import com.projectswg.holocore.resources.support.objects.awareness.TeleportGroup;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
@@ -56,7 +57,9 @@ import me.joshlarson.jlcommon.control.Service;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AwarenessService extends Service {
 	
@@ -70,6 +73,18 @@ public class AwarenessService extends Service {
 		this.chunkUpdater = new ScheduledThreadPool(1, 8, "awareness-chunk-updater");
 	}
 	
+	@Override
+	public boolean initialize() {
+		AwarenessLookup.setAwarenessAuthority(awareness);
+		return true;
+	}
+	
+	@Override
+	public boolean terminate() {
+		AwarenessLookup.setAwarenessAuthority(null);
+		return true;
+	}
+	
 	@Override
 	public boolean start() {
 		awareness.startThreadPool();
@@ -134,7 +149,7 @@ public class AwarenessService extends Service {
 		
 		if (isPlayerZoneInRequired(obj, oldLocation, newLocation)) {
 			assert obj instanceof CreatureObject;
-			handleZoneIn((CreatureObject) obj, newLocation, newParent);
+			handleZoneIn((CreatureObject) obj, newLocation, newParent, oti.getGroup());
 			return;
 		}
 		
@@ -144,7 +159,7 @@ public class AwarenessService extends Service {
 				newWorldLocation = Location.builder(newWorldLocation).translateLocation(newParent.getWorldLocation()).build();
 			obj.sendSelf(new DataTransform(obj.getObjectId(), 0, obj.getNextUpdateCount(), newWorldLocation, 0));
 		}
-		awareness.updateObject(obj);
+		updateObject(obj, oti.getGroup());
 		sendObjectUpdates(obj, oti.getOldParent(), oti.getNewParent(), oldLocation, newLocation, 0);
 		if (obj instanceof CreatureObject)
 			((CreatureObject) obj).setTeleportDestination(newParent, newLocation);
@@ -172,10 +187,10 @@ public class AwarenessService extends Service {
 	
 	@IntentHandler
 	private void handleRequestZoneInIntent(RequestZoneInIntent rzii) {
-		handleZoneIn(rzii.getCreature(), rzii.getCreature().getLocation(), rzii.getCreature().getParent());
+		handleZoneIn(rzii.getCreature(), rzii.getCreature().getLocation(), rzii.getCreature().getParent(), null);
 	}
 	
-	private void handleZoneIn(CreatureObject creature, Location loc, SWGObject parent) {
+	private void handleZoneIn(CreatureObject creature, Location loc, SWGObject parent, @Nullable TeleportGroup group) {
 		@NotNull Player player = Objects.requireNonNull(creature.getOwner(), "Player zoning in without an owner");
 		@NotNull PlayerState state = player.getPlayerState();
 		
@@ -193,10 +208,17 @@ public class AwarenessService extends Service {
 		creature.resetObjectsAware();
 		creature.clearDeltas();
 		startZone(player, creature, firstZone);
-		awareness.updateObject(creature);
+		updateObject(creature, group);
 		sendObjectUpdates(creature, oldParent, parent, oldLocation, loc, 0);
 	}
 	
+	private void updateObject(@NotNull SWGObject obj, @Nullable TeleportGroup group) {
+		if (group == null)
+			awareness.updateObject(obj);
+		else
+			awareness.updateObject(obj, group);
+	}
+	
 	private void startZone(Player player, CreatureObject creature, boolean firstZone) {
 		@NotNull Location loc = creature.getWorldLocation();
 		
@@ -274,4 +296,35 @@ public class AwarenessService extends Service {
 			obj.sendObservers(new UpdateTransformMessage(obj.getObjectId(), counter, newLocation, (byte) speed));
 	}
 	
+	public static class AwarenessLookup {
+		
+		private static final AtomicReference<ObjectAwareness> AUTHORITY = new AtomicReference<>(null);
+		
+		static void setAwarenessAuthority(ObjectAwareness authority) {
+			AUTHORITY.set(authority);
+		}
+		
+		public static boolean isDefined() {
+			return AUTHORITY.get() != null;
+		}
+		
+		/**
+		 * Returns every creature directly in the world within the specified distance of the point, ignoring height
+		 */
+		@NotNull
+		public static List<CreatureObject> getCreaturesInRange(@NotNull Terrain terrain, double x, double z, double radius) {
+			return AUTHORITY.get().getCreaturesInRange(terrain, x, z, radius);
+		}
+		
+		/**
+		 * Returns every player within the specified distance of the point, ignoring height, including players that are
+		 * inside buildings or mounted
+		 */
+		@NotNull
+		public static List<CreatureObject> getPlayersInRange(@NotNull Terrain terrain, double x, double z, double radius) {
+			return AUTHORITY.get().getPlayersInRange(terrain, x, z, radius);
+		}
+		
+	}
+	
 }
@@ -28,8 +28,11 @@ package com.projectswg.holocore.services.support.objects.items;
 
 import com.projectswg.holocore.intents.gameplay.combat.buffs.BuffIntent;
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent;
+import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.objects.swg.ContainerTransferIntent;
+import com.projectswg.holocore.intents.support.objects.swg.DestroyObjectIntent;
 import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.ServerAttribute;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
@@ -37,12 +40,18 @@ import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SetBonusService extends Service {
 	
-	public SetBonusService() {
+	private static final String PIECE_BONUS_PREFIX = "@set_bonus:piece_bonus_count_";
+	
+	private final Map<Integer, SetBonus> setBonuses;
+	private final Map<Long, EquippedSets> equippedSets;
 	
+	public SetBonusService() {
+		this.setBonuses = new ConcurrentHashMap<>();
+		this.equippedSets = new ConcurrentHashMap<>();
 	}
 	
 	@IntentHandler
@@ -51,13 +60,24 @@ public class SetBonusService extends Service {
 		SWGObject newContainer = intent.getContainer();
 		SWGObject oldContainer = intent.getOldContainer();
 		
+		if (object.getServerAttribute(ServerAttribute.SET_BONUS_ID) == null) {
+			// This item isn't part of a set
+			return;
+		}
+		
+		int setId = object.getServerIntAttribute(ServerAttribute.SET_BONUS_ID);
+		if (oldContainer instanceof CreatureObject)
+			getEquippedSets((CreatureObject) oldContainer).remove(object);
+		if (newContainer instanceof CreatureObject)
+			getEquippedSets((CreatureObject) newContainer).add(object, setId);
+		
 		if (newContainer == null || oldContainer == null) {
 			return;
 		}
 		
-		int minPiecesRequired = minPiecesRequired(object);
+		SetBonus setBonus = getSetBonus(setId, object);
 		
-		if (minPiecesRequired < 0) {
+		if (setBonus.isEmpty()) {
 			// This item doesn't have a set bonus associated with it at all
 			return;
 		}
@@ -65,33 +85,59 @@ public class SetBonusService extends Service {
 		if (newContainer instanceof CreatureObject) {
 			// They equipped an object
 			CreatureObject creature = (CreatureObject) newContainer;
-			long equipped = matchingPieces(creature, object);
+			int equipped = getEquippedSets(creature).count(setId);
 			
-			if (equipped < minPiecesRequired) {
+			if (equipped < setBonus.getMinPiecesRequired()) {
 				// The creature does not have enough matching pieces equipped to qualify for the first set bonus
 				return;
 			}
 			
-			String attribute = "@set_bonus:piece_bonus_count_" + equipped;
-			
-			checkSetBonus(creature, object, attribute, false);
+			checkSetBonus(creature, setBonus.getBonus(equipped), false);
 		} else if (oldContainer instanceof CreatureObject) {
 			// They unequipped an object
 			CreatureObject creature = (CreatureObject) oldContainer;
+			int equipped = getEquippedSets(creature).count(setId);
 			
-			long equipped = matchingPieces(creature, object);
-			
-			boolean remove = equipped < minPiecesRequired;
-			long bonus = findBonus(equipped, object, remove);
-			String attribute = "@set_bonus:piece_bonus_count_" + bonus;
-			
-			checkSetBonus(creature, object, attribute, remove);
+			if (equipped < setBonus.getMinPiecesRequired())
+				checkSetBonus(creature, setBonus.getNextBonus(equipped), true);
+			else
+				checkSetBonus(creature, setBonus.getPreviousBonus(equipped), false);
 		}
 	}
 	
-	private void checkSetBonus(CreatureObject creature, SWGObject object, String attribute, boolean remove) {
-		String attributeValue = object.getAttribute(attribute);
-		
+	@IntentHandler
+	private void handlePlayerEventIntent(PlayerEventIntent pei) {
+		if (pei.getEvent() == PlayerEvent.PE_LOGGED_OUT) {
+			CreatureObject creature = pei.getPlayer().getCreatureObject();
+			if (creature != null)
+				equippedSets.remove(creature.getObjectId());
+		}
+	}
+	
+	@IntentHandler
+	private void handleDestroyObjectIntent(DestroyObjectIntent doi) {
+		equippedSets.remove(doi.getObject().getObjectId());
+	}
+	
+	/**
+	 * Only caches a set once an item of it carries the bonus attributes, so one bare item can't hide the set's bonuses
+	 */
+	private SetBonus getSetBonus(int setId, SWGObject object) {
+		SetBonus cached = setBonuses.get(setId);
+		if (cached != null)
+			return cached;
+		SetBonus parsed = SetBonus.parse(object);
+		if (parsed.isEmpty())
+			return parsed;
+		SetBonus previous = setBonuses.putIfAbsent(setId, parsed);
+		return previous == null ? parsed : previous;
+	}
+	
+	private EquippedSets getEquippedSets(CreatureObject creature) {
+		return equippedSets.computeIfAbsent(creature.getObjectId(), id -> EquippedSets.scan(creature));
+	}
+	
+	private void checkSetBonus(CreatureObject creature, String attributeValue, boolean remove) {
 		if (attributeValue == null) {
 			return;
 		}
@@ -125,52 +171,112 @@ public class SetBonusService extends Service {
 		return attributeValue + "_sys";
 	}
 	
-	private int minPiecesRequired(SWGObject object) {
-		return bonusCounts(object)
-				.reduce(Math::min)
-				.orElse(-1);
-	}
-	
 	/**
-	 * Finds the nearest bonus for the given amount of matching pieces. The search can go up or down.
-	 * @param matchingPieces amount of pieces equipped for this set
-	 * @param object to search for the nearest bonus on
-	 * @param up if {@code true} then the search will find the next available bonus. If {@code false} then the search
-	 *           will find the bonus that the creature should already have.
-	 * @return the number for the resulting bonus
+	 * The bonuses of a single set, sorted by the amount of pieces required. Parsed once per set from the
+	 * "@set_bonus:piece_bonus_count_N" attributes that every item of the set carries.
 	 */
-	private long findBonus(long matchingPieces, SWGObject object, boolean up) {
-		return up ? findNextBonus(matchingPieces, object) : findPrevBonus(matchingPieces, object);
-	}
-	
-	private long findNextBonus(long matchingPieces, SWGObject object) {
-		return bonusCounts(object)
-				.filter(count -> count >= matchingPieces)
-				.reduce(Math::min)
-				.orElse(0);
-	}
-	
-	private long findPrevBonus(long matchingPieces, SWGObject object) {
-		return bonusCounts(object)
-				.filter(count -> count <= matchingPieces)
-				.reduce(Math::max)
-				.orElse(0);
-	}
-	
-	private long matchingPieces(CreatureObject creature, SWGObject object) {
-		return creature.getSlottedObjects().stream()
-				.distinct()	// An item can occupy multiple slots - ensure an item is only counted once
-				.map(slottedObject -> slottedObject.getServerAttribute(ServerAttribute.SET_BONUS_ID))
-				.filter(Objects::nonNull)
-				.filter(setId -> Objects.equals(setId, object.getServerAttribute(ServerAttribute.SET_BONUS_ID)))
-				.count();
+	private static class SetBonus {
+		
+		private final int [] pieces;
+		private final String [] bonuses;
+		
+		private SetBonus(int [] pieces, String [] bonuses) {
+			this.pieces = pieces;
+			this.bonuses = bonuses;
+		}
+		
+		public boolean isEmpty() {
+			return pieces.length == 0;
+		}
+		
+		public int getMinPiecesRequired() {
+			return pieces[0];
+		}
+		
+		/**
+		 * @return the bonus for exactly this amount of pieces, or null if there is none
+		 */
+		public String getBonus(int matchingPieces) {
+			int index = Arrays.binarySearch(pieces, matchingPieces);
+			return index >= 0 ? bonuses[index] : null;
+		}
+		
+		/**
+		 * @return the first bonus that requires at least this amount of pieces, or null if there is none
+		 */
+		public String getNextBonus(int matchingPieces) {
+			for (int i = 0; i < pieces.length; i++) {
+				if (pieces[i] >= matchingPieces)
+					return bonuses[i];
+			}
+			return null;
+		}
+		
+		/**
+		 * @return the bonus the creature should already have with this amount of pieces, or null if there is none
+		 */
+		public String getPreviousBonus(int matchingPieces) {
+			for (int i = pieces.length - 1; i >= 0; i--) {
+				if (pieces[i] <= matchingPieces)
+					return bonuses[i];
+			}
+			return null;
+		}
+		
+		public static SetBonus parse(SWGObject object) {
+			SortedMap<Integer, String> bonuses = new TreeMap<>();
+			for (Map.Entry<String, String> attribute : object.getAttributes().entrySet()) {
+				String name = attribute.getKey();
+				if (name.startsWith(PIECE_BONUS_PREFIX))
+					bonuses.put(Integer.parseInt(name.substring(PIECE_BONUS_PREFIX.length())), attribute.getValue());
+			}
+			int [] pieces = new int[bonuses.size()];
+			int index = 0;
+			for (int count : bonuses.keySet())
+				pieces[index++] = count;
+			return new SetBonus(pieces, bonuses.values().toArray(new String[0]));
+		}
+		
 	}
 	
-	private IntStream bonusCounts(SWGObject object) {
-		return object.getAttributes().keySet().stream()
-				.filter(attrName -> attrName.startsWith("@set_bonus:piece_bonus_count_"))
-				.map(attrName -> attrName.replace("@set_bonus:piece_bonus_count_", ""))
-				.mapToInt(Integer::parseInt);
+	/**
+	 * The amount of equipped pieces per set for a single creature. Items are tracked by id, so an item that occupies
+	 * multiple slots is only counted once and repeated transfers of the same item are harmless.
+	 */
+	private static class EquippedSets {
+		
+		private final Map<Long, Integer> setIdByItem;
+		private final Map<Integer, Integer> piecesBySetId;
+		
+		private EquippedSets() {
+			this.setIdByItem = new HashMap<>();
+			this.piecesBySetId = new HashMap<>();
+		}
+		
+		public synchronized void add(SWGObject item, int setId) {
+			if (setIdByItem.putIfAbsent(item.getObjectId(), setId) == null)
+				piecesBySetId.merge(setId, 1, Integer::sum);
+		}
+		
+		public synchronized void remove(SWGObject item) {
+			Integer setId = setIdByItem.remove(item.getObjectId());
+			if (setId != null)
+				piecesBySetId.computeIfPresent(setId, (id, pieces) -> pieces > 1 ? pieces - 1 : null);
+		}
+		
+		public synchronized int count(int setId) {
+			return piecesBySetId.getOrDefault(setId, 0);
+		}
+		
+		public static EquippedSets scan(CreatureObject creature) {
+			EquippedSets sets = new EquippedSets();
+			for (SWGObject slottedObject : creature.getSlottedObjects()) {
+				if (slottedObject.getServerAttribute(ServerAttribute.SET_BONUS_ID) != null)
+					sets.add(slottedObject, slottedObject.getServerIntAttribute(ServerAttribute.SET_BONUS_ID));
+			}
+			return sets;
+		}
+		
 	}
 	
 }
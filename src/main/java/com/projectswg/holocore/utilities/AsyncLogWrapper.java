@@ -0,0 +1,177 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.utilities;
+
+import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
+import me.joshlarson.jlcommon.log.Log.LogLevel;
+import me.joshlarson.jlcommon.log.LogWrapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves the actual writing of log lines off the logging thread.  Log lines are placed into a fixed-size, lock-free ring
+ * buffer and written to the wrapped {@link LogWrapper}s by a single dedicated writer thread.  If the ring buffer is
+ * full, the line is written on the calling thread instead so that nothing is lost.  The wrapped log wrappers are only
+ * ever called by one thread at a time.  Lines below the server log level ({@link StandardLog#getLevel()}) are dropped.
+ */
+public class AsyncLogWrapper implements LogWrapper, AutoCloseable {
+	
+	private static final long IDLE_PARK_TIME = TimeUnit.MILLISECONDS.toNanos(5);
+	
+	private final List<LogWrapper> wrappers;
+	private final Slot [] slots;
+	private final int mask;
+	private final AtomicLong tail;
+	private final Thread writer;
+	private final Object writeLock;
+	private long head;
+	private volatile boolean running;
+	
+	/**
+	 * Creates a new asynchronous log wrapper and starts its writer thread
+	 * @param capacity the number of log lines that can be queued, rounded up to the next power of two
+	 * @param wrappers the log wrappers to write to
+	 */
+	public AsyncLogWrapper(int capacity, @NotNull LogWrapper ... wrappers) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.wrappers = List.of(wrappers);
+		this.slots = new Slot[size];
+		this.mask = size - 1;
+		this.tail = new AtomicLong(0);
+		this.writeLock = new Object();
+		this.head = 0;
+		this.running = true;
+		for (int i = 0; i < size; i++)
+			slots[i] = new Slot(i);
+		
+		this.writer = new Thread(this::writerLoop, "log-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+	
+	@Override
+	public void onLog(LogLevel level, String str) {
+		if (!StandardLog.isEnabled(level))
+			return;
+		if (!running || !offer(level, str))
+			write(level, str);
+	}
+	
+	/**
+	 * Stops the writer thread after every queued log line has been written
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private boolean offer(LogLevel level, String str) {
+		long position = tail.get();
+		Slot slot;
+		while (true) {
+			slot = slots[(int) (position & mask)];
+			long difference = slot.sequence - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1))
+					break;
+				position = tail.get();
+			} else if (difference < 0) {
+				return false; // Full
+			} else {
+				position = tail.get();
+			}
+		}
+		slot.level = level;
+		slot.message = str;
+		slot.sequence = position + 1; // Publishes the log line to the writer
+		return true;
+	}
+	
+	private boolean drain() {
+		boolean drained = false;
+		while (true) {
+			Slot slot = slots[(int) (head & mask)];
+			if (slot.sequence != head + 1)
+				return drained;
+			LogLevel level = slot.level;
+			String message = slot.message;
+			slot.level = null;
+			slot.message = null;
+			slot.sequence = head + slots.length; // Releases the slot for the next lap
+			head++;
+			write(level, message);
+			drained = true;
+		}
+	}
+	
+	private void writerLoop() {
+		while (running) {
+			if (!drain())
+				LockSupport.parkNanos(IDLE_PARK_TIME);
+		}
+		drain();
+	}
+	
+	private void write(LogLevel level, String str) {
+		// Overflowing lines are written by the calling thread, so writes are serialized with the writer thread
+		synchronized (writeLock) {
+			for (LogWrapper wrapper : wrappers) {
+				try {
+					wrapper.onLog(level, str);
+				} catch (Exception e) {
+					// Logging must never take down the writer thread, but the failure can't be logged either
+					//noinspection UseOfSystemOutOrSystemErr
+					System.err.println("Failed to write log line to " + wrapper + ": " + e);
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+	
+	private static class Slot {
+		
+		private volatile long sequence;
+		private LogLevel level;
+		private String message;
+		
+		public Slot(long sequence) {
+			this.sequence = sequence;
+		}
+		
+	}
+	
+}
@@ -27,6 +27,7 @@
 package com.projectswg.holocore.utilities
 
 import com.projectswg.holocore.intents.support.global.chat.SystemChatRoomMessageIntent
+import com.projectswg.holocore.resources.support.data.server_info.StandardLog
 import me.joshlarson.jlcommon.control.IntentChain
 import me.joshlarson.jlcommon.log.Log
 import me.joshlarson.jlcommon.log.LogWrapper
@@ -36,6 +37,8 @@ class ChatRoomLogWrapper(private val roomPath: String) : LogWrapper {
 	private val intentChain = IntentChain()
 	
 	override fun onLog(level: Log.LogLevel, str: String) {
+		if (!StandardLog.isEnabled(level))
+			return
 		val message = when (level) {
 			Log.LogLevel.TRACE  -> return
 			Log.LogLevel.DATA   -> " \\#5555FF\\D: "+str.substringAfter(": ")
@@ -0,0 +1,108 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.gameplay.crafting.resource.galactic;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class TestResourceConcentrationRaster extends TestRunnerNoIntents {
+	
+	// Steepest falloff is 2*(max-min)/radius = 1 per meter, over half a cell diagonal, plus integer truncation
+	private static final double TOLERANCE = ResourceConcentrationRaster.CELL_SIZE * Math.sqrt(2) / 2 + 1;
+	private static final double RIM_DISTANCE = ResourceConcentrationRaster.CELL_SIZE * Math.sqrt(2);
+	
+	@Test
+	public void testMatchesExactConcentration() {
+		GalacticResource resource = createResource(Terrain.TATOOINE, 30);
+		List<GalacticResourceSpawn> spawns = resource.getSpawns(Terrain.TATOOINE);
+		ResourceConcentrationRaster raster = resource.getConcentrationRaster(Terrain.TATOOINE);
+		Random random = new Random(0);
+		
+		for (int i = 0; i < 50_000; i++) {
+			GalacticResourceSpawn center = spawns.get(random.nextInt(spawns.size()));
+			double angle = random.nextDouble() * Math.PI * 2;
+			double distance = Math.sqrt(random.nextDouble()) * center.getRadius() * 1.2;
+			double x = center.getX() + Math.cos(angle) * distance;
+			double z = center.getZ() + Math.sin(angle) * distance;
+			
+			// Interpolation smooths the step at the edge of a spawn, which is bounded by that spawn's minimum concentration
+			double error = Math.abs(raster.getConcentration(x, z) - getExactConcentration(spawns, x, z));
+			Assert.assertTrue("error " + error + " at " + x + ", " + z, error <= TOLERANCE + getRimAllowance(spawns, x, z));
+		}
+	}
+	
+	@Test
+	public void testInvalidatedOnSpawnChange() {
+		GalacticResource resource = createResource(Terrain.TATOOINE, 1);
+		ResourceConcentrationRaster raster = resource.getConcentrationRaster(Terrain.TATOOINE);
+		Assert.assertSame(raster, resource.getConcentrationRaster(Terrain.TATOOINE));
+		
+		GalacticResourceSpawn spawn = resource.getSpawns(Terrain.TATOOINE).get(0);
+		resource.removeSpawn(spawn);
+		ResourceConcentrationRaster empty = resource.getConcentrationRaster(Terrain.TATOOINE);
+		Assert.assertNotSame(raster, empty);
+		Assert.assertEquals(0, empty.getTileCount());
+		Assert.assertEquals(0, empty.getConcentration(spawn.getX(), spawn.getZ()), 0);
+		
+		resource.addSpawn(spawn);
+		Assert.assertEquals(spawn.getMaxConcentration(), resource.getConcentrationRaster(Terrain.TATOOINE).getConcentration(spawn.getX(), spawn.getZ()), TOLERANCE);
+	}
+	
+	private static GalacticResource createResource(Terrain terrain, int spawnCount) {
+		GalacticResource resource = new GalacticResource(1, "raster", 1);
+		for (int i = 0; i < spawnCount; i++) {
+			GalacticResourceSpawn spawn = new GalacticResourceSpawn(resource.getId());
+			spawn.setRandomValues(terrain);
+			resource.addSpawn(spawn);
+		}
+		return resource;
+	}
+	
+	private static int getExactConcentration(List<GalacticResourceSpawn> spawns, double x, double z) {
+		int concentration = 0;
+		for (GalacticResourceSpawn spawn : spawns) {
+			concentration += spawn.getConcentration(spawn.getTerrain(), x, z);
+		}
+		return concentration;
+	}
+	
+	private static int getRimAllowance(List<GalacticResourceSpawn> spawns, double x, double z) {
+		int allowance = 0;
+		for (GalacticResourceSpawn spawn : spawns) {
+			double distance = Math.sqrt((spawn.getX() - x) * (spawn.getX() - x) + (spawn.getZ() - z) * (spawn.getZ() - z));
+			if (Math.abs(distance - spawn.getRadius()) <= RIM_DISTANCE)
+				allowance += spawn.getMinConcentration();
+		}
+		return allowance;
+	}
+	
+}
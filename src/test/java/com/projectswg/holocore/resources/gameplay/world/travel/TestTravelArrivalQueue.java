@@ -0,0 +1,229 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.gameplay.world.travel;
+
+import com.projectswg.common.data.location.Location;
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.data.encodables.tangible.Posture;
+import com.projectswg.holocore.resources.gameplay.world.travel.TravelArrivalQueue.Arrival;
+import com.projectswg.holocore.resources.gameplay.world.travel.TravelArrivalQueue.BoardingCheck;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.objects.awareness.ObjectAwareness;
+import com.projectswg.holocore.resources.support.objects.awareness.TeleportGroup;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestTravelArrivalQueue extends TestRunnerNoIntents {
+	
+	private static final int ARRIVALS_PER_TICK = 5;
+	private static final int NEAR_SCENERY = 10;
+	private static final int FAR_SCENERY = 500;
+	
+	private static long nextSceneryId = 100_000;
+	
+	@Test
+	public void testSimultaneousArrivals() throws InterruptedException {
+		TravelPoint [] destinations = {
+				new TravelPoint("Mos Eisley Starport", new Location(3500, 5, -4800, Terrain.TATOOINE), null, true),
+				new TravelPoint("Coronet Starport", new Location(-75, 28, -4723, Terrain.CORELLIA), null, true)
+		};
+		ObjectAwareness awareness = new ObjectAwareness();
+		for (TravelPoint destination : destinations)
+			addScenery(awareness, destination.getLocation());
+		
+		Map<Long, TravelPoint> arrived = new ConcurrentHashMap<>();
+		AtomicInteger sceneryChecks = new AtomicInteger(0);
+		AtomicInteger tickGroups = new AtomicInteger(0);
+		TravelArrivalQueue queue = new TravelArrivalQueue(ARRIVALS_PER_TICK, (destination, travelers) -> {
+			TeleportGroup group = new TeleportGroup();
+			for (Arrival arrival : travelers) {
+				Assert.assertNull(arrived.put(arrival.getTraveler().getObjectId(), destination));
+				arrival.getTraveler().systemMove(null, destination.getLocation());
+				awareness.updateObject(arrival.getTraveler(), group);
+			}
+			tickGroups.incrementAndGet();
+		});
+		
+		// 100 travelers using their tickets at the same time, from 4 different threads
+		int travelerCount = 100;
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			int firstId = t * travelerCount / 4 + 1;
+			threads.add(new Thread(() -> {
+				for (int id = firstId; id < firstId + travelerCount / 4; id++)
+					Assert.assertTrue(queue.enqueue(new CountingCreatureObject(id, sceneryChecks), null, null, destinations[id % destinations.length]));
+			}));
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		Assert.assertEquals(travelerCount, queue.size());
+		
+		int ticks = 0;
+		while (queue.size() > 0) {
+			sceneryChecks.set(0);
+			tickGroups.set(0);
+			queue.tick();
+			ticks++;
+			// Each group scans the scenery around its destination once, then each traveler only checks what's nearby
+			int expected = tickGroups.get() * (FAR_SCENERY + NEAR_SCENERY) + ARRIVALS_PER_TICK * NEAR_SCENERY;
+			Assert.assertTrue("scenery checks in tick " + ticks + " were " + sceneryChecks.get(), sceneryChecks.get() <= expected);
+			Assert.assertTrue(sceneryChecks.get() < ARRIVALS_PER_TICK * FAR_SCENERY);
+		}
+		
+		Assert.assertEquals(travelerCount / ARRIVALS_PER_TICK, ticks);
+		Assert.assertEquals(travelerCount, arrived.size());
+		for (Map.Entry<Long, TravelPoint> e : arrived.entrySet())
+			Assert.assertEquals(destinations[(int) (e.getKey() % destinations.length)], e.getValue());
+	}
+	
+	@Test
+	public void testArrivalsGroupedByDestination() {
+		TravelPoint destination = new TravelPoint("Theed Spaceport", new Location(-4858, 6, 4164, Terrain.NABOO), null, true);
+		List<Integer> groupSizes = new ArrayList<>();
+		TravelArrivalQueue queue = new TravelArrivalQueue(ARRIVALS_PER_TICK, (d, travelers) -> groupSizes.add(travelers.size()));
+		for (int id = 1; id <= ARRIVALS_PER_TICK + 2; id++)
+			queue.enqueue(new GenericCreatureObject(id), null, null, destination);
+		
+		queue.tick();
+		queue.tick();
+		Assert.assertEquals(List.of(ARRIVALS_PER_TICK, 2), groupSizes);
+	}
+	
+	@Test
+	public void testDuplicateEnqueue() {
+		TravelPoint destination = new TravelPoint("Theed Spaceport", new Location(-4858, 6, 4164, Terrain.NABOO), null, true);
+		TravelArrivalQueue queue = new TravelArrivalQueue(ARRIVALS_PER_TICK, (d, travelers) -> {});
+		GenericCreatureObject traveler = new GenericCreatureObject(1);
+		
+		Assert.assertTrue(queue.enqueue(traveler, null, null, destination));
+		Assert.assertFalse(queue.enqueue(traveler, null, null, destination));
+		queue.tick();
+		Assert.assertTrue(queue.enqueue(traveler, null, null, destination));
+	}
+	
+	@Test
+	public void testBoardingChecks() {
+		GenericCreatureObject collector = new GenericCreatureObject(1, "collector", false);
+		collector.setPosition(Terrain.TATOOINE, 3500, 5, -4800);
+		TravelPoint departure = new TravelPoint("Mos Eisley Starport", collector.getLocation(), null, true);
+		departure.setCollector(collector);
+		TravelPoint destination = new TravelPoint("Theed Spaceport", new Location(-4858, 6, 4164, Terrain.NABOO), null, true);
+		GenericCreatureObject traveler = new GenericCreatureObject(2, "traveler");
+		traveler.setPosition(Terrain.TATOOINE, 3503, 5, -4800);
+		SWGObject ticket = new GenericTangibleObject(3);
+		ticket.systemMove(traveler.getSlottedObject("inventory"));
+		Arrival arrival = new Arrival(traveler, ticket, departure, destination);
+		Assert.assertEquals(BoardingCheck.BOARDING, arrival.checkBoarding());
+		
+		traveler.setPosition(Terrain.TATOOINE, 3530, 5, -4800);
+		Assert.assertEquals(BoardingCheck.TOO_FAR, arrival.checkBoarding());
+		Assert.assertEquals("@travel:boarding_too_far", arrival.checkBoarding().getMessage());
+		traveler.setPosition(Terrain.TATOOINE, 3503, 5, -4800);
+		
+		traveler.setPosture(Posture.DEAD);
+		Assert.assertEquals(BoardingCheck.INCAPACITATED, arrival.checkBoarding());
+		Assert.assertNotNull(arrival.checkBoarding().getMessage());
+		traveler.setPosture(Posture.UPRIGHT);
+		
+		traveler.getOwner().setPlayerState(PlayerState.DISCONNECTED);
+		Assert.assertEquals(BoardingCheck.NOT_ZONED_IN, arrival.checkBoarding());
+		Assert.assertNull(arrival.checkBoarding().getMessage());
+		traveler.getOwner().setPlayerState(PlayerState.ZONED_IN);
+		
+		ticket.systemMove(null);
+		Assert.assertEquals(BoardingCheck.NO_TICKET, arrival.checkBoarding());
+		Assert.assertEquals("@travel:no_ticket", arrival.checkBoarding().getMessage());
+		ticket.systemMove(traveler.getSlottedObject("inventory"));
+		Assert.assertEquals(BoardingCheck.BOARDING, arrival.checkBoarding());
+	}
+	
+	@Test
+	public void testStopAdmitsRemaining() {
+		TravelPoint destination = new TravelPoint("Theed Spaceport", new Location(-4858, 6, 4164, Terrain.NABOO), null, true);
+		AtomicInteger arrivals = new AtomicInteger(0);
+		TravelArrivalQueue queue = new TravelArrivalQueue(1, (d, travelers) -> arrivals.addAndGet(travelers.size()));
+		queue.start();
+		for (int id = 1; id <= 20; id++)
+			queue.enqueue(new GenericCreatureObject(id), null, null, destination);
+		queue.stop();
+		
+		Assert.assertEquals(20, arrivals.get());
+		Assert.assertEquals(0, queue.size());
+	}
+	
+	private static void addScenery(ObjectAwareness awareness, Location destination) {
+		Random random = new Random(destination.getTerrain().ordinal());
+		for (int i = 0; i < NEAR_SCENERY + FAR_SCENERY; i++) {
+			// Far scenery shares the destination's awareness chunks, but is out of range of anyone arriving
+			double distance = i < NEAR_SCENERY ? random.nextDouble() * 50 : 600 + random.nextDouble() * 300;
+			double angle = random.nextDouble() * Math.PI * 2;
+			Scenery scenery = new Scenery(nextSceneryId++);
+			scenery.setPosition(destination.getTerrain(), destination.getX() + Math.cos(angle) * distance, destination.getY(), destination.getZ() + Math.sin(angle) * distance);
+			awareness.createObject(scenery);
+		}
+	}
+	
+	private static class Scenery extends GenericTangibleObject {
+		
+		public Scenery(long objectId) {
+			super(objectId);
+		}
+		
+	}
+	
+	private static class CountingCreatureObject extends GenericCreatureObject {
+		
+		private final AtomicInteger sceneryChecks;
+		
+		public CountingCreatureObject(long objectId, AtomicInteger sceneryChecks) {
+			super(objectId, "traveler" + objectId);
+			this.sceneryChecks = sceneryChecks;
+		}
+		
+		@Override
+		public boolean isWithinAwarenessRange(SWGObject target) {
+			if (target instanceof Scenery)
+				sceneryChecks.incrementAndGet();
+			return super.isWithinAwarenessRange(target);
+		}
+		
+	}
+	
+}
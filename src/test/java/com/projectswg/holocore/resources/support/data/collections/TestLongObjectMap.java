@@ -0,0 +1,189 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.collections;
+
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestLongObjectMap extends TestRunnerNoIntents {
+	
+	@Test
+	public void testBasicOperations() {
+		LongObjectMap<String> map = new LongObjectMap<>(4);
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.put(0, "zero"));
+		Assert.assertNull(map.put(-5, "negative"));
+		Assert.assertNull(map.put(Long.MAX_VALUE, "max"));
+		Assert.assertEquals("zero", map.put(0, "ZERO"));
+		Assert.assertEquals(3, map.size());
+		
+		Assert.assertEquals("ZERO", map.get(0));
+		Assert.assertEquals("negative", map.get(-5));
+		Assert.assertEquals("max", map.get(Long.MAX_VALUE));
+		Assert.assertNull(map.get(1));
+		Assert.assertFalse(map.containsKey(1));
+		
+		Assert.assertEquals("negative", map.remove(-5));
+		Assert.assertNull(map.remove(-5));
+		Assert.assertNull(map.get(-5));
+		Assert.assertEquals(2, map.size());
+		
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(0));
+	}
+	
+	@Test(expected = NullPointerException.class)
+	public void testNullValue() {
+		new LongObjectMap<String>().put(1, null);
+	}
+	
+	@Test
+	public void testMatchesHashMap() {
+		// Few segments and a small key space, so probe runs get long and removals have to shift entries back
+		LongObjectMap<Long> map = new LongObjectMap<>(16, 2);
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(0);
+		for (int i = 0; i < 200_000; i++) {
+			long key = random.nextInt(5000) - 100;
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				long value = random.nextLong();
+				Assert.assertEquals(expected.put(key, value), map.put(key, value));
+			}
+			if (i % 10_000 == 0) {
+				Assert.assertEquals(expected.size(), map.size());
+				for (long check = -100; check < 4900; check++)
+					Assert.assertEquals(expected.get(check), map.get(check));
+			}
+		}
+		
+		List<Long> values = new ArrayList<>();
+		map.forEach(values::add);
+		Assert.assertEquals(new HashSet<>(expected.values()), new HashSet<>(values));
+		Assert.assertEquals(expected.size(), values.size());
+	}
+	
+	@Test
+	public void testConcurrentReadersAndWriters() throws InterruptedException {
+		LongObjectMap<Long> map = new LongObjectMap<>(1024, 4);
+		int stableCount = 10_000;
+		for (long id = 0; id < stableCount; id++)
+			map.put(id, id);
+		
+		int writers = 4;
+		int readers = 4;
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<String> failure = new AtomicReference<>(null);
+		CountDownLatch finished = new CountDownLatch(writers + readers);
+		List<Thread> threads = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			long base = 1_000_000L * (w + 1);
+			threads.add(new Thread(() -> {
+				// Each writer churns its own key range, growing and shrinking it so segments resize under the readers
+				Random random = new Random(base);
+				try {
+					for (int round = 0; round < 20 && failure.get() == null; round++) {
+						for (long id = base; id < base + 20_000; id++)
+							map.put(id, id);
+						for (long id = base; id < base + 20_000; id++) {
+							if (random.nextBoolean() && map.remove(id) == null)
+								failure.compareAndSet(null, "lost key " + id);
+						}
+						for (long id = base; id < base + 20_000; id++)
+							map.remove(id);
+					}
+				} finally {
+					finished.countDown();
+				}
+			}));
+		}
+		for (int r = 0; r < readers; r++) {
+			threads.add(new Thread(() -> {
+				Random random = new Random();
+				try {
+					while (running.get() && failure.get() == null) {
+						long id = random.nextInt(stableCount);
+						Long value = map.get(id);
+						if (value == null || value != id)
+							failure.compareAndSet(null, "read " + value + " for stable key " + id);
+						Long churned = map.get(1_000_000L + random.nextInt(20_000));
+						if (churned != null && churned < 1_000_000L)
+							failure.compareAndSet(null, "read " + churned + " for churned key");
+					}
+				} finally {
+					finished.countDown();
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (int i = 0; i < writers; i++)
+			threads.get(i).join();
+		running.set(false);
+		finished.await();
+		
+		Assert.assertNull(failure.get());
+		Assert.assertEquals(stableCount, map.size());
+		for (long id = 0; id < stableCount; id++)
+			Assert.assertEquals(Long.valueOf(id), map.get(id));
+	}
+	
+	@Test(timeout = 5000)
+	public void testWriteDuringForEach() {
+		LongObjectMap<Long> map = new LongObjectMap<>(16, 2);
+		for (long id = 0; id < 100; id++)
+			map.put(id, id);
+		
+		Set<Long> seen = new HashSet<>();
+		map.forEach(value -> {
+			if (value >= 1000)
+				return; // Added by this iteration, in a segment that hadn't been visited yet
+			seen.add(value);
+			map.remove(value);
+			map.put(value + 1000, value + 1000);
+		});
+		Assert.assertEquals(100, seen.size());
+		for (long id = 0; id < 100; id++) {
+			Assert.assertNull(map.get(id));
+			Assert.assertEquals(Long.valueOf(id + 1000), map.get(id + 1000));
+		}
+	}
+	
+}
@@ -0,0 +1,68 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info;
+
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import me.joshlarson.jlcommon.log.Log;
+import me.joshlarson.jlcommon.log.Log.LogLevel;
+import me.joshlarson.jlcommon.log.log_wrapper.ConsoleLogWrapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestStandardLog extends TestRunnerNoIntents {
+	
+	@After
+	public void resetLog() {
+		StandardLog.setLevel(LogLevel.TRACE);
+		Log.clearWrappers();
+		Log.addWrapper(new ConsoleLogWrapper());
+	}
+	
+	@Test
+	public void testLevelFilter() {
+		List<String> lines = new ArrayList<>();
+		Log.clearWrappers();
+		Log.addWrapper((level, str) -> lines.add(str));
+		GenericCreatureObject creature = new GenericCreatureObject(1, "Test Name");
+		
+		StandardLog.setLevel(LogLevel.INFO);
+		StandardLog.onPlayerTrace(this, creature, "trace %d", 1);
+		StandardLog.onPlayerEvent(this, creature, "event %d", 2);
+		Assert.assertTrue(lines.isEmpty());
+		
+		StandardLog.onPlayerError(this, creature, "error %d", 3);
+		Assert.assertEquals(1, lines.size());
+		Assert.assertTrue(lines.get(0).contains("[TestStandardLog] "));
+		Assert.assertTrue(lines.get(0).endsWith("error 3"));
+	}
+	
+}
@@ -0,0 +1,132 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.database
+
+import com.projectswg.common.data.encodables.player.Mail
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import java.time.Instant
+
+class TestPswgMailDatabase: TestRunnerNoIntents() {
+	
+	private lateinit var mails: PswgMailDatabase
+	
+	@Before
+	fun setup() {
+		mails = PswgMailDatabase.createDefault()
+	}
+	
+	@Test
+	fun testHeaderListing() {
+		addMails(RECEIVER, MAIL_COUNT)
+		addMails(OTHER_RECEIVER, 10, firstId = MAIL_COUNT + 1)
+		
+		val headers = mails.getMailHeaders(RECEIVER)
+		Assert.assertEquals(MAIL_COUNT, headers.size)
+		Assert.assertEquals((1..MAIL_COUNT).toSet(), headers.map { it.id }.toSet())
+		for (header in headers) {
+			Assert.assertEquals(RECEIVER, header.receiverId)
+			Assert.assertEquals("subject ${header.id}", header.subject)
+			Assert.assertEquals("", header.message)
+		}
+		Assert.assertEquals(10, mails.getMailHeaders(OTHER_RECEIVER).size)
+		Assert.assertTrue(mails.getMailHeaders(1234).isEmpty())
+		Assert.assertEquals(MAIL_COUNT + 10, mails.maxMailId)
+	}
+	
+	@Test
+	fun testBodyRetrieval() {
+		addMails(RECEIVER, MAIL_COUNT)
+		
+		for (id in listOf(1, MAIL_COUNT / 2, MAIL_COUNT)) {
+			val mail = mails.getMail(id)
+			Assert.assertNotNull(mail)
+			Assert.assertEquals(createBody(id), mail!!.message)
+		}
+		Assert.assertNull(mails.getMail(MAIL_COUNT + 1))
+	}
+	
+	@Test
+	fun testStatusAndRemoval() {
+		addMails(RECEIVER, 3)
+		
+		mails.setMailStatus(2, Mail.READ)
+		Assert.assertEquals(Mail.READ, mails.getMail(2)!!.status)
+		Assert.assertEquals(Mail.READ, mails.getMailHeaders(RECEIVER).first { it.id == 2 }.status)
+		
+		Assert.assertTrue(mails.removeMail(2))
+		Assert.assertFalse(mails.removeMail(2))
+		Assert.assertNull(mails.getMail(2))
+		Assert.assertEquals(setOf(1, 3), mails.getMailHeaders(RECEIVER).map { it.id }.toSet())
+	}
+	
+	@Test
+	fun testRemoveRequiresReceiver() {
+		addMails(RECEIVER, 2)
+		
+		Assert.assertFalse(mails.removeMail(1, OTHER_RECEIVER))
+		Assert.assertNotNull(mails.getMail(1))
+		Assert.assertTrue(mails.removeMail(1, RECEIVER))
+		Assert.assertFalse(mails.removeMail(1, RECEIVER))
+		Assert.assertNull(mails.getMail(1))
+		Assert.assertEquals(listOf(2), mails.getMailHeaders(RECEIVER).map { it.id })
+	}
+	
+	@Test
+	fun testRemoveAllForReceiver() {
+		addMails(RECEIVER, 5)
+		addMails(OTHER_RECEIVER, 2, firstId = 6)
+		
+		Assert.assertEquals(5, mails.removeMails(RECEIVER))
+		Assert.assertEquals(0, mails.removeMails(RECEIVER))
+		Assert.assertTrue(mails.getMailHeaders(RECEIVER).isEmpty())
+		Assert.assertNull(mails.getMail(1))
+		Assert.assertEquals(setOf(6, 7), mails.getMailHeaders(OTHER_RECEIVER).map { it.id }.toSet())
+	}
+	
+	private fun addMails(receiverId: Long, count: Int, firstId: Int = 1) {
+		for (id in firstId until firstId + count) {
+			val mail = Mail("sender", "subject $id", createBody(id), receiverId)
+			mail.id = id
+			mail.timestamp = Instant.now()
+			mails.addMail(mail)
+		}
+	}
+	
+	private fun createBody(id: Int): String = "This is the body of mail $id. ".repeat(8)
+	
+	companion object {
+		
+		private const val MAIL_COUNT = 10_000
+		private const val RECEIVER = 5L
+		private const val OTHER_RECEIVER = 6L
+		
+	}
+	
+}
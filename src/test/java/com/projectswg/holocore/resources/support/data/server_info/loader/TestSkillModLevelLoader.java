@@ -0,0 +1,24 @@
+package com.projectswg.holocore.resources.support.data.server_info.loader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class TestSkillModLevelLoader {
+	
+	@Test
+	public void testValues() throws IOException {
+		var loader = new SkillModLevelLoader();
+		loader.load();
+		
+		Assert.assertEquals(1, loader.getProfessionValue(1, "smuggler_luck"));
+		Assert.assertEquals(1000, loader.getProfessionValue(1, "smuggler_health"));
+		Assert.assertEquals(1100, loader.getProfessionValue(2, "smuggler_health"));
+		Assert.assertEquals(1, loader.getRacialValue(2, "hum_pre"));
+		Assert.assertEquals(0, loader.getRacialValue(2, "hum_lck"));
+		Assert.assertEquals(0, loader.getProfessionValue(1000, "smuggler_luck"));
+		Assert.assertEquals(0, loader.getProfessionValue(1, "not_a_column"));
+	}
+	
+}
@@ -0,0 +1,112 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.terrain;
+
+import com.projectswg.common.data.location.Terrain;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class TestTerrainHeightGrid {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test
+	public void testPlaneIsExact() throws IOException {
+		TerrainHeightSource plane = (terrain, x, z) -> 0.25 * x - 0.5 * z + 40;
+		TerrainHeightGrid grid = bake(plane, 1024, 8);
+		Assert.assertEquals(129, grid.getNodes());
+		
+		Random random = new Random(0);
+		for (int i = 0; i < 10_000; i++) {
+			double x = random.nextDouble() * 1024 - 512;
+			double z = random.nextDouble() * 1024 - 512;
+			Assert.assertEquals(plane.getHeight(Terrain.TATOOINE, x, z), grid.getHeight(x, z), grid.getQuantizationError() * 2);
+		}
+	}
+	
+	@Test
+	public void testHillsWithinTolerance() throws IOException {
+		TerrainHeightSource hills = (terrain, x, z) -> 30 * Math.sin(x / 120) * Math.cos(z / 90) + 10 * Math.sin(z / 40);
+		TerrainHeightGrid grid = bake(hills, 2048, 4);
+		
+		// Bilinear error is bounded by h^2/8 times the largest second derivative, which is well under 0.1m here
+		Random random = new Random(0);
+		for (int i = 0; i < 10_000; i++) {
+			double x = random.nextDouble() * 2048 - 1024;
+			double z = random.nextDouble() * 2048 - 1024;
+			Assert.assertEquals(hills.getHeight(Terrain.TATOOINE, x, z), grid.getHeight(x, z), 0.1 + grid.getQuantizationError());
+		}
+	}
+	
+	@Test
+	public void testNodesAreExact() throws IOException {
+		TerrainHeightSource source = (terrain, x, z) -> (x * 31 + z * 17) % 97;
+		TerrainHeightGrid grid = bake(source, 256, 16);
+		for (double x = -128; x <= 128; x += 16) {
+			for (double z = -128; z <= 128; z += 16) {
+				Assert.assertEquals(source.getHeight(Terrain.TATOOINE, x, z), grid.getHeight(x, z), grid.getQuantizationError() * 2);
+			}
+		}
+	}
+	
+	@Test
+	public void testClampedOutsideGrid() throws IOException {
+		TerrainHeightGrid grid = bake((terrain, x, z) -> x, 256, 8);
+		Assert.assertEquals(128, grid.getHeight(10_000, 0), 0.01);
+		Assert.assertEquals(-128, grid.getHeight(-10_000, 5_000), 0.01);
+		Assert.assertEquals(0, grid.getHeight(0, -10_000), 0.01);
+	}
+	
+	@Test
+	public void testFlat() throws IOException {
+		TerrainHeightGrid grid = bake((terrain, x, z) -> 12.5, 256, 8);
+		Assert.assertEquals(0, grid.getQuantizationError(), 0);
+		Assert.assertEquals(12.5, grid.getHeight(3, 7), 0);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testRejectsInvalidFile() throws IOException {
+		Path file = folder.newFile("invalid.hgt").toPath();
+		Files.write(file, new byte[64]);
+		TerrainHeightGrid.map(file);
+	}
+	
+	private TerrainHeightGrid bake(TerrainHeightSource source, double size, double cellSize) throws IOException {
+		Path file = folder.getRoot().toPath().resolve("grid.hgt");
+		TerrainHeightGrid.bake(file, Terrain.TATOOINE, source, size, cellSize);
+		return TerrainHeightGrid.map(file);
+	}
+	
+}
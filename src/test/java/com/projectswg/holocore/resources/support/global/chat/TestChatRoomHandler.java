@@ -0,0 +1,122 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.chat;
+
+import com.projectswg.common.data.encodables.chat.ChatAvatar;
+import com.projectswg.common.data.encodables.chat.ChatRoom;
+import com.projectswg.common.data.encodables.oob.OutOfBandPackage;
+import com.projectswg.common.network.packets.swg.zone.chat.ChatOnSendRoomMessage;
+import com.projectswg.common.network.packets.swg.zone.chat.ChatRoomMessage;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacket;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericPlayer;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestChatRoomHandler extends TestRunnerNoIntents {
+	
+	private ChatRoomHandler handler;
+	private ChatRoom room;
+	
+	@Before
+	public void setup() {
+		ChatAvatar system = ChatAvatar.getSystemAvatar();
+		String path = "SWG." + system.getGalaxy() + ".test";
+		handler = new ChatRoomHandler();
+		Assert.assertTrue(handler.createRoom(system, true, false, path, "test room", false));
+		room = handler.getRoomByPath(path);
+		Assert.assertNotNull(room);
+	}
+	
+	@Test
+	public void testFanOutToLargeRoom() {
+		// No character lookup authority is registered in this test, so resolving any member by name would fail
+		List<GenericPlayer> members = joinMembers(2000);
+		GenericPlayer sender = members.get(0);
+		
+		handler.sendMessageToRoom(sender, room, 5, "hello", new OutOfBandPackage());
+		Assert.assertNotNull(sender.getNextPacket(ChatOnSendRoomMessage.class));
+		
+		EncodedPacket shared = null;
+		for (GenericPlayer member : members) {
+			EncodedPacket received = member.getNextPacket(EncodedPacket.class);
+			Assert.assertNotNull(received);
+			Assert.assertTrue(received.getPacket() instanceof ChatRoomMessage);
+			if (shared == null)
+				shared = received;
+			Assert.assertSame(shared, received);
+			Assert.assertNull(member.getNextPacket());
+		}
+	}
+	
+	@Test
+	public void testLeaveAndLogout() {
+		List<GenericPlayer> members = joinMembers(3);
+		handler.leaveChatChannel(members.get(1), room, 0);
+		handler.leaveChatChannels(members.get(2));
+		members.forEach(GenericPlayer::clearPackets);
+		
+		handler.sendMessageToRoom(members.get(0), room, 0, "hello", new OutOfBandPackage());
+		Assert.assertNotNull(members.get(0).getNextPacket(EncodedPacket.class));
+		Assert.assertNull(members.get(1).getNextPacket());
+		Assert.assertNull(members.get(2).getNextPacket());
+		Assert.assertTrue(room.getMembers().contains(new ChatAvatar(members.get(2).getCharacterChatName())));
+		
+		handler.enterChatChannel(members.get(2), room, 0, false);
+		members.forEach(GenericPlayer::clearPackets);
+		handler.sendMessageToRoom(members.get(0), room, 0, "welcome back", new OutOfBandPackage());
+		Assert.assertNotNull(members.get(2).getNextPacket(EncodedPacket.class));
+	}
+	
+	@Test
+	public void testKick() {
+		List<GenericPlayer> members = joinMembers(2);
+		Assert.assertTrue(handler.removeMember(room, new ChatAvatar(members.get(1).getCharacterChatName())));
+		members.forEach(GenericPlayer::clearPackets);
+		
+		handler.sendPacketToMembers(room, new ChatOnSendRoomMessage(0, 0));
+		Assert.assertNotNull(members.get(0).getNextPacket(EncodedPacket.class));
+		Assert.assertNull(members.get(1).getNextPacket());
+	}
+	
+	private List<GenericPlayer> joinMembers(int count) {
+		List<GenericPlayer> members = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			GenericCreatureObject creature = new GenericCreatureObject(i + 1, "member" + i);
+			handler.enterChatChannel(creature.getOwner(), room, 0, false);
+			members.add(creature.getOwner());
+		}
+		members.forEach(GenericPlayer::clearPackets);
+		return members;
+	}
+	
+}
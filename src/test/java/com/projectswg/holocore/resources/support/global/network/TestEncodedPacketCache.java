@@ -0,0 +1,101 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.NetBuffer;
+import com.projectswg.common.network.NetworkProtocol;
+import com.projectswg.common.network.packets.swg.zone.GcwRegionsRsp;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestEncodedPacketCache extends TestRunnerNoIntents {
+	
+	@Test
+	public void testEncodedOnce() {
+		EncodedPacketCache<String> cache = new EncodedPacketCache<>();
+		AtomicInteger created = new AtomicInteger(0);
+		
+		EncodedPacket first = cache.get("tatooine", key -> { created.incrementAndGet(); return new GcwRegionsRsp(List.of()); });
+		EncodedPacket second = cache.get("tatooine", key -> { created.incrementAndGet(); return new GcwRegionsRsp(List.of()); });
+		Assert.assertSame(first, second);
+		Assert.assertEquals(1, created.get());
+		
+		cache.get("naboo", key -> { created.incrementAndGet(); return new GcwRegionsRsp(List.of()); });
+		Assert.assertEquals(2, created.get());
+		Assert.assertEquals(2, cache.size());
+	}
+	
+	@Test
+	public void testInvalidate() {
+		EncodedPacketCache<String> cache = new EncodedPacketCache<>();
+		EncodedPacket first = cache.get("tatooine", key -> new GcwRegionsRsp(List.of()));
+		cache.get("naboo", key -> new GcwRegionsRsp(List.of()));
+		
+		cache.invalidate("tatooine");
+		Assert.assertEquals(1, cache.size());
+		Assert.assertNotSame(first, cache.get("tatooine", key -> new GcwRegionsRsp(List.of())));
+		
+		cache.invalidateIf(key -> key.startsWith("n"));
+		Assert.assertEquals(1, cache.size());
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+	}
+	
+	@Test
+	public void testSharedBytes() {
+		GcwRegionsRsp packet = new GcwRegionsRsp(List.of());
+		EncodedPacket encoded = new EncodedPacket(packet);
+		ByteBuffer expected = NetworkProtocol.encode(packet).getBuffer();
+		
+		ByteBuffer first = encoded.getEncoded();
+		ByteBuffer second = encoded.getEncoded();
+		Assert.assertTrue(first.isReadOnly());
+		Assert.assertEquals(expected, first);
+		first.position(first.limit());	// Consuming one view must not affect the others
+		Assert.assertEquals(expected, second);
+		Assert.assertEquals(expected, encoded.getEncoded());
+		Assert.assertEquals(packet.getPacketType(), encoded.getPacketType());
+	}
+	
+	@Test
+	public void testDecode() {
+		GcwRegionsRsp packet = new GcwRegionsRsp(List.of());
+		EncodedPacket encoded = new EncodedPacket(new GcwRegionsRsp(List.of()));
+		
+		NetBuffer data = packet.encode();
+		data.position(0);
+		encoded.decode(data);
+		Assert.assertEquals(NetworkProtocol.encode(packet).getBuffer(), encoded.getEncoded());
+		Assert.assertTrue(encoded.getEncoded().isReadOnly());
+	}
+	
+}
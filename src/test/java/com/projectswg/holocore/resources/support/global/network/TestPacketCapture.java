@@ -0,0 +1,201 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.hcap.PacketRecord;
+import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.common.network.packets.swg.zone.CmdSceneReady;
+import com.projectswg.common.network.packets.swg.zone.SceneCreateObjectByCrc;
+import com.projectswg.common.network.packets.swg.zone.SceneEndBaselines;
+import com.projectswg.common.network.packets.swg.zone.insertion.CmdStartScene;
+import com.projectswg.holocore.resources.support.objects.ObjectCreator;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import com.projectswg.utility.packets.PacketCaptureAnalysis;
+import kotlin.Unit;
+import me.joshlarson.jlcommon.control.IntentManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestPacketCapture extends TestRunnerNoIntents {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@After
+	public void removeCapture() {
+		NetworkClient.setCapture(null);
+	}
+	
+	@Test
+	public void testNoIntentsWhenDisabled() {
+		AtomicInteger written = new AtomicInteger(0);
+		NetworkClient client = createClient(written);
+		
+		long intents = IntentManager.getInstance().getIntentCount();
+		for (int i = 0; i < 100; i++)
+			client.getPlayer().sendPacket(new CmdSceneReady());
+		Assert.assertEquals(100, written.get());
+		Assert.assertEquals(intents, IntentManager.getInstance().getIntentCount());
+	}
+	
+	@Test
+	public void testSessionRoundTrip() throws IOException {
+		File directory = folder.newFolder();
+		CreatureObject creature = (CreatureObject) ObjectCreator.createObjectFromTemplate(getUniqueId(), "object/creature/player/shared_human_male.iff");
+		creature.setPosition(Terrain.TATOOINE, 3500, 5, -4800);
+		
+		PacketCapture capture = new PacketCapture(directory, 1024 * 1024);
+		NetworkClient.setCapture(capture);
+		NetworkClient client = createClient(new AtomicInteger(0));
+		for (SWGPacket packet : createZoneIn(creature))
+			client.getPlayer().sendPacket(packet);
+		NetworkClient.setCapture(null);
+		capture.close();
+		
+		File [] files = directory.listFiles();
+		Assert.assertNotNull(files);
+		Assert.assertEquals(1, files.length);
+		Map<Long, List<PacketRecord>> sessions = PacketCaptureAnalysis.readCapture(files[0]);
+		Assert.assertEquals(Set.of(client.getId()), sessions.keySet());
+		List<PacketRecord> packets = sessions.get(client.getId());
+		Assert.assertEquals(createZoneIn(creature).size(), packets.size());
+		Assert.assertTrue(packets.stream().allMatch(PacketRecord::isServer));
+		
+		PacketCaptureAnalysis analysis = PacketCaptureAnalysis.from(packets);
+		Assert.assertEquals(List.of(), analysis.getErrors());
+		Assert.assertEquals(1, analysis.getCharacterZoneIns());
+		Assert.assertEquals(1, analysis.getObjectCreations());
+		Assert.assertEquals(1, analysis.getPlayers().size());
+		Assert.assertEquals(creature.getObjectId(), analysis.getPlayers().get(0).getObjectId());
+	}
+	
+	@Test
+	public void testInterleavedSessions() throws IOException {
+		File directory = folder.newFolder();
+		CreatureObject first = (CreatureObject) ObjectCreator.createObjectFromTemplate(getUniqueId(), "object/creature/player/shared_human_male.iff");
+		CreatureObject second = (CreatureObject) ObjectCreator.createObjectFromTemplate(getUniqueId(), "object/creature/player/shared_human_male.iff");
+		first.setPosition(Terrain.TATOOINE, 3500, 5, -4800);
+		second.setPosition(Terrain.NABOO, -5000, 6, 4200);
+		
+		PacketCapture capture = new PacketCapture(directory, 1024 * 1024);
+		NetworkClient.setCapture(capture);
+		NetworkClient firstClient = createClient(new AtomicInteger(0));
+		NetworkClient secondClient = createClient(new AtomicInteger(0));
+		List<SWGPacket> firstZoneIn = createZoneIn(first);
+		List<SWGPacket> secondZoneIn = createZoneIn(second);
+		for (int i = 0; i < firstZoneIn.size(); i++) {
+			firstClient.getPlayer().sendPacket(firstZoneIn.get(i));
+			secondClient.getPlayer().sendPacket(secondZoneIn.get(i));
+		}
+		NetworkClient.setCapture(null);
+		capture.close();
+		
+		File [] files = directory.listFiles();
+		Assert.assertNotNull(files);
+		Map<Long, List<PacketRecord>> sessions = PacketCaptureAnalysis.readCapture(files[0]);
+		Assert.assertEquals(List.of(firstClient.getId(), secondClient.getId()), new ArrayList<>(sessions.keySet()));
+		for (CreatureObject creature : List.of(first, second)) {
+			long networkId = (creature == first ? firstClient : secondClient).getId();
+			PacketCaptureAnalysis analysis = PacketCaptureAnalysis.from(sessions.get(networkId));
+			Assert.assertEquals(List.of(), analysis.getErrors());
+			Assert.assertEquals(1, analysis.getCharacterZoneIns());
+			Assert.assertEquals(creature.getObjectId(), analysis.getPlayers().get(0).getObjectId());
+		}
+	}
+	
+	@Test
+	public void testRotation() throws IOException {
+		File directory = folder.newFolder();
+		try (PacketCapture capture = new PacketCapture(directory, 1)) {
+			for (int i = 0; i < 3; i++)
+				capture.record(true, 1, new SceneEndBaselines(i));
+		}
+		
+		File [] files = directory.listFiles();
+		Assert.assertNotNull(files);
+		Arrays.sort(files);
+		Assert.assertEquals(3, files.length);
+		for (int i = 0; i < 3; i++) {
+			List<PacketCapture.Frame> frames = PacketCapture.read(files[i]);
+			Assert.assertEquals(1, frames.size());
+			Assert.assertEquals(1, frames.get(0).getNetworkId());
+			Assert.assertArrayEquals(new SceneEndBaselines(i).encode().array(), frames.get(0).getData());
+		}
+	}
+	
+	@Test
+	public void testDisabledAfterFailedRotate() throws IOException {
+		File notDirectory = folder.newFile();
+		try (PacketCapture capture = new PacketCapture(notDirectory, 1024)) {
+			Assert.assertFalse(capture.isDisabled());
+			capture.record(true, 1, new SceneEndBaselines(1));
+			Assert.assertTrue(capture.isDisabled());
+			capture.record(true, 1, new SceneEndBaselines(2));
+			Assert.assertTrue(capture.isDisabled());
+		}
+		Assert.assertEquals(0, notDirectory.length());
+	}
+	
+	private static NetworkClient createClient(AtomicInteger written) {
+		return new NetworkClient(new InetSocketAddress("127.0.0.1", 44463), buffer -> {
+			written.incrementAndGet();
+			return Unit.INSTANCE;
+		}, () -> Unit.INSTANCE);
+	}
+	
+	private static List<SWGPacket> createZoneIn(CreatureObject creature) {
+		List<SWGPacket> packets = new ArrayList<>();
+		packets.add(new CmdStartScene(true, creature.getObjectId(), creature.getRace(), creature.getLocation(), 0, 0));
+		
+		SceneCreateObjectByCrc create = new SceneCreateObjectByCrc();
+		create.setObjectId(creature.getObjectId());
+		create.setLocation(creature.getLocation());
+		create.setObjectCrc(creature.getCrc());
+		packets.add(create);
+		packets.add(creature.createBaseline3(null));
+		packets.add(creature.createBaseline6(null));
+		packets.add(new SceneEndBaselines(creature.getObjectId()));
+		packets.add(new CmdSceneReady());
+		return packets;
+	}
+	
+}
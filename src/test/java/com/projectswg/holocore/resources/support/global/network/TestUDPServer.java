@@ -0,0 +1,115 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.holocore.resources.support.global.network.UDPServer.UDPPacket;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.BitSet;
+
+public class TestUDPServer {
+	
+	private static final int DATAGRAMS = 1000;
+	private static final int WINDOW = 50;
+	private static final int PACKET_SIZE = 32;
+	
+	@Test
+	public void testReceiveQueue() throws IOException {
+		UDPServer server = new UDPServer(InetAddress.getLoopbackAddress(), 0, PACKET_SIZE);
+		try (DatagramChannel client = DatagramChannel.open()) {
+			client.send(ByteBuffer.wrap(new byte[]{1, 2, 3}), new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+			Assert.assertTrue(server.waitForPacket(1000));
+			UDPPacket packet = server.receive();
+			Assert.assertArrayEquals(new byte[]{1, 2, 3}, packet.getData());
+			Assert.assertEquals(((InetSocketAddress) client.getLocalAddress()).getPort(), packet.getPort());
+		} finally {
+			server.close();
+		}
+		Assert.assertFalse(server.isRunning());
+	}
+	
+	@Test
+	public void testReply() throws IOException {
+		UDPServer server = new UDPServer(InetAddress.getLoopbackAddress(), 0, PACKET_SIZE);
+		server.setCallback(packet -> server.send(packet.getPort(), packet.getAddress(), new byte[]{packet.getData()[0], 42}));
+		try (DatagramSocket client = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+			client.setSoTimeout(1000);
+			client.send(new DatagramPacket(new byte[]{7}, 1, InetAddress.getLoopbackAddress(), server.getPort()));
+			DatagramPacket reply = new DatagramPacket(new byte[PACKET_SIZE], PACKET_SIZE);
+			client.receive(reply);
+			Assert.assertEquals(2, reply.getLength());
+			Assert.assertEquals(7, reply.getData()[0]);
+			Assert.assertEquals(42, reply.getData()[1]);
+		} finally {
+			server.close();
+		}
+	}
+	
+	@Test
+	public void testBatchDelivery() throws IOException, InterruptedException {
+		BitSet received = new BitSet(DATAGRAMS);
+		UDPServer server = new UDPServer(InetAddress.getLoopbackAddress(), 0, PACKET_SIZE);
+		server.setBatchCallback(batch -> {
+			synchronized (received) {
+				for (int i = 0; i < batch.size(); i++)
+					received.set(batch.getData(i).getInt(batch.getData(i).position()));
+				received.notifyAll();
+			}
+		});
+		try (DatagramChannel client = DatagramChannel.open()) {
+			client.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+			ByteBuffer data = ByteBuffer.allocate(PACKET_SIZE);
+			// Send in windows so the socket's receive buffer can't overflow and drop datagrams
+			for (int windowStart = 0; windowStart < DATAGRAMS; windowStart += WINDOW) {
+				int windowEnd = Math.min(windowStart + WINDOW, DATAGRAMS);
+				for (int sent = windowStart; sent < windowEnd; sent++) {
+					data.clear();
+					data.putInt(0, sent);
+					client.write(data);
+				}
+				
+				long deadline = System.currentTimeMillis() + 5000;
+				synchronized (received) {
+					while (received.cardinality() < windowEnd && System.currentTimeMillis() < deadline)
+						received.wait(100);
+					Assert.assertEquals(windowEnd, received.cardinality());
+				}
+			}
+		} finally {
+			server.close();
+		}
+	}
+	
+}
@@ -29,6 +29,7 @@ package com.projectswg.holocore.resources.support.npc.ai;
 
 import com.projectswg.common.data.location.Location;
 import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.data.terrain.TerrainHeightSource;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
@@ -199,6 +200,39 @@ public class TestNavigationPoint extends TestRunnerNoIntents {
 		Assert.assertEquals(from(buio.getCellByNumber(1), start, end), NavigationPoint.from(buio.getCellByNumber(1), start, buio.getCellByNumber(1), end, SPEED));
 	}
 	
+	@Test
+	public void testFollowsGround() {
+		TerrainHeightSource ground = (terrain, x, z) -> x / 2;
+		List<NavigationPoint> route = NavigationPoint.from(null, location(0, 0, 0), location(10, 5.5, 0), SPEED, ground);
+		
+		Assert.assertEquals(from(null, location(0, 0, 0), location(10, 5.5, 0)).size(), route.size());
+		for (NavigationPoint point : route)
+			Assert.assertEquals(point.getLocation().getX() / 2, point.getLocation().getY(), 1E-7);
+		Assert.assertEquals(5, route.get(route.size()-1).getLocation().getY(), 1E-7);
+	}
+	
+	@Test
+	public void testOffGroundKeepsLine() {
+		TerrainHeightSource ground = (terrain, x, z) -> x / 2;
+		Location start = location(0, 0, 0);
+		Location roof = location(10, 25, 0);
+		
+		Assert.assertEquals(from(null, start, roof), NavigationPoint.from(null, start, roof, SPEED, ground));
+		Assert.assertEquals(from(null, roof, start), NavigationPoint.from(null, roof, start, SPEED, ground));
+	}
+	
+	@Test
+	public void testCellIgnoresGround() {
+		BuildingObject buio = (BuildingObject) ObjectCreator.createObjectFromTemplate(4, "object/building/player/shared_player_house_tatooine_small_style_01.iff");
+		buio.setPosition(Terrain.TATOOINE, -10, 0, 0);
+		buio.populateCells();
+		TerrainHeightSource ground = (terrain, x, z) -> x / 2;
+		Location start = location(0, 0, 0);
+		Location end = location(4, 2, 0);
+		
+		Assert.assertEquals(from(buio.getCellByNumber(1), start, end), NavigationPoint.from(buio.getCellByNumber(1), start, end, SPEED, ground));
+	}
+	
 	private static List<NavigationPoint> from(@Nullable SWGObject parent, @NotNull Location source, @NotNull Location destination) {
 		return NavigationPoint.from(parent, source, destination, SPEED);
 	}
@@ -0,0 +1,119 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.npc.spawn
+
+import com.projectswg.common.data.CRC
+import com.projectswg.common.data.encodables.tangible.Posture
+import com.projectswg.common.data.encodables.tangible.PvpFlag
+import com.projectswg.holocore.resources.support.objects.swg.creature.Buff
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureState
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject
+import com.projectswg.holocore.resources.support.objects.swg.tangible.OptionFlag
+import com.projectswg.holocore.test.resources.GenericCreatureObject
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents
+import org.junit.Assert
+import org.junit.Test
+
+class TestAIObjectPool: TestRunnerNoIntents() {
+	
+	@Test
+	fun testReuseByTemplate() {
+		val pool = AIObjectPool(4)
+		val trooper = createNpc(1, TROOPER)
+		val officer = createNpc(2, OFFICER)
+		Assert.assertTrue(pool.release(trooper))
+		Assert.assertTrue(pool.release(officer))
+		Assert.assertFalse(pool.release(trooper))	// already pooled
+		Assert.assertEquals(2, pool.size)
+		
+		Assert.assertSame(officer, pool.acquire(OFFICER))
+		Assert.assertNull(pool.acquire(OFFICER))
+		Assert.assertSame(trooper, pool.acquire(TROOPER))
+		Assert.assertEquals(0, pool.size)
+	}
+	
+	@Test
+	fun testCapacity() {
+		val pool = AIObjectPool(2)
+		Assert.assertTrue(pool.release(createNpc(1, TROOPER)))
+		Assert.assertTrue(pool.release(createNpc(2, TROOPER)))
+		Assert.assertFalse(pool.release(createNpc(3, TROOPER)))
+		Assert.assertEquals(2, pool.size)
+		
+		pool.clear()
+		Assert.assertEquals(0, pool.size)
+		Assert.assertNull(pool.acquire(TROOPER))
+	}
+	
+	@Test
+	fun testResetForRespawn() {
+		val npc = createNpc(1, TROOPER)
+		val attacker = GenericCreatureObject(2)
+		npc.posture = Posture.DEAD
+		npc.setTurnScale(0.0)
+		npc.setMovementPercent(0.0)
+		npc.setStatesBitmask(CreatureState.COMBAT)
+		npc.addDefender(attacker)
+		npc.isInCombat = true
+		npc.intendedTargetId = attacker.objectId
+		npc.handleDamage(attacker, 250)
+		npc.addBuff(Buff(CRC.getCrc("burstrun"), 100, 0f, 100, attacker.objectId, 1))
+		npc.addOptionFlags(OptionFlag.AGGRESSIVE, OptionFlag.HAM_BAR)
+		npc.setPvpFlags(PvpFlag.YOU_CAN_ATTACK)
+		Assert.assertSame(attacker, npc.highestDamageDealer)
+		
+		npc.resetForRespawn()
+		Assert.assertEquals(1L, npc.objectId)
+		Assert.assertEquals(Posture.UPRIGHT, npc.posture)
+		Assert.assertEquals(1f, npc.turnScale, 0f)
+		Assert.assertEquals(1f, npc.movementPercent, 0f)
+		Assert.assertFalse(npc.isStatesBitmask(CreatureState.COMBAT))
+		Assert.assertFalse(npc.hasDefenders())
+		Assert.assertFalse(npc.isInCombat)
+		Assert.assertEquals(0L, npc.intendedTargetId)
+		Assert.assertTrue(npc.damageMap.isEmpty())
+		Assert.assertNull(npc.highestDamageDealer)
+		Assert.assertNull(npc.activeMode)
+		Assert.assertEquals(0, npc.getBuffEntries { true }.count())
+		Assert.assertTrue(npc.optionFlags.isEmpty())
+		Assert.assertTrue(npc.pvpFlags.isEmpty())
+	}
+	
+	private fun createNpc(objectId: Long, template: String): AIObject {
+		val npc = AIObject(objectId)
+		npc.template = template
+		return npc
+	}
+	
+	companion object {
+		
+		private const val TROOPER = "object/mobile/shared_stormtrooper.iff"
+		private const val OFFICER = "object/mobile/shared_stormtrooper_captain.iff"
+		
+	}
+	
+}
@@ -0,0 +1,108 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.npc.spawn
+
+import com.projectswg.common.data.location.Location
+import com.projectswg.common.data.location.Terrain
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents
+import org.junit.Assert
+import org.junit.Test
+
+class TestSpawnVirtualizer: TestRunnerNoIntents() {
+	
+	@Test
+	fun testMaterializeNearPlayer() {
+		val virtualizer = SpawnVirtualizer<String>(100.0, 1000)
+		val materialized = ArrayList<String>()
+		virtualizer.add("near", Location(50.0, 0.0, 50.0, Terrain.TATOOINE))
+		virtualizer.add("far", Location(500.0, 0.0, 500.0, Terrain.TATOOINE))
+		virtualizer.add("otherPlanet", Location(0.0, 0.0, 0.0, Terrain.NABOO))
+		Assert.assertEquals(0, virtualizer.materializedCount)
+		Assert.assertEquals(3, virtualizer.virtualCount)
+		
+		virtualizer.update(listOf(Location(0.0, 0.0, 0.0, Terrain.TATOOINE)), 0, { materialized.add(it) }, { Assert.fail("nothing should dematerialize") })
+		Assert.assertEquals(listOf("near"), materialized)
+		Assert.assertEquals(1, virtualizer.materializedCount)
+		Assert.assertEquals(2, virtualizer.virtualCount)
+		
+		// Already materialized spawns are not materialized twice
+		virtualizer.update(listOf(Location(0.0, 0.0, 0.0, Terrain.TATOOINE)), 10, { materialized.add(it) }, { Assert.fail("nothing should dematerialize") })
+		Assert.assertEquals(listOf("near"), materialized)
+	}
+	
+	@Test
+	fun testDematerializeAfterGracePeriod() {
+		val virtualizer = SpawnVirtualizer<String>(100.0, 1000)
+		val dematerialized = ArrayList<String>()
+		virtualizer.add("spawn", Location(50.0, 0.0, 50.0, Terrain.TATOOINE))
+		
+		virtualizer.update(listOf(Location(0.0, 0.0, 0.0, Terrain.TATOOINE)), 0, { }, { dematerialized.add(it) })
+		virtualizer.update(listOf(), 999, { }, { dematerialized.add(it) })
+		Assert.assertTrue(dematerialized.isEmpty())
+		Assert.assertEquals(1, virtualizer.materializedCount)
+		
+		virtualizer.update(listOf(), 1000, { }, { dematerialized.add(it) })
+		Assert.assertEquals(listOf("spawn"), dematerialized)
+		Assert.assertEquals(0, virtualizer.materializedCount)
+		Assert.assertEquals(1, virtualizer.virtualCount)
+	}
+	
+	@Test
+	fun testGracePeriodResetByPlayer() {
+		val virtualizer = SpawnVirtualizer<String>(100.0, 1000)
+		val dematerialized = ArrayList<String>()
+		val player = listOf(Location(0.0, 0.0, 0.0, Terrain.TATOOINE))
+		virtualizer.add("spawn", Location(50.0, 0.0, 50.0, Terrain.TATOOINE))
+		
+		virtualizer.update(player, 0, { }, { dematerialized.add(it) })
+		virtualizer.update(listOf(), 900, { }, { dematerialized.add(it) })
+		virtualizer.update(player, 950, { }, { dematerialized.add(it) })
+		virtualizer.update(listOf(), 1500, { }, { dematerialized.add(it) })
+		Assert.assertTrue(dematerialized.isEmpty())
+		virtualizer.update(listOf(), 1950, { }, { dematerialized.add(it) })
+		Assert.assertEquals(listOf("spawn"), dematerialized)
+	}
+	
+	@Test
+	fun testMaterializeAcrossCells() {
+		val virtualizer = SpawnVirtualizer<String>(100.0, 1000)
+		val materialized = ArrayList<String>()
+		virtualizer.add("east", Location(101.0, 0.0, 0.0, Terrain.TATOOINE))
+		virtualizer.add("west", Location(-10.0, 0.0, 0.0, Terrain.TATOOINE))
+		virtualizer.add("south", Location(99.0, 0.0, -60.0, Terrain.TATOOINE))
+		virtualizer.add("outOfRange", Location(99.0, 0.0, 150.0, Terrain.TATOOINE))
+		
+		// Two players near the same spawns only materialize each spawn once
+		val players = listOf(Location(99.0, 0.0, 0.0, Terrain.TATOOINE), Location(20.0, 0.0, 0.0, Terrain.TATOOINE))
+		virtualizer.update(players, 0, { materialized.add(it) }, { Assert.fail("nothing should dematerialize") })
+		Assert.assertEquals(setOf("east", "west", "south"), materialized.toSet())
+		Assert.assertEquals(3, materialized.size)
+		Assert.assertEquals(3, virtualizer.materializedCount)
+		Assert.assertEquals(1, virtualizer.virtualCount)
+	}
+	
+}
@@ -0,0 +1,150 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TestSpatialGrid extends TestRunnerNoIntents {
+	
+	@Test
+	public void testRangeSortedByDistance() {
+		SpatialGrid grid = new SpatialGrid();
+		CreatureObject far = createCreature(grid, 70, 0);
+		CreatureObject near = createCreature(grid, 0, 5);
+		CreatureObject middle = createCreature(grid, -30, -30);
+		createCreature(grid, 100, 0);
+		
+		Assert.assertEquals(List.of(near, middle, far), grid.getCreaturesInRange(0, 0, 70));
+		Assert.assertEquals(List.of(near), grid.getCreaturesInRange(0, 0, 5));
+		Assert.assertEquals(List.of(), grid.getCreaturesInRange(0, 0, 4.99));
+		Assert.assertEquals(List.of(), new SpatialGrid().getCreaturesInRange(0, 0, 100));
+	}
+	
+	@Test
+	public void testMoveAndRemove() {
+		SpatialGrid grid = new SpatialGrid();
+		CreatureObject creature = createCreature(grid, 10, 10);
+		Assert.assertEquals(List.of(creature), grid.getCreaturesInRange(10, 10, 1));
+		
+		creature.setPosition(Terrain.TATOOINE, 500, 0, 500);
+		grid.move(creature);
+		Assert.assertEquals(List.of(), grid.getCreaturesInRange(10, 10, 1));
+		Assert.assertEquals(List.of(creature), grid.getCreaturesInRange(500, 500, 1));
+		
+		grid.remove(creature);
+		Assert.assertEquals(List.of(), grid.getCreaturesInRange(500, 500, 1));
+		grid.remove(creature); // Removing twice is harmless
+	}
+	
+	@Test
+	public void testMapEdges() {
+		SpatialGrid grid = new SpatialGrid();
+		CreatureObject corner = createCreature(grid, 8191, -8192);
+		CreatureObject outside = createCreature(grid, 9000, -9000);
+		
+		Assert.assertEquals(List.of(corner), grid.getCreaturesInRange(8180, -8180, 20));
+		Assert.assertEquals(List.of(outside), grid.getCreaturesInRange(9000, -9000, 1));
+	}
+	
+	@Test
+	public void testObjectAwarenessMaintainsGrid() {
+		ObjectAwareness awareness = new ObjectAwareness();
+		GenericCreatureObject creature = new GenericCreatureObject(getUniqueId(), "creature", false);
+		creature.setPosition(Terrain.TATOOINE, 100, 0, 100);
+		awareness.createObject(creature);
+		Assert.assertEquals(List.of(creature), awareness.getCreaturesInRange(Terrain.TATOOINE, 100, 100, 5));
+		
+		// Changing terrain moves it to the other grid
+		creature.setPosition(Terrain.NABOO, 100, 0, 100);
+		awareness.updateObject(creature);
+		Assert.assertEquals(List.of(), awareness.getCreaturesInRange(Terrain.TATOOINE, 100, 100, 5));
+		Assert.assertEquals(List.of(creature), awareness.getCreaturesInRange(Terrain.NABOO, 100, 100, 5));
+		
+		// Mounted or indoor creatures are only reachable through their parent
+		GenericCreatureObject mount = new GenericCreatureObject(getUniqueId(), "mount", false);
+		mount.setPosition(Terrain.NABOO, 100, 0, 100);
+		awareness.createObject(mount);
+		creature.systemMove(mount);
+		awareness.updateObject(creature);
+		Assert.assertEquals(List.of(mount), awareness.getCreaturesInRange(Terrain.NABOO, 100, 100, 5));
+		
+		awareness.destroyObject(mount);
+		Assert.assertEquals(List.of(), awareness.getCreaturesInRange(Terrain.NABOO, 100, 100, 5));
+	}
+	
+	@Test
+	public void testAreaMatchesAwarenessInCrowd() {
+		ObjectAwareness awareness = new ObjectAwareness();
+		Random random = new Random(0);
+		GenericCreatureObject attacker = new GenericCreatureObject(getUniqueId(), "attacker");
+		attacker.setPosition(Terrain.TATOOINE, 3500, 0, -4500);
+		awareness.createObject(attacker);
+		// A crowd of 300 NPCs around the attacker, within a larger population spread over the surrounding chunks
+		for (int i = 0; i < 300; i++)
+			createCreature(awareness, 3500 + random.nextGaussian() * 15, -4500 + random.nextGaussian() * 15);
+		for (int i = 0; i < 3000; i++)
+			createCreature(awareness, 3500 + random.nextDouble() * 3000 - 1500, -4500 + random.nextDouble() * 3000 - 1500);
+		awareness.updateChunks();
+		
+		double range = 10;
+		Set<SWGObject> expected = attacker.getObjectsAware().stream()
+				.filter(CreatureObject.class::isInstance)
+				.filter(obj -> obj != attacker)
+				.filter(obj -> attacker.getLocation().distanceTo(obj.getLocation()) <= range)
+				.collect(Collectors.toSet());
+		List<CreatureObject> grid = awareness.getCreaturesInRange(Terrain.TATOOINE, attacker.getX(), attacker.getZ(), range);
+		Assert.assertTrue(grid.remove(attacker));
+		Assert.assertFalse(expected.isEmpty());
+		Assert.assertEquals(expected, new HashSet<>(grid));
+	}
+	
+	private CreatureObject createCreature(SpatialGrid grid, double x, double z) {
+		CreatureObject creature = new GenericCreatureObject(getUniqueId(), "npc", false);
+		creature.setPosition(Terrain.TATOOINE, x, 0, z);
+		grid.move(creature);
+		return creature;
+	}
+	
+	private void createCreature(ObjectAwareness awareness, double x, double z) {
+		CreatureObject creature = new GenericCreatureObject(getUniqueId(), "npc", false);
+		creature.setPosition(Terrain.TATOOINE, x, 0, z);
+		awareness.createObject(creature);
+	}
+	
+}
@@ -0,0 +1,213 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.radial;
+
+import com.projectswg.common.data.encodables.tangible.Posture;
+import com.projectswg.common.data.objects.GameObjectType;
+import com.projectswg.common.data.radial.RadialItem;
+import com.projectswg.common.data.radial.RadialOption;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject;
+import com.projectswg.holocore.resources.support.objects.swg.intangible.IntangibleObject;
+import com.projectswg.holocore.resources.support.objects.swg.tangible.TangibleObject;
+import com.projectswg.holocore.services.gameplay.combat.buffs.PowerupService;
+import com.projectswg.holocore.services.gameplay.combat.loot.RareLootService;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class TestRadialHandler {
+	
+	private static long nextObjectId = 1;
+	
+	private GenericCreatureObject creature;
+	private Player player;
+	
+	@Before
+	public void setup() {
+		creature = new GenericCreatureObject(nextObjectId++);
+		player = creature.getOwner();
+	}
+	
+	@Test
+	public void testStaticTemplateRadials() {
+		String [] templates = {
+				"object/tangible/terminal/shared_terminal_bazaar.iff",
+				"object/tangible/terminal/shared_terminal_travel.iff",
+				"object/tangible/travel/ticket_collector/shared_ticket_collector.iff",
+				"object/tangible/travel/travel_ticket/base/shared_base_travel_ticket.iff",
+				"object/tangible/terminal/shared_terminal_character_builder.iff",
+				"object/tangible/npe/shared_npe_uniform_box.iff",
+				"object/tangible/wearables/goggles/shared_goggles_s01.iff",
+				"object/tangible/wearables/goggles/shared_goggles_s02.iff",
+				RareLootService.RARE_CHEST,
+				PowerupService.WEAPON
+		};
+		for (String template : templates) {
+			TangibleObject tangible = new GenericTangibleObject(nextObjectId++);
+			tangible.setTemplate(template);
+			assertCachedMatchesUncached(tangible);
+		}
+	}
+	
+	@Test
+	public void testStaticGameObjectTypeRadials() {
+		TangibleObject deed = new GenericTangibleObject(nextObjectId++);
+		deed.setGameObjectType(GameObjectType.GOT_DEED_VEHICLE);
+		Assert.assertEquals(3, assertCachedMatchesUncached(deed).size());
+	}
+	
+	@Test
+	public void testStackableRadials() {
+		TangibleObject stack = new TangibleObject(nextObjectId++);
+		stack.setCounter(5);
+		Assert.assertEquals(0, assertCachedMatchesUncached(stack).size());
+		
+		stack.systemMove(creature.getSlottedObject("inventory"));
+		Assert.assertEquals(2, assertCachedMatchesUncached(stack).size());
+		
+		stack.setCounter(0);
+		Assert.assertEquals(0, assertCachedMatchesUncached(stack).size());
+	}
+	
+	@Test
+	public void testAIRadials() {
+		AIObject ai = new AIObject(nextObjectId++);
+		Assert.assertEquals(0, assertCachedMatchesUncached(ai).size());
+		
+		ai.setPosture(Posture.DEAD);
+		List<RadialOption> options = assertCachedMatchesUncached(ai);
+		Assert.assertEquals(1, options.size());
+		Assert.assertEquals(RadialItem.LOOT, options.get(0).getType());
+		
+		ai.setPosture(Posture.UPRIGHT);
+		Assert.assertEquals(0, assertCachedMatchesUncached(ai).size());
+	}
+	
+	@Test
+	public void testControlDeviceRadials() {
+		for (GameObjectType type : new GameObjectType[]{GameObjectType.GOT_DATA_PET_CONTROL_DEVICE, GameObjectType.GOT_DATA_VEHICLE_CONTROL_DEVICE}) {
+			IntangibleObject pcd = new IntangibleObject(nextObjectId++);
+			pcd.setGameObjectType(type);
+			
+			pcd.setCount(IntangibleObject.COUNT_PCD_STORED);
+			List<RadialOption> stored = assertCachedMatchesUncached(pcd);
+			pcd.setCount(IntangibleObject.COUNT_PCD_CALLED);
+			List<RadialOption> called = assertCachedMatchesUncached(pcd);
+			
+			Assert.assertEquals(3, stored.size());
+			Assert.assertEquals(3, called.size());
+			Assert.assertNotEquals(stored.get(0).getType(), called.get(0).getType());
+		}
+	}
+	
+	@Test
+	public void testDynamicRadialsNotCached() {
+		TangibleObject container = new GenericTangibleObject(nextObjectId++);
+		container.setGameObjectType(GameObjectType.GOT_MISC_CONTAINER);
+		Assert.assertNull(RadialHandler.INSTANCE.getHandler(container).getOptionsCacheKey(player, container));
+		
+		TangibleObject surveyTool = new GenericTangibleObject(nextObjectId++);
+		surveyTool.setGameObjectType(GameObjectType.GOT_TOOL_SURVEY);
+		Assert.assertNull(RadialHandler.INSTANCE.getHandler(surveyTool).getOptionsCacheKey(player, surveyTool));
+	}
+	
+	@Test
+	public void testReplacedHandler() {
+		String template = "object/tangible/test/shared_radial_handler_test.iff";
+		TangibleObject tangible = new GenericTangibleObject(nextObjectId++);
+		tangible.setTemplate(template);
+		
+		RadialHandler.INSTANCE.registerHandler(template, new StaticRadial(RadialItem.ITEM_USE));
+		Assert.assertEquals(RadialItem.ITEM_USE, getOptions(tangible).get(0).getType());
+		
+		RadialHandler.INSTANCE.registerHandler(template, new StaticRadial(RadialItem.EXAMINE));
+		Assert.assertEquals(RadialItem.EXAMINE, getOptions(tangible).get(0).getType());
+	}
+	
+	/**
+	 * Requests the options twice through the cache and once directly from the handler, and verifies that all three
+	 * agree
+	 */
+	private List<RadialOption> assertCachedMatchesUncached(SWGObject target) {
+		List<RadialOption> uncached = new ArrayList<>();
+		RadialHandler.INSTANCE.getHandler(target).getOptions(uncached, player, target);
+		
+		List<RadialOption> first = getOptions(target);
+		List<RadialOption> second = getOptions(target);
+		assertEquivalent(uncached, first);
+		assertEquivalent(uncached, second);
+		return first;
+	}
+	
+	private List<RadialOption> getOptions(SWGObject target) {
+		List<RadialOption> options = new ArrayList<>();
+		RadialHandler.INSTANCE.getOptions(options, player, target);
+		return options;
+	}
+	
+	private static void assertEquivalent(List<RadialOption> expected, List<RadialOption> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertEquals(expected.get(i).getType(), actual.get(i).getType());
+			assertEquivalent(expected.get(i).getChildren(), actual.get(i).getChildren());
+		}
+	}
+	
+	private static class StaticRadial implements RadialHandlerInterface {
+		
+		private final RadialItem item;
+		
+		public StaticRadial(RadialItem item) {
+			this.item = item;
+		}
+		
+		@Override
+		public void getOptions(Collection<RadialOption> options, Player player, SWGObject target) {
+			options.add(RadialOption.create(item));
+		}
+		
+		@Override
+		public void handleSelection(Player player, SWGObject target, RadialItem selection) {
+			
+		}
+		
+		@Override
+		public Object getOptionsCacheKey(Player player, SWGObject target) {
+			return STATIC_OPTIONS;
+		}
+		
+	}
+	
+}
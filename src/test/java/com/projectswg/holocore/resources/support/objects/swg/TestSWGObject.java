@@ -37,6 +37,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Set;
 
 public class TestSWGObject extends TestRunnerNoIntents {
 	
@@ -93,6 +94,28 @@ public class TestSWGObject extends TestRunnerNoIntents {
 		Assert.assertFalse(b.isLineOfSight(a));
 	}
 	
+	@Test
+	public void testLazyContainers() {
+		SWGObject parent = new GenericTangibleObject(1);
+		SWGObject child = new GenericTangibleObject(2);
+		Assert.assertTrue(parent.getContainedObjects().isEmpty());
+		Assert.assertTrue(parent.getSlottedObjects().isEmpty());
+		Assert.assertTrue(parent.getAttributes().isEmpty());
+		Assert.assertTrue(parent.getObserverCreatures().isEmpty());
+		Assert.assertNull(parent.getAttribute("test"));
+		Assert.assertNull(parent.removeAttribute("test"));
+		
+		child.moveToContainer(parent);
+		Assert.assertEquals(Set.of(child), Set.copyOf(parent.getContainedObjects()));
+		child.moveToContainer(null);
+		Assert.assertTrue(parent.getContainedObjects().isEmpty());
+		
+		parent.addAttribute("test", "value");
+		Assert.assertEquals("value", parent.getAttribute("test"));
+		Assert.assertEquals("value", parent.removeAttribute("test"));
+		Assert.assertTrue(new GenericTangibleObject(3).getAttributes().isEmpty());
+	}
+	
 	@Test
 	public void testWorldLocation() {
 		SWGObject parent = new GenericCreatureObject(1);
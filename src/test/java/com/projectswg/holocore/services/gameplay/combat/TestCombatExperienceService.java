@@ -0,0 +1,202 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.combat;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.intents.gameplay.combat.CreatureKilledIntent;
+import com.projectswg.holocore.intents.gameplay.player.experience.ExperienceIntent;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureDifficulty;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.resources.support.objects.swg.group.GroupObject;
+import com.projectswg.holocore.services.gameplay.player.experience.ExperienceLevelService;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import me.joshlarson.jlcommon.control.IntentHandler;
+import me.joshlarson.jlcommon.control.Service;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class TestCombatExperienceService extends TestRunnerSynchronousIntents {
+	
+	private final ExperienceRecorder experience = new ExperienceRecorder();
+	private CombatExperienceService service;
+	
+	@Before
+	public void setup() {
+		// The scheduled flush is pushed out of the way; the tests drive it by hand
+		service = new CombatExperienceService(TimeUnit.HOURS.toMillis(1));
+		registerService(service);
+		registerService(experience);
+	}
+	
+	@Test
+	public void testSoloKillsMerged() {
+		GenericCreatureObject killer = createPlayer();
+		
+		kill(killer, createCorpse(killer));
+		Assert.assertEquals(0, experience.getIntents());
+		flush();
+		int perKill = experience.getTotal(killer);
+		Assert.assertTrue(perKill > 0);
+		Assert.assertEquals(1, experience.getIntents());
+		
+		experience.clear();
+		for (int i = 0; i < 10; i++)
+			kill(killer, createCorpse(killer));
+		flush();
+		Assert.assertEquals(10 * perKill, experience.getTotal(killer));
+		Assert.assertEquals(1, experience.getIntents());
+	}
+	
+	@Test
+	public void testGroupKillsMerged() {
+		List<GenericCreatureObject> members = createGroup(4);
+		GenericCreatureObject bystander = members.get(3);	// Does no damage, so receives nothing
+		
+		CreatureObject corpse = createCorpse(members.get(0), members.get(1), members.get(2));
+		kill(members.get(0), corpse);
+		flush();
+		int perKill = experience.getTotal(members.get(0));
+		Assert.assertTrue(perKill > 0);
+		
+		experience.clear();
+		for (int i = 0; i < 25; i++)
+			kill(members.get(i % 3), createCorpse(members.get(0), members.get(1), members.get(2)));
+		flush();
+		for (int i = 0; i < 3; i++)
+			Assert.assertEquals(25 * perKill, experience.getTotal(members.get(i)));
+		Assert.assertEquals(0, experience.getTotal(bystander));
+		Assert.assertEquals(3, experience.getIntents());
+	}
+	
+	@Test
+	public void testTotalsApplied() {
+		registerService(new ExperienceLevelService());
+		GenericCreatureObject killer = createPlayer();
+		
+		kill(killer, createCorpse(killer));
+		flush();
+		int perKill = killer.getPlayerObject().getExperiencePoints("combat");
+		Assert.assertTrue(perKill > 0);
+		
+		for (int i = 0; i < 7; i++)
+			kill(killer, createCorpse(killer));
+		flush();
+		Assert.assertEquals(8 * perKill, killer.getPlayerObject().getExperiencePoints("combat"));
+	}
+	
+	@Test
+	public void testExperienceAwards() {
+		ExperienceIntent intent = new ExperienceIntent(createPlayer(), "combat", new int[]{3, 5, 7}, true);
+		Assert.assertEquals(15, intent.getExperienceGained());
+		Assert.assertArrayEquals(new int[]{3, 5, 7}, intent.getExperienceAwards());
+	}
+	
+	private void kill(CreatureObject killer, CreatureObject corpse) {
+		broadcastAndWait(new CreatureKilledIntent(killer, corpse));
+	}
+	
+	private void flush() {
+		service.flushExperience();
+		waitForIntents();
+	}
+	
+	private List<GenericCreatureObject> createGroup(int size) {
+		List<GenericCreatureObject> members = new ArrayList<>();
+		for (int i = 0; i < size; i++)
+			members.add(createPlayer());
+		
+		GroupObject group = new GroupObject(getUniqueId());
+		group.formGroup(members.get(0), members.get(1));
+		for (int i = 2; i < size; i++)
+			group.addMember(members.get(i));
+		group.setLevel((short) 1);
+		for (GenericCreatureObject member : members)
+			member.setGroupId(group.getObjectId());
+		registerObject(group);
+		return members;
+	}
+	
+	private static GenericCreatureObject createPlayer() {
+		GenericCreatureObject player = new GenericCreatureObject(getUniqueId(), "player");
+		player.setPosition(Terrain.TATOOINE, 0, 0, 0);
+		player.setLevel(1);
+		return player;
+	}
+	
+	private static CreatureObject createCorpse(CreatureObject ... attackers) {
+		GenericCreatureObject corpse = new GenericCreatureObject(getUniqueId(), "corpse", false);
+		corpse.setPosition(Terrain.TATOOINE, 10, 0, 10);
+		corpse.setLevel(1);
+		corpse.setDifficulty(CreatureDifficulty.NORMAL);
+		for (CreatureObject attacker : attackers)
+			corpse.handleDamage(attacker, 100);
+		return corpse;
+	}
+	
+	public static class ExperienceRecorder extends Service {
+		
+		private final Map<CreatureObject, Integer> totals = new HashMap<>();
+		private int intents = 0;
+		
+		@IntentHandler
+		private void handleExperienceIntent(ExperienceIntent ei) {
+			synchronized (totals) {
+				totals.merge(ei.getCreatureObject(), ei.getExperienceGained(), Integer::sum);
+				intents++;
+			}
+		}
+		
+		public int getTotal(CreatureObject creature) {
+			synchronized (totals) {
+				return totals.getOrDefault(creature, 0);
+			}
+		}
+		
+		public int getIntents() {
+			synchronized (totals) {
+				return intents;
+			}
+		}
+		
+		public void clear() {
+			synchronized (totals) {
+				totals.clear();
+				intents = 0;
+			}
+		}
+		
+	}
+	
+}
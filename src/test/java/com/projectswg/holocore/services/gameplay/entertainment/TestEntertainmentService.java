@@ -0,0 +1,204 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.entertainment;
+
+import com.projectswg.holocore.intents.gameplay.entertainment.dance.DanceIntent;
+import com.projectswg.holocore.intents.gameplay.entertainment.dance.WatchIntent;
+import com.projectswg.holocore.intents.gameplay.player.experience.ExperienceIntent;
+import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import me.joshlarson.jlcommon.control.IntentHandler;
+import me.joshlarson.jlcommon.control.Service;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestEntertainmentService extends TestRunnerSynchronousIntents {
+	
+	private final AtomicLong clock = new AtomicLong(0);
+	private final ExperienceRecorder experience = new ExperienceRecorder();
+	private EntertainmentService service;
+	
+	@Before
+	public void setup() {
+		// The scheduled tick is pushed out of the way; the tests drive it by hand
+		service = new EntertainmentService(clock::get, TimeUnit.HOURS.toMillis(1));
+		registerService(service);
+		registerService(experience);
+	}
+	
+	@Test
+	public void testStartDancing() {
+		GenericCreatureObject dancer = createEntertainer();
+		broadcastAndWait(new DanceIntent("basic", dancer, false));
+		Assert.assertTrue(dancer.isPerforming());
+		Assert.assertEquals("dance_1", dancer.getAnimation());
+		dancer.setPerformanceCounter(2);
+		
+		advance(9);
+		experience.assertNext();
+		advance(1);
+		experience.assertNext(20);	// 2 flourishes * 10
+		advance(10);
+		experience.assertNext(10);
+		advance(10);
+		experience.assertNext();	// Out of flourishes
+	}
+	
+	@Test
+	public void testChangeDance() {
+		GenericCreatureObject dancer = createEntertainer();
+		broadcastAndWait(new DanceIntent("basic", dancer, false));
+		broadcastAndWait(new DanceIntent("rhythmic", dancer, true));
+		Assert.assertEquals("dance_3", dancer.getAnimation());
+		dancer.setPerformanceCounter(1);
+		
+		advance(10);
+		experience.assertNext(46);
+	}
+	
+	@Test
+	public void testStopDancing() {
+		GenericCreatureObject dancer = createEntertainer();
+		broadcastAndWait(new DanceIntent("basic", dancer, false));
+		dancer.setPerformanceCounter(5);
+		broadcastAndWait(new DanceIntent(dancer));
+		Assert.assertFalse(dancer.isPerforming());
+		
+		advance(10);
+		experience.assertNext();
+		advance(10);
+		experience.assertNext();
+	}
+	
+	@Test
+	public void testDisconnect() {
+		GenericCreatureObject dancer = createEntertainer();
+		GenericCreatureObject spectator = new GenericCreatureObject(getUniqueId(), "spectator");
+		broadcastAndWait(new DanceIntent("basic", dancer, false));
+		broadcastAndWait(new WatchIntent(spectator, dancer, true));
+		Assert.assertEquals(dancer.getObjectId(), spectator.getPerformanceListenTarget());
+		dancer.setPerformanceCounter(5);
+		
+		// Link-dead performers stop receiving experience immediately
+		advance(5);
+		broadcastAndWait(new PlayerEventIntent(dancer.getOwner(), PlayerEvent.PE_LOGGED_OUT));
+		advance(5);
+		experience.assertNext();
+		advance(20);
+		experience.assertNext();
+		
+		// Coming back before disappearing starts a fresh cycle
+		broadcastAndWait(new PlayerEventIntent(dancer.getOwner(), PlayerEvent.PE_ZONE_IN_SERVER));
+		advance(9);
+		experience.assertNext();
+		advance(1);
+		experience.assertNext(50);
+		
+		// Disappearing removes the performer and their audience
+		broadcastAndWait(new PlayerEventIntent(dancer.getOwner(), PlayerEvent.PE_LOGGED_OUT));
+		broadcastAndWait(new PlayerEventIntent(dancer.getOwner(), PlayerEvent.PE_DISAPPEAR));
+		Assert.assertEquals(0, spectator.getPerformanceListenTarget());
+		broadcastAndWait(new PlayerEventIntent(dancer.getOwner(), PlayerEvent.PE_ZONE_IN_SERVER));
+		advance(10);
+		experience.assertNext(40);
+	}
+	
+	@Test
+	public void testManyPerformers() {
+		List<GenericCreatureObject> dancers = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			GenericCreatureObject dancer = createEntertainer();
+			broadcastAndWait(new DanceIntent("basic", dancer, false));
+			dancer.setPerformanceCounter(3);
+			dancers.add(dancer);
+		}
+		
+		advance(10);
+		Assert.assertEquals(dancers.size(), experience.size());
+		for (GenericCreatureObject dancer : dancers)
+			Assert.assertEquals(2, dancer.getPerformanceCounter());
+		experience.clear();
+		
+		advance(5);
+		Assert.assertEquals(0, experience.size());
+	}
+	
+	private void advance(int seconds) {
+		clock.addAndGet(TimeUnit.SECONDS.toMillis(seconds));
+		service.tick();
+		waitForIntents();
+	}
+	
+	private static GenericCreatureObject createEntertainer() {
+		GenericCreatureObject creature = new GenericCreatureObject(getUniqueId(), "entertainer");
+		creature.addSkill("class_entertainer_phase1_novice");
+		creature.addCommand("startDance+basic", "startDance+rhythmic");
+		return creature;
+	}
+	
+	public static class ExperienceRecorder extends Service {
+		
+		private final List<Integer> experience = new ArrayList<>();
+		
+		@IntentHandler
+		private void handleExperienceIntent(ExperienceIntent ei) {
+			synchronized (experience) {
+				experience.add(ei.getExperienceGained());
+			}
+		}
+		
+		public void assertNext(Integer ... expected) {
+			synchronized (experience) {
+				Assert.assertEquals(List.of(expected), experience);
+				experience.clear();
+			}
+		}
+		
+		public int size() {
+			synchronized (experience) {
+				return experience.size();
+			}
+		}
+		
+		public void clear() {
+			synchronized (experience) {
+				experience.clear();
+			}
+		}
+		
+	}
+	
+}
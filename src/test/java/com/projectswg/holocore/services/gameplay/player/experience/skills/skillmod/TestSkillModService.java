@@ -0,0 +1,133 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.player.experience.skills.skillmod;
+
+import com.projectswg.holocore.intents.support.objects.swg.ContainerTransferIntent;
+import com.projectswg.holocore.resources.support.objects.ObjectCreator;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSkillModService extends TestRunnerSynchronousIntents {
+	
+	private GenericCreatureObject creature;
+	private SWGObject inventory;
+	private SWGObject bank;
+	
+	@Before
+	public void setup() {
+		registerService(new SkillModService());
+		creature = new GenericCreatureObject(getUniqueId(), "creature");
+		inventory = creature.getSlottedObject("inventory");
+		bank = creature.getSlottedObject("bank");
+	}
+	
+	@Test
+	public void testEquipAndUnequip() {
+		SWGObject robe = createItem(ObjectCreator.createObjectFromTemplate(getUniqueId(), "object/tangible/wearables/robe/robe_jedi_light_s01.iff"), 5);
+		robe.systemMove(inventory);
+		int maxHealth = creature.getMaxHealth();
+		int maxAction = creature.getMaxAction();
+		
+		robe.moveToContainer(creature);
+		waitForIntents();
+		Assert.assertEquals(5, creature.getSkillModValue("constitution_modified"));
+		Assert.assertEquals(3, creature.getSkillModValue("camouflage"));
+		Assert.assertEquals(maxHealth + 40, creature.getMaxHealth());
+		Assert.assertEquals(maxAction + 10, creature.getMaxAction());
+		
+		robe.moveToContainer(inventory);
+		waitForIntents();
+		Assert.assertEquals(0, creature.getSkillModValue("constitution_modified"));
+		Assert.assertEquals(0, creature.getSkillModValue("camouflage"));
+		Assert.assertEquals(maxHealth, creature.getMaxHealth());
+		Assert.assertEquals(maxAction, creature.getMaxAction());
+		
+		// Attributes changed since the item was last parsed
+		robe.addAttribute("cat_stat_mod_bonus.@stat_n:constitution_modified", "7");
+		robe.moveToContainer(creature);
+		waitForIntents();
+		Assert.assertEquals(7, creature.getSkillModValue("constitution_modified"));
+		Assert.assertEquals(maxHealth + 56, creature.getMaxHealth());
+		
+		robe.removeAttribute("cat_skill_mod_bonus.@stat_n:camouflage");
+		robe.moveToContainer(inventory);
+		waitForIntents();
+		Assert.assertEquals(0, creature.getSkillModValue("constitution_modified"));
+		Assert.assertEquals(3, creature.getSkillModValue("camouflage"));
+	}
+	
+	@Test
+	public void testNonEquipMoves() {
+		SWGObject item = createItem(new GenericTangibleObject(getUniqueId()), 5);
+		item.systemMove(inventory);
+		int maxHealth = creature.getMaxHealth();
+		
+		item.moveToContainer(bank);
+		waitForIntents();
+		item.moveToContainer(inventory);
+		waitForIntents();
+		Assert.assertEquals(0, creature.getSkillModValue("constitution_modified"));
+		Assert.assertEquals(0, creature.getSkillModValue("camouflage"));
+		Assert.assertEquals(maxHealth, creature.getMaxHealth());
+		
+		SWGObject plain = new GenericTangibleObject(getUniqueId());
+		plain.addAttribute("condition", "100/100");
+		plain.systemMove(inventory);
+		broadcastAndWait(new ContainerTransferIntent(plain, inventory, -1, creature, 4));
+		Assert.assertEquals(0, creature.getSkillModValue("constitution_modified"));
+		Assert.assertEquals(maxHealth, creature.getMaxHealth());
+	}
+	
+	@Test
+	public void testParse() {
+		SWGObject item = createItem(new GenericTangibleObject(getUniqueId()), 5);
+		item.addAttribute("cat_skill_mod_bonus.@stat_n:broken", "not a number");
+		EquipmentSkillMods mods = EquipmentSkillMods.parse(item);
+		Assert.assertEquals(2, mods.size());
+		Assert.assertEquals("constitution_modified", mods.getName(0));
+		Assert.assertEquals(5, mods.getValue(0));
+		Assert.assertEquals("camouflage", mods.getName(1));
+		Assert.assertEquals(3, mods.getValue(1));
+		Assert.assertTrue(mods.isCurrent(item));
+		
+		item.addAttribute("condition", "100/100");
+		Assert.assertFalse(mods.isCurrent(item));
+		Assert.assertEquals(0, EquipmentSkillMods.parse(new GenericTangibleObject(getUniqueId())).size());
+	}
+	
+	private static SWGObject createItem(SWGObject item, int constitution) {
+		item.addAttribute("cat_stat_mod_bonus.@stat_n:constitution_modified", String.valueOf(constitution));
+		item.addAttribute("cat_skill_mod_bonus.@stat_n:camouflage", "3");
+		return item;
+	}
+	
+}
@@ -0,0 +1,85 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.gameplay.world.map;
+
+import com.projectswg.common.data.encodables.map.MapLocation;
+import com.projectswg.common.network.packets.swg.zone.spatial.GetMapLocationsMessage;
+import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacket;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestMapService extends TestRunnerSynchronousIntents {
+	
+	private MapService mapService;
+	private GenericCreatureObject creature;
+	
+	@Before
+	public void setup() {
+		mapService = new MapService();
+		registerService(mapService);
+		creature = new GenericCreatureObject(getUniqueId());
+	}
+	
+	@Test
+	public void testResponseShared() {
+		EncodedPacket first = request("tatooine");
+		Assert.assertNotNull(first);
+		Assert.assertSame(first, request("tatooine"));
+	}
+	
+	@Test
+	public void testResponseInvalidatedOnLocationAdded() {
+		EncodedPacket first = request("tatooine");
+		Assert.assertNotNull(first);
+		
+		mapService.addStaticMapLocation("tatooine", new MapLocation(0, "Test Location", 100, 100, (byte) 0, (byte) 0, false));
+		EncodedPacket second = request("tatooine");
+		Assert.assertNotNull(second);
+		Assert.assertNotSame(first, second);
+		Assert.assertNotEquals(first.getEncoded(), second.getEncoded());
+		
+		mapService.addDynamicMapLocation("tatooine", new MapLocation(0, "Test Camp", 200, 200, (byte) 0, (byte) 0, false));
+		Assert.assertNotSame(second, request("tatooine"));
+	}
+	
+	@Test
+	public void testUnknownPlanetIgnored() {
+		Assert.assertNull(request("not_a_planet"));
+		Assert.assertNull(request("not_a_planet_either"));
+	}
+	
+	private EncodedPacket request(String planet) {
+		creature.getOwner().clearPackets();
+		broadcastAndWait(new InboundPacketIntent(creature.getOwner(), new GetMapLocationsMessage(planet, 0, 0, 0)));
+		return creature.getOwner().getNextPacket(EncodedPacket.class);
+	}
+	
+}
@@ -0,0 +1,137 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.chat;
+
+import com.projectswg.common.data.encodables.mongo.MongoData;
+import com.projectswg.common.data.encodables.player.Mail;
+import com.projectswg.common.network.packets.swg.zone.chat.ChatDeletePersistentMessage;
+import com.projectswg.common.network.packets.swg.zone.chat.ChatPersistentMessageToClient;
+import com.projectswg.common.network.packets.swg.zone.chat.ChatRequestPersistentMessage;
+import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
+import com.projectswg.holocore.intents.support.global.zone.creation.DeleteCharacterIntent;
+import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.support.data.server_info.database.PswgMailDatabase;
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class TestChatMailService extends TestRunnerSynchronousIntents {
+	
+	private GenericCreatureObject receiver;
+	private GenericCreatureObject other;
+	
+	@Before
+	public void setup() {
+		registerService(new ChatMailService());
+		receiver = new GenericCreatureObject(getUniqueId(), "receiver");
+		other = new GenericCreatureObject(getUniqueId(), "other");
+	}
+	
+	@Test
+	public void testOnlyReceiverCanRead() {
+		Mail mail = addMail(receiver.getObjectId());
+		
+		broadcastAndWait(new InboundPacketIntent(other.getOwner(), new ChatRequestPersistentMessage(0, mail.getId())));
+		Assert.assertNull(other.getOwner().getNextPacket(ChatPersistentMessageToClient.class));
+		Assert.assertNotEquals(Mail.READ, getMails().getMail(mail.getId()).getStatus());
+		
+		broadcastAndWait(new InboundPacketIntent(receiver.getOwner(), new ChatRequestPersistentMessage(0, mail.getId())));
+		Assert.assertNotNull(receiver.getOwner().getNextPacket(ChatPersistentMessageToClient.class));
+		Assert.assertEquals(Mail.READ, getMails().getMail(mail.getId()).getStatus());
+	}
+	
+	@Test
+	public void testOnlyReceiverCanDelete() {
+		Mail mail = addMail(receiver.getObjectId());
+		
+		broadcastAndWait(new InboundPacketIntent(other.getOwner(), new ChatDeletePersistentMessage(mail.getId())));
+		Assert.assertNotNull(getMails().getMail(mail.getId()));
+		
+		broadcastAndWait(new InboundPacketIntent(receiver.getOwner(), new ChatDeletePersistentMessage(mail.getId())));
+		Assert.assertNull(getMails().getMail(mail.getId()));
+	}
+	
+	@Test
+	public void testDeletedCharacterLosesMail() {
+		Mail first = addMail(receiver.getObjectId());
+		Mail second = addMail(receiver.getObjectId());
+		Mail kept = addMail(other.getObjectId());
+		
+		broadcastAndWait(new DeleteCharacterIntent(receiver));
+		Assert.assertNull(getMails().getMail(first.getId()));
+		Assert.assertNull(getMails().getMail(second.getId()));
+		Assert.assertTrue(getMails().getMailHeaders(receiver.getObjectId()).isEmpty());
+		Assert.assertNotNull(getMails().getMail(kept.getId()));
+	}
+	
+	@Test
+	public void testLegacyMailMigrated() {
+		Mail legacy = createMail(receiver.getObjectId());
+		MongoData data = new MongoData();
+		receiver.getPlayerObject().saveMongo(data);
+		data.putMap("mail", Map.of(legacy.getId(), legacy));
+		
+		PlayerObject loaded = new PlayerObject(receiver.getPlayerObject().getObjectId());
+		loaded.readMongo(new MongoData(data.toDocument()));
+		broadcastAndWait(new ObjectCreatedIntent(loaded));
+		
+		Mail migrated = getMails().getMail(legacy.getId());
+		Assert.assertNotNull(migrated);
+		Assert.assertEquals(legacy.getMessage(), migrated.getMessage());
+		Assert.assertEquals(receiver.getObjectId(), migrated.getReceiverId());
+		Assert.assertTrue(loaded.takeLegacyMail().isEmpty());
+		
+		MongoData saved = new MongoData();
+		loaded.saveMongo(saved);
+		Assert.assertFalse(saved.toDocument().containsKey("mail"));
+	}
+	
+	private Mail addMail(long receiverId) {
+		Mail mail = createMail(receiverId);
+		getMails().addMail(mail);
+		return mail;
+	}
+	
+	private static Mail createMail(long receiverId) {
+		Mail mail = new Mail("sender", "subject", "body of the mail", receiverId);
+		mail.setId((int) getUniqueId());
+		mail.setTimestamp(Instant.now());
+		return mail;
+	}
+	
+	private static PswgMailDatabase getMails() {
+		return PswgDatabase.INSTANCE.getMail();
+	}
+	
+}
@@ -0,0 +1,187 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.chat;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.packets.swg.zone.object_controller.SpatialChat;
+import com.projectswg.holocore.intents.support.global.chat.SpatialChatIntent;
+import com.projectswg.holocore.intents.support.objects.swg.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.objects.ObjectCreator;
+import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
+import com.projectswg.holocore.resources.support.objects.swg.cell.CellObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.services.support.objects.awareness.AwarenessService.AwarenessLookup;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericPlayer;
+import com.projectswg.holocore.test.runners.TestRunnerSimulatedWorld;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestChatSpatialService extends TestRunnerSimulatedWorld {
+	
+	private static final int CHAT_RANGE = 128;
+	
+	@Before
+	public void initServices() {
+		registerService(new ChatSpatialService());
+	}
+	
+	@Test
+	public void testRecipientsMatchObservers() {
+		Random random = new Random(0);
+		List<GenericCreatureObject> players = new ArrayList<>();
+		GenericCreatureObject speaker = createPlayer("speaker", 0, 0);
+		GenericCreatureObject ignoring = createPlayer("ignoring", 5, 5);
+		GenericCreatureObject close = createPlayer("close", 10, 0);
+		GenericCreatureObject edge = createPlayer("edge", 0, CHAT_RANGE);
+		GenericCreatureObject otherTerrain = new GenericCreatureObject(getUniqueId(), "otherTerrain");
+		otherTerrain.setPosition(Terrain.NABOO, 0, 0, 0);
+		registerObject(otherTerrain);
+		ignoring.getPlayerObject().addIgnored(speaker.getObjectName());
+		players.addAll(List.of(speaker, ignoring, close, edge, otherTerrain));
+		for (int i = 0; i < 60; i++)
+			players.add(createPlayer("player" + i, random.nextDouble() * 600 - 300, random.nextDouble() * 600 - 300));
+		createNpcs(random, 500, 600);
+		updateAwareness();
+		
+		Set<CreatureObject> speakerRecipients = getObserverRecipients(speaker);
+		Assert.assertTrue(speakerRecipients.contains(speaker));
+		Assert.assertFalse(speakerRecipients.contains(ignoring));
+		Assert.assertTrue(speakerRecipients.contains(close));
+		Assert.assertTrue(speakerRecipients.contains(edge));
+		Assert.assertFalse(speakerRecipients.contains(otherTerrain));
+		
+		for (GenericCreatureObject sender : players.subList(0, 15)) {
+			Set<CreatureObject> expected = getObserverRecipients(sender);
+			players.forEach(p -> p.getOwner().clearPackets());
+			broadcastAndWait(new SpatialChatIntent(sender.getOwner(), 0, "hello", 0));
+			
+			Set<CreatureObject> actual = new HashSet<>();
+			for (GenericCreatureObject player : players) {
+				if (player.getOwner().getNextPacket(SpatialChat.class) != null)
+					actual.add(player);
+			}
+			Assert.assertEquals(expected, actual);
+		}
+	}
+	
+	@Test
+	public void testIndoorPlayers() {
+		BuildingObject building = (BuildingObject) ObjectCreator.createObjectFromTemplate(getUniqueId(), "object/building/player/shared_player_house_tatooine_small_style_01.iff");
+		CellObject cell = new CellObject(getUniqueId());
+		cell.setNumber(1);
+		cell.systemMove(building);
+		building.setPosition(Terrain.TATOOINE, 1000, 0, 1000);
+		registerObject(building, cell);
+		
+		GenericCreatureObject speaker = new GenericCreatureObject(getUniqueId(), "speaker");
+		GenericCreatureObject listener = new GenericCreatureObject(getUniqueId(), "listener");
+		GenericCreatureObject outside = createPlayer("outside", 3000, 3000);
+		speaker.setPosition(Terrain.TATOOINE, 1, 0, 1);
+		listener.setPosition(Terrain.TATOOINE, -2, 0, 3);
+		speaker.systemMove(cell);
+		listener.systemMove(cell);
+		registerObject(speaker, listener);
+		updateAwareness();
+		
+		Assert.assertEquals(Set.of(speaker, listener), new HashSet<>(AwarenessLookup.getPlayersInRange(Terrain.TATOOINE, 1000, 1000, 10)));
+		Assert.assertEquals(Set.of(speaker, listener), getObserverRecipients(speaker));
+		broadcastAndWait(new SpatialChatIntent(speaker.getOwner(), 0, "hello", 0));
+		Assert.assertNotNull(speaker.getOwner().getNextPacket(SpatialChat.class));
+		Assert.assertNotNull(listener.getOwner().getNextPacket(SpatialChat.class));
+		Assert.assertNull(outside.getOwner().getNextPacket(SpatialChat.class));
+	}
+	
+	@Test
+	public void testZoningInPlayers() {
+		GenericCreatureObject speaker = createPlayer("speaker", 0, 0);
+		GenericCreatureObject zoning = createPlayer("zoning", 5, 5);
+		updateAwareness();
+		zoning.getOwner().setPlayerState(PlayerState.ZONING_IN);
+		
+		broadcastAndWait(new SpatialChatIntent(speaker.getOwner(), 0, "hello", 0));
+		Assert.assertNotNull(speaker.getOwner().getNextPacket(SpatialChat.class));
+		Assert.assertNull(zoning.getOwner().getNextPacket(SpatialChat.class));
+	}
+	
+	@Test
+	public void testUnawareListener() {
+		GenericCreatureObject speaker = createPlayer("speaker", 0, 0);
+		updateAwareness();
+		GenericCreatureObject arriving = createPlayer("arriving", 5, 5); // In the grid, but not yet aware of the speaker
+		Assert.assertFalse(arriving.isAwareOf(speaker));
+		
+		broadcastAndWait(new SpatialChatIntent(speaker.getOwner(), 0, "hello", 0));
+		Assert.assertNull(arriving.getOwner().getNextPacket(SpatialChat.class));
+		
+		updateAwareness();
+		broadcastAndWait(new SpatialChatIntent(speaker.getOwner(), 0, "hello", 0));
+		Assert.assertNotNull(arriving.getOwner().getNextPacket(SpatialChat.class));
+	}
+	
+	private GenericCreatureObject createPlayer(String name, double x, double z) {
+		GenericCreatureObject player = new GenericCreatureObject(getUniqueId(), name);
+		player.setPosition(Terrain.TATOOINE, x, 0, z);
+		registerObject(player);
+		return player;
+	}
+	
+	private void createNpcs(Random random, int count, double spread) {
+		for (int i = 0; i < count; i++) {
+			GenericCreatureObject npc = new GenericCreatureObject(getUniqueId(), "npc", false);
+			npc.setPosition(Terrain.TATOOINE, random.nextDouble() * spread - spread / 2, 0, random.nextDouble() * spread - spread / 2);
+			new ObjectCreatedIntent(npc).broadcast();
+		}
+		waitForIntents();
+	}
+	
+	/**
+	 * The recipients as they were chosen before the spatial grid, from the speaker's observers
+	 */
+	private static Set<CreatureObject> getObserverRecipients(CreatureObject speaker) {
+		Set<CreatureObject> recipients = new HashSet<>();
+		for (Player owner : speaker.getObservers()) {
+			if (owner.getPlayerObject().isIgnored(speaker.getObjectName()))
+				continue;
+			CreatureObject creature = owner.getCreatureObject();
+			if (creature.getWorldLocation().distanceTo(speaker.getWorldLocation()) > CHAT_RANGE)
+				continue;
+			recipients.add(creature);
+		}
+		return recipients;
+	}
+	
+}
@@ -0,0 +1,141 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.zone;
+
+import com.projectswg.common.data.location.Location;
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.packets.swg.holo.HoloConnectionStopped.ConnectionStoppedReason;
+import com.projectswg.common.network.packets.swg.zone.ServerTimeMessage;
+import com.projectswg.holocore.intents.support.global.network.ConnectionClosedIntent;
+import com.projectswg.holocore.intents.support.global.network.ConnectionOpenedIntent;
+import com.projectswg.holocore.intents.support.global.zone.NotifyPlayersPacketIntent;
+import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.resources.support.global.network.EncodedPacket;
+import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TestPlayerSessionService extends TestRunnerSynchronousIntents {
+	
+	@Before
+	public void setup() {
+		registerService(new PlayerSessionService());
+	}
+	
+	@Test
+	public void testPlanetTransfer() {
+		GenericCreatureObject traveler = connect("traveler", Terrain.TATOOINE);
+		GenericCreatureObject tatooine = connect("tatooine", Terrain.TATOOINE);
+		GenericCreatureObject naboo = connect("naboo", Terrain.NABOO);
+		List<GenericCreatureObject> players = List.of(traveler, tatooine, naboo);
+		
+		Assert.assertEquals(Set.of(traveler, tatooine), notifyPlanet(players, Terrain.TATOOINE));
+		Assert.assertEquals(Set.of(naboo), notifyPlanet(players, Terrain.NABOO));
+		
+		zoneIn(traveler, Terrain.NABOO);
+		Assert.assertEquals(Set.of(tatooine), notifyPlanet(players, Terrain.TATOOINE));
+		Assert.assertEquals(Set.of(traveler, naboo), notifyPlanet(players, Terrain.NABOO));
+		Assert.assertEquals(Set.of(), notifyPlanet(players, Terrain.CORELLIA));
+		
+		zoneIn(traveler, Terrain.NABOO); // Zoning in on the same planet, like a cloning, changes nothing
+		Assert.assertEquals(Set.of(traveler, naboo), notifyPlanet(players, Terrain.NABOO));
+		
+		broadcastAndWait(new ConnectionClosedIntent(traveler.getOwner(), ConnectionStoppedReason.OTHER_SIDE_TERMINATED));
+		Assert.assertEquals(Set.of(naboo), notifyPlanet(players, Terrain.NABOO));
+		Assert.assertEquals(Set.of(tatooine, naboo), notify(players, new NotifyPlayersPacketIntent(new ServerTimeMessage(0))));
+	}
+	
+	@Test
+	public void testPlanetChangeBeforeZoneIn() {
+		GenericCreatureObject player = connect("player", Terrain.TATOOINE);
+		GenericCreatureObject endor = connect("endor", Terrain.ENDOR);
+		List<GenericCreatureObject> players = List.of(player, endor);
+		// The creature has been teleported, but the client hasn't zoned in yet
+		player.moveToContainer(null, Location.builder().setTerrain(Terrain.ENDOR).setPosition(0, 0, 0).build());
+		waitForIntents();
+		Assert.assertEquals(Set.of(), notifyPlanet(players, Terrain.TATOOINE));
+		Assert.assertEquals(Set.of(player, endor), notifyPlanet(players, Terrain.ENDOR));
+		
+		broadcastAndWait(new PlayerEventIntent(player.getOwner(), PlayerEvent.PE_ZONE_IN_CLIENT));
+		Assert.assertEquals(Set.of(player, endor), notifyPlanet(players, Terrain.ENDOR));
+	}
+	
+	@Test
+	public void testPlanetChangeWithoutIntent() {
+		GenericCreatureObject player = connect("player", Terrain.TATOOINE);
+		// Moved without a teleport, so nothing has told the index yet
+		player.setPosition(Terrain.ENDOR, 0, 0, 0);
+		Assert.assertEquals(Set.of(), notifyPlanet(List.of(player), Terrain.TATOOINE));
+	}
+	
+	@Test
+	public void testEncodedOnce() {
+		List<GenericCreatureObject> players = List.of(connect("first", Terrain.TATOOINE), connect("second", Terrain.TATOOINE), connect("third", Terrain.NABOO));
+		ServerTimeMessage packet = new ServerTimeMessage(1234);
+		broadcastAndWait(new NotifyPlayersPacketIntent(packet));
+		
+		EncodedPacket shared = null;
+		for (GenericCreatureObject player : players) {
+			EncodedPacket received = player.getOwner().getNextPacket(EncodedPacket.class);
+			Assert.assertNotNull(received);
+			Assert.assertSame(packet, received.getPacket());
+			if (shared != null)
+				Assert.assertSame(shared, received);
+			shared = received;
+		}
+	}
+	
+	private GenericCreatureObject connect(String name, Terrain terrain) {
+		GenericCreatureObject creature = new GenericCreatureObject(getUniqueId(), name);
+		broadcastAndWait(new ConnectionOpenedIntent(creature.getOwner()));
+		zoneIn(creature, terrain);
+		return creature;
+	}
+	
+	private void zoneIn(GenericCreatureObject creature, Terrain terrain) {
+		creature.setPosition(terrain, 0, 0, 0);
+		broadcastAndWait(new PlayerEventIntent(creature.getOwner(), PlayerEvent.PE_ZONE_IN_CLIENT));
+	}
+	
+	private Set<GenericCreatureObject> notifyPlanet(List<GenericCreatureObject> players, Terrain terrain) {
+		return notify(players, new NotifyPlayersPacketIntent(new ServerTimeMessage(0), terrain));
+	}
+	
+	private Set<GenericCreatureObject> notify(List<GenericCreatureObject> players, NotifyPlayersPacketIntent intent) {
+		players.forEach(p -> p.getOwner().clearPackets());
+		broadcastAndWait(intent);
+		return players.stream().filter(p -> p.getOwner().getNextPacket(EncodedPacket.class) != null).collect(Collectors.toSet());
+	}
+	
+}
@@ -0,0 +1,192 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.global.zone.sui;
+
+import com.projectswg.common.data.sui.SuiBaseWindow;
+import com.projectswg.common.network.packets.swg.zone.server_ui.SuiCreatePageMessage;
+import com.projectswg.common.network.packets.swg.zone.server_ui.SuiForceClosePage;
+import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
+import com.projectswg.holocore.intents.support.global.zone.sui.SuiWindowIntent;
+import com.projectswg.holocore.intents.support.global.zone.sui.SuiWindowIntent.SuiWindowEvent;
+import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.global.zone.sui.SuiMessageBox;
+import com.projectswg.holocore.test.resources.GenericPlayer;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestSuiService extends TestRunnerSynchronousIntents {
+	
+	private static final long WINDOW_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+	private static final int MAX_WINDOWS = 3;
+	
+	private final AtomicLong clock = new AtomicLong(0);
+	private SuiService service;
+	private GenericPlayer player;
+	
+	@Before
+	public void setup() {
+		service = new SuiService(clock::get, WINDOW_TIMEOUT, MAX_WINDOWS);
+		registerService(service);
+		player = new GenericPlayer();
+	}
+	
+	@Test
+	public void testOpenAndClose() {
+		SuiBaseWindow window = openWindow();
+		Assert.assertNotNull(player.getNextPacket(SuiCreatePageMessage.class));
+		Assert.assertEquals(1, service.getWindowCount(player));
+		
+		broadcastAndWait(new SuiWindowIntent(player, null, window.getId(), SuiWindowEvent.CLOSE));
+		Assert.assertNotNull(player.getNextPacket(SuiForceClosePage.class));
+		Assert.assertEquals(0, service.getWindowCount(player));
+		
+		// Already closed
+		broadcastAndWait(new SuiWindowIntent(player, null, window.getId(), SuiWindowEvent.CLOSE));
+		Assert.assertNull(player.getNextPacket(SuiForceClosePage.class));
+	}
+	
+	@Test
+	public void testExpiry() {
+		openWindow();
+		clock.addAndGet(WINDOW_TIMEOUT / 2);
+		SuiBaseWindow younger = openWindow();
+		player.clearPackets();
+		
+		service.expireWindows();
+		Assert.assertEquals(2, service.getWindowCount(player));
+		Assert.assertNull(player.getNextPacket(SuiForceClosePage.class));
+		
+		clock.addAndGet(WINDOW_TIMEOUT / 2 + 1);
+		service.expireWindows();
+		Assert.assertEquals(1, service.getWindowCount(player));
+		Assert.assertNotNull(player.getNextPacket(SuiForceClosePage.class));
+		
+		clock.addAndGet(WINDOW_TIMEOUT / 2);
+		service.expireWindows();
+		Assert.assertEquals(0, service.getWindowCount(player));
+		Assert.assertNotNull(player.getNextPacket(SuiForceClosePage.class));
+		
+		// The client no longer has the window, so closing it again must not send anything
+		broadcastAndWait(new SuiWindowIntent(player, younger, SuiWindowEvent.CLOSE));
+		Assert.assertNull(player.getNextPacket(SuiForceClosePage.class));
+	}
+	
+	@Test
+	public void testWindowLimit() {
+		for (int i = 0; i < MAX_WINDOWS; i++)
+			openWindow();
+		Assert.assertNull(player.getNextPacket(SuiForceClosePage.class));
+		
+		openWindow();
+		Assert.assertEquals(MAX_WINDOWS, service.getWindowCount(player));
+		Assert.assertNotNull(player.getNextPacket(SuiForceClosePage.class));
+	}
+	
+	@Test
+	public void testCleanupOnLogout() {
+		GenericPlayer other = new GenericPlayer();
+		openWindow();
+		openWindow();
+		broadcastAndWait(new SuiWindowIntent(other, new SuiMessageBox("title", "prompt"), SuiWindowEvent.NEW));
+		
+		broadcastAndWait(new PlayerEventIntent(player, PlayerEvent.PE_LOGGED_OUT));
+		Assert.assertEquals(0, service.getWindowCount(player));
+		Assert.assertEquals(1, service.getWindowCount(other));
+	}
+	
+	@Test
+	public void testEmptyPlayersForgotten() {
+		SuiWindowRegistry registry = new SuiWindowRegistry(WINDOW_TIMEOUT, MAX_WINDOWS);
+		SuiBaseWindow closed = new SuiMessageBox("title", "prompt");
+		closed.setId(SuiService.createWindowId());
+		registry.add(player, closed, 0);
+		Assert.assertEquals(1, registry.getPlayerCount());
+		registry.remove(player, closed.getId());
+		Assert.assertEquals(0, registry.getPlayerCount());
+		
+		SuiBaseWindow expired = new SuiMessageBox("title", "prompt");
+		expired.setId(SuiService.createWindowId());
+		registry.add(player, expired, 0);
+		registry.removeExpired(WINDOW_TIMEOUT + 1, (p, w) -> Assert.assertSame(expired, w));
+		Assert.assertEquals(0, registry.getPlayerCount());
+		
+		// A window opened while the player logs out must not bring the player back
+		player.setPlayerState(PlayerState.DISCONNECTED);
+		registry.removePlayer(player);
+		Assert.assertNull(registry.add(player, new SuiMessageBox("title", "prompt"), 0));
+		Assert.assertEquals(0, registry.getPlayerCount());
+	}
+	
+	@Test
+	public void testConcurrentOpenAndClose() throws InterruptedException {
+		SuiWindowRegistry registry = new SuiWindowRegistry(WINDOW_TIMEOUT, Integer.MAX_VALUE);
+		int threadCount = 8;
+		int windowsPerThread = 500;
+		AtomicInteger failures = new AtomicInteger(0);
+		
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < threadCount; t++) {
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < windowsPerThread; i++) {
+					SuiBaseWindow window = new SuiMessageBox("title", "prompt");
+					window.setId(SuiService.createWindowId());
+					if (registry.add(player, window, 0) != null)
+						failures.incrementAndGet();
+					if (registry.get(player, window.getId()) != window)
+						failures.incrementAndGet();
+					if (i % 2 == 0 && registry.remove(player, window.getId()) != window)
+						failures.incrementAndGet();
+				}
+			}));
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		
+		Assert.assertEquals(0, failures.get());
+		Assert.assertEquals(threadCount * windowsPerThread / 2, registry.size(player));
+		Assert.assertEquals(threadCount * windowsPerThread / 2, registry.removePlayer(player));
+		Assert.assertEquals(0, registry.size(player));
+	}
+	
+	private SuiBaseWindow openWindow() {
+		SuiBaseWindow window = new SuiMessageBox("title", "prompt");
+		broadcastAndWait(new SuiWindowIntent(player, window, SuiWindowEvent.NEW));
+		return window;
+	}
+	
+}
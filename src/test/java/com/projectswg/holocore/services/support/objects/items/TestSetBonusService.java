@@ -0,0 +1,180 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.objects.items;
+
+import com.projectswg.holocore.intents.gameplay.combat.buffs.BuffIntent;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.ServerAttribute;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import com.projectswg.holocore.test.runners.TestRunnerSynchronousIntents;
+import me.joshlarson.jlcommon.control.IntentHandler;
+import me.joshlarson.jlcommon.control.Service;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestSetBonusService extends TestRunnerSynchronousIntents {
+	
+	private static final int SET_ID = 7;
+	
+	private final BuffRecorder buffs = new BuffRecorder();
+	private GenericCreatureObject creature;
+	private SWGObject inventory;
+	
+	@Before
+	public void setup() {
+		registerService(new SetBonusService());
+		registerService(buffs);
+		creature = new GenericCreatureObject(getUniqueId(), "creature");
+		inventory = creature.getSlottedObject("inventory");
+	}
+	
+	@Test
+	public void testThresholdsUpAndDown() {
+		SWGObject gloves = createSetItem("gloves");
+		SWGObject robe = createSetItem("chest1", "pants1");
+		SWGObject shoes = createSetItem("shoes");
+		SWGObject hat = createSetItem("hat");
+		
+		equip(gloves);
+		buffs.assertNext();
+		equip(robe); // Occupies two slots, but is only one piece of the set
+		buffs.assertNext("+set_test_2");
+		equip(shoes);
+		buffs.assertNext();
+		equip(hat);
+		buffs.assertNext("+set_test_4");
+		
+		unequip(hat);
+		buffs.assertNext("+set_test_2");
+		unequip(shoes);
+		buffs.assertNext("+set_test_2");
+		unequip(robe);
+		buffs.assertNext("-set_test_2");
+		unequip(gloves);
+		buffs.assertNext("-set_test_2");
+	}
+	
+	@Test
+	public void testEquippedBeforeFirstTransfer() {
+		SWGObject gloves = createSetItem("gloves");
+		SWGObject robe = createSetItem("chest1", "pants1");
+		SWGObject shoes = createSetItem("shoes");
+		SWGObject hat = createSetItem("hat");
+		gloves.systemMove(creature);
+		robe.systemMove(creature);
+		
+		equip(shoes);
+		buffs.assertNext();
+		equip(hat);
+		buffs.assertNext("+set_test_4");
+		unequip(robe);
+		buffs.assertNext("+set_test_2");
+	}
+	
+	@Test
+	public void testOtherItemsIgnored() {
+		SWGObject gloves = createSetItem("gloves");
+		SWGObject robe = createSetItem("chest1", "pants1");
+		SWGObject otherSet = createSetItem("shoes");
+		otherSet.setServerAttribute(ServerAttribute.SET_BONUS_ID, SET_ID + 1);
+		SWGObject plain = new GenericTangibleObject(getUniqueId());
+		plain.setArrangement(List.of(List.of("hat")));
+		plain.systemMove(inventory);
+		
+		equip(gloves);
+		equip(otherSet);
+		equip(plain);
+		buffs.assertNext();
+		equip(robe);
+		buffs.assertNext("+set_test_2");
+		unequip(plain);
+		unequip(otherSet);
+		buffs.assertNext();
+	}
+	
+	@Test
+	public void testItemWithoutBonusAttributesFirst() {
+		SWGObject bare = new GenericTangibleObject(getUniqueId());
+		bare.setArrangement(List.of(List.of("hat")));
+		bare.setServerAttribute(ServerAttribute.SET_BONUS_ID, SET_ID);
+		bare.systemMove(inventory);
+		SWGObject gloves = createSetItem("gloves");
+		
+		equip(bare);
+		buffs.assertNext();
+		equip(gloves);
+		buffs.assertNext("+set_test_2");
+	}
+	
+	private void equip(SWGObject item) {
+		item.moveToContainer(creature);
+		waitForIntents();
+		Assert.assertEquals(creature, item.getParent());
+	}
+	
+	private void unequip(SWGObject item) {
+		item.moveToContainer(inventory);
+		waitForIntents();
+		Assert.assertEquals(inventory, item.getParent());
+	}
+	
+	private SWGObject createSetItem(String ... slots) {
+		SWGObject item = new GenericTangibleObject(getUniqueId());
+		item.setArrangement(List.of(List.of(slots)));
+		item.setServerAttribute(ServerAttribute.SET_BONUS_ID, SET_ID);
+		item.addAttribute("@set_bonus:piece_bonus_count_4", "@set_bonus:set_test_4");
+		item.addAttribute("@set_bonus:piece_bonus_count_2", "@set_bonus:set_test_2");
+		item.systemMove(inventory);
+		return item;
+	}
+	
+	public static class BuffRecorder extends Service {
+		
+		private final List<String> buffs = new ArrayList<>();
+		
+		@IntentHandler
+		private void handleBuffIntent(BuffIntent bi) {
+			synchronized (buffs) {
+				buffs.add((bi.isRemove() ? "-" : "+") + bi.getBuffName());
+			}
+		}
+		
+		public void assertNext(String ... expected) {
+			synchronized (buffs) {
+				Assert.assertEquals(List.of(expected), buffs);
+				buffs.clear();
+			}
+		}
+		
+	}
+	
+}
@@ -111,6 +111,10 @@ public class GenericPlayer extends Player {
 		handlePacket(packet5);
 	}
 	
+	public void clearPackets() {
+		packets.clear();
+	}
+	
 	@Nullable
 	public SWGPacket getNextPacket() {
 		if (packets.isEmpty())
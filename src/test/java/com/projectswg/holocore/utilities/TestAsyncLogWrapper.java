@@ -0,0 +1,149 @@
+/***********************************************************************************
+ * Copyright (c) 2020 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.utilities;
+
+import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import me.joshlarson.jlcommon.log.Log.LogLevel;
+import me.joshlarson.jlcommon.log.LogWrapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestAsyncLogWrapper extends TestRunnerNoIntents {
+	
+	@Test
+	public void testOrderAndFlush() {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(16, (level, str) -> written.add(str))) {
+			for (int i = 0; i < 1000; i++)
+				wrapper.onLog(LogLevel.INFO, Integer.toString(i));
+		}
+		// Overflowing lines are written on the calling thread, so only the count is guaranteed with a tiny buffer
+		Assert.assertEquals(1000, written.size());
+	}
+	
+	@Test
+	public void testSingleProducerOrder() {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(2048, (level, str) -> written.add(str))) {
+			for (int i = 0; i < 1000; i++)
+				wrapper.onLog(LogLevel.INFO, Integer.toString(i));
+		}
+		Assert.assertEquals(1000, written.size());
+		for (int i = 0; i < 1000; i++)
+			Assert.assertEquals(Integer.toString(i), written.get(i));
+	}
+	
+	@Test
+	public void testMultipleProducers() throws InterruptedException {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		LogWrapper recorder = (level, str) -> written.add(str);
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(256, recorder)) {
+			Thread [] threads = new Thread[4];
+			for (int t = 0; t < threads.length; t++) {
+				threads[t] = new Thread(() -> {
+					for (int i = 0; i < 10000; i++)
+						wrapper.onLog(LogLevel.TRACE, "line");
+				});
+				threads[t].start();
+			}
+			for (Thread thread : threads)
+				thread.join();
+		}
+		Assert.assertEquals(40000, written.size());
+	}
+	
+	@Test
+	public void testLevelPassedThrough() {
+		List<LogLevel> levels = Collections.synchronizedList(new ArrayList<>());
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(16, (level, str) -> levels.add(level))) {
+			wrapper.onLog(LogLevel.WARN, "warn");
+			wrapper.onLog(LogLevel.ERROR, "error");
+		}
+		Assert.assertEquals(List.of(LogLevel.WARN, LogLevel.ERROR), levels);
+	}
+	
+	@Test
+	public void testServerLevelFilter() {
+		List<LogLevel> levels = Collections.synchronizedList(new ArrayList<>());
+		StandardLog.setLevel(LogLevel.WARN);
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(16, (level, str) -> levels.add(level))) {
+			wrapper.onLog(LogLevel.TRACE, "trace");
+			wrapper.onLog(LogLevel.INFO, "info");
+			wrapper.onLog(LogLevel.ERROR, "error");
+		} finally {
+			StandardLog.setLevel(LogLevel.TRACE);
+		}
+		Assert.assertEquals(List.of(LogLevel.ERROR), levels);
+	}
+	
+	@Test
+	public void testOverflowWritesSerialized() throws InterruptedException {
+		AtomicInteger active = new AtomicInteger(0);
+		AtomicBoolean overlapped = new AtomicBoolean(false);
+		AtomicInteger written = new AtomicInteger(0);
+		LogWrapper slow = (level, str) -> {
+			if (active.incrementAndGet() != 1)
+				overlapped.set(true);
+			Thread.onSpinWait();
+			active.decrementAndGet();
+			written.incrementAndGet();
+		};
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(2, slow)) {
+			Thread [] threads = new Thread[4];
+			for (int t = 0; t < threads.length; t++) {
+				threads[t] = new Thread(() -> {
+					for (int i = 0; i < 5000; i++)
+						wrapper.onLog(LogLevel.INFO, "line");
+				});
+				threads[t].start();
+			}
+			for (Thread thread : threads)
+				thread.join();
+		}
+		Assert.assertEquals(20000, written.get());
+		Assert.assertFalse(overlapped.get());
+	}
+	
+	@Test
+	public void testFailingWrapperDoesNotStopOthers() {
+		List<String> written = Collections.synchronizedList(new ArrayList<>());
+		LogWrapper failing = (level, str) -> { throw new IllegalStateException("expected"); };
+		try (AsyncLogWrapper wrapper = new AsyncLogWrapper(16, failing, (level, str) -> written.add(str))) {
+			wrapper.onLog(LogLevel.INFO, "first");
+			wrapper.onLog(LogLevel.INFO, "second");
+		}
+		Assert.assertEquals(List.of("first", "second"), written);
+	}
+	
+}
@@ -44,6 +44,8 @@ import com.projectswg.common.network.packets.swg.zone.object_controller.DataTran
 import com.projectswg.common.network.packets.swg.zone.object_controller.ObjectController;
 import com.projectswg.holocore.resources.support.data.server_info.loader.BuildingCellLoader.CellInfo;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
+import com.projectswg.holocore.resources.support.global.network.PacketCapture;
+import com.projectswg.holocore.resources.support.global.network.PacketCapture.Frame;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
@@ -54,6 +56,8 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -387,6 +391,21 @@ public class PacketCaptureAnalysis {
 		return analysis;
 	}
 	
+	/**
+	 * Reads a capture written by the server's packet capture, see {@link PacketCapture}. Every connection is captured to
+	 * the same file, so the packets are split into one session per network id to be analyzed separately
+	 * @param file the capture file
+	 * @return the captured packets of each session by network id, in the order the sessions first appear, with each
+	 *         session's packets in the order they were sent and received
+	 */
+	@NotNull
+	public static Map<Long, List<PacketRecord>> readCapture(File file) throws IOException {
+		Map<Long, List<PacketRecord>> sessions = new LinkedHashMap<>();
+		for (Frame frame : PacketCapture.read(file))
+			sessions.computeIfAbsent(frame.getNetworkId(), id -> new ArrayList<>()).add(new PacketRecord(frame.isServer(), frame.getTime(), frame.getData()));
+		return sessions;
+	}
+	
 	public static class PacketCaptureAssertion extends RuntimeException {
 		
 		private final SWGPacket packet;
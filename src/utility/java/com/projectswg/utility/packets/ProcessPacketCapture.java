@@ -30,6 +30,7 @@ package com.projectswg.utility.packets;
 import com.projectswg.common.network.hcap.HcapInputStream;
 import com.projectswg.common.network.hcap.PacketRecord;
 import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.holocore.resources.support.global.network.PacketCapture;
 import com.projectswg.utility.packets.PacketCaptureAnalysis.PacketCaptureAssertion;
 
 import java.io.*;
@@ -48,42 +49,50 @@ public class ProcessPacketCapture {
 	
 	public static void main(String [] args) {
 		for (String arg : args) {
-			if (!arg.endsWith(".hcap")) {
-				System.out.println("Skipping " + arg + " - does not have .hcap extension");
-				continue;
-			}
-			
-			try (HcapInputStream packetCapture = new HcapInputStream(new FileInputStream(new File(arg)))) {
-				try (BufferedWriter output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(arg.replace(".hcap", ".txt"))), StandardCharsets.UTF_8))) {
+			if (arg.endsWith(".hcap")) {
+				try (HcapInputStream packetCapture = new HcapInputStream(new FileInputStream(new File(arg)))) {
 					Map<String, Object> information = packetCapture.getSystemInformation();
-					List<PacketRecord> packets = readPackets(packetCapture);
-					
-					DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yy HH:mm:ss.SSS").withZone((ZoneId) information.get("time.time_zone"));
-					int packetNumber = 0;
-					int packetPadding = (int) Math.floor(Math.log10(packets.size())) + 1;
-					for (PacketRecord packet : packets) {
-						SWGPacket parsed = packet.parse();
-						String parsedInfo = (parsed == null) ? String.format("%08X", ByteBuffer.wrap(packet.getData()).order(ByteOrder.LITTLE_ENDIAN).getInt(2)) : parsed.toString();
-						output.write(String.format("%s [%0"+packetPadding+"d] %s %s%n", formatter.format(packet.getTime()), packetNumber, (packet.isServer() ? "OUT: " : "IN:  "), parsedInfo));
-						packetNumber++;
-					}
-					
-					PacketCaptureAnalysis analysis = PacketCaptureAnalysis.from(packets);
-					output.write(String.format("Read %d packets%n", packets.size()));
-					output.write(String.format("Analysis:%n"));
-					output.write(String.format("    Objects Created: %d%n", analysis.getObjectCreations()));
-					output.write(String.format("    Objects Deleted: %d [Implicit: %d]%n", analysis.getObjectDeletions(), analysis.getObjectDeletionsImplicit()));
-					output.write(String.format("    Zone-ins:        %d %s%n", analysis.getCharacterZoneIns(), analysis.getPlayers()));
-					output.write(String.format("    Errors:          %d%n", analysis.getErrors().size()));
-					for (PacketCaptureAssertion e : analysis.getErrors()) {
-						output.write("        " + e.getMessage() + System.lineSeparator());
-						output.write("            " + e.getPacket() + System.lineSeparator());
-					}
-					System.out.println("Wrote " + packets.size() + " packets with analysis to " + arg.replace(".hcap", ".txt"));
+					writeAnalysis(arg.replace(".hcap", ".txt"), readPackets(packetCapture), (ZoneId) information.get("time.time_zone"));
+				} catch (Throwable t) {
+					t.printStackTrace();
 				}
-			} catch (Throwable t) {
-				t.printStackTrace();
+			} else if (arg.endsWith(PacketCapture.EXTENSION)) {
+				try {
+					for (Map.Entry<Long, List<PacketRecord>> session : PacketCaptureAnalysis.readCapture(new File(arg)).entrySet())
+						writeAnalysis(arg.replace(PacketCapture.EXTENSION, "-" + session.getKey() + ".txt"), session.getValue(), ZoneId.systemDefault());
+				} catch (Throwable t) {
+					t.printStackTrace();
+				}
+			} else {
+				System.out.println("Skipping " + arg + " - does not have .hcap or " + PacketCapture.EXTENSION + " extension");
+			}
+		}
+	}
+	
+	private static void writeAnalysis(String outputPath, List<PacketRecord> packets, ZoneId timeZone) throws IOException {
+		try (BufferedWriter output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(outputPath)), StandardCharsets.UTF_8))) {
+			DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yy HH:mm:ss.SSS").withZone(timeZone);
+			int packetNumber = 0;
+			int packetPadding = (int) Math.floor(Math.log10(packets.size())) + 1;
+			for (PacketRecord packet : packets) {
+				SWGPacket parsed = packet.parse();
+				String parsedInfo = (parsed == null) ? String.format("%08X", ByteBuffer.wrap(packet.getData()).order(ByteOrder.LITTLE_ENDIAN).getInt(2)) : parsed.toString();
+				output.write(String.format("%s [%0"+packetPadding+"d] %s %s%n", formatter.format(packet.getTime()), packetNumber, (packet.isServer() ? "OUT: " : "IN:  "), parsedInfo));
+				packetNumber++;
+			}
+			
+			PacketCaptureAnalysis analysis = PacketCaptureAnalysis.from(packets);
+			output.write(String.format("Read %d packets%n", packets.size()));
+			output.write(String.format("Analysis:%n"));
+			output.write(String.format("    Objects Created: %d%n", analysis.getObjectCreations()));
+			output.write(String.format("    Objects Deleted: %d [Implicit: %d]%n", analysis.getObjectDeletions(), analysis.getObjectDeletionsImplicit()));
+			output.write(String.format("    Zone-ins:        %d %s%n", analysis.getCharacterZoneIns(), analysis.getPlayers()));
+			output.write(String.format("    Errors:          %d%n", analysis.getErrors().size()));
+			for (PacketCaptureAssertion e : analysis.getErrors()) {
+				output.write("        " + e.getMessage() + System.lineSeparator());
+				output.write("            " + e.getPacket() + System.lineSeparator());
 			}
+			System.out.println("Wrote " + packets.size() + " packets with analysis to " + outputPath);
 		}
 	}
 	